@@ -0,0 +1,52 @@
+package com.ledger.loadgen;
+
+import java.io.PrintStream;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Money conservation after a run. The engine's global ledger sum may only have moved by what the generator
+ * deposited and withdrew, the generator's accounts must together hold their funding plus that same net flow,
+ * and none may be negative. Postings that never got a definite answer widen the first two checks by their
+ * amounts; with none outstanding they are exact.
+ */
+public class InvariantCheck {
+
+    private final LedgerClient client;
+    private final PrintStream out;
+
+    public InvariantCheck(LedgerClient client, PrintStream out) {
+        this.client = client;
+        this.out = out;
+    }
+
+    public boolean verify(List<UUID> accounts, long ledgerSumBefore, long funding, long netFlow, long outstanding) {
+        boolean ok = true;
+
+        long ledgerSumAfter = client.readLedgerSum();
+        ok &= check("global ledger sum moved by the net flow", ledgerSumAfter - ledgerSumBefore, netFlow, outstanding);
+
+        long balances = 0;
+        int negative = 0;
+        for (UUID account : accounts) {
+            long balance = client.readBalance(account);
+            balances += balance;
+            if (balance < 0) {
+                negative++;
+                out.printf("  account %s has a negative balance: %d%n", account, balance);
+            }
+        }
+        ok &= check("account balances equal funding plus net flow", balances, funding + netFlow, outstanding);
+        ok &= check("no negative balances", negative, 0, 0);
+
+        out.println(ok ? "Invariants hold" : "INVARIANT VIOLATED");
+        return ok;
+    }
+
+    private boolean check(String name, long actual, long expected, long tolerance) {
+        boolean holds = Math.abs(actual - expected) <= tolerance;
+        out.printf("  %-46s %s (expected %d%s, got %d)%n", name, holds ? "ok" : "FAILED", expected,
+                tolerance == 0 ? "" : " +/- " + tolerance, actual);
+        return holds;
+    }
+}
@@ -0,0 +1,214 @@
+package com.ledger.loadgen;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/*
+ * The engine's REST API as the load generator sees it. Postings are retried under their original idempotency
+ * key on transport errors, timeouts and 5xx, the way a well-behaved client would; DUPLICATE_REQUEST on a retry
+ * means an earlier attempt committed and counts as success. Reads are retried the same way.
+ */
+public class LedgerClient {
+
+    public enum Outcome {
+        // 2xx, or 409 on a retry of a posting
+        OK,
+        // A definite business answer: insufficient funds, closed account and the like
+        REJECTED,
+        // DUPLICATE_REQUEST on a first attempt: this key committed before, in this run or an earlier one
+        DUPLICATE,
+        // Every attempt failed without a definite answer; a posting may or may not have committed
+        UNRESOLVED
+    }
+
+    public static class Result {
+
+        private final Outcome outcome;
+        private final int attempts;
+        private final int status;
+
+        Result(Outcome outcome, int attempts, int status) {
+            this.outcome = outcome;
+            this.attempts = attempts;
+            this.status = status;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public int getAttempts() {
+            return attempts;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+
+    private final HttpClient client;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final URI baseUrl;
+    private final Duration requestTimeout;
+    private final int maxAttempts;
+    private final long backoffNanos;
+
+    public LedgerClient(LoadConfig config) {
+        this.baseUrl = config.getBaseUrl();
+        this.requestTimeout = config.getRequestTimeout();
+        this.maxAttempts = config.getMaxAttempts();
+        this.backoffNanos = config.getRetryBackoff().toNanos();
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(config.getRequestTimeout())
+                .build();
+    }
+
+    public Result deposit(UUID accountId, long amount, String idempotencyKey) {
+        return post("/api/transactions/deposit", idempotencyKey,
+                Map.of("accountId", accountId, "amount", amount, "idempotencyKey", idempotencyKey));
+    }
+
+    public Result withdraw(UUID accountId, long amount, String idempotencyKey) {
+        return post("/api/transactions/withdraw", idempotencyKey,
+                Map.of("accountId", accountId, "amount", amount, "idempotencyKey", idempotencyKey));
+    }
+
+    public Result transfer(UUID fromAccountId, UUID toAccountId, long amount, String idempotencyKey) {
+        return post("/api/transactions/transfer", idempotencyKey, Map.of("fromAccountId", fromAccountId,
+                "toAccountId", toAccountId, "amount", amount, "idempotencyKey", idempotencyKey));
+    }
+
+    public Result balance(UUID accountId) {
+        return get("/api/accounts/" + accountId + "/balance");
+    }
+
+    public Result history(UUID accountId) {
+        return get("/api/accounts/" + accountId + "/transactions");
+    }
+
+    public UUID createAccount() {
+        JsonNode account = call("POST", "/api/accounts", null);
+        return UUID.fromString(account.get("accountId").asText());
+    }
+
+    public long readBalance(UUID accountId) {
+        return call("GET", "/api/accounts/" + accountId + "/balance", null).get("balance").asLong();
+    }
+
+    public long readLedgerSum() {
+        return call("GET", "/api/admin/verification/ledger-sum", null).get("ledgerSum").asLong();
+    }
+
+    private Result post(String path, String idempotencyKey, Map<String, Object> body) {
+        byte[] json;
+        try {
+            json = mapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new IllegalStateException("Cannot encode " + idempotencyKey, e);
+        }
+        int status = 0;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            HttpResponse<byte[]> response = send(request(path).header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(json)).build());
+            status = response == null ? 0 : response.statusCode();
+            if (status >= 200 && status < 300) {
+                return new Result(Outcome.OK, attempt, status);
+            }
+            if (status == 409 && "DUPLICATE_REQUEST".equals(errorCode(response))) {
+                // On a retry this is our own earlier attempt having committed; on a first attempt the key was reused
+                return new Result(attempt > 1 ? Outcome.OK : Outcome.DUPLICATE, attempt, status);
+            }
+            if (status >= 400 && status < 500) {
+                return new Result(Outcome.REJECTED, attempt, status);
+            }
+            pause(attempt);
+        }
+        return new Result(Outcome.UNRESOLVED, maxAttempts, status);
+    }
+
+    private Result get(String path) {
+        int status = 0;
+        for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+            HttpResponse<byte[]> response = send(request(path).GET().build());
+            status = response == null ? 0 : response.statusCode();
+            if (status >= 200 && status < 300) {
+                return new Result(Outcome.OK, attempt, status);
+            }
+            if (status >= 400 && status < 500) {
+                return new Result(Outcome.REJECTED, attempt, status);
+            }
+            pause(attempt);
+        }
+        return new Result(Outcome.UNRESOLVED, maxAttempts, status);
+    }
+
+    // Setup and verification calls: no load-shaped retries, any failure ends the run
+    private JsonNode call(String method, String path, byte[] body) {
+        HttpRequest request = request(path)
+                .method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body))
+                .build();
+        try {
+            HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() >= 300) {
+                throw new IllegalStateException(method + " " + path + " answered HTTP " + response.statusCode()
+                        + ": " + new String(response.body()));
+            }
+            return mapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException(method + " " + path + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during " + method + " " + path, e);
+        }
+    }
+
+    // Null for a transport failure or timeout
+    private HttpResponse<byte[]> send(HttpRequest request) {
+        try {
+            return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+        } catch (IOException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private String errorCode(HttpResponse<byte[]> response) {
+        try {
+            JsonNode error = mapper.readTree(response.body()).get("error");
+            return error == null ? null : error.asText();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(requestTimeout);
+    }
+
+    // Exponential backoff with full jitter, as the engine does for its own database retries
+    private void pause(int attempt) {
+        if (attempt >= maxAttempts) {
+            return;
+        }
+        long ceiling = backoffNanos << Math.min(attempt - 1, 20);
+        long nanos = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(nanos / 1_000_000, (int) (nanos % 1_000_000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
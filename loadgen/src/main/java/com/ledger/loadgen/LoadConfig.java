@@ -0,0 +1,157 @@
+package com.ledger.loadgen;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/*
+ * Command-line settings, given as --name=value. Durations are ISO-8601 (PT30S); the mix is relative weights,
+ * e.g. --mix=deposit=20,withdraw=15,transfer=35,balance=25,history=5.
+ */
+public class LoadConfig {
+
+    private URI baseUrl = URI.create("http://localhost:8080");
+    private double rate = 200;
+    private Duration warmup = Duration.ofSeconds(10);
+    private Duration duration = Duration.ofSeconds(60);
+    private int accounts = 1000;
+    private double zipfExponent = 1.1;
+    private long initialBalance = 1_000_000;
+    private long maxAmount = 1_000;
+    private Map<Operation, Integer> mix = parseMix("deposit=20,withdraw=15,transfer=35,balance=25,history=5");
+    private int maxAttempts = 5;
+    private Duration retryBackoff = Duration.ofMillis(50);
+    private Duration requestTimeout = Duration.ofSeconds(5);
+    private int fallbackThreads = 512;
+    private long seed = System.nanoTime();
+    private Path histogramLog = Path.of("loadgen-histograms.hlog");
+    private boolean verify = true;
+
+    public static LoadConfig parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            String[] pair = arg.substring(2).split("=", 2);
+            values.put(pair[0], pair[1]);
+        }
+
+        LoadConfig config = new LoadConfig();
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            String value = entry.getValue();
+            switch (entry.getKey()) {
+                case "base-url" -> config.baseUrl = URI.create(value.replaceAll("/+$", ""));
+                case "rate" -> config.rate = Double.parseDouble(value);
+                case "warmup" -> config.warmup = Duration.parse(value);
+                case "duration" -> config.duration = Duration.parse(value);
+                case "accounts" -> config.accounts = Integer.parseInt(value);
+                case "zipf-exponent" -> config.zipfExponent = Double.parseDouble(value);
+                case "initial-balance" -> config.initialBalance = Long.parseLong(value);
+                case "max-amount" -> config.maxAmount = Long.parseLong(value);
+                case "mix" -> config.mix = parseMix(value);
+                case "max-attempts" -> config.maxAttempts = Integer.parseInt(value);
+                case "retry-backoff" -> config.retryBackoff = Duration.parse(value);
+                case "request-timeout" -> config.requestTimeout = Duration.parse(value);
+                case "fallback-threads" -> config.fallbackThreads = Integer.parseInt(value);
+                case "seed" -> config.seed = Long.parseLong(value);
+                case "histogram-log" -> config.histogramLog = Path.of(value);
+                case "verify" -> config.verify = Boolean.parseBoolean(value);
+                default -> throw new IllegalArgumentException("Unknown option: --" + entry.getKey());
+            }
+        }
+        if (config.rate <= 0) {
+            throw new IllegalArgumentException("rate must be positive, got: " + config.rate);
+        }
+        if (config.accounts < 2) {
+            throw new IllegalArgumentException("accounts must be at least 2, got: " + config.accounts);
+        }
+        if (config.maxAttempts < 1) {
+            throw new IllegalArgumentException("max-attempts must be at least 1, got: " + config.maxAttempts);
+        }
+        return config;
+    }
+
+    static Map<Operation, Integer> parseMix(String value) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split("=", 2);
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for " + pair[0]);
+            }
+            weights.put(Operation.fromName(pair[0].trim()), weight);
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("The mix has no operations: " + value);
+        }
+        return weights;
+    }
+
+    public URI getBaseUrl() {
+        return baseUrl;
+    }
+
+    public double getRate() {
+        return rate;
+    }
+
+    public Duration getWarmup() {
+        return warmup;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    public int getAccounts() {
+        return accounts;
+    }
+
+    public double getZipfExponent() {
+        return zipfExponent;
+    }
+
+    public long getInitialBalance() {
+        return initialBalance;
+    }
+
+    public long getMaxAmount() {
+        return maxAmount;
+    }
+
+    public Map<Operation, Integer> getMix() {
+        return mix;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration getRetryBackoff() {
+        return retryBackoff;
+    }
+
+    public Duration getRequestTimeout() {
+        return requestTimeout;
+    }
+
+    public int getFallbackThreads() {
+        return fallbackThreads;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public Path getHistogramLog() {
+        return histogramLog;
+    }
+
+    public boolean isVerify() {
+        return verify;
+    }
+}
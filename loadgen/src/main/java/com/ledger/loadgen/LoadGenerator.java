@@ -0,0 +1,319 @@
+package com.ledger.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * Open-model load: requests are issued at a constant arrival rate on a fixed schedule, whether or not earlier
+ * ones have answered, so a stalled engine shows up as latency instead of as a quietly lower request rate.
+ * Each request runs on its own virtual thread (Java 21+; a fixed pool on older runtimes). After the run the
+ * ledger sum and account balances are checked against the money the generator knows it moved in and out.
+ *
+ * The ledger-sum check assumes the generator is the only writer during the run, and reads one node: run it
+ * against a quiet, unpartitioned engine, or pass --verify=false.
+ */
+public class LoadGenerator {
+
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9, 99.99};
+
+    private final LoadConfig config;
+    private final LedgerClient client;
+    private final String runId = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<Operation, OperationStats> stats = new EnumMap<>(Operation.class);
+    // Committed deposits minus committed withdrawals, warmup included; transfers move money without changing it
+    private final LongAdder netFlow = new LongAdder();
+    private final Queue<Request> unresolved = new ConcurrentLinkedQueue<>();
+    private final AtomicLong maxDispatchLag = new AtomicLong();
+    private final PrintStream out = System.out;
+
+    public LoadGenerator(LoadConfig config) {
+        this.config = config;
+        this.client = new LedgerClient(config);
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats(operation));
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadConfig config = LoadConfig.parse(args);
+        System.exit(new LoadGenerator(config).run());
+    }
+
+    public int run() throws Exception {
+        out.printf("Load generator %s: %s at %.0f req/s for %s after %s warmup, %d accounts, seed %d%n",
+                runId, config.getBaseUrl(), config.getRate(), config.getDuration(), config.getWarmup(),
+                config.getAccounts(), config.getSeed());
+
+        ExecutorService executor = newExecutor();
+        List<UUID> accounts = setUpAccounts(executor);
+        long ledgerSumBefore = config.isVerify() ? client.readLedgerSum() : 0L;
+
+        try (PrintStream logStream = new PrintStream(config.getHistogramLog().toFile())) {
+            HistogramLogWriter log = new HistogramLogWriter(logStream);
+            long startedAtMillis = System.currentTimeMillis();
+            log.outputLogFormatVersion();
+            log.outputStartTime(startedAtMillis);
+            log.setBaseTime(startedAtMillis);
+            log.outputLegend();
+
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+            reporter.scheduleAtFixedRate(() -> drainInterval(log), 1, 1, TimeUnit.SECONDS);
+            try {
+                issueRequests(executor, accounts);
+                executor.shutdown();
+                long drainSeconds = config.getRequestTimeout().multipliedBy(config.getMaxAttempts() * 2L)
+                        .toSeconds() + 30;
+                if (!executor.awaitTermination(drainSeconds, TimeUnit.SECONDS)) {
+                    out.println("Requests still in flight after " + drainSeconds + "s; results are incomplete");
+                }
+            } finally {
+                reporter.shutdown();
+                reporter.awaitTermination(10, TimeUnit.SECONDS);
+            }
+            drainInterval(log);
+        }
+
+        printReport();
+        if (!config.isVerify()) {
+            return 0;
+        }
+        resolveUnresolved();
+        return new InvariantCheck(client, out).verify(accounts, ledgerSumBefore,
+                config.getInitialBalance() * accounts.size(), netFlow.sum(), outstanding()) ? 0 : 1;
+    }
+
+    // Create and fund the accounts before the clock starts; any failure here ends the run
+    private List<UUID> setUpAccounts(ExecutorService executor) throws InterruptedException {
+        List<Future<UUID>> pending = new ArrayList<>();
+        for (int i = 0; i < config.getAccounts(); i++) {
+            String key = "loadgen-" + runId + "-fund-" + i;
+            pending.add(executor.submit(() -> {
+                UUID account = client.createAccount();
+                if (config.getInitialBalance() > 0) {
+                    LedgerClient.Result funded = client.deposit(account, config.getInitialBalance(), key);
+                    if (funded.getOutcome() != LedgerClient.Outcome.OK) {
+                        throw new IllegalStateException("Funding " + account + " answered HTTP " + funded.getStatus());
+                    }
+                }
+                return account;
+            }));
+        }
+        List<UUID> accounts = new ArrayList<>(pending.size());
+        for (Future<UUID> future : pending) {
+            try {
+                accounts.add(future.get());
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Account setup failed", e.getCause());
+            }
+        }
+        out.printf("Created and funded %d accounts%n", accounts.size());
+        return accounts;
+    }
+
+    private void issueRequests(ExecutorService executor, List<UUID> accounts) {
+        SplittableRandom random = new SplittableRandom(config.getSeed());
+        ZipfSampler zipf = new ZipfSampler(accounts.size(), config.getZipfExponent());
+        Operation[] operations = Operation.values();
+        int[] cumulativeWeights = new int[operations.length];
+        int totalWeight = 0;
+        for (Operation operation : operations) {
+            totalWeight += config.getMix().getOrDefault(operation, 0);
+            cumulativeWeights[operation.ordinal()] = totalWeight;
+        }
+
+        double periodNanos = 1_000_000_000d / config.getRate();
+        long start = System.nanoTime();
+        long measureFrom = start + config.getWarmup().toNanos();
+        long end = measureFrom + config.getDuration().toNanos();
+
+        for (long i = 0; ; i++) {
+            long intendedStart = start + (long) (i * periodNanos);
+            if (intendedStart >= end) {
+                return;
+            }
+            long wait;
+            while ((wait = intendedStart - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            long lag = System.nanoTime() - intendedStart;
+            if (lag > maxDispatchLag.get()) {
+                maxDispatchLag.set(lag);
+            }
+
+            int pick = random.nextInt(totalWeight);
+            Operation operation = operations[0];
+            while (cumulativeWeights[operation.ordinal()] <= pick) {
+                operation = operations[operation.ordinal() + 1];
+            }
+            UUID account = accounts.get(zipf.next(random));
+            UUID counterparty = null;
+            if (operation == Operation.TRANSFER) {
+                do {
+                    counterparty = accounts.get(zipf.next(random));
+                } while (counterparty.equals(account));
+            }
+            long amount = 1 + random.nextLong(config.getMaxAmount());
+            Request request = new Request(operation, account, counterparty, amount, "loadgen-" + runId + "-" + i);
+            boolean measured = intendedStart >= measureFrom;
+            executor.execute(() -> execute(request, intendedStart, measured));
+        }
+    }
+
+    private void execute(Request request, long intendedStart, boolean measured) {
+        long sentAt = System.nanoTime();
+        LedgerClient.Result result = send(request);
+        long doneAt = System.nanoTime();
+
+        if (result.getOutcome() == LedgerClient.Outcome.OK) {
+            countCommitted(request);
+        } else if (result.getOutcome() == LedgerClient.Outcome.UNRESOLVED && request.operation.isPosting()) {
+            unresolved.add(request);
+        }
+        if (measured) {
+            stats.get(request.operation).record(doneAt - intendedStart, doneAt - sentAt, result);
+        }
+    }
+
+    private LedgerClient.Result send(Request request) {
+        return switch (request.operation) {
+            case DEPOSIT -> client.deposit(request.account, request.amount, request.idempotencyKey);
+            case WITHDRAW -> client.withdraw(request.account, request.amount, request.idempotencyKey);
+            case TRANSFER -> client.transfer(request.account, request.counterparty, request.amount,
+                    request.idempotencyKey);
+            case BALANCE -> client.balance(request.account);
+            case HISTORY -> client.history(request.account);
+        };
+    }
+
+    private void countCommitted(Request request) {
+        if (request.operation == Operation.DEPOSIT) {
+            netFlow.add(request.amount);
+        } else if (request.operation == Operation.WITHDRAW) {
+            netFlow.add(-request.amount);
+        }
+    }
+
+    // Resend every posting that never got a definite answer, under its original key, so the check can be exact
+    private void resolveUnresolved() {
+        int resolved = 0;
+        for (int size = unresolved.size(), i = 0; i < size; i++) {
+            Request request = unresolved.poll();
+            LedgerClient.Result result = send(request);
+            switch (result.getOutcome()) {
+                case OK, DUPLICATE -> {
+                    countCommitted(request);
+                    resolved++;
+                }
+                case REJECTED -> resolved++;
+                case UNRESOLVED -> unresolved.add(request);
+            }
+        }
+        if (resolved > 0 || !unresolved.isEmpty()) {
+            out.printf("Resolved %d postings by idempotent replay, %d still unresolved%n", resolved, unresolved.size());
+        }
+    }
+
+    // Largest amount the unresolved postings could still have moved in or out of the ledger
+    private long outstanding() {
+        long total = 0;
+        for (Request request : unresolved) {
+            if (request.operation != Operation.TRANSFER) {
+                total += request.amount;
+            }
+        }
+        return total;
+    }
+
+    private void drainInterval(HistogramLogWriter log) {
+        for (OperationStats operationStats : stats.values()) {
+            for (Histogram interval : operationStats.drainInterval()) {
+                log.outputIntervalHistogram(interval);
+            }
+        }
+    }
+
+    private void printReport() {
+        out.println();
+        out.printf("%-9s %8s %8s %8s %8s %8s  %-9s", "operation", "ok", "rejected", "unresol.", "retried",
+                "count", "latency");
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9s", "p" + (percentile == (long) percentile ? String.valueOf((long) percentile) : percentile));
+        }
+        out.printf(" %9s%n", "max");
+        for (OperationStats operationStats : stats.values()) {
+            Histogram response = operationStats.getResponseTotal();
+            if (response.getTotalCount() == 0) {
+                continue;
+            }
+            out.printf("%-9s %8d %8d %8d %8d %8d  ", operationStats.getOperation().tag(), operationStats.getOk(),
+                    operationStats.getRejected(), operationStats.getUnresolved(), operationStats.getRetried(),
+                    response.getTotalCount());
+            printPercentiles("response", response);
+            out.printf("%-9s %8s %8s %8s %8s %8s  ", "", "", "", "", "", "");
+            printPercentiles("service", operationStats.getServiceTotal());
+        }
+        out.printf("Latencies in ms. Response time is measured from the scheduled start (corrected for coordinated "
+                + "omission); service time from when the request was sent. Max dispatch lag %.2f ms.%n",
+                maxDispatchLag.get() / 1e6);
+        out.println("Interval histograms: " + config.getHistogramLog());
+    }
+
+    private void printPercentiles(String label, Histogram histogram) {
+        out.printf("%-9s", label);
+        for (double percentile : PERCENTILES) {
+            out.printf(" %9.2f", histogram.getValueAtPercentile(percentile) / 1e6);
+        }
+        out.printf(" %9.2f%n", histogram.getMaxValue() / 1e6);
+    }
+
+    // Virtual threads where the runtime has them; looked up reflectively so the module still builds for Java 17
+    private ExecutorService newExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            out.printf("No virtual threads on Java %s; using a pool of %d threads%n",
+                    Runtime.version().feature(), config.getFallbackThreads());
+            return Executors.newFixedThreadPool(config.getFallbackThreads(), runnable -> {
+                Thread thread = new Thread(runnable);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private static final class Request {
+
+        private final Operation operation;
+        private final UUID account;
+        private final UUID counterparty;
+        private final long amount;
+        private final String idempotencyKey;
+
+        private Request(Operation operation, UUID account, UUID counterparty, long amount, String idempotencyKey) {
+            this.operation = operation;
+            this.account = account;
+            this.counterparty = counterparty;
+            this.amount = amount;
+            this.idempotencyKey = idempotencyKey;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.ledger.loadgen;
+
+import java.util.Locale;
+
+public enum Operation {
+    DEPOSIT(true),
+    WITHDRAW(true),
+    TRANSFER(true),
+    BALANCE(false),
+    HISTORY(false);
+
+    private final boolean posting;
+
+    Operation(boolean posting) {
+        this.posting = posting;
+    }
+
+    public boolean isPosting() {
+        return posting;
+    }
+
+    public String tag() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    public static Operation fromName(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+}
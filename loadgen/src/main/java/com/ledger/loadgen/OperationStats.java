@@ -0,0 +1,81 @@
+package com.ledger.loadgen;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/*
+ * Latency and outcome counts for one operation. Two recorders per operation: response time runs from the
+ * request's intended start on the arrival schedule, so time spent queued behind a slow engine is charged to
+ * the engine (the coordinated-omission correction); service time runs from the moment the request was
+ * actually sent. Values are nanoseconds.
+ */
+public class OperationStats {
+
+    private final Operation operation;
+    private final Recorder responseTime = new Recorder(3);
+    private final Recorder serviceTime = new Recorder(3);
+    private final Histogram responseTotal = new Histogram(3);
+    private final Histogram serviceTotal = new Histogram(3);
+    private final LongAdder ok = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder unresolved = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+
+    public OperationStats(Operation operation) {
+        this.operation = operation;
+    }
+
+    public void record(long responseNanos, long serviceNanos, LedgerClient.Result result) {
+        responseTime.recordValue(responseNanos);
+        serviceTime.recordValue(serviceNanos);
+        switch (result.getOutcome()) {
+            case OK -> ok.increment();
+            case REJECTED, DUPLICATE -> rejected.increment();
+            case UNRESOLVED -> unresolved.increment();
+        }
+        if (result.getAttempts() > 1) {
+            retried.increment();
+        }
+    }
+
+    // Called by the single reporting thread: hands back this interval's histograms and folds them into the totals
+    public Histogram[] drainInterval() {
+        Histogram response = responseTime.getIntervalHistogram();
+        Histogram service = serviceTime.getIntervalHistogram();
+        response.setTag(operation.tag() + "-response");
+        service.setTag(operation.tag() + "-service");
+        responseTotal.add(response);
+        serviceTotal.add(service);
+        return new Histogram[] {response, service};
+    }
+
+    public Operation getOperation() {
+        return operation;
+    }
+
+    public Histogram getResponseTotal() {
+        return responseTotal;
+    }
+
+    public Histogram getServiceTotal() {
+        return serviceTotal;
+    }
+
+    public long getOk() {
+        return ok.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getUnresolved() {
+        return unresolved.sum();
+    }
+
+    public long getRetried() {
+        return retried.sum();
+    }
+}
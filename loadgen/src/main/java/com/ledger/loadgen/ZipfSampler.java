@@ -0,0 +1,38 @@
+package com.ledger.loadgen;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/*
+ * Rank r in [0, n) with probability proportional to 1 / (r + 1)^s: a few hot accounts take most of the traffic,
+ * as payees and merchants do in production. The CDF is built once, so a draw is one binary search.
+ */
+public class ZipfSampler {
+
+    private final double[] cdf;
+
+    public ZipfSampler(int n, double exponent) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n must be positive, got: " + n);
+        }
+        cdf = new double[n];
+        double total = 0;
+        for (int rank = 0; rank < n; rank++) {
+            total += 1.0 / Math.pow(rank + 1, exponent);
+            cdf[rank] = total;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cdf[rank] /= total;
+        }
+        cdf[n - 1] = 1.0;
+    }
+
+    public int next(RandomGenerator random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return index >= 0 ? index : -index - 1;
+    }
+
+    public double probability(int rank) {
+        return rank == 0 ? cdf[0] : cdf[rank] - cdf[rank - 1];
+    }
+}
@@ -0,0 +1,30 @@
+package com.ledger.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadConfigTest {
+
+    @Test
+    void parse_shouldReadOptionsAndMix() {
+        LoadConfig config = LoadConfig.parse(new String[] {
+                "--base-url=http://engine:8080/", "--rate=750", "--duration=PT2M", "--mix=deposit=1,balance=3"});
+
+        assertEquals("http://engine:8080", config.getBaseUrl().toString());
+        assertEquals(750.0, config.getRate());
+        assertEquals(Duration.ofMinutes(2), config.getDuration());
+        assertEquals(Map.of(Operation.DEPOSIT, 1, Operation.BALANCE, 3), config.getMix());
+    }
+
+    @Test
+    void parse_shouldRejectUnknownOptionsAndEmptyMixes() {
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[] {"--rps=10"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[] {"rate=10"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[] {"--mix=deposit=0"}));
+        assertThrows(IllegalArgumentException.class, () -> LoadConfig.parse(new String[] {"--rate=0"}));
+    }
+}
@@ -0,0 +1,48 @@
+package com.ledger.loadgen;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ZipfSamplerTest {
+
+    @Test
+    void probabilities_shouldFollowThePowerLawAndSumToOne() {
+        ZipfSampler sampler = new ZipfSampler(100, 1.0);
+
+        double total = 0;
+        for (int rank = 0; rank < 100; rank++) {
+            total += sampler.probability(rank);
+        }
+        assertEquals(1.0, total, 1e-9);
+        assertEquals(2.0, sampler.probability(0) / sampler.probability(1), 1e-9);
+        assertEquals(10.0, sampler.probability(0) / sampler.probability(9), 1e-9);
+    }
+
+    @Test
+    void draws_shouldStayInRangeAndMatchTheDistribution() {
+        ZipfSampler sampler = new ZipfSampler(50, 1.1);
+        SplittableRandom random = new SplittableRandom(42);
+        int[] counts = new int[50];
+        int draws = 200_000;
+
+        for (int i = 0; i < draws; i++) {
+            counts[sampler.next(random)]++;
+        }
+
+        assertEquals(sampler.probability(0), counts[0] / (double) draws, 0.01);
+        assertEquals(sampler.probability(49), counts[49] / (double) draws, 0.002);
+        assertTrue(counts[0] > counts[1] && counts[1] > counts[10]);
+    }
+
+    @Test
+    void zeroExponent_shouldBeUniform() {
+        ZipfSampler sampler = new ZipfSampler(4, 0.0);
+
+        for (int rank = 0; rank < 4; rank++) {
+            assertEquals(0.25, sampler.probability(rank), 1e-12);
+        }
+    }
+}
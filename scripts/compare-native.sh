@@ -0,0 +1,75 @@
+#!/usr/bin/env bash
+# Smoke test plus startup, memory and throughput comparison of the JVM jar and the native executable.
+# Build first:  mvn package -DskipTests  and  mvn -Pnative native:compile -DskipTests
+# Usage: scripts/compare-native.sh [requests] [parallelism]   (DB_* environment variables select the database)
+set -euo pipefail
+
+REQUESTS=${1:-20000}
+PARALLEL=${2:-32}
+PORT=${SERVER_PORT:-18080}
+BASE="http://localhost:$PORT"
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+FAT_JAR=$(ls "$ROOT"/target/banking-engine-*.jar | grep -v original | head -n 1)
+NATIVE="$ROOT/target/banking-engine"
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+now_ms() { date +%s%3N; }
+rss_mb() { awk '/VmRSS/ { printf "%.0f", $2 / 1024 }' "/proc/$1/status"; }
+json_field() { sed -n "s/.*\"$1\":\"\\{0,1\\}\\([^\",}]*\\).*/\\1/p"; }
+
+# Start, verify the posting path end to end, then load it; prints one result row
+run_variant() {
+  local name=$1; shift
+  local start; start=$(now_ms)
+  "$@" --server.port="$PORT" >"$WORK/$name.log" 2>&1 &
+  local pid=$!
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "$BASE/api/accounts")" = "200" ]; do
+    if ! kill -0 "$pid" 2>/dev/null; then echo "$name exited before serving, see log:" >&2; tail -20 "$WORK/$name.log" >&2; exit 1; fi
+    sleep 0.02
+  done
+  local startup_ms=$(( $(now_ms) - start ))
+  local idle_rss; idle_rss=$(rss_mb "$pid")
+
+  local account; account=$(curl -sf -X POST "$BASE/api/accounts" | json_field accountId)
+  curl -sf -o /dev/null -X POST "$BASE/api/transactions/deposit" -H 'Content-Type: application/json' \
+    -d "{\"accountId\":\"$account\",\"amount\":500,\"idempotencyKey\":\"smoke-$name-$start\"}"
+  local balance; balance=$(curl -sf "$BASE/api/accounts/$account/balance" | json_field balance)
+  if [ "$balance" != "500" ]; then echo "$name smoke test failed: balance=$balance" >&2; kill "$pid"; exit 1; fi
+
+  local accounts=()
+  for _ in $(seq 64); do accounts+=("$(curl -sf -X POST "$BASE/api/accounts" | json_field accountId)"); done
+  load() {
+    local round=$1 count=$2
+    : >"$WORK/requests"
+    for i in $(seq "$count"); do
+      if [ "$i" -gt 1 ]; then echo next >>"$WORK/requests"; fi
+      cat >>"$WORK/requests" <<REQ
+url = "$BASE/api/transactions/deposit"
+request = "POST"
+header = "Content-Type: application/json"
+data = "{\"accountId\":\"${accounts[$((i % 64))]}\",\"amount\":1,\"idempotencyKey\":\"$name-$start-$round-$i\"}"
+output = "/dev/null"
+write-out = "%{http_code}\n"
+REQ
+    done
+    curl -s --no-progress-meter --parallel --parallel-max "$PARALLEL" -K "$WORK/requests" | tee "$WORK/$name-$round.codes" | grep -c '^201$' || true
+  }
+  load warmup $(( REQUESTS / 4 )) >/dev/null
+  local load_start; load_start=$(now_ms)
+  local ok; ok=$(load measure "$REQUESTS")
+  local elapsed=$(( $(now_ms) - load_start ))
+  local loaded_rss; loaded_rss=$(rss_mb "$pid")
+  kill "$pid"; wait "$pid" 2>/dev/null || true
+
+  printf '%-8s %12s %14s %16s %14s %10s\n' "$name" "$startup_ms" "$idle_rss" "$loaded_rss" \
+    "$(( ok * 1000 / elapsed ))" "$(( REQUESTS - ok ))"
+}
+
+printf '%-8s %12s %14s %16s %14s %10s\n' variant startup_ms idle_rss_mb loaded_rss_mb deposits_per_s failures
+run_variant jvm java -jar "$FAT_JAR"
+if [ -x "$NATIVE" ]; then
+  run_variant native "$NATIVE"
+else
+  echo "native  (skipped: $NATIVE not built)"
+fi
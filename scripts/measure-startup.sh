@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Time from JVM launch to the first 200 on GET /api/accounts, best of N runs per variant.
+# Build both variants first:  mvn -Pstartup package -DskipTests
+# Usage: scripts/measure-startup.sh [runs]   (DB_* environment variables select the database)
+set -euo pipefail
+
+RUNS=${1:-5}
+PORT=${SERVER_PORT:-18080}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+FAT_JAR=$(ls "$ROOT"/target/banking-engine-*.jar | grep -v original | head -n 1)
+STARTUP_DIR="$ROOT/target/startup"
+
+now_ms() { date +%s%3N; }
+
+measure() {
+  local dir=$1; shift
+  local best=""
+  for _ in $(seq "$RUNS"); do
+    local start; start=$(now_ms)
+    (cd "$dir" && exec "$@" --server.port="$PORT" >/dev/null 2>&1) &
+    local pid=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/api/accounts")" = "200" ]; do
+      if ! kill -0 "$pid" 2>/dev/null; then echo "application exited before serving" >&2; return 1; fi
+      sleep 0.02
+    done
+    local elapsed=$(( $(now_ms) - start ))
+    kill "$pid"; wait "$pid" 2>/dev/null || true
+    if [ -z "$best" ] || [ "$elapsed" -lt "$best" ]; then best=$elapsed; fi
+  done
+  echo "$best"
+}
+
+printf '%-32s %s\n' "variant" "time-to-first-200 (ms, best of $RUNS)"
+printf '%-32s %s\n' "jar" \
+  "$(measure "$ROOT" java -jar "$FAT_JAR")"
+printf '%-32s %s\n' "jar, async schema validation" \
+  "$(measure "$ROOT" java -jar "$FAT_JAR" --ledger.flyway.mode=async-validate)"
+printf '%-32s %s\n' "aot + cds" \
+  "$(measure "$STARTUP_DIR" java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+      -jar banking-engine.jar)"
+printf '%-32s %s\n' "aot + cds, async validation" \
+  "$(measure "$STARTUP_DIR" java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+      -jar banking-engine.jar --ledger.flyway.mode=async-validate)"
@@ -0,0 +1,53 @@
+#!/usr/bin/env bash
+# Runs N engine nodes as local JVMs, each against its own PostgreSQL container, for partitioning tests.
+# Node i listens on BASE_PORT+i and its database on DB_BASE_PORT+i. Ctrl-C stops the JVMs and containers.
+# Build first:  mvn package -DskipTests
+# Usage: scripts/run-partitions.sh [nodes]
+set -euo pipefail
+
+NODES=${1:-3}
+BASE_PORT=${BASE_PORT:-8081}
+DB_BASE_PORT=${DB_BASE_PORT:-5433}
+ROOT=$(cd "$(dirname "$0")/.." && pwd)
+JAR=$(ls "$ROOT"/target/banking-engine-*.jar | grep -v original | head -n 1)
+LOGS="$ROOT/target/partitions"
+mkdir -p "$LOGS"
+
+node_list=""
+for i in $(seq 0 $((NODES - 1))); do
+  node_list="${node_list:+$node_list,}http://localhost:$((BASE_PORT + i))"
+done
+
+pids=()
+cleanup() {
+  for pid in "${pids[@]}"; do kill "$pid" 2>/dev/null || true; done
+  wait 2>/dev/null || true
+  for i in $(seq 0 $((NODES - 1))); do docker rm -f "ledger-partition-db-$i" >/dev/null 2>&1 || true; done
+}
+trap cleanup EXIT INT TERM
+
+for i in $(seq 0 $((NODES - 1))); do
+  docker run -d --rm --name "ledger-partition-db-$i" -p "$((DB_BASE_PORT + i)):5432" \
+    -e POSTGRES_DB=banking_engine -e POSTGRES_USER=postgres -e POSTGRES_PASSWORD=postgres \
+    postgres:15-alpine >/dev/null
+done
+for i in $(seq 0 $((NODES - 1))); do
+  until docker exec "ledger-partition-db-$i" pg_isready -U postgres >/dev/null 2>&1; do sleep 0.5; done
+done
+
+for i in $(seq 0 $((NODES - 1))); do
+  DB_PORT=$((DB_BASE_PORT + i)) SERVER_PORT=$((BASE_PORT + i)) \
+    LEDGER_PARTITION_NODES="$node_list" LEDGER_PARTITION_SELF=$i \
+    LEDGER_PARTITION_SECRET="${LEDGER_PARTITION_SECRET:-local-partition-secret}" \
+    java -jar "$JAR" >"$LOGS/node-$i.log" 2>&1 &
+  pids+=($!)
+done
+for i in $(seq 0 $((NODES - 1))); do
+  until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$((BASE_PORT + i))/api/partitions")" = "200" ]; do
+    if ! kill -0 "${pids[$i]}" 2>/dev/null; then echo "node $i exited; see $LOGS/node-$i.log" >&2; exit 1; fi
+    sleep 0.5
+  done
+done
+
+echo "partitions: $node_list (logs in $LOGS)"
+wait
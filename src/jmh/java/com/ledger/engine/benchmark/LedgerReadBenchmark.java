@@ -0,0 +1,127 @@
+package com.ledger.engine.benchmark;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ledger.engine.api.LedgerEntryJsonWriter;
+import com.ledger.engine.api.dto.LedgerEntryResponse;
+import com.ledger.engine.domain.LedgerEntry;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Per-call allocation of the account history read path; run with -prof gc and compare gc.alloc.rate.norm.
+ * Needs a migrated scratch database (rows are inserted and never removed):
+ *   -Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5432/banking_engine -Dbenchmark.jdbc.user=... -Dbenchmark.jdbc.password=...
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class LedgerReadBenchmark {
+
+    // The mapper this repository used before native uuid/timestamp decoding
+    private static final RowMapper<LedgerEntry> STRING_ROW_MAPPER = (rs, rowNum) -> new LedgerEntry(
+            UUID.fromString(rs.getString("ledger_entry_id")),
+            UUID.fromString(rs.getString("transaction_id")),
+            UUID.fromString(rs.getString("account_id")),
+            rs.getLong("amount"),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    @Param({"10000"})
+    public int rows;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private LedgerEntryRepository repository;
+    private TransactionTemplate transactionTemplate;
+    private ObjectMapper objectMapper;
+    private UUID accountId;
+
+    @Setup
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/banking_engine"),
+                System.getProperty("benchmark.jdbc.user", "postgres"),
+                System.getProperty("benchmark.jdbc.password", "postgres"),
+                true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        repository = new LedgerEntryRepository(jdbcTemplate);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        accountId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO account (account_id) VALUES (?)", accountId);
+        jdbcTemplate.update(
+                "WITH tx AS ( " +
+                        "    INSERT INTO transaction (transaction_id, idempotency_key, status) " +
+                        "    SELECT gen_random_uuid(), 'bench-' || ? || '-' || g, 'COMPLETED' " +
+                        "    FROM generate_series(1, ?) g RETURNING transaction_id) " +
+                        "INSERT INTO ledger_entry (transaction_id, account_id, amount, created_at) " +
+                        "SELECT transaction_id, ?, 100, LOCALTIMESTAMP - random() * INTERVAL '365 days' FROM tx",
+                accountId.toString(), rows, accountId);
+    }
+
+    @TearDown
+    public void tearDown() {
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    public void stringMapperDtoList() throws IOException {
+        List<LedgerEntry> entries = jdbcTemplate.query(
+                "SELECT ledger_entry_id, transaction_id, account_id, amount, created_at " +
+                        "FROM ledger_entry WHERE account_id = ? ORDER BY created_at DESC",
+                STRING_ROW_MAPPER, accountId);
+        objectMapper.writeValue(OutputStream.nullOutputStream(), toResponses(entries));
+    }
+
+    @Benchmark
+    public void nativeMapperDtoList() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), toResponses(repository.findByAccountId(accountId)));
+    }
+
+    @Benchmark
+    public void streamingGenerator() {
+        transactionTemplate.executeWithoutResult(status -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(OutputStream.nullOutputStream())) {
+                LedgerEntryJsonWriter writer = new LedgerEntryJsonWriter(generator);
+                generator.writeStartArray();
+                repository.streamByAccountId(accountId, 5000, row -> {
+                    try {
+                        writer.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static List<LedgerEntryResponse> toResponses(List<LedgerEntry> entries) {
+        return entries.stream()
+                .map(e -> new LedgerEntryResponse(e.getLedgerEntryId(), e.getTransactionId(),
+                        e.getAmount(), e.getCreatedAt()))
+                .toList();
+    }
+}
@@ -0,0 +1,77 @@
+package com.ledger.engine.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ledger.engine.api.dto.DepositRequest;
+import com.ledger.engine.api.dto.TransactionResponse;
+import com.ledger.engine.domain.UuidV7;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * CPU per request spent in the transaction endpoints' codec: decode a DepositRequest and encode the
+ * TransactionResponse. Needs no database; run with -prof gc to compare gc.alloc.rate.norm as well.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class TransactionCodecBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    private ObjectReader requestReader;
+    private ObjectWriter responseWriter;
+    private byte[] requestBytes;
+    private TransactionResponse response;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper json = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper mapper = switch (format) {
+            case "json" -> json;
+            case "cbor" -> json.copyWith(new CBORFactory());
+            case "smile" -> json.copyWith(new SmileFactory());
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        requestReader = mapper.readerFor(DepositRequest.class);
+        responseWriter = mapper.writerFor(TransactionResponse.class);
+
+        String idempotencyKey = "gateway-" + UUID.randomUUID();
+        requestBytes = mapper.writeValueAsBytes(new DepositRequest(UuidV7.generate(), 125_000L, idempotencyKey));
+        response = new TransactionResponse(UuidV7.generate(), idempotencyKey, "COMPLETED", LocalDateTime.now());
+        System.out.printf("%n%s: request=%d bytes, response=%d bytes%n",
+                format, requestBytes.length, responseWriter.writeValueAsBytes(response).length);
+    }
+
+    @Benchmark
+    public DepositRequest decodeRequest() throws IOException {
+        return requestReader.readValue(requestBytes);
+    }
+
+    @Benchmark
+    public byte[] encodeResponse() throws IOException {
+        return responseWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] roundTrip() throws IOException {
+        DepositRequest request = requestReader.readValue(requestBytes);
+        return responseWriter.writeValueAsBytes(new TransactionResponse(
+                request.getAccountId(), request.getIdempotencyKey(), response.getStatus(), response.getCreatedAt()));
+    }
+}
@@ -0,0 +1,153 @@
+package com.ledger.engine.benchmark;
+
+import com.ledger.engine.domain.UuidV7;
+import org.openjdk.jmh.annotations.*;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/*
+ * Insert throughput and primary-key index growth for v4 (random) versus v7 (time-ordered) keys on a
+ * ledger_entry-shaped table preloaded with preloadRows rows. Each invocation commits one batch of transfer
+ * legs; the score is rows per second. Index sizes and WAL bytes per inserted row are printed after each trial.
+ * The full comparison preloads 50M rows (-p preloadRows=50000000), which needs roughly 10 GB of disk.
+ *   -Dbenchmark.jdbc.url=jdbc:postgresql://localhost:5432/banking_engine -Dbenchmark.jdbc.user=... -Dbenchmark.jdbc.password=...
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx1g")
+public class UuidInsertBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int COPY_CHUNK = 100_000;
+
+    @Param({"v4", "v7"})
+    public String keys;
+
+    @Param({"1000000"})
+    public long preloadRows;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private Supplier<UUID> generator;
+    private String table;
+    private UUID accountId;
+    private long rowsInserted;
+    private long walStart;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        dataSource = new SingleConnectionDataSource(
+                System.getProperty("benchmark.jdbc.url", "jdbc:postgresql://localhost:5432/banking_engine"),
+                System.getProperty("benchmark.jdbc.user", "postgres"),
+                System.getProperty("benchmark.jdbc.password", "postgres"),
+                true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        generator = "v7".equals(keys) ? UuidV7::generate : UUID::randomUUID;
+        table = "benchmark_entry_" + keys;
+        accountId = UUID.randomUUID();
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        jdbcTemplate.execute("CREATE TABLE " + table + " ( " +
+                "ledger_entry_id UUID PRIMARY KEY, " +
+                "transaction_id UUID NOT NULL, " +
+                "account_id UUID NOT NULL, " +
+                "amount BIGINT NOT NULL, " +
+                "created_at TIMESTAMP NOT NULL DEFAULT NOW())");
+        jdbcTemplate.execute("CREATE INDEX " + table + "_transaction_id ON " + table + " (transaction_id)");
+        preload();
+        jdbcTemplate.execute("CHECKPOINT");
+
+        walStart = currentWalBytes();
+        rowsInserted = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        long walBytes = currentWalBytes() - walStart;
+        Long pkBytes = jdbcTemplate.queryForObject("SELECT pg_relation_size(?::regclass)", Long.class, table + "_pkey");
+        Long txIndexBytes = jdbcTemplate.queryForObject(
+                "SELECT pg_relation_size(?::regclass)", Long.class, table + "_transaction_id");
+        long totalRows = preloadRows + rowsInserted;
+        System.out.printf("%n[%s] rows=%d pkIndex=%d MB (%.1f B/row) txIndex=%d MB walPerInsertedRow=%.1f B%n",
+                keys, totalRows, pkBytes / (1 << 20), (double) pkBytes / totalRows, txIndexBytes / (1 << 20),
+                rowsInserted == 0 ? 0.0 : (double) walBytes / rowsInserted);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS " + table);
+        dataSource.destroy();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public void insertBatch() throws SQLException {
+        Connection connection = dataSource.getConnection();
+        connection.setAutoCommit(false);
+        try (PreparedStatement ps = connection.prepareStatement(
+                "INSERT INTO " + table + " (ledger_entry_id, transaction_id, account_id, amount, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?)")) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            for (int i = 0; i < BATCH_SIZE; i += 2) {
+                // A transfer: two legs sharing one transaction id
+                UUID transactionId = generator.get();
+                addRow(ps, generator.get(), transactionId, -100L, now);
+                addRow(ps, generator.get(), transactionId, 100L, now);
+            }
+            ps.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(true);
+        }
+        rowsInserted += BATCH_SIZE;
+    }
+
+    private void addRow(PreparedStatement ps, UUID entryId, UUID transactionId, long amount, Timestamp at)
+            throws SQLException {
+        ps.setObject(1, entryId);
+        ps.setObject(2, transactionId);
+        ps.setObject(3, accountId);
+        ps.setLong(4, amount);
+        ps.setTimestamp(5, at);
+        ps.addBatch();
+    }
+
+    private void preload() throws SQLException {
+        CopyManager copyManager = dataSource.getConnection().unwrap(PGConnection.class).getCopyAPI();
+        StringBuilder csv = new StringBuilder(COPY_CHUNK * 128);
+        for (long loaded = 0; loaded < preloadRows; ) {
+            csv.setLength(0);
+            long chunk = Math.min(COPY_CHUNK, preloadRows - loaded);
+            for (long i = 0; i < chunk; i++) {
+                csv.append(generator.get()).append(',')
+                        .append(generator.get()).append(',')
+                        .append(accountId).append(",100\n");
+            }
+            try {
+                copyManager.copyIn("COPY " + table + " (ledger_entry_id, transaction_id, account_id, amount) " +
+                        "FROM STDIN (FORMAT csv)", new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException(e);
+            }
+            loaded += chunk;
+        }
+    }
+
+    private long currentWalBytes() {
+        Long bytes = jdbcTemplate.queryForObject(
+                "SELECT pg_wal_lsn_diff(pg_current_wal_lsn(), '0/0')::bigint", Long.class);
+        return bytes != null ? bytes : 0L;
+    }
+}
@@ -1,9 +1,12 @@
 package com.ledger.engine;
 
+import com.ledger.engine.config.LedgerRuntimeHints;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.context.annotation.ImportRuntimeHints;
 
 @SpringBootApplication
+@ImportRuntimeHints(LedgerRuntimeHints.class)
 public class BankingEngineApplication {
 
     public static void main(String[] args) {
@@ -1,16 +1,27 @@
 package com.ledger.engine.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ledger.engine.api.dto.AccountResponse;
+import com.ledger.engine.api.dto.AvailableBalanceResponse;
 import com.ledger.engine.api.dto.BalanceResponse;
-import com.ledger.engine.api.dto.LedgerEntryResponse;
+import com.ledger.engine.api.dto.BulkBalanceRequest;
+import com.ledger.engine.api.dto.HistoricalBalanceResponse;
 import com.ledger.engine.domain.Account;
-import com.ledger.engine.domain.LedgerEntry;
 import com.ledger.engine.service.AccountService;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 @RestController
@@ -18,9 +29,11 @@ import java.util.UUID;
 public class AccountController {
 
     private final AccountService accountService;
+    private final ObjectMapper objectMapper;
 
-    public AccountController(AccountService accountService) {
+    public AccountController(AccountService accountService, ObjectMapper objectMapper) {
         this.accountService = accountService;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -30,9 +43,28 @@ public class AccountController {
     }
 
     @GetMapping("/{accountId}")
-    public ResponseEntity<AccountResponse> getAccount(@PathVariable UUID accountId) {
+    public ResponseEntity<AccountResponse> getAccount(@PathVariable UUID accountId, WebRequest request) {
+        String etag = etag(accountService.getAccountVersion(accountId));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         Account account = accountService.getAccount(accountId);
-        return ResponseEntity.ok(toResponse(account));
+        return ResponseEntity.ok().eTag(etag).body(toResponse(account));
+    }
+
+    @PostMapping("/{accountId}/close")
+    public ResponseEntity<AccountResponse> closeAccount(@PathVariable UUID accountId) {
+        return ResponseEntity.ok(toResponse(accountService.closeAccount(accountId)));
+    }
+
+    @PostMapping("/{accountId}/freeze")
+    public ResponseEntity<AccountResponse> freezeAccount(@PathVariable UUID accountId) {
+        return ResponseEntity.ok(toResponse(accountService.freezeAccount(accountId)));
+    }
+
+    @PostMapping("/{accountId}/reopen")
+    public ResponseEntity<AccountResponse> reopenAccount(@PathVariable UUID accountId) {
+        return ResponseEntity.ok(toResponse(accountService.reopenAccount(accountId)));
     }
 
     @GetMapping
@@ -44,17 +76,75 @@ public class AccountController {
     }
 
     @GetMapping("/{accountId}/balance")
-    public ResponseEntity<BalanceResponse> getBalance(@PathVariable UUID accountId) {
+    public ResponseEntity<BalanceResponse> getBalance(@PathVariable UUID accountId, WebRequest request) {
+        String etag = etag(accountService.getAccountVersion(accountId));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         long balance = accountService.getBalance(accountId);
-        return ResponseEntity.ok(new BalanceResponse(accountId, balance));
+        return ResponseEntity.ok().eTag(etag).body(new BalanceResponse(accountId, balance));
     }
 
-    @GetMapping("/{accountId}/transactions")
-    public ResponseEntity<List<LedgerEntryResponse>> getTransactions(@PathVariable UUID accountId) {
-        List<LedgerEntryResponse> entries = accountService.getAccountTransactions(accountId).stream()
-                .map(this::toEntryResponse)
+    @GetMapping("/{accountId}/balance/available")
+    public ResponseEntity<AvailableBalanceResponse> getAvailableBalance(@PathVariable UUID accountId,
+            WebRequest request) {
+        // Not the bare version: an expiring hold changes the body before the sweeper bumps the version
+        String etag = etag(accountService.getAvailableBalanceVersion(accountId));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        long balance = accountService.getBalance(accountId);
+        long reserved = accountService.getReservedAmount(accountId);
+        return ResponseEntity.ok().eTag(etag)
+                .body(new AvailableBalanceResponse(accountId, balance, reserved, balance - reserved));
+    }
+
+    @GetMapping(value = "/{accountId}/balance", params = "asOf")
+    public ResponseEntity<HistoricalBalanceResponse> getBalanceAsOf(@PathVariable UUID accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf) {
+        long balance = accountService.getBalanceAsOf(accountId, asOf);
+        return ResponseEntity.ok(new HistoricalBalanceResponse(accountId, balance, asOf));
+    }
+
+    @PostMapping("/balances/as-of")
+    public ResponseEntity<List<HistoricalBalanceResponse>> getBalancesAsOf(@RequestBody BulkBalanceRequest request) {
+        Map<UUID, Long> balances = accountService.getBalancesAsOf(request.getAccountIds(), request.getAsOf());
+        List<HistoricalBalanceResponse> response = balances.entrySet().stream()
+                .map(e -> new HistoricalBalanceResponse(e.getKey(), e.getValue(), request.getAsOf()))
                 .toList();
-        return ResponseEntity.ok(entries);
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/{accountId}/transactions")
+    public ResponseEntity<StreamingResponseBody> getTransactions(@PathVariable UUID accountId, WebRequest request) {
+        String etag = etag(accountService.getAccountVersion(accountId));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                LedgerEntryJsonWriter writer = new LedgerEntryJsonWriter(generator);
+                generator.writeStartArray();
+                accountService.streamAccountTransactions(accountId, row -> {
+                    try {
+                        writer.write(row);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().eTag(etag).contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    // Weak: the same version is served as JSON, CBOR or Smile, which are equivalent but not byte-identical
+    private static String etag(long version) {
+        return etag(Long.toString(version));
+    }
+
+    private static String etag(String version) {
+        return "W/\"" + version + "\"";
     }
 
     private AccountResponse toResponse(Account account) {
@@ -63,12 +153,4 @@ public class AccountController {
                 account.getStatus().name(),
                 account.getCreatedAt());
     }
-
-    private LedgerEntryResponse toEntryResponse(LedgerEntry entry) {
-        return new LedgerEntryResponse(
-                entry.getLedgerEntryId(),
-                entry.getTransactionId(),
-                entry.getAmount(),
-                entry.getCreatedAt());
-    }
 }
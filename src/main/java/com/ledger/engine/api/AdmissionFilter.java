@@ -0,0 +1,116 @@
+package com.ledger.engine.api;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ledger.engine.api.dto.ErrorResponse;
+import com.ledger.engine.config.PartitionMap;
+import com.ledger.engine.exception.LedgerUnavailableException;
+import com.ledger.engine.exception.RateLimitExceededException;
+import com.ledger.engine.service.AdmissionService;
+import com.ledger.engine.service.PriorityLane;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/*
+ * Admits account and transaction requests through AdmissionService. The client is X-Client-Id, or the remote
+ * address without one; a request joins the batch lane when the client is configured as batch, when it sends
+ * X-Priority: batch, or when it is a streamed batch. Runs after partition routing: a request is rate-checked
+ * by the node the client called (the routing filter does it for requests it forwards) and takes its in-flight
+ * permit on the node that serves it; only a hop carrying the partition secret skips the rate check here.
+ * Balance streams are long-lived and hold no connection, so they are not counted.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class AdmissionFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_HEADER = "X-Client-Id";
+    public static final String PRIORITY_HEADER = "X-Priority";
+
+    private static final String BATCH_PATH = "/api/transactions/batch";
+    private static final String BALANCE_STREAM_PATH = "/api/accounts/balances/stream";
+
+    private final AdmissionService admissionService;
+    private final PartitionMap partitionMap;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final ObjectMapper objectMapper;
+
+    public AdmissionFilter(AdmissionService admissionService,
+            PartitionMap partitionMap,
+            GlobalExceptionHandler exceptionHandler,
+            ObjectMapper objectMapper) {
+        this.admissionService = admissionService;
+        this.partitionMap = partitionMap;
+        this.exceptionHandler = exceptionHandler;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !isAdmitted(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String clientId = clientId(request);
+        PriorityLane lane = lane(request, clientId);
+
+        AdmissionService.Permit permit;
+        try {
+            permit = PartitionRoutingFilter.forwardedBy(request, partitionMap) != null
+                    ? admissionService.acquire(lane)
+                    : admissionService.admit(clientId, lane);
+        } catch (RateLimitExceededException | LedgerUnavailableException e) {
+            writeError(response, exceptionHandler.resolve(e));
+            return;
+        }
+        try (permit) {
+            chain.doFilter(request, response);
+        }
+    }
+
+    boolean isAdmitted(HttpServletRequest request) {
+        if (!admissionService.isEnabled()) {
+            return false;
+        }
+        String path = path(request);
+        return (path.startsWith("/api/transactions/") || path.startsWith("/api/accounts"))
+                && !path.equals(BALANCE_STREAM_PATH);
+    }
+
+    // For requests the routing filter sends to another node, which admits them without charging the client again
+    void checkRate(HttpServletRequest request) {
+        String clientId = clientId(request);
+        admissionService.checkRate(clientId, lane(request, clientId));
+    }
+
+    private PriorityLane lane(HttpServletRequest request, String clientId) {
+        return admissionService.laneFor(clientId,
+                path(request).equals(BATCH_PATH) || "batch".equalsIgnoreCase(request.getHeader(PRIORITY_HEADER)));
+    }
+
+    private static String clientId(HttpServletRequest request) {
+        String clientId = request.getHeader(CLIENT_HEADER);
+        return clientId == null || clientId.isBlank() ? request.getRemoteAddr() : clientId;
+    }
+
+    private static String path(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private void writeError(HttpServletResponse response, ResponseEntity<ErrorResponse> error) throws IOException {
+        response.setStatus(error.getStatusCode().value());
+        error.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error.getBody());
+    }
+}
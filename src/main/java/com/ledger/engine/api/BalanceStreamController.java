@@ -0,0 +1,61 @@
+package com.ledger.engine.api;
+
+import com.ledger.engine.api.dto.BalanceResponse;
+import com.ledger.engine.service.BalanceBroadcaster;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RestController
+@RequestMapping("/api/accounts/balances")
+public class BalanceStreamController {
+
+    private final BalanceBroadcaster broadcaster;
+    private final Duration sseTimeout;
+
+    public BalanceStreamController(BalanceBroadcaster broadcaster,
+            @Value("${ledger.feed.sse-timeout:PT30M}") Duration sseTimeout) {
+        this.broadcaster = broadcaster;
+        this.sseTimeout = sseTimeout;
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam List<UUID> accountIds) {
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(e -> open.set(false));
+
+        broadcaster.subscribe(accountIds, new BalanceBroadcaster.BalanceSink() {
+            @Override
+            public void send(Map<UUID, Long> balances) throws IOException {
+                List<BalanceResponse> responses = balances.entrySet().stream()
+                        .map(e -> new BalanceResponse(e.getKey(), e.getValue()))
+                        .toList();
+                emitter.send(SseEmitter.event()
+                        .name("balance")
+                        .data(responses, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+
+            @Override
+            public boolean isOpen() {
+                return open.get();
+            }
+        });
+        return emitter;
+    }
+}
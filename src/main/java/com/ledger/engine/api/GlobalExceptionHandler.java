@@ -4,10 +4,16 @@ import com.ledger.engine.api.dto.ErrorResponse;
 import com.ledger.engine.exception.AccountClosedException;
 import com.ledger.engine.exception.AccountNotFoundException;
 import com.ledger.engine.exception.DuplicateRequestException;
+import com.ledger.engine.exception.HoldNotFoundException;
 import com.ledger.engine.exception.InsufficientFundsException;
+import com.ledger.engine.exception.LedgerUnavailableException;
+import com.ledger.engine.exception.RateLimitExceededException;
+import com.ledger.engine.exception.ScheduledPostingNotFoundException;
+import com.ledger.engine.exception.SubscriberLimitExceededException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -25,6 +31,20 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse("ACCOUNT_NOT_FOUND", ex.getMessage()));
     }
 
+    @ExceptionHandler(ScheduledPostingNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleScheduledPostingNotFound(ScheduledPostingNotFoundException ex) {
+        log.warn("Scheduled posting not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("SCHEDULED_POSTING_NOT_FOUND", ex.getMessage()));
+    }
+
+    @ExceptionHandler(HoldNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleHoldNotFound(HoldNotFoundException ex) {
+        log.warn("Hold not found: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(new ErrorResponse("HOLD_NOT_FOUND", ex.getMessage()));
+    }
+
     @ExceptionHandler(InsufficientFundsException.class)
     public ResponseEntity<ErrorResponse> handleInsufficientFunds(InsufficientFundsException ex) {
         log.warn("Insufficient funds: {}", ex.getMessage());
@@ -36,8 +56,9 @@ public class GlobalExceptionHandler {
     public ResponseEntity<ErrorResponse> handleDuplicateRequest(DuplicateRequestException ex) {
         log.info("Duplicate request: {}", ex.getMessage());
         return ResponseEntity.status(HttpStatus.CONFLICT)
-                .body(new ErrorResponse("DUPLICATE_REQUEST",
-                        ex.getMessage() + " (existing transactionId: " + ex.getExistingTransactionId() + ")"));
+                .body(new ErrorResponse("DUPLICATE_REQUEST", ex.getExistingTransactionId() == null
+                        ? ex.getMessage()
+                        : ex.getMessage() + " (existing transactionId: " + ex.getExistingTransactionId() + ")"));
     }
 
     @ExceptionHandler(DataIntegrityViolationException.class)
@@ -61,6 +82,29 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse("ACCOUNT_CLOSED", ex.getMessage()));
     }
 
+    @ExceptionHandler(SubscriberLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleSubscriberLimit(SubscriberLimitExceededException ex) {
+        log.warn("Subscription rejected: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body(new ErrorResponse("SUBSCRIBER_LIMIT_EXCEEDED", ex.getMessage()));
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceeded(RateLimitExceededException ex) {
+        log.info("Rate limited: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(new ErrorResponse("RATE_LIMITED", ex.getMessage()));
+    }
+
+    @ExceptionHandler(LedgerUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleLedgerUnavailable(LedgerUnavailableException ex) {
+        log.warn("Ledger unavailable: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(new ErrorResponse("LEDGER_UNAVAILABLE", ex.getMessage()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<ErrorResponse> handleIllegalArgument(IllegalArgumentException ex) {
         log.warn("Bad request: {}", ex.getMessage());
@@ -68,6 +112,44 @@ public class GlobalExceptionHandler {
                 .body(new ErrorResponse("BAD_REQUEST", ex.getMessage()));
     }
 
+    // Same mapping for failures that cannot propagate to the dispatcher, such as one item of a streamed batch
+    public ResponseEntity<ErrorResponse> resolve(Exception ex) {
+        if (ex instanceof AccountNotFoundException notFound) {
+            return handleAccountNotFound(notFound);
+        }
+        if (ex instanceof ScheduledPostingNotFoundException scheduledPostingNotFound) {
+            return handleScheduledPostingNotFound(scheduledPostingNotFound);
+        }
+        if (ex instanceof HoldNotFoundException holdNotFound) {
+            return handleHoldNotFound(holdNotFound);
+        }
+        if (ex instanceof InsufficientFundsException insufficientFunds) {
+            return handleInsufficientFunds(insufficientFunds);
+        }
+        if (ex instanceof DuplicateRequestException duplicate) {
+            return handleDuplicateRequest(duplicate);
+        }
+        if (ex instanceof DataIntegrityViolationException integrityViolation) {
+            return handleDataIntegrityViolation(integrityViolation);
+        }
+        if (ex instanceof AccountClosedException closed) {
+            return handleAccountClosed(closed);
+        }
+        if (ex instanceof SubscriberLimitExceededException subscriberLimit) {
+            return handleSubscriberLimit(subscriberLimit);
+        }
+        if (ex instanceof RateLimitExceededException rateLimited) {
+            return handleRateLimitExceeded(rateLimited);
+        }
+        if (ex instanceof LedgerUnavailableException unavailable) {
+            return handleLedgerUnavailable(unavailable);
+        }
+        if (ex instanceof IllegalArgumentException illegalArgument) {
+            return handleIllegalArgument(illegalArgument);
+        }
+        return handleGeneral(ex);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponse> handleGeneral(Exception ex) {
         log.error("Unexpected error", ex);
@@ -0,0 +1,77 @@
+package com.ledger.engine.api;
+
+import com.ledger.engine.api.dto.CaptureHoldRequest;
+import com.ledger.engine.api.dto.HoldResponse;
+import com.ledger.engine.api.dto.PlaceHoldRequest;
+import com.ledger.engine.api.dto.TransactionResponse;
+import com.ledger.engine.domain.FundHold;
+import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.service.HoldService;
+import com.ledger.engine.service.TransientRetryService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/holds")
+public class HoldController {
+
+    private final HoldService holdService;
+    private final TransientRetryService retryService;
+
+    public HoldController(HoldService holdService, TransientRetryService retryService) {
+        this.holdService = holdService;
+        this.retryService = retryService;
+    }
+
+    @PostMapping
+    public ResponseEntity<HoldResponse> place(@RequestBody PlaceHoldRequest request) {
+        FundHold hold = retryService.execute("place-hold", () -> holdService.placeHold(
+                request.getAccountId(),
+                request.getAmount(),
+                request.getIdempotencyKey(),
+                request.getExpiresAt()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(hold));
+    }
+
+    @GetMapping("/{holdId}")
+    public ResponseEntity<HoldResponse> get(@PathVariable UUID holdId) {
+        return ResponseEntity.ok(toResponse(holdService.getHold(holdId)));
+    }
+
+    @PostMapping("/{holdId}/capture")
+    public ResponseEntity<TransactionResponse> capture(@PathVariable UUID holdId,
+            @RequestBody CaptureHoldRequest request) {
+        Transaction transaction = retryService.post("capture-hold", () -> holdService.captureHold(
+                holdId,
+                request.getAmount(),
+                request.getToAccountId(),
+                request.getIdempotencyKey()));
+        return ResponseEntity.status(HttpStatus.CREATED).body(new TransactionResponse(
+                transaction.getTransactionId(),
+                transaction.getIdempotencyKey(),
+                transaction.getStatus().name(),
+                transaction.getCreatedAt()));
+    }
+
+    @PostMapping("/{holdId}/release")
+    public ResponseEntity<HoldResponse> release(@PathVariable UUID holdId) {
+        FundHold hold = retryService.execute("release-hold", () -> holdService.releaseHold(holdId));
+        return ResponseEntity.ok(toResponse(hold));
+    }
+
+    private HoldResponse toResponse(FundHold hold) {
+        return new HoldResponse(
+                hold.getHoldId(),
+                hold.getAccountId(),
+                hold.getAmount(),
+                hold.getCapturedAmount(),
+                hold.getStatus().name(),
+                hold.getTransactionId(),
+                hold.getExpiresAt(),
+                hold.getCreatedAt(),
+                hold.getClosedAt());
+    }
+}
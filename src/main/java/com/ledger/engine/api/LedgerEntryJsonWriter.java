@@ -0,0 +1,110 @@
+package com.ledger.engine.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.ledger.engine.domain.StatementRow;
+
+import java.io.IOException;
+import java.util.UUID;
+
+/*
+ * Writes LedgerEntryResponse-shaped objects straight to a JsonGenerator. UUIDs and timestamps are
+ * formatted into reused char buffers, so a row costs no allocation beyond what the driver does.
+ * Timestamps match Jackson's ISO_LOCAL_DATE_TIME output for LocalDateTime.
+ */
+public class LedgerEntryJsonWriter {
+
+    private static final SerializableString LEDGER_ENTRY_ID = new SerializedString("ledgerEntryId");
+    private static final SerializableString TRANSACTION_ID = new SerializedString("transactionId");
+    private static final SerializableString AMOUNT = new SerializedString("amount");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final JsonGenerator generator;
+    private final char[] uuidChars = new char[36];
+    private final char[] timestampChars = new char[26];
+
+    public LedgerEntryJsonWriter(JsonGenerator generator) {
+        this.generator = generator;
+    }
+
+    public void write(StatementRow row) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(LEDGER_ENTRY_ID);
+        writeUuid(row.getLedgerEntryId());
+        generator.writeFieldName(TRANSACTION_ID);
+        writeUuid(row.getTransactionId());
+        generator.writeFieldName(AMOUNT);
+        generator.writeNumber(row.getAmount());
+        generator.writeFieldName(CREATED_AT);
+        generator.writeString(timestampChars, 0, formatTimestamp(row.getCreatedAtMicros()));
+        generator.writeEndObject();
+    }
+
+    private void writeUuid(UUID uuid) throws IOException {
+        long msb = uuid.getMostSignificantBits();
+        long lsb = uuid.getLeastSignificantBits();
+        int pos = 0;
+        for (int shift = 60; shift >= 0; shift -= 4) {
+            if (pos == 8 || pos == 13) {
+                uuidChars[pos++] = '-';
+            }
+            uuidChars[pos++] = HEX[(int) (msb >>> shift) & 0xF];
+        }
+        for (int shift = 60; shift >= 0; shift -= 4) {
+            if (pos == 18 || pos == 23) {
+                uuidChars[pos++] = '-';
+            }
+            uuidChars[pos++] = HEX[(int) (lsb >>> shift) & 0xF];
+        }
+        generator.writeString(uuidChars, 0, 36);
+    }
+
+    // yyyy-MM-ddTHH:mm:ss[.ffffff] with trailing fraction zeros trimmed; days-from-civil inverse (Hinnant)
+    private int formatTimestamp(long epochMicros) {
+        long epochSeconds = Math.floorDiv(epochMicros, 1_000_000L);
+        int micros = (int) Math.floorMod(epochMicros, 1_000_000L);
+        long days = Math.floorDiv(epochSeconds, 86_400L);
+        int secondOfDay = (int) Math.floorMod(epochSeconds, 86_400L);
+
+        long z = days + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long mp = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        digits(year, 0, 4);
+        timestampChars[4] = '-';
+        digits(month, 5, 2);
+        timestampChars[7] = '-';
+        digits(day, 8, 2);
+        timestampChars[10] = 'T';
+        digits(secondOfDay / 3600, 11, 2);
+        timestampChars[13] = ':';
+        digits(secondOfDay / 60 % 60, 14, 2);
+        timestampChars[16] = ':';
+        digits(secondOfDay % 60, 17, 2);
+        if (micros == 0) {
+            return 19;
+        }
+        timestampChars[19] = '.';
+        digits(micros, 20, 6);
+        int length = 26;
+        while (timestampChars[length - 1] == '0') {
+            length--;
+        }
+        return length;
+    }
+
+    private void digits(int value, int offset, int width) {
+        for (int i = offset + width - 1; i >= offset; i--) {
+            timestampChars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
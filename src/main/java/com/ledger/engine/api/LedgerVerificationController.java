@@ -0,0 +1,88 @@
+package com.ledger.engine.api;
+
+import com.ledger.engine.api.dto.InvariantViolationResponse;
+import com.ledger.engine.api.dto.LedgerSumResponse;
+import com.ledger.engine.api.dto.VerificationRunResponse;
+import com.ledger.engine.api.dto.VerificationStatusResponse;
+import com.ledger.engine.domain.InvariantViolation;
+import com.ledger.engine.domain.VerificationRun;
+import com.ledger.engine.service.LedgerVerifierService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/verification")
+public class LedgerVerificationController {
+
+    private final LedgerVerifierService verifierService;
+
+    public LedgerVerificationController(LedgerVerifierService verifierService) {
+        this.verifierService = verifierService;
+    }
+
+    @GetMapping
+    public ResponseEntity<VerificationStatusResponse> getStatus() {
+        VerificationRun totals = verifierService.getCumulativeTotals();
+        VerificationRunResponse lastRun = verifierService.getLatestRun()
+                .map(this::toRunResponse)
+                .orElse(null);
+        return ResponseEntity.ok(new VerificationStatusResponse(
+                totals.getWindowEnd(),
+                totals.getTransactionCount(),
+                totals.getEntryCount(),
+                totals.getNetAmount(),
+                totals.getExternalAmount(),
+                totals.getNetAmount() == totals.getExternalAmount(),
+                totals.getViolationCount(),
+                lastRun));
+    }
+
+    @PostMapping("/run")
+    public ResponseEntity<VerificationRunResponse> runNow() {
+        return verifierService.runVerification()
+                .map(run -> ResponseEntity.ok(toRunResponse(run)))
+                .orElseGet(() -> ResponseEntity.noContent().build());
+    }
+
+    @GetMapping("/ledger-sum")
+    public ResponseEntity<LedgerSumResponse> getLedgerSum() {
+        return ResponseEntity.ok(new LedgerSumResponse(verifierService.getGlobalLedgerSum(), LocalDateTime.now()));
+    }
+
+    @GetMapping("/violations")
+    public ResponseEntity<List<InvariantViolationResponse>> getViolations(
+            @RequestParam(defaultValue = "100") int limit) {
+        if (limit <= 0 || limit > 1000) {
+            throw new IllegalArgumentException("limit must be between 1 and 1000, got: " + limit);
+        }
+        List<InvariantViolationResponse> violations = verifierService.getRecentViolations(limit).stream()
+                .map(this::toViolationResponse)
+                .toList();
+        return ResponseEntity.ok(violations);
+    }
+
+    private VerificationRunResponse toRunResponse(VerificationRun run) {
+        return new VerificationRunResponse(
+                run.getRunId(),
+                run.getWindowStart(),
+                run.getWindowEnd(),
+                run.getTransactionCount(),
+                run.getEntryCount(),
+                run.getNetAmount(),
+                run.getExternalAmount(),
+                run.getViolationCount(),
+                run.getCompletedAt());
+    }
+
+    private InvariantViolationResponse toViolationResponse(InvariantViolation violation) {
+        return new InvariantViolationResponse(
+                violation.getRunId(),
+                violation.getTransactionId(),
+                violation.getEntryCount(),
+                violation.getAmountSum(),
+                violation.getDetectedAt());
+    }
+}
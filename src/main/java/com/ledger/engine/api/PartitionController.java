@@ -0,0 +1,58 @@
+package com.ledger.engine.api;
+
+import com.ledger.engine.api.dto.ErrorResponse;
+import com.ledger.engine.api.dto.PartitionCreditRequest;
+import com.ledger.engine.api.dto.PartitionMapResponse;
+import com.ledger.engine.api.dto.TransactionResponse;
+import com.ledger.engine.config.PartitionMap;
+import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.service.CrossPartitionTransferService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.URI;
+
+@RestController
+public class PartitionController {
+
+    private final PartitionMap partitionMap;
+    private final CrossPartitionTransferService crossPartitionTransferService;
+
+    public PartitionController(PartitionMap partitionMap,
+            CrossPartitionTransferService crossPartitionTransferService) {
+        this.partitionMap = partitionMap;
+        this.crossPartitionTransferService = crossPartitionTransferService;
+    }
+
+    @GetMapping("/api/partitions")
+    public ResponseEntity<PartitionMapResponse> partitions() {
+        return ResponseEntity.ok(new PartitionMapResponse(
+                partitionMap.self(),
+                partitionMap.count(),
+                partitionMap.nodes().stream().map(URI::toString).toList()));
+    }
+
+    // Phase 2 of a cross-partition transfer, called by the payer's node; not part of the public API
+    @PostMapping("/internal/partitions/credits")
+    public ResponseEntity<?> credit(@RequestBody PartitionCreditRequest request, HttpServletRequest httpRequest) {
+        if (PartitionRoutingFilter.forwardedBy(httpRequest, partitionMap) == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body(new ErrorResponse("NOT_A_PEER", "Only another partition may post credits"));
+        }
+        Transaction tx = crossPartitionTransferService.applyCredit(
+                request.getTransferId(),
+                request.getSourcePartition(),
+                request.getToAccountId(),
+                request.getAmount());
+        return ResponseEntity.status(HttpStatus.CREATED).body(new TransactionResponse(
+                tx.getTransactionId(),
+                tx.getIdempotencyKey(),
+                tx.getStatus().name(),
+                tx.getCreatedAt()));
+    }
+}
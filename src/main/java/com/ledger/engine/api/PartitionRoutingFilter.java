@@ -0,0 +1,263 @@
+package com.ledger.engine.api;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ledger.engine.api.dto.ErrorResponse;
+import com.ledger.engine.config.PartitionMap;
+import com.ledger.engine.domain.WireFormat;
+import com.ledger.engine.exception.LedgerUnavailableException;
+import com.ledger.engine.exception.RateLimitExceededException;
+import com.ledger.engine.service.PartitionForwarder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.http.HttpResponse;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * Sends each account-scoped request to the node that owns the account: /api/accounts/{id}/** by the path id,
+ * deposits and withdrawals by accountId, transfers by fromAccountId (the payer's node runs the transfer,
+ * crossing partitions itself when the payee lives elsewhere). Requests for local accounts, and everything
+ * not keyed by one account (account creation, listings, bulk as-of, the streamed batch, which routes per
+ * item), are served here. Only active when more than one node is configured. Runs before admission control; a
+ * forwarded request is rate-checked here and admitted by its owner, with the client and priority headers.
+ * A hop header without the partition secret is ignored, so clients cannot pose as a forwarding node.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 1)
+public class PartitionRoutingFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionRoutingFilter.class);
+
+    private static final int MISDIRECTED_REQUEST = 421;
+    private static final String ACCOUNTS_PREFIX = "/api/accounts/";
+    private static final Map<String, String> ROUTING_FIELDS = Map.of(
+            "/api/transactions/deposit", "accountId",
+            "/api/transactions/withdraw", "accountId",
+            "/api/transactions/transfer", "fromAccountId");
+    private static final List<String> FORWARDED_REQUEST_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ACCEPT, HttpHeaders.IF_NONE_MATCH,
+            AdmissionFilter.CLIENT_HEADER, AdmissionFilter.PRIORITY_HEADER);
+    private static final List<String> FORWARDED_RESPONSE_HEADERS = List.of(
+            HttpHeaders.CONTENT_TYPE, HttpHeaders.ETAG, HttpHeaders.RETRY_AFTER, HttpHeaders.CONTENT_DISPOSITION);
+
+    private final PartitionMap partitionMap;
+    private final PartitionForwarder forwarder;
+    private final AdmissionFilter admissionFilter;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final ObjectMapper objectMapper;
+    private final Map<WireFormat, ObjectMapper> mappers = new EnumMap<>(WireFormat.class);
+
+    public PartitionRoutingFilter(PartitionMap partitionMap,
+            PartitionForwarder forwarder,
+            AdmissionFilter admissionFilter,
+            GlobalExceptionHandler exceptionHandler,
+            ObjectMapper objectMapper) {
+        this.partitionMap = partitionMap;
+        this.forwarder = forwarder;
+        this.admissionFilter = admissionFilter;
+        this.exceptionHandler = exceptionHandler;
+        this.objectMapper = objectMapper;
+        mappers.put(WireFormat.JSON, objectMapper);
+        mappers.put(WireFormat.NDJSON, objectMapper);
+        mappers.put(WireFormat.CBOR, objectMapper.copyWith(new CBORFactory()));
+        mappers.put(WireFormat.SMILE, objectMapper.copyWith(new SmileFactory()));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !partitionMap.isPartitioned();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        UUID accountId = null;
+        byte[] body = null;
+        HttpServletRequest downstream = request;
+
+        if (path.startsWith(ACCOUNTS_PREFIX)) {
+            accountId = parseAccountId(path.substring(ACCOUNTS_PREFIX.length()).split("/", 2)[0]);
+        } else if ("POST".equals(request.getMethod()) && ROUTING_FIELDS.containsKey(path)) {
+            body = request.getInputStream().readAllBytes();
+            accountId = routingAccountId(body, request.getContentType(), ROUTING_FIELDS.get(path));
+            downstream = new CachedBodyRequest(request, body);
+        }
+
+        int owner = accountId != null ? partitionMap.partitionOf(accountId) : partitionMap.self();
+        if (owner == partitionMap.self()) {
+            chain.doFilter(downstream, response);
+            return;
+        }
+        String forwardedBy = forwardedBy(request, partitionMap);
+        if (forwardedBy != null) {
+            // Forwarded once already: the nodes disagree about the partition map, so stop here
+            log.error("Misdirected request: {} {} owned by partition {}, forwarded by partition {}",
+                    request.getMethod(), path, owner, forwardedBy);
+            writeError(response, ResponseEntity.status(MISDIRECTED_REQUEST)
+                    .body(new ErrorResponse("MISDIRECTED_REQUEST", "Account " + accountId
+                            + " is owned by partition " + owner + ", not " + partitionMap.self())));
+            return;
+        }
+        if (admissionFilter.isAdmitted(request)) {
+            try {
+                admissionFilter.checkRate(request);
+            } catch (RateLimitExceededException e) {
+                writeError(response, exceptionHandler.resolve(e));
+                return;
+            }
+        }
+        if (body == null) {
+            body = request.getInputStream().readAllBytes();
+        }
+        forward(owner, request, body, response);
+    }
+
+    private void forward(int owner, HttpServletRequest request, byte[] body, HttpServletResponse response)
+            throws IOException {
+        Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : FORWARDED_REQUEST_HEADERS) {
+            String value = request.getHeader(name);
+            if (value != null) {
+                headers.put(name, value);
+            }
+        }
+        String pathAndQuery = request.getRequestURI().substring(request.getContextPath().length())
+                + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+
+        HttpResponse<InputStream> forwarded;
+        try {
+            forwarded = forwarder.send(owner, request.getMethod(), pathAndQuery, headers, body,
+                    HttpResponse.BodyHandlers.ofInputStream());
+        } catch (LedgerUnavailableException e) {
+            writeError(response, exceptionHandler.resolve(e));
+            return;
+        }
+        response.setStatus(forwarded.statusCode());
+        for (String name : FORWARDED_RESPONSE_HEADERS) {
+            forwarded.headers().firstValue(name).ifPresent(value -> response.setHeader(name, value));
+        }
+        // Bodies are streamed through, so statements and long histories are never held in memory here
+        try (InputStream in = forwarded.body()) {
+            in.transferTo(response.getOutputStream());
+        }
+    }
+
+    // The partition that forwarded this request, or null when it came from a client or the secret does not match
+    static String forwardedBy(HttpServletRequest request, PartitionMap partitionMap) {
+        String hop = request.getHeader(PartitionForwarder.HOP_HEADER);
+        return hop != null && partitionMap.isPeer(request.getHeader(PartitionForwarder.SECRET_HEADER)) ? hop : null;
+    }
+
+    // Requests this node cannot decode are served locally, where the controller reports the problem
+    private UUID routingAccountId(byte[] body, String contentType, String field) {
+        try {
+            JsonNode request = mappers.get(WireFormat.fromContentType(contentType)).readTree(body);
+            return request != null && request.hasNonNull(field) ? parseAccountId(request.get(field).asText()) : null;
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static UUID parseAccountId(String value) {
+        try {
+            return UUID.fromString(value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void writeError(HttpServletResponse response, ResponseEntity<ErrorResponse> error) throws IOException {
+        response.setStatus(error.getStatusCode().value());
+        error.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error.getBody());
+    }
+
+    // The routing field has to be read before the controller sees the body, so it is replayed from memory
+    private static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return in.read(buffer, offset, length);
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(body),
+                    encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
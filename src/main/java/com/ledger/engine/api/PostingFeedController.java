@@ -0,0 +1,116 @@
+package com.ledger.engine.api;
+
+import com.ledger.engine.api.dto.PostingBatchResponse;
+import com.ledger.engine.api.dto.PostingEventResponse;
+import com.ledger.engine.domain.FeedCursor;
+import com.ledger.engine.domain.PostingEvent;
+import com.ledger.engine.service.PostingFeedService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@RestController
+@RequestMapping("/api/feed/postings")
+public class PostingFeedController {
+
+    private static final int MAX_BATCH_SIZE = 5000;
+    private static final long MAX_WAIT_MS = 30_000L;
+
+    private final PostingFeedService feedService;
+    private final Duration sseTimeout;
+
+    public PostingFeedController(PostingFeedService feedService,
+            @Value("${ledger.feed.sse-timeout:PT30M}") Duration sseTimeout) {
+        this.feedService = feedService;
+        this.sseTimeout = sseTimeout;
+    }
+
+    @GetMapping
+    public ResponseEntity<PostingBatchResponse> poll(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(defaultValue = "25000") long waitMs) {
+        validateBatchSize(limit);
+        if (waitMs < 0 || waitMs > MAX_WAIT_MS) {
+            throw new IllegalArgumentException("waitMs must be between 0 and " + MAX_WAIT_MS + ", got: " + waitMs);
+        }
+        FeedCursor from = resolveCursor(cursor);
+        List<PostingEvent> events = feedService.poll(from, limit, Duration.ofMillis(waitMs));
+        FeedCursor next = events.isEmpty() ? from : FeedCursor.of(events.get(events.size() - 1));
+        return ResponseEntity.ok(toBatchResponse(events, next));
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestParam(required = false) String cursor,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+            @RequestParam(defaultValue = "500") int batchSize) {
+        validateBatchSize(batchSize);
+        FeedCursor from = resolveCursor(lastEventId != null ? lastEventId : cursor);
+
+        SseEmitter emitter = new SseEmitter(sseTimeout.toMillis());
+        AtomicBoolean open = new AtomicBoolean(true);
+        emitter.onCompletion(() -> open.set(false));
+        emitter.onTimeout(() -> open.set(false));
+        emitter.onError(e -> open.set(false));
+
+        feedService.subscribe(from, batchSize, new PostingFeedService.FeedSink() {
+            @Override
+            public void deliver(List<PostingEvent> events, FeedCursor next) throws IOException {
+                emitter.send(SseEmitter.event()
+                        .id(next.toString())
+                        .name("postings")
+                        .data(toBatchResponse(events, next), MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void heartbeat() throws IOException {
+                emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+
+            @Override
+            public boolean isOpen() {
+                return open.get();
+            }
+        });
+        return emitter;
+    }
+
+    private FeedCursor resolveCursor(String cursor) {
+        if ("latest".equalsIgnoreCase(cursor)) {
+            return feedService.headCursor();
+        }
+        return FeedCursor.parse(cursor);
+    }
+
+    private void validateBatchSize(int size) {
+        if (size <= 0 || size > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batch size must be between 1 and " + MAX_BATCH_SIZE + ", got: " + size);
+        }
+    }
+
+    private PostingBatchResponse toBatchResponse(List<PostingEvent> events, FeedCursor next) {
+        List<PostingEventResponse> responses = events.stream()
+                .map(this::toEventResponse)
+                .toList();
+        return new PostingBatchResponse(responses, next.toString());
+    }
+
+    private PostingEventResponse toEventResponse(PostingEvent event) {
+        return new PostingEventResponse(
+                FeedCursor.of(event).toString(),
+                event.getTransactionId(),
+                event.getLedgerEntryId(),
+                event.getAccountId(),
+                event.getAmount(),
+                event.getPostingType().name(),
+                event.getCreatedAt());
+    }
+}
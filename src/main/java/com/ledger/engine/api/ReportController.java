@@ -0,0 +1,54 @@
+package com.ledger.engine.api;
+
+import com.ledger.engine.api.dto.DailyRollupResponse;
+import com.ledger.engine.api.dto.RollupQueryRequest;
+import com.ledger.engine.api.dto.RollupReportResponse;
+import com.ledger.engine.domain.DailyRollup;
+import com.ledger.engine.service.DailyRollupService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    private final DailyRollupService rollupService;
+
+    public ReportController(DailyRollupService rollupService) {
+        this.rollupService = rollupService;
+    }
+
+    @PostMapping("/daily")
+    public ResponseEntity<RollupReportResponse> getDaily(@RequestBody RollupQueryRequest request) {
+        LocalDateTime completeThrough = rollupService.getWatermark().orElse(null);
+        List<DailyRollup> rollups = rollupService.getDailyRollups(
+                request.getAccountIds(), request.getFrom(), request.getTo());
+        return ResponseEntity.ok(toReport(completeThrough, rollups));
+    }
+
+    @PostMapping("/daily/summary")
+    public ResponseEntity<RollupReportResponse> getSummary(@RequestBody RollupQueryRequest request) {
+        LocalDateTime completeThrough = rollupService.getWatermark().orElse(null);
+        List<DailyRollup> rollups = rollupService.getRangeSummary(
+                request.getAccountIds(), request.getFrom(), request.getTo());
+        return ResponseEntity.ok(toReport(completeThrough, rollups));
+    }
+
+    private RollupReportResponse toReport(LocalDateTime completeThrough, List<DailyRollup> rollups) {
+        List<DailyRollupResponse> rows = rollups.stream()
+                .map(rollup -> new DailyRollupResponse(
+                        rollup.getAccountId(),
+                        rollup.getDay(),
+                        rollup.getNetAmount(),
+                        rollup.getCreditCount(),
+                        rollup.getCreditAmount(),
+                        rollup.getDebitCount(),
+                        rollup.getDebitAmount(),
+                        rollup.getCreditAmount() + rollup.getDebitAmount()))
+                .toList();
+        return new RollupReportResponse(completeThrough, rows);
+    }
+}
@@ -0,0 +1,62 @@
+package com.ledger.engine.api;
+
+import com.ledger.engine.api.dto.ScheduledPostingRequest;
+import com.ledger.engine.api.dto.ScheduledPostingResponse;
+import com.ledger.engine.domain.ScheduledPosting;
+import com.ledger.engine.service.ScheduledPostingService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/scheduled-postings")
+public class ScheduledPostingController {
+
+    private final ScheduledPostingService scheduledPostingService;
+
+    public ScheduledPostingController(ScheduledPostingService scheduledPostingService) {
+        this.scheduledPostingService = scheduledPostingService;
+    }
+
+    @PostMapping
+    public ResponseEntity<ScheduledPostingResponse> schedule(@RequestBody ScheduledPostingRequest request) {
+        ScheduledPosting posting = scheduledPostingService.schedule(
+                request.getType(),
+                request.getAccountId(),
+                request.getFromAccountId(),
+                request.getToAccountId(),
+                request.getAmount(),
+                request.getIdempotencyKey(),
+                request.getExecuteAt());
+        return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(posting));
+    }
+
+    @GetMapping("/{scheduledPostingId}")
+    public ResponseEntity<ScheduledPostingResponse> get(@PathVariable UUID scheduledPostingId) {
+        return ResponseEntity.ok(toResponse(scheduledPostingService.getScheduledPosting(scheduledPostingId)));
+    }
+
+    @DeleteMapping("/{scheduledPostingId}")
+    public ResponseEntity<ScheduledPostingResponse> cancel(@PathVariable UUID scheduledPostingId) {
+        return ResponseEntity.ok(toResponse(scheduledPostingService.cancel(scheduledPostingId)));
+    }
+
+    private ScheduledPostingResponse toResponse(ScheduledPosting posting) {
+        return new ScheduledPostingResponse(
+                posting.getScheduledPostingId(),
+                posting.getIdempotencyKey(),
+                posting.getPostingType().name(),
+                posting.getAccountId(),
+                posting.getFromAccountId(),
+                posting.getToAccountId(),
+                posting.getAmount(),
+                posting.getExecuteAt(),
+                posting.getStatus().name(),
+                posting.getAttempts(),
+                posting.getTransactionId(),
+                posting.getLastError(),
+                posting.getCompletedAt());
+    }
+}
@@ -0,0 +1,47 @@
+package com.ledger.engine.api;
+
+import com.ledger.engine.domain.StatementFormat;
+import com.ledger.engine.service.StatementExportService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/statements")
+public class StatementController {
+
+    private final StatementExportService exportService;
+
+    public StatementController(StatementExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam List<UUID> accountIds,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "csv") String format) {
+        StatementFormat statementFormat = StatementFormat.valueOf(format.toUpperCase(Locale.ROOT));
+        Set<UUID> accounts = exportService.validateRequest(accountIds, from, to);
+
+        StreamingResponseBody body = out -> exportService.export(accounts, from, to, statementFormat, out);
+        String fileName = (accounts.size() == 1 ? accounts.iterator().next().toString() : "statement")
+                + statementFormat.getFileExtension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(statementFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(fileName).build().toString())
+                .body(body);
+    }
+}
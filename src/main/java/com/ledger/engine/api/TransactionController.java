@@ -1,53 +1,225 @@
 package com.ledger.engine.api;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.ledger.engine.api.dto.*;
+import com.ledger.engine.config.PartitionMap;
+import com.ledger.engine.domain.PostingType;
 import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.domain.TransactionStatus;
+import com.ledger.engine.domain.WireFormat;
+import com.ledger.engine.exception.DuplicateRequestException;
+import com.ledger.engine.service.CrossPartitionTransferService;
+import com.ledger.engine.service.DebitQueueService;
 import com.ledger.engine.service.LedgerService;
+import com.ledger.engine.service.PartitionForwarder;
+import com.ledger.engine.service.TransientRetryService;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.http.HttpResponse;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.UUID;
+
 @RestController
 @RequestMapping("/api/transactions")
 public class TransactionController {
 
+    private static final Map<String, String> BATCH_LANE = Map.of(AdmissionFilter.PRIORITY_HEADER, "batch");
+
     private final LedgerService ledgerService;
+    private final DebitQueueService debitQueueService;
+    private final TransientRetryService retryService;
+    private final CrossPartitionTransferService crossPartitionTransferService;
+    private final PartitionMap partitionMap;
+    private final PartitionForwarder forwarder;
+    private final GlobalExceptionHandler exceptionHandler;
+    private final Map<WireFormat, ObjectMapper> mappers = new EnumMap<>(WireFormat.class);
 
-    public TransactionController(LedgerService ledgerService) {
+    public TransactionController(LedgerService ledgerService,
+            DebitQueueService debitQueueService,
+            TransientRetryService retryService,
+            CrossPartitionTransferService crossPartitionTransferService,
+            PartitionMap partitionMap,
+            PartitionForwarder forwarder,
+            GlobalExceptionHandler exceptionHandler,
+            ObjectMapper objectMapper) {
         this.ledgerService = ledgerService;
+        this.debitQueueService = debitQueueService;
+        this.retryService = retryService;
+        this.crossPartitionTransferService = crossPartitionTransferService;
+        this.partitionMap = partitionMap;
+        this.forwarder = forwarder;
+        this.exceptionHandler = exceptionHandler;
+        mappers.put(WireFormat.JSON, objectMapper);
+        mappers.put(WireFormat.NDJSON, objectMapper);
+        mappers.put(WireFormat.CBOR, objectMapper.copyWith(new CBORFactory()));
+        mappers.put(WireFormat.SMILE, objectMapper.copyWith(new SmileFactory()));
     }
 
     @PostMapping("/deposit")
     public ResponseEntity<TransactionResponse> deposit(@RequestBody DepositRequest request) {
         validateDepositRequest(request);
-        Transaction tx = ledgerService.deposit(
+        Transaction tx = retryService.post("deposit", () -> ledgerService.deposit(
                 request.getAccountId(),
                 request.getAmount(),
-                request.getIdempotencyKey());
+                request.getIdempotencyKey()));
         return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(tx));
     }
 
     @PostMapping("/withdraw")
     public ResponseEntity<TransactionResponse> withdraw(@RequestBody WithdrawRequest request) {
         validateWithdrawRequest(request);
-        Transaction tx = ledgerService.withdraw(
+        Transaction tx = retryService.post("withdraw", () -> debitQueueService.withdraw(
                 request.getAccountId(),
                 request.getAmount(),
-                request.getIdempotencyKey());
+                request.getIdempotencyKey()));
         return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(tx));
     }
 
     @PostMapping("/transfer")
     public ResponseEntity<TransactionResponse> transfer(@RequestBody TransferRequest request) {
         validateTransferRequest(request);
-        Transaction tx = ledgerService.transfer(
+        if (!partitionMap.isLocal(request.getToAccountId())) {
+            // 202 while the payee's node has not confirmed; recovery completes or reverses the transfer
+            Transaction tx = retryService.post("cross-partition-transfer", () -> crossPartitionTransferService.transfer(
+                    request.getFromAccountId(),
+                    request.getToAccountId(),
+                    request.getAmount(),
+                    request.getIdempotencyKey()));
+            return ResponseEntity.status(tx.getStatus() == TransactionStatus.COMPLETED
+                    ? HttpStatus.CREATED
+                    : HttpStatus.ACCEPTED).body(toResponse(tx));
+        }
+        Transaction tx = retryService.post("transfer", () -> debitQueueService.transfer(
                 request.getFromAccountId(),
                 request.getToAccountId(),
                 request.getAmount(),
-                request.getIdempotencyKey());
+                request.getIdempotencyKey()));
         return ResponseEntity.status(HttpStatus.CREATED).body(toResponse(tx));
     }
 
+    // Each item is posted in its own transaction as soon as it is decoded; results stream back in input order
+    @PostMapping(value = "/batch", consumes = {"application/json", "application/x-ndjson",
+            "application/cbor", "application/x-jackson-smile"})
+    public void batch(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            InputStream body,
+            HttpServletResponse response) throws IOException {
+        WireFormat requestFormat = WireFormat.fromContentType(contentType);
+        WireFormat responseFormat = WireFormat.fromAccept(accept, requestFormat);
+        ObjectReader reader = mappers.get(requestFormat).readerFor(BatchPostingRequest.class);
+        ObjectMapper responseMapper = mappers.get(responseFormat);
+        ObjectWriter writer = responseMapper.writerFor(BatchPostingResult.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(responseFormat.getContentType());
+        try (MappingIterator<BatchPostingRequest> items = reader.readValues(body);
+                JsonGenerator generator = responseMapper.getFactory().createGenerator(response.getOutputStream())) {
+            if (responseFormat == WireFormat.JSON) {
+                generator.writeStartArray();
+            } else if (responseFormat == WireFormat.NDJSON) {
+                generator.setRootValueSeparator(null);
+            }
+            long index = 0;
+            while (true) {
+                BatchPostingResult result;
+                try {
+                    if (!items.hasNextValue()) {
+                        break;
+                    }
+                    result = post(index, items.nextValue());
+                } catch (JsonProcessingException e) {
+                    // The decoder cannot resynchronise after a malformed item, so the batch ends here
+                    result = new BatchPostingResult(index, HttpStatus.BAD_REQUEST.value(), null,
+                            "MALFORMED_ITEM", e.getOriginalMessage());
+                    write(writer, generator, responseFormat, result);
+                    break;
+                }
+                write(writer, generator, responseFormat, result);
+                index++;
+                if (body.available() == 0) {
+                    generator.flush();
+                }
+            }
+            if (responseFormat == WireFormat.JSON) {
+                generator.writeEndArray();
+            }
+        }
+    }
+
+    private BatchPostingResult post(long index, BatchPostingRequest item) {
+        try {
+            if (item.getType() == null) {
+                throw new IllegalArgumentException("type is required");
+            }
+            UUID owningAccount = item.getType() == PostingType.TRANSFER ? item.getFromAccountId() : item.getAccountId();
+            if (owningAccount != null && !partitionMap.isLocal(owningAccount)) {
+                return forward(index, partitionMap.partitionOf(owningAccount), item);
+            }
+            ResponseEntity<TransactionResponse> posted = switch (item.getType()) {
+                case DEPOSIT -> deposit(new DepositRequest(
+                        item.getAccountId(), item.getAmount(), item.getIdempotencyKey()));
+                case WITHDRAWAL -> withdraw(new WithdrawRequest(
+                        item.getAccountId(), item.getAmount(), item.getIdempotencyKey()));
+                case TRANSFER -> transfer(new TransferRequest(
+                        item.getFromAccountId(), item.getToAccountId(), item.getAmount(), item.getIdempotencyKey()));
+            };
+            return new BatchPostingResult(index, posted.getStatusCode().value(),
+                    posted.getBody().getTransactionId(), null, null);
+        } catch (Exception e) {
+            ResponseEntity<ErrorResponse> error = exceptionHandler.resolve(e);
+            UUID existingTransactionId = e instanceof DuplicateRequestException duplicate
+                    ? duplicate.getExistingTransactionId()
+                    : null;
+            return new BatchPostingResult(index, error.getStatusCode().value(), existingTransactionId,
+                    error.getBody().getError(), error.getBody().getMessage());
+        }
+    }
+
+    // One item owned by another node is posted there as a single request, in that node's batch lane
+    private BatchPostingResult forward(long index, int partition, BatchPostingRequest item) {
+        HttpResponse<byte[]> response = switch (item.getType()) {
+            case DEPOSIT -> forwarder.postJson(partition, "/api/transactions/deposit", new DepositRequest(
+                    item.getAccountId(), item.getAmount(), item.getIdempotencyKey()), BATCH_LANE);
+            case WITHDRAWAL -> forwarder.postJson(partition, "/api/transactions/withdraw", new WithdrawRequest(
+                    item.getAccountId(), item.getAmount(), item.getIdempotencyKey()), BATCH_LANE);
+            case TRANSFER -> forwarder.postJson(partition, "/api/transactions/transfer", new TransferRequest(
+                    item.getFromAccountId(), item.getToAccountId(), item.getAmount(), item.getIdempotencyKey()),
+                    BATCH_LANE);
+        };
+        JsonNode body = forwarder.readTree(response);
+        if (response.statusCode() < 300) {
+            return new BatchPostingResult(index, response.statusCode(),
+                    UUID.fromString(body.path("transactionId").asText()), null, null);
+        }
+        return new BatchPostingResult(index, response.statusCode(), null,
+                body.path("error").asText(), body.path("message").asText());
+    }
+
+    private static void write(ObjectWriter writer, JsonGenerator generator, WireFormat format,
+            BatchPostingResult result) throws IOException {
+        writer.writeValue(generator, result);
+        if (format == WireFormat.NDJSON) {
+            generator.writeRaw('\n');
+        }
+    }
+
     private void validateDepositRequest(DepositRequest request) {
         if (request.getAccountId() == null) {
             throw new IllegalArgumentException("accountId is required");
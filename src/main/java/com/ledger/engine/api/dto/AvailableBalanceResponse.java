@@ -0,0 +1,53 @@
+package com.ledger.engine.api.dto;
+
+import java.util.UUID;
+
+public class AvailableBalanceResponse {
+
+    private UUID accountId;
+    private long balance;
+    private long reserved;
+    private long available;
+
+    public AvailableBalanceResponse() {
+    }
+
+    public AvailableBalanceResponse(UUID accountId, long balance, long reserved, long available) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.reserved = reserved;
+        this.available = available;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+
+    public void setBalance(long balance) {
+        this.balance = balance;
+    }
+
+    public long getReserved() {
+        return reserved;
+    }
+
+    public void setReserved(long reserved) {
+        this.reserved = reserved;
+    }
+
+    public long getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(long available) {
+        this.available = available;
+    }
+}
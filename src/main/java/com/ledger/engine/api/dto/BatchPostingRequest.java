@@ -0,0 +1,76 @@
+package com.ledger.engine.api.dto;
+
+import com.ledger.engine.domain.PostingType;
+
+import java.util.UUID;
+
+public class BatchPostingRequest {
+
+    private PostingType type;
+    private UUID accountId;
+    private UUID fromAccountId;
+    private UUID toAccountId;
+    private long amount;
+    private String idempotencyKey;
+
+    public BatchPostingRequest() {
+    }
+
+    public BatchPostingRequest(PostingType type, UUID accountId, UUID fromAccountId, UUID toAccountId,
+            long amount, String idempotencyKey) {
+        this.type = type;
+        this.accountId = accountId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public PostingType getType() {
+        return type;
+    }
+
+    public void setType(PostingType type) {
+        this.type = type;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public UUID getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public void setFromAccountId(UUID fromAccountId) {
+        this.fromAccountId = fromAccountId;
+    }
+
+    public UUID getToAccountId() {
+        return toAccountId;
+    }
+
+    public void setToAccountId(UUID toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+}
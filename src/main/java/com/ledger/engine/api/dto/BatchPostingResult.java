@@ -0,0 +1,63 @@
+package com.ledger.engine.api.dto;
+
+import java.util.UUID;
+
+public class BatchPostingResult {
+
+    private long index;
+    private int status;
+    private UUID transactionId;
+    private String error;
+    private String message;
+
+    public BatchPostingResult() {
+    }
+
+    public BatchPostingResult(long index, int status, UUID transactionId, String error, String message) {
+        this.index = index;
+        this.status = status;
+        this.transactionId = transactionId;
+        this.error = error;
+        this.message = message;
+    }
+
+    public long getIndex() {
+        return index;
+    }
+
+    public void setIndex(long index) {
+        this.index = index;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public void setStatus(int status) {
+        this.status = status;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
@@ -0,0 +1,35 @@
+package com.ledger.engine.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+public class BulkBalanceRequest {
+
+    private List<UUID> accountIds;
+    private LocalDateTime asOf;
+
+    public BulkBalanceRequest() {
+    }
+
+    public BulkBalanceRequest(List<UUID> accountIds, LocalDateTime asOf) {
+        this.accountIds = accountIds;
+        this.asOf = asOf;
+    }
+
+    public List<UUID> getAccountIds() {
+        return accountIds;
+    }
+
+    public void setAccountIds(List<UUID> accountIds) {
+        this.accountIds = accountIds;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDateTime asOf) {
+        this.asOf = asOf;
+    }
+}
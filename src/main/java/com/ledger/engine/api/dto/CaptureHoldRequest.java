@@ -0,0 +1,43 @@
+package com.ledger.engine.api.dto;
+
+import java.util.UUID;
+
+public class CaptureHoldRequest {
+
+    private long amount;
+    private UUID toAccountId;
+    private String idempotencyKey;
+
+    public CaptureHoldRequest() {
+    }
+
+    public CaptureHoldRequest(long amount, UUID toAccountId, String idempotencyKey) {
+        this.amount = amount;
+        this.toAccountId = toAccountId;
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public UUID getToAccountId() {
+        return toAccountId;
+    }
+
+    public void setToAccountId(UUID toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+}
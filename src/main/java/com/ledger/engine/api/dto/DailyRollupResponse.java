@@ -0,0 +1,95 @@
+package com.ledger.engine.api.dto;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public class DailyRollupResponse {
+
+    private UUID accountId;
+    private LocalDate day;
+    private long netAmount;
+    private long creditCount;
+    private long creditAmount;
+    private long debitCount;
+    private long debitAmount;
+    private long turnover;
+
+    public DailyRollupResponse() {
+    }
+
+    public DailyRollupResponse(UUID accountId, LocalDate day, long netAmount, long creditCount,
+            long creditAmount, long debitCount, long debitAmount, long turnover) {
+        this.accountId = accountId;
+        this.day = day;
+        this.netAmount = netAmount;
+        this.creditCount = creditCount;
+        this.creditAmount = creditAmount;
+        this.debitCount = debitCount;
+        this.debitAmount = debitAmount;
+        this.turnover = turnover;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public long getNetAmount() {
+        return netAmount;
+    }
+
+    public void setNetAmount(long netAmount) {
+        this.netAmount = netAmount;
+    }
+
+    public long getCreditCount() {
+        return creditCount;
+    }
+
+    public void setCreditCount(long creditCount) {
+        this.creditCount = creditCount;
+    }
+
+    public long getCreditAmount() {
+        return creditAmount;
+    }
+
+    public void setCreditAmount(long creditAmount) {
+        this.creditAmount = creditAmount;
+    }
+
+    public long getDebitCount() {
+        return debitCount;
+    }
+
+    public void setDebitCount(long debitCount) {
+        this.debitCount = debitCount;
+    }
+
+    public long getDebitAmount() {
+        return debitAmount;
+    }
+
+    public void setDebitAmount(long debitAmount) {
+        this.debitAmount = debitAmount;
+    }
+
+    public long getTurnover() {
+        return turnover;
+    }
+
+    public void setTurnover(long turnover) {
+        this.turnover = turnover;
+    }
+}
@@ -0,0 +1,44 @@
+package com.ledger.engine.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class HistoricalBalanceResponse {
+
+    private UUID accountId;
+    private long balance;
+    private LocalDateTime asOf;
+
+    public HistoricalBalanceResponse() {
+    }
+
+    public HistoricalBalanceResponse(UUID accountId, long balance, LocalDateTime asOf) {
+        this.accountId = accountId;
+        this.balance = balance;
+        this.asOf = asOf;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+
+    public void setBalance(long balance) {
+        this.balance = balance;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDateTime asOf) {
+        this.asOf = asOf;
+    }
+}
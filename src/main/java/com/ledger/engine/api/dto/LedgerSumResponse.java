@@ -0,0 +1,33 @@
+package com.ledger.engine.api.dto;
+
+import java.time.LocalDateTime;
+
+public class LedgerSumResponse {
+
+    private long ledgerSum;
+    private LocalDateTime asOf;
+
+    public LedgerSumResponse() {
+    }
+
+    public LedgerSumResponse(long ledgerSum, LocalDateTime asOf) {
+        this.ledgerSum = ledgerSum;
+        this.asOf = asOf;
+    }
+
+    public long getLedgerSum() {
+        return ledgerSum;
+    }
+
+    public void setLedgerSum(long ledgerSum) {
+        this.ledgerSum = ledgerSum;
+    }
+
+    public LocalDateTime getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(LocalDateTime asOf) {
+        this.asOf = asOf;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ledger.engine.api.dto;
+
+import java.util.UUID;
+
+public class PartitionCreditRequest {
+
+    private UUID transferId;
+    private int sourcePartition;
+    private UUID toAccountId;
+    private long amount;
+
+    public PartitionCreditRequest() {
+    }
+
+    public PartitionCreditRequest(UUID transferId, int sourcePartition, UUID toAccountId, long amount) {
+        this.transferId = transferId;
+        this.sourcePartition = sourcePartition;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+    }
+
+    public UUID getTransferId() {
+        return transferId;
+    }
+
+    public void setTransferId(UUID transferId) {
+        this.transferId = transferId;
+    }
+
+    public int getSourcePartition() {
+        return sourcePartition;
+    }
+
+    public void setSourcePartition(int sourcePartition) {
+        this.sourcePartition = sourcePartition;
+    }
+
+    public UUID getToAccountId() {
+        return toAccountId;
+    }
+
+    public void setToAccountId(UUID toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+}
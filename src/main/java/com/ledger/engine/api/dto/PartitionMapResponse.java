@@ -0,0 +1,43 @@
+package com.ledger.engine.api.dto;
+
+import java.util.List;
+
+public class PartitionMapResponse {
+
+    private int self;
+    private int count;
+    private List<String> nodes;
+
+    public PartitionMapResponse() {
+    }
+
+    public PartitionMapResponse(int self, int count, List<String> nodes) {
+        this.self = self;
+        this.count = count;
+        this.nodes = nodes;
+    }
+
+    public int getSelf() {
+        return self;
+    }
+
+    public void setSelf(int self) {
+        this.self = self;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public void setCount(int count) {
+        this.count = count;
+    }
+
+    public List<String> getNodes() {
+        return nodes;
+    }
+
+    public void setNodes(List<String> nodes) {
+        this.nodes = nodes;
+    }
+}
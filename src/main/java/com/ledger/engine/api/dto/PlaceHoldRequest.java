@@ -0,0 +1,54 @@
+package com.ledger.engine.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class PlaceHoldRequest {
+
+    private UUID accountId;
+    private long amount;
+    private String idempotencyKey;
+    private LocalDateTime expiresAt;
+
+    public PlaceHoldRequest() {
+    }
+
+    public PlaceHoldRequest(UUID accountId, long amount, String idempotencyKey, LocalDateTime expiresAt) {
+        this.accountId = accountId;
+        this.amount = amount;
+        this.idempotencyKey = idempotencyKey;
+        this.expiresAt = expiresAt;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
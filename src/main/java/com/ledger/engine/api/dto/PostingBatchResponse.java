@@ -0,0 +1,33 @@
+package com.ledger.engine.api.dto;
+
+import java.util.List;
+
+public class PostingBatchResponse {
+
+    private List<PostingEventResponse> events;
+    private String nextCursor;
+
+    public PostingBatchResponse() {
+    }
+
+    public PostingBatchResponse(List<PostingEventResponse> events, String nextCursor) {
+        this.events = events;
+        this.nextCursor = nextCursor;
+    }
+
+    public List<PostingEventResponse> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<PostingEventResponse> events) {
+        this.events = events;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
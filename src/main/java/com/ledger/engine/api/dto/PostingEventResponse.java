@@ -0,0 +1,85 @@
+package com.ledger.engine.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class PostingEventResponse {
+
+    private String cursor;
+    private UUID transactionId;
+    private UUID ledgerEntryId;
+    private UUID accountId;
+    private long amount;
+    private String postingType;
+    private LocalDateTime createdAt;
+
+    public PostingEventResponse() {
+    }
+
+    public PostingEventResponse(String cursor, UUID transactionId, UUID ledgerEntryId, UUID accountId,
+            long amount, String postingType, LocalDateTime createdAt) {
+        this.cursor = cursor;
+        this.transactionId = transactionId;
+        this.ledgerEntryId = ledgerEntryId;
+        this.accountId = accountId;
+        this.amount = amount;
+        this.postingType = postingType;
+        this.createdAt = createdAt;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public UUID getLedgerEntryId() {
+        return ledgerEntryId;
+    }
+
+    public void setLedgerEntryId(UUID ledgerEntryId) {
+        this.ledgerEntryId = ledgerEntryId;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public String getPostingType() {
+        return postingType;
+    }
+
+    public void setPostingType(String postingType) {
+        this.postingType = postingType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,45 @@
+package com.ledger.engine.api.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public class RollupQueryRequest {
+
+    private List<UUID> accountIds;
+    private LocalDate from;
+    private LocalDate to;
+
+    public RollupQueryRequest() {
+    }
+
+    public RollupQueryRequest(List<UUID> accountIds, LocalDate from, LocalDate to) {
+        this.accountIds = accountIds;
+        this.from = from;
+        this.to = to;
+    }
+
+    public List<UUID> getAccountIds() {
+        return accountIds;
+    }
+
+    public void setAccountIds(List<UUID> accountIds) {
+        this.accountIds = accountIds;
+    }
+
+    public LocalDate getFrom() {
+        return from;
+    }
+
+    public void setFrom(LocalDate from) {
+        this.from = from;
+    }
+
+    public LocalDate getTo() {
+        return to;
+    }
+
+    public void setTo(LocalDate to) {
+        this.to = to;
+    }
+}
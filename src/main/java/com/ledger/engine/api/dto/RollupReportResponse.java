@@ -0,0 +1,34 @@
+package com.ledger.engine.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class RollupReportResponse {
+
+    private LocalDateTime completeThrough;
+    private List<DailyRollupResponse> rows;
+
+    public RollupReportResponse() {
+    }
+
+    public RollupReportResponse(LocalDateTime completeThrough, List<DailyRollupResponse> rows) {
+        this.completeThrough = completeThrough;
+        this.rows = rows;
+    }
+
+    public LocalDateTime getCompleteThrough() {
+        return completeThrough;
+    }
+
+    public void setCompleteThrough(LocalDateTime completeThrough) {
+        this.completeThrough = completeThrough;
+    }
+
+    public List<DailyRollupResponse> getRows() {
+        return rows;
+    }
+
+    public void setRows(List<DailyRollupResponse> rows) {
+        this.rows = rows;
+    }
+}
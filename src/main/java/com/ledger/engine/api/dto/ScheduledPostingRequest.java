@@ -0,0 +1,87 @@
+package com.ledger.engine.api.dto;
+
+import com.ledger.engine.domain.PostingType;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ScheduledPostingRequest {
+
+    private PostingType type;
+    private UUID accountId;
+    private UUID fromAccountId;
+    private UUID toAccountId;
+    private long amount;
+    private String idempotencyKey;
+    private LocalDateTime executeAt;
+
+    public ScheduledPostingRequest() {
+    }
+
+    public ScheduledPostingRequest(PostingType type, UUID accountId, UUID fromAccountId, UUID toAccountId,
+            long amount, String idempotencyKey, LocalDateTime executeAt) {
+        this.type = type;
+        this.accountId = accountId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.idempotencyKey = idempotencyKey;
+        this.executeAt = executeAt;
+    }
+
+    public PostingType getType() {
+        return type;
+    }
+
+    public void setType(PostingType type) {
+        this.type = type;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public UUID getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public void setFromAccountId(UUID fromAccountId) {
+        this.fromAccountId = fromAccountId;
+    }
+
+    public UUID getToAccountId() {
+        return toAccountId;
+    }
+
+    public void setToAccountId(UUID toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public LocalDateTime getExecuteAt() {
+        return executeAt;
+    }
+
+    public void setExecuteAt(LocalDateTime executeAt) {
+        this.executeAt = executeAt;
+    }
+}
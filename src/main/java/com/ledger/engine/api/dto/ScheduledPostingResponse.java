@@ -0,0 +1,146 @@
+package com.ledger.engine.api.dto;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ScheduledPostingResponse {
+
+    private UUID scheduledPostingId;
+    private String idempotencyKey;
+    private String type;
+    private UUID accountId;
+    private UUID fromAccountId;
+    private UUID toAccountId;
+    private long amount;
+    private LocalDateTime executeAt;
+    private String status;
+    private int attempts;
+    private UUID transactionId;
+    private String lastError;
+    private LocalDateTime completedAt;
+
+    public ScheduledPostingResponse() {
+    }
+
+    public ScheduledPostingResponse(UUID scheduledPostingId, String idempotencyKey, String type,
+            UUID accountId, UUID fromAccountId, UUID toAccountId, long amount, LocalDateTime executeAt,
+            String status, int attempts, UUID transactionId, String lastError, LocalDateTime completedAt) {
+        this.scheduledPostingId = scheduledPostingId;
+        this.idempotencyKey = idempotencyKey;
+        this.type = type;
+        this.accountId = accountId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.executeAt = executeAt;
+        this.status = status;
+        this.attempts = attempts;
+        this.transactionId = transactionId;
+        this.lastError = lastError;
+        this.completedAt = completedAt;
+    }
+
+    public UUID getScheduledPostingId() {
+        return scheduledPostingId;
+    }
+
+    public void setScheduledPostingId(UUID scheduledPostingId) {
+        this.scheduledPostingId = scheduledPostingId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public UUID getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public void setFromAccountId(UUID fromAccountId) {
+        this.fromAccountId = fromAccountId;
+    }
+
+    public UUID getToAccountId() {
+        return toAccountId;
+    }
+
+    public void setToAccountId(UUID toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public LocalDateTime getExecuteAt() {
+        return executeAt;
+    }
+
+    public void setExecuteAt(LocalDateTime executeAt) {
+        this.executeAt = executeAt;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
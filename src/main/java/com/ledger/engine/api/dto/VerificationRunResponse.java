@@ -0,0 +1,105 @@
+package com.ledger.engine.api.dto;
+
+import java.time.LocalDateTime;
+
+public class VerificationRunResponse {
+
+    private long runId;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+    private long transactionCount;
+    private long entryCount;
+    private long netAmount;
+    private long externalAmount;
+    private int violationCount;
+    private LocalDateTime completedAt;
+
+    public VerificationRunResponse() {
+    }
+
+    public VerificationRunResponse(long runId, LocalDateTime windowStart, LocalDateTime windowEnd,
+            long transactionCount, long entryCount, long netAmount, long externalAmount,
+            int violationCount, LocalDateTime completedAt) {
+        this.runId = runId;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.transactionCount = transactionCount;
+        this.entryCount = entryCount;
+        this.netAmount = netAmount;
+        this.externalAmount = externalAmount;
+        this.violationCount = violationCount;
+        this.completedAt = completedAt;
+    }
+
+    public long getRunId() {
+        return runId;
+    }
+
+    public void setRunId(long runId) {
+        this.runId = runId;
+    }
+
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    public void setWindowStart(LocalDateTime windowStart) {
+        this.windowStart = windowStart;
+    }
+
+    public LocalDateTime getWindowEnd() {
+        return windowEnd;
+    }
+
+    public void setWindowEnd(LocalDateTime windowEnd) {
+        this.windowEnd = windowEnd;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(long entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public long getNetAmount() {
+        return netAmount;
+    }
+
+    public void setNetAmount(long netAmount) {
+        this.netAmount = netAmount;
+    }
+
+    public long getExternalAmount() {
+        return externalAmount;
+    }
+
+    public void setExternalAmount(long externalAmount) {
+        this.externalAmount = externalAmount;
+    }
+
+    public int getViolationCount() {
+        return violationCount;
+    }
+
+    public void setViolationCount(int violationCount) {
+        this.violationCount = violationCount;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
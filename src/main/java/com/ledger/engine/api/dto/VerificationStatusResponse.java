@@ -0,0 +1,95 @@
+package com.ledger.engine.api.dto;
+
+import java.time.LocalDateTime;
+
+public class VerificationStatusResponse {
+
+    private LocalDateTime watermark;
+    private long verifiedTransactions;
+    private long verifiedEntries;
+    private long verifiedLedgerSum;
+    private long verifiedExternalFlow;
+    private boolean conserved;
+    private long totalViolations;
+    private VerificationRunResponse lastRun;
+
+    public VerificationStatusResponse() {
+    }
+
+    public VerificationStatusResponse(LocalDateTime watermark, long verifiedTransactions, long verifiedEntries,
+            long verifiedLedgerSum, long verifiedExternalFlow, boolean conserved, long totalViolations,
+            VerificationRunResponse lastRun) {
+        this.watermark = watermark;
+        this.verifiedTransactions = verifiedTransactions;
+        this.verifiedEntries = verifiedEntries;
+        this.verifiedLedgerSum = verifiedLedgerSum;
+        this.verifiedExternalFlow = verifiedExternalFlow;
+        this.conserved = conserved;
+        this.totalViolations = totalViolations;
+        this.lastRun = lastRun;
+    }
+
+    public LocalDateTime getWatermark() {
+        return watermark;
+    }
+
+    public void setWatermark(LocalDateTime watermark) {
+        this.watermark = watermark;
+    }
+
+    public long getVerifiedTransactions() {
+        return verifiedTransactions;
+    }
+
+    public void setVerifiedTransactions(long verifiedTransactions) {
+        this.verifiedTransactions = verifiedTransactions;
+    }
+
+    public long getVerifiedEntries() {
+        return verifiedEntries;
+    }
+
+    public void setVerifiedEntries(long verifiedEntries) {
+        this.verifiedEntries = verifiedEntries;
+    }
+
+    public long getVerifiedLedgerSum() {
+        return verifiedLedgerSum;
+    }
+
+    public void setVerifiedLedgerSum(long verifiedLedgerSum) {
+        this.verifiedLedgerSum = verifiedLedgerSum;
+    }
+
+    public long getVerifiedExternalFlow() {
+        return verifiedExternalFlow;
+    }
+
+    public void setVerifiedExternalFlow(long verifiedExternalFlow) {
+        this.verifiedExternalFlow = verifiedExternalFlow;
+    }
+
+    public boolean isConserved() {
+        return conserved;
+    }
+
+    public void setConserved(boolean conserved) {
+        this.conserved = conserved;
+    }
+
+    public long getTotalViolations() {
+        return totalViolations;
+    }
+
+    public void setTotalViolations(long totalViolations) {
+        this.totalViolations = totalViolations;
+    }
+
+    public VerificationRunResponse getLastRun() {
+        return lastRun;
+    }
+
+    public void setLastRun(VerificationRunResponse lastRun) {
+        this.lastRun = lastRun;
+    }
+}
@@ -0,0 +1,55 @@
+package com.ledger.engine.config;
+
+import com.ledger.engine.domain.LedgerImport;
+import com.ledger.engine.service.LedgerImportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+// Offline import mode: --ledger.import.file=/path/to/file.csv runs one import and exits
+@Component
+@ConditionalOnProperty(name = "ledger.import.file")
+public class LedgerImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerImportRunner.class);
+
+    private final LedgerImportService importService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final String importName;
+
+    public LedgerImportRunner(LedgerImportService importService,
+            ConfigurableApplicationContext context,
+            @Value("${ledger.import.file}") Path file,
+            @Value("${ledger.import.name:}") String importName) {
+        this.importService = importService;
+        this.context = context;
+        this.file = file;
+        this.importName = importName.isBlank() ? file.getFileName().toString() : importName;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode;
+        try {
+            LedgerImport result = importService.importFile(file, importName);
+            log.info("Import {} finished: status={}, transactionsImported={}, transactionsSkipped={}, entries={}",
+                    result.getImportName(), result.getStatus(), result.getTransactionsImported(),
+                    result.getTransactionsSkipped(), result.getEntriesImported());
+            exitCode = 0;
+        } catch (RuntimeException e) {
+            log.error("Import {} failed; rerun with the same name to resume: {}", importName, e.getMessage());
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
@@ -0,0 +1,47 @@
+package com.ledger.engine.config;
+
+import com.ledger.engine.domain.AccountStatus;
+import com.ledger.engine.domain.CrossPartitionTransferStatus;
+import com.ledger.engine.domain.HoldStatus;
+import com.ledger.engine.domain.ImportStatus;
+import com.ledger.engine.domain.PostingType;
+import com.ledger.engine.domain.ScheduledPostingStatus;
+import com.ledger.engine.domain.StatementFormat;
+import com.ledger.engine.domain.TransactionStatus;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Native-image hints that AOT processing cannot infer on its own. Controller signatures are covered
+ * automatically, but DTOs written to SSE emitters and streaming bodies are not, so every API DTO gets binding
+ * hints. Enums parsed from strings (JDBC columns, properties) need their public methods. Migration scripts
+ * are resources the image must embed.
+ */
+public class LedgerRuntimeHints implements RuntimeHintsRegistrar {
+
+    static final String DTO_PACKAGE = "com.ledger.engine.api.dto";
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        BindingReflectionHintsRegistrar bindingRegistrar = new BindingReflectionHintsRegistrar();
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter((reader, factory) -> true);
+        for (BeanDefinition candidate : scanner.findCandidateComponents(DTO_PACKAGE)) {
+            bindingRegistrar.registerReflectionHints(hints.reflection(),
+                    ClassUtils.resolveClassName(candidate.getBeanClassName(), classLoader));
+        }
+
+        for (Class<?> type : new Class<?>[] {AccountStatus.class, TransactionStatus.class, PostingType.class,
+                ImportStatus.class, ScheduledPostingStatus.class, HoldStatus.class, CrossPartitionTransferStatus.class,
+                StatementFormat.class, SchemaMigrationConfig.Mode.class}) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_PUBLIC_METHODS);
+        }
+
+        hints.resources().registerPattern("db/migration/*.sql");
+    }
+}
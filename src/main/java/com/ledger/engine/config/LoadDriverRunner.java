@@ -0,0 +1,110 @@
+package com.ledger.engine.config;
+
+import com.ledger.engine.domain.LoadStepResult;
+import com.ledger.engine.service.LoadDriverService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+// Pool sizing mode: --ledger.load-driver.enabled=true sweeps pool sizes x concurrency levels, reports and exits
+@Component
+@ConditionalOnProperty(name = "ledger.load-driver.enabled", havingValue = "true")
+public class LoadDriverRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadDriverRunner.class);
+
+    private final LoadDriverService loadDriverService;
+    private final ConfigurableApplicationContext context;
+    private final int[] poolSizes;
+    private final int[] concurrencyLevels;
+    private final int accounts;
+    private final Duration warmup;
+    private final Duration duration;
+    private final String reportFile;
+
+    public LoadDriverRunner(LoadDriverService loadDriverService,
+            ConfigurableApplicationContext context,
+            @Value("${ledger.load-driver.pool-sizes:2,4,8,16,32}") int[] poolSizes,
+            @Value("${ledger.load-driver.concurrency:8,32,128}") int[] concurrencyLevels,
+            @Value("${ledger.load-driver.accounts:1000}") int accounts,
+            @Value("${ledger.load-driver.warmup:PT5S}") Duration warmup,
+            @Value("${ledger.load-driver.duration:PT20S}") Duration duration,
+            @Value("${ledger.load-driver.report:}") String reportFile) {
+        this.loadDriverService = loadDriverService;
+        this.context = context;
+        this.poolSizes = Arrays.stream(poolSizes).sorted().toArray();
+        this.concurrencyLevels = Arrays.stream(concurrencyLevels).sorted().toArray();
+        this.accounts = accounts;
+        this.warmup = warmup;
+        this.duration = duration;
+        this.reportFile = reportFile;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode;
+        int originalPoolSize = loadDriverService.currentPoolSize();
+        try {
+            // Each step posts unit transfers, so a large opening balance keeps every account solvent
+            List<UUID> accountIds = loadDriverService.prepareAccounts(accounts, 1_000_000_000L);
+            List<LoadStepResult> results = new ArrayList<>();
+            for (int poolSize : poolSizes) {
+                for (int concurrency : concurrencyLevels) {
+                    results.add(loadDriverService.runStep(accountIds, poolSize, concurrency, warmup, duration));
+                }
+            }
+
+            String report = toCsv(results);
+            if (reportFile.isBlank()) {
+                log.info("Load driver report:\n{}", report);
+            } else {
+                Files.writeString(Path.of(reportFile), report);
+                log.info("Load driver report written: file={}, steps={}", reportFile, results.size());
+            }
+            exitCode = 0;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exitCode = 1;
+        } catch (IOException | RuntimeException e) {
+            log.error("Load driver failed: {}", e.getMessage());
+            exitCode = 1;
+        } finally {
+            loadDriverService.resizePool(originalPoolSize);
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+
+    private static String toCsv(List<LoadStepResult> results) {
+        StringWriter out = new StringWriter();
+        PrintWriter writer = new PrintWriter(out);
+        writer.println("pool_size,concurrency,operations,errors,throughput_per_s,p50_ms,p95_ms,p99_ms,max_ms,"
+                + "mean_acquire_ms,mean_usage_ms,max_pending,mean_active");
+        for (LoadStepResult r : results) {
+            writer.println(String.format(Locale.ROOT, "%d,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f,%.3f,%.3f,%d,%.1f",
+                    r.getPoolSize(), r.getConcurrency(), r.getOperations(), r.getErrors(), r.getThroughput(),
+                    r.getP50Millis(), r.getP95Millis(), r.getP99Millis(), r.getMaxMillis(),
+                    r.getMeanAcquireMillis(), r.getMeanUsageMillis(), r.getMaxPending(), r.getMeanActive()));
+        }
+        writer.flush();
+        return out.toString();
+    }
+}
@@ -0,0 +1,114 @@
+package com.ledger.engine.config;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.Location;
+import org.flywaydb.core.api.ResourceProvider;
+import org.flywaydb.core.api.configuration.Configuration;
+import org.flywaydb.core.api.resource.LoadableResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Lists classpath migrations through Spring's resource resolver, which also works inside a native image
+class MigrationResourceProvider implements ResourceProvider {
+
+    private final List<SqlResource> resources = new ArrayList<>();
+
+    MigrationResourceProvider(Configuration configuration) {
+        ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(configuration.getClassLoader());
+        for (Location location : configuration.getLocations()) {
+            if (!location.isClassPath()) {
+                throw new FlywayException("Only classpath migration locations are supported under AOT: " + location);
+            }
+            try {
+                for (Resource resource : resolver.getResources("classpath*:" + location.getRootPath() + "/*")) {
+                    String filename = resource.getFilename();
+                    if (filename != null && resource.isReadable()) {
+                        resources.add(new SqlResource(resource, location.getRootPath() + "/" + filename,
+                                filename, configuration.getEncoding()));
+                    }
+                }
+            } catch (IOException e) {
+                throw new FlywayException("Unable to list migrations in " + location, e);
+            }
+        }
+    }
+
+    @Override
+    public LoadableResource getResource(String name) {
+        return resources.stream()
+                .filter(resource -> resource.getRelativePath().equals(name))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public Collection<LoadableResource> getResources(String prefix, String[] suffixes) {
+        List<LoadableResource> matching = new ArrayList<>();
+        for (SqlResource resource : resources) {
+            String filename = resource.getFilename();
+            if (!filename.startsWith(prefix)) {
+                continue;
+            }
+            for (String suffix : suffixes) {
+                if (filename.endsWith(suffix)) {
+                    matching.add(resource);
+                    break;
+                }
+            }
+        }
+        return matching;
+    }
+
+    private static class SqlResource extends LoadableResource {
+
+        private final Resource resource;
+        private final String absolutePath;
+        private final String filename;
+        private final Charset encoding;
+
+        SqlResource(Resource resource, String absolutePath, String filename, Charset encoding) {
+            this.resource = resource;
+            this.absolutePath = absolutePath;
+            this.filename = filename;
+            this.encoding = encoding;
+        }
+
+        @Override
+        public Reader read() {
+            try {
+                return new InputStreamReader(resource.getInputStream(), encoding);
+            } catch (IOException e) {
+                throw new FlywayException("Unable to read migration " + absolutePath, e);
+            }
+        }
+
+        @Override
+        public String getAbsolutePath() {
+            return absolutePath;
+        }
+
+        @Override
+        public String getAbsolutePathOnDisk() {
+            return absolutePath;
+        }
+
+        @Override
+        public String getFilename() {
+            return filename;
+        }
+
+        @Override
+        public String getRelativePath() {
+            return filename;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.ledger.engine.config;
+
+import com.ledger.engine.domain.UuidV7;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+/*
+ * Which engine instance owns which account. The 64-bit hash of an account id is split into one contiguous
+ * range per node, in the order the nodes are listed; node i keeps the accounts in range i, and every entry
+ * that touches them, in its own PostgreSQL database. Every node must be started with the same node list.
+ * With fewer than two nodes there is one partition and nothing is routed. Nodes prove to each other that a
+ * request was forwarded by a peer with the shared secret, which is required once there are two nodes or more.
+ */
+@Component
+public class PartitionMap {
+
+    private final int self;
+    private final List<URI> nodes;
+    private final UUID[] clearingAccounts;
+    private final byte[] secret;
+
+    public PartitionMap(@Value("${ledger.partitions.self:0}") int self,
+            @Value("${ledger.partitions.nodes:}") String nodes,
+            @Value("${ledger.partitions.secret:}") String secret) {
+        List<URI> uris = new ArrayList<>();
+        for (String node : nodes.split(",")) {
+            if (!node.isBlank()) {
+                uris.add(URI.create(node.trim().replaceAll("/+$", "")));
+            }
+        }
+        if (uris.size() > 1 && (self < 0 || self >= uris.size())) {
+            throw new IllegalStateException("ledger.partitions.self=" + self + " is not one of the "
+                    + uris.size() + " configured nodes");
+        }
+        if (uris.size() > 1 && secret.isBlank()) {
+            throw new IllegalStateException("ledger.partitions.secret must be set when more than one node is configured");
+        }
+        this.self = uris.size() > 1 ? self : 0;
+        this.secret = secret.getBytes(StandardCharsets.UTF_8);
+        this.nodes = Collections.unmodifiableList(uris);
+
+        this.clearingAccounts = new UUID[Math.max(uris.size(), 1)];
+        for (int partition = 0; partition < clearingAccounts.length; partition++) {
+            if (partition != this.self) {
+                clearingAccounts[partition] = findClearingAccount(partition);
+            }
+        }
+    }
+
+    public boolean isPartitioned() {
+        return nodes.size() > 1;
+    }
+
+    public int count() {
+        return Math.max(nodes.size(), 1);
+    }
+
+    public int self() {
+        return self;
+    }
+
+    public List<URI> nodes() {
+        return nodes;
+    }
+
+    public URI node(int partition) {
+        return nodes.get(partition);
+    }
+
+    public String secret() {
+        return new String(secret, StandardCharsets.UTF_8);
+    }
+
+    // Whether a request carrying this secret came from another node; never true on a single node
+    public boolean isPeer(String presentedSecret) {
+        return isPartitioned() && presentedSecret != null
+                && MessageDigest.isEqual(secret, presentedSecret.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public int partitionOf(UUID accountId) {
+        if (!isPartitioned()) {
+            return 0;
+        }
+        long hash = mix(accountId.getMostSignificantBits() ^ Long.rotateLeft(accountId.getLeastSignificantBits(), 32));
+        return (int) (((hash >>> 32) * nodes.size()) >>> 32);
+    }
+
+    public boolean isLocal(UUID accountId) {
+        return partitionOf(accountId) == self;
+    }
+
+    // A fresh UUIDv7 lands on a given node with probability 1/count, so this takes count draws on average
+    public UUID newLocalAccountId() {
+        UUID accountId = UuidV7.generate();
+        while (!isLocal(accountId)) {
+            accountId = UuidV7.generate();
+        }
+        return accountId;
+    }
+
+    /*
+     * The local account that stands in for a remote partition: money leaving for that partition is parked
+     * here, money arriving from it is drawn from here. Ids are derived from the partition pair, so a node
+     * finds the same account after a restart without storing anything.
+     */
+    public UUID clearingAccount(int remotePartition) {
+        if (remotePartition == self || remotePartition < 0 || remotePartition >= count()) {
+            throw new IllegalArgumentException("No clearing account for partition " + remotePartition);
+        }
+        return clearingAccounts[remotePartition];
+    }
+
+    public boolean isClearingAccount(UUID accountId) {
+        for (UUID clearing : clearingAccounts) {
+            if (accountId.equals(clearing)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private UUID findClearingAccount(int remotePartition) {
+        for (int attempt = 0; ; attempt++) {
+            UUID candidate = UUID.nameUUIDFromBytes(("ledger-clearing:" + self + ":" + remotePartition + ":" + attempt)
+                    .getBytes(StandardCharsets.UTF_8));
+            if (isLocal(candidate)) {
+                return candidate;
+            }
+        }
+    }
+
+    // MurmurHash3 finalizer: UUIDv7 ids share their leading timestamp bits, so they are mixed before ranging
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xff51afd7ed558ccdL;
+        value = (value ^ (value >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return value ^ (value >>> 33);
+    }
+}
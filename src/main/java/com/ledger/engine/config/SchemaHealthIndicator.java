@@ -0,0 +1,29 @@
+package com.ledger.engine.config;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+// Reports the outcome of startup schema handling; stays UNKNOWN while an async validation is still running
+@Component
+public class SchemaHealthIndicator implements HealthIndicator {
+
+    private volatile Health health = Health.unknown().withDetail("mode", "pending").build();
+
+    @Override
+    public Health health() {
+        return health;
+    }
+
+    void validated(SchemaMigrationConfig.Mode mode, String version) {
+        health = Health.up().withDetail("mode", mode.name()).withDetail("version", version).build();
+    }
+
+    void skipped() {
+        health = Health.up().withDetail("mode", SchemaMigrationConfig.Mode.SKIP.name()).build();
+    }
+
+    void failed(SchemaMigrationConfig.Mode mode, Exception error) {
+        health = Health.down(error).withDetail("mode", mode.name()).build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.ledger.engine.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * What a booting instance does with Flyway, chosen at runtime by {@code ledger.flyway.mode}:
+ * <ul>
+ *   <li>{@code migrate} (default): apply pending migrations before the context starts</li>
+ *   <li>{@code validate}: check applied migrations against the classpath and refuse to start on mismatch</li>
+ *   <li>{@code async-validate}: start immediately and validate on a background thread; the {@code schema}
+ *       health indicator reports the result</li>
+ *   <li>{@code skip}: no schema access at all, for replicas that never own migrations</li>
+ * </ul>
+ * The switch lives in a migration strategy rather than {@code spring.flyway.enabled} because an AOT-processed
+ * build fixes auto-configuration conditions at build time.
+ */
+@Configuration
+public class SchemaMigrationConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(SchemaMigrationConfig.class);
+
+    public enum Mode {
+        MIGRATE,
+        VALIDATE,
+        ASYNC_VALIDATE,
+        SKIP
+    }
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(SchemaHealthIndicator schemaHealth,
+            @Value("${ledger.flyway.mode:migrate}") Mode mode) {
+        return flyway -> apply(flyway, mode, schemaHealth);
+    }
+
+    // Boot 3.2's AOT/native resource customizer targets Flyway 9; list migrations for Flyway 10 ourselves instead.
+    // There are no Java migrations, so class scanning is switched off as well.
+    @Bean
+    public FlywayConfigurationCustomizer flywayAotResourceCustomizer() {
+        return configuration -> {
+            if (AotDetector.useGeneratedArtifacts()) {
+                configuration.resourceProvider(new MigrationResourceProvider(configuration))
+                        .javaMigrationClassProvider(List::<Class<? extends JavaMigration>>of);
+            }
+        };
+    }
+
+    static void apply(Flyway flyway, Mode mode, SchemaHealthIndicator schemaHealth) {
+        switch (mode) {
+            case MIGRATE -> {
+                flyway.migrate();
+                schemaHealth.validated(mode, currentVersion(flyway));
+            }
+            case VALIDATE -> {
+                flyway.validate();
+                schemaHealth.validated(mode, currentVersion(flyway));
+            }
+            case ASYNC_VALIDATE -> {
+                Thread validator = new Thread(() -> validate(flyway, mode, schemaHealth), "schema-validator");
+                validator.setDaemon(true);
+                validator.start();
+            }
+            case SKIP -> {
+                log.info("Flyway skipped at startup (ledger.flyway.mode=skip)");
+                schemaHealth.skipped();
+            }
+        }
+    }
+
+    private static void validate(Flyway flyway, Mode mode, SchemaHealthIndicator schemaHealth) {
+        long startedAt = System.nanoTime();
+        try {
+            flyway.validate();
+            String version = currentVersion(flyway);
+            schemaHealth.validated(mode, version);
+            log.info("Schema validated in background: version={}, elapsedMs={}",
+                    version, (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (RuntimeException e) {
+            schemaHealth.failed(mode, e);
+            log.error("Background schema validation failed: {}", e.getMessage());
+        }
+    }
+
+    private static String currentVersion(Flyway flyway) {
+        MigrationInfo current = flyway.info().current();
+        return current != null ? current.getVersion().getVersion() : "none";
+    }
+}
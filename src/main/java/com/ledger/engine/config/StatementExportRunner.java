@@ -0,0 +1,78 @@
+package com.ledger.engine.config;
+
+import com.ledger.engine.domain.StatementFormat;
+import com.ledger.engine.service.StatementExportService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Batch export mode: --ledger.export.file=/path/out.csv.gz [--ledger.export.accounts=id,id] runs once and exits
+@Component
+@ConditionalOnProperty(name = "ledger.export.file")
+public class StatementExportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(StatementExportRunner.class);
+
+    private final StatementExportService exportService;
+    private final ConfigurableApplicationContext context;
+    private final Path file;
+    private final List<UUID> accountIds;
+    private final LocalDateTime from;
+    private final LocalDateTime to;
+
+    public StatementExportRunner(StatementExportService exportService,
+            ConfigurableApplicationContext context,
+            @Value("${ledger.export.file}") Path file,
+            @Value("${ledger.export.accounts:}") List<UUID> accountIds,
+            @Value("${ledger.export.from:}") String from,
+            @Value("${ledger.export.to:}") String to) {
+        this.exportService = exportService;
+        this.context = context;
+        this.file = file;
+        this.accountIds = accountIds;
+        this.from = from.isBlank() ? null : LocalDateTime.parse(from);
+        this.to = to.isBlank() ? null : LocalDateTime.parse(to);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int exitCode;
+        try {
+            StatementFormat format = StatementFormat.fromFileName(file.getFileName().toString());
+            // No accounts means the whole ledger, streamed in one index-ordered pass
+            Set<UUID> accounts = accountIds.isEmpty()
+                    ? Set.of()
+                    : exportService.validateRequest(accountIds, from, to);
+
+            Path partial = file.resolveSibling(file.getFileName() + ".partial");
+            long rows;
+            try (OutputStream out = Files.newOutputStream(partial)) {
+                rows = exportService.export(accounts, from, to, format, out);
+            }
+            Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Statement export finished: file={}, rows={}", file, rows);
+            exitCode = 0;
+        } catch (IOException | RuntimeException e) {
+            log.error("Statement export failed: {}", e.getMessage());
+            exitCode = 1;
+        }
+        int code = exitCode;
+        System.exit(SpringApplication.exit(context, () -> code));
+    }
+}
@@ -0,0 +1,85 @@
+package com.ledger.engine.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class AccountArchive {
+
+    private UUID accountId;
+    private LocalDateTime archivedThrough;
+    private UUID carryTransactionId;
+    private UUID carryEntryId;
+    private long entryCount;
+    private long amountSum;
+    private LocalDateTime archivedAt;
+
+    public AccountArchive() {
+    }
+
+    public AccountArchive(UUID accountId, LocalDateTime archivedThrough, UUID carryTransactionId,
+            UUID carryEntryId, long entryCount, long amountSum, LocalDateTime archivedAt) {
+        this.accountId = accountId;
+        this.archivedThrough = archivedThrough;
+        this.carryTransactionId = carryTransactionId;
+        this.carryEntryId = carryEntryId;
+        this.entryCount = entryCount;
+        this.amountSum = amountSum;
+        this.archivedAt = archivedAt;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public LocalDateTime getArchivedThrough() {
+        return archivedThrough;
+    }
+
+    public void setArchivedThrough(LocalDateTime archivedThrough) {
+        this.archivedThrough = archivedThrough;
+    }
+
+    public UUID getCarryTransactionId() {
+        return carryTransactionId;
+    }
+
+    public void setCarryTransactionId(UUID carryTransactionId) {
+        this.carryTransactionId = carryTransactionId;
+    }
+
+    public UUID getCarryEntryId() {
+        return carryEntryId;
+    }
+
+    public void setCarryEntryId(UUID carryEntryId) {
+        this.carryEntryId = carryEntryId;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(long entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public long getAmountSum() {
+        return amountSum;
+    }
+
+    public void setAmountSum(long amountSum) {
+        this.amountSum = amountSum;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+}
@@ -2,5 +2,6 @@ package com.ledger.engine.domain;
 
 public enum AccountStatus {
     ACTIVE,
+    FROZEN,
     CLOSED
 }
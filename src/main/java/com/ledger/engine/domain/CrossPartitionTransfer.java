@@ -0,0 +1,147 @@
+package com.ledger.engine.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class CrossPartitionTransfer {
+
+    private UUID transferId;
+    private UUID transactionId;
+    private UUID fromAccountId;
+    private UUID toAccountId;
+    private int targetPartition;
+    private long amount;
+    private CrossPartitionTransferStatus status;
+    private int attempts;
+    private UUID remoteTransactionId;
+    private UUID reversalTransactionId;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    public CrossPartitionTransfer() {
+    }
+
+    public CrossPartitionTransfer(UUID transferId, UUID transactionId, UUID fromAccountId, UUID toAccountId,
+            int targetPartition, long amount, CrossPartitionTransferStatus status, int attempts,
+            UUID remoteTransactionId, UUID reversalTransactionId, String lastError, LocalDateTime createdAt,
+            LocalDateTime completedAt) {
+        this.transferId = transferId;
+        this.transactionId = transactionId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.targetPartition = targetPartition;
+        this.amount = amount;
+        this.status = status;
+        this.attempts = attempts;
+        this.remoteTransactionId = remoteTransactionId;
+        this.reversalTransactionId = reversalTransactionId;
+        this.lastError = lastError;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+    }
+
+    public UUID getTransferId() {
+        return transferId;
+    }
+
+    public void setTransferId(UUID transferId) {
+        this.transferId = transferId;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public UUID getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public void setFromAccountId(UUID fromAccountId) {
+        this.fromAccountId = fromAccountId;
+    }
+
+    public UUID getToAccountId() {
+        return toAccountId;
+    }
+
+    public void setToAccountId(UUID toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public int getTargetPartition() {
+        return targetPartition;
+    }
+
+    public void setTargetPartition(int targetPartition) {
+        this.targetPartition = targetPartition;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public CrossPartitionTransferStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(CrossPartitionTransferStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public UUID getRemoteTransactionId() {
+        return remoteTransactionId;
+    }
+
+    public void setRemoteTransactionId(UUID remoteTransactionId) {
+        this.remoteTransactionId = remoteTransactionId;
+    }
+
+    public UUID getReversalTransactionId() {
+        return reversalTransactionId;
+    }
+
+    public void setReversalTransactionId(UUID reversalTransactionId) {
+        this.reversalTransactionId = reversalTransactionId;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
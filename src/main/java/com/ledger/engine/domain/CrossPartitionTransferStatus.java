@@ -0,0 +1,7 @@
+package com.ledger.engine.domain;
+
+public enum CrossPartitionTransferStatus {
+    PREPARED,
+    COMPLETED,
+    FAILED
+}
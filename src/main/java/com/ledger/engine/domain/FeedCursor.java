@@ -0,0 +1,48 @@
+package com.ledger.engine.domain;
+
+public class FeedCursor {
+
+    public static final FeedCursor START = new FeedCursor(0L, 0L);
+
+    private final long txXid;
+    private final long eventId;
+
+    public FeedCursor(long txXid, long eventId) {
+        this.txXid = txXid;
+        this.eventId = eventId;
+    }
+
+    public static FeedCursor of(PostingEvent event) {
+        return new FeedCursor(event.getTxXid(), event.getEventId());
+    }
+
+    public static FeedCursor parse(String value) {
+        if (value == null || value.isBlank()) {
+            return START;
+        }
+        int separator = value.indexOf('-');
+        try {
+            if (separator <= 0) {
+                throw new NumberFormatException();
+            }
+            return new FeedCursor(
+                    Long.parseLong(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid feed cursor: " + value);
+        }
+    }
+
+    public long getTxXid() {
+        return txXid;
+    }
+
+    public long getEventId() {
+        return eventId;
+    }
+
+    @Override
+    public String toString() {
+        return txXid + "-" + eventId;
+    }
+}
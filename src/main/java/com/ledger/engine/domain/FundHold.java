@@ -0,0 +1,116 @@
+package com.ledger.engine.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class FundHold {
+
+    private UUID holdId;
+    private UUID accountId;
+    private long amount;
+    private Long capturedAmount;
+    private HoldStatus status;
+    private String idempotencyKey;
+    private UUID transactionId;
+    private LocalDateTime expiresAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime closedAt;
+
+    public FundHold() {
+    }
+
+    public FundHold(UUID holdId, UUID accountId, long amount, Long capturedAmount, HoldStatus status,
+            String idempotencyKey, UUID transactionId, LocalDateTime expiresAt, LocalDateTime createdAt,
+            LocalDateTime closedAt) {
+        this.holdId = holdId;
+        this.accountId = accountId;
+        this.amount = amount;
+        this.capturedAmount = capturedAmount;
+        this.status = status;
+        this.idempotencyKey = idempotencyKey;
+        this.transactionId = transactionId;
+        this.expiresAt = expiresAt;
+        this.createdAt = createdAt;
+        this.closedAt = closedAt;
+    }
+
+    public UUID getHoldId() {
+        return holdId;
+    }
+
+    public void setHoldId(UUID holdId) {
+        this.holdId = holdId;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public Long getCapturedAmount() {
+        return capturedAmount;
+    }
+
+    public void setCapturedAmount(Long capturedAmount) {
+        this.capturedAmount = capturedAmount;
+    }
+
+    public HoldStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(HoldStatus status) {
+        this.status = status;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(LocalDateTime expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getClosedAt() {
+        return closedAt;
+    }
+
+    public void setClosedAt(LocalDateTime closedAt) {
+        this.closedAt = closedAt;
+    }
+}
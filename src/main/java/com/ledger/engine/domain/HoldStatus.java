@@ -0,0 +1,8 @@
+package com.ledger.engine.domain;
+
+public enum HoldStatus {
+    ACTIVE,
+    CAPTURED,
+    RELEASED,
+    EXPIRED
+}
@@ -0,0 +1,7 @@
+package com.ledger.engine.domain;
+
+public enum ImportStatus {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,65 @@
+package com.ledger.engine.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class InvariantViolation {
+
+    private long runId;
+    private UUID transactionId;
+    private int entryCount;
+    private long amountSum;
+    private LocalDateTime detectedAt;
+
+    public InvariantViolation() {
+    }
+
+    public InvariantViolation(long runId, UUID transactionId, int entryCount,
+            long amountSum, LocalDateTime detectedAt) {
+        this.runId = runId;
+        this.transactionId = transactionId;
+        this.entryCount = entryCount;
+        this.amountSum = amountSum;
+        this.detectedAt = detectedAt;
+    }
+
+    public long getRunId() {
+        return runId;
+    }
+
+    public void setRunId(long runId) {
+        this.runId = runId;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public int getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(int entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public long getAmountSum() {
+        return amountSum;
+    }
+
+    public void setAmountSum(long amountSum) {
+        this.amountSum = amountSum;
+    }
+
+    public LocalDateTime getDetectedAt() {
+        return detectedAt;
+    }
+
+    public void setDetectedAt(LocalDateTime detectedAt) {
+        this.detectedAt = detectedAt;
+    }
+}
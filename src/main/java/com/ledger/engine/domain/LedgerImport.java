@@ -0,0 +1,115 @@
+package com.ledger.engine.domain;
+
+import java.time.LocalDateTime;
+
+public class LedgerImport {
+
+    private String importName;
+    private String source;
+    private ImportStatus status;
+    private long linesCommitted;
+    private long transactionsImported;
+    private long transactionsSkipped;
+    private long entriesImported;
+    private String errorMessage;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    public LedgerImport() {
+    }
+
+    public LedgerImport(String importName, String source, ImportStatus status, long linesCommitted,
+            long transactionsImported, long transactionsSkipped, long entriesImported,
+            String errorMessage, LocalDateTime startedAt, LocalDateTime completedAt) {
+        this.importName = importName;
+        this.source = source;
+        this.status = status;
+        this.linesCommitted = linesCommitted;
+        this.transactionsImported = transactionsImported;
+        this.transactionsSkipped = transactionsSkipped;
+        this.entriesImported = entriesImported;
+        this.errorMessage = errorMessage;
+        this.startedAt = startedAt;
+        this.completedAt = completedAt;
+    }
+
+    public String getImportName() {
+        return importName;
+    }
+
+    public void setImportName(String importName) {
+        this.importName = importName;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public void setSource(String source) {
+        this.source = source;
+    }
+
+    public ImportStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ImportStatus status) {
+        this.status = status;
+    }
+
+    public long getLinesCommitted() {
+        return linesCommitted;
+    }
+
+    public void setLinesCommitted(long linesCommitted) {
+        this.linesCommitted = linesCommitted;
+    }
+
+    public long getTransactionsImported() {
+        return transactionsImported;
+    }
+
+    public void setTransactionsImported(long transactionsImported) {
+        this.transactionsImported = transactionsImported;
+    }
+
+    public long getTransactionsSkipped() {
+        return transactionsSkipped;
+    }
+
+    public void setTransactionsSkipped(long transactionsSkipped) {
+        this.transactionsSkipped = transactionsSkipped;
+    }
+
+    public long getEntriesImported() {
+        return entriesImported;
+    }
+
+    public void setEntriesImported(long entriesImported) {
+        this.entriesImported = entriesImported;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,144 @@
+package com.ledger.engine.domain;
+
+// One step of a load-driver sweep: a fixed pool size driven at a fixed concurrency
+public class LoadStepResult {
+
+    private int poolSize;
+    private int concurrency;
+    private long operations;
+    private long errors;
+    private double throughput;
+    private double p50Millis;
+    private double p95Millis;
+    private double p99Millis;
+    private double maxMillis;
+    private double meanAcquireMillis;
+    private double meanUsageMillis;
+    private int maxPending;
+    private double meanActive;
+
+    public LoadStepResult() {
+    }
+
+    public LoadStepResult(int poolSize, int concurrency, long operations, long errors, double throughput,
+            double p50Millis, double p95Millis, double p99Millis, double maxMillis, double meanAcquireMillis,
+            double meanUsageMillis, int maxPending, double meanActive) {
+        this.poolSize = poolSize;
+        this.concurrency = concurrency;
+        this.operations = operations;
+        this.errors = errors;
+        this.throughput = throughput;
+        this.p50Millis = p50Millis;
+        this.p95Millis = p95Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+        this.meanAcquireMillis = meanAcquireMillis;
+        this.meanUsageMillis = meanUsageMillis;
+        this.maxPending = maxPending;
+        this.meanActive = meanActive;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getConcurrency() {
+        return concurrency;
+    }
+
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    public long getOperations() {
+        return operations;
+    }
+
+    public void setOperations(long operations) {
+        this.operations = operations;
+    }
+
+    public long getErrors() {
+        return errors;
+    }
+
+    public void setErrors(long errors) {
+        this.errors = errors;
+    }
+
+    public double getThroughput() {
+        return throughput;
+    }
+
+    public void setThroughput(double throughput) {
+        this.throughput = throughput;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public void setP50Millis(double p50Millis) {
+        this.p50Millis = p50Millis;
+    }
+
+    public double getP95Millis() {
+        return p95Millis;
+    }
+
+    public void setP95Millis(double p95Millis) {
+        this.p95Millis = p95Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public void setP99Millis(double p99Millis) {
+        this.p99Millis = p99Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+
+    public void setMaxMillis(double maxMillis) {
+        this.maxMillis = maxMillis;
+    }
+
+    public double getMeanAcquireMillis() {
+        return meanAcquireMillis;
+    }
+
+    public void setMeanAcquireMillis(double meanAcquireMillis) {
+        this.meanAcquireMillis = meanAcquireMillis;
+    }
+
+    public double getMeanUsageMillis() {
+        return meanUsageMillis;
+    }
+
+    public void setMeanUsageMillis(double meanUsageMillis) {
+        this.meanUsageMillis = meanUsageMillis;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public void setMaxPending(int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    public double getMeanActive() {
+        return meanActive;
+    }
+
+    public void setMeanActive(double meanActive) {
+        this.meanActive = meanActive;
+    }
+}
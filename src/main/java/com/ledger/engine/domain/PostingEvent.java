@@ -0,0 +1,95 @@
+package com.ledger.engine.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class PostingEvent {
+
+    private long eventId;
+    private long txXid;
+    private UUID transactionId;
+    private UUID ledgerEntryId;
+    private UUID accountId;
+    private long amount;
+    private PostingType postingType;
+    private LocalDateTime createdAt;
+
+    public PostingEvent() {
+    }
+
+    public PostingEvent(long eventId, long txXid, UUID transactionId, UUID ledgerEntryId,
+            UUID accountId, long amount, PostingType postingType, LocalDateTime createdAt) {
+        this.eventId = eventId;
+        this.txXid = txXid;
+        this.transactionId = transactionId;
+        this.ledgerEntryId = ledgerEntryId;
+        this.accountId = accountId;
+        this.amount = amount;
+        this.postingType = postingType;
+        this.createdAt = createdAt;
+    }
+
+    public long getEventId() {
+        return eventId;
+    }
+
+    public void setEventId(long eventId) {
+        this.eventId = eventId;
+    }
+
+    public long getTxXid() {
+        return txXid;
+    }
+
+    public void setTxXid(long txXid) {
+        this.txXid = txXid;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public UUID getLedgerEntryId() {
+        return ledgerEntryId;
+    }
+
+    public void setLedgerEntryId(UUID ledgerEntryId) {
+        this.ledgerEntryId = ledgerEntryId;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public PostingType getPostingType() {
+        return postingType;
+    }
+
+    public void setPostingType(PostingType postingType) {
+        this.postingType = postingType;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,157 @@
+package com.ledger.engine.domain;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ScheduledPosting {
+
+    private UUID scheduledPostingId;
+    private String idempotencyKey;
+    private PostingType postingType;
+    private UUID accountId;
+    private UUID fromAccountId;
+    private UUID toAccountId;
+    private long amount;
+    private LocalDateTime executeAt;
+    private ScheduledPostingStatus status;
+    private int attempts;
+    private UUID transactionId;
+    private String lastError;
+    private LocalDateTime createdAt;
+    private LocalDateTime completedAt;
+
+    public ScheduledPosting() {
+    }
+
+    public ScheduledPosting(UUID scheduledPostingId, String idempotencyKey, PostingType postingType,
+            UUID accountId, UUID fromAccountId, UUID toAccountId, long amount, LocalDateTime executeAt,
+            ScheduledPostingStatus status, int attempts, UUID transactionId, String lastError,
+            LocalDateTime createdAt, LocalDateTime completedAt) {
+        this.scheduledPostingId = scheduledPostingId;
+        this.idempotencyKey = idempotencyKey;
+        this.postingType = postingType;
+        this.accountId = accountId;
+        this.fromAccountId = fromAccountId;
+        this.toAccountId = toAccountId;
+        this.amount = amount;
+        this.executeAt = executeAt;
+        this.status = status;
+        this.attempts = attempts;
+        this.transactionId = transactionId;
+        this.lastError = lastError;
+        this.createdAt = createdAt;
+        this.completedAt = completedAt;
+    }
+
+    public UUID getScheduledPostingId() {
+        return scheduledPostingId;
+    }
+
+    public void setScheduledPostingId(UUID scheduledPostingId) {
+        this.scheduledPostingId = scheduledPostingId;
+    }
+
+    public String getIdempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public void setIdempotencyKey(String idempotencyKey) {
+        this.idempotencyKey = idempotencyKey;
+    }
+
+    public PostingType getPostingType() {
+        return postingType;
+    }
+
+    public void setPostingType(PostingType postingType) {
+        this.postingType = postingType;
+    }
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public UUID getFromAccountId() {
+        return fromAccountId;
+    }
+
+    public void setFromAccountId(UUID fromAccountId) {
+        this.fromAccountId = fromAccountId;
+    }
+
+    public UUID getToAccountId() {
+        return toAccountId;
+    }
+
+    public void setToAccountId(UUID toAccountId) {
+        this.toAccountId = toAccountId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public LocalDateTime getExecuteAt() {
+        return executeAt;
+    }
+
+    public void setExecuteAt(LocalDateTime executeAt) {
+        this.executeAt = executeAt;
+    }
+
+    public ScheduledPostingStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(ScheduledPostingStatus status) {
+        this.status = status;
+    }
+
+    public int getAttempts() {
+        return attempts;
+    }
+
+    public void setAttempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,9 @@
+package com.ledger.engine.domain;
+
+public enum ScheduledPostingStatus {
+    PENDING,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED
+}
@@ -0,0 +1,34 @@
+package com.ledger.engine.domain;
+
+import java.util.Locale;
+
+public enum StatementFormat {
+    CSV("application/gzip", ".csv.gz"),
+    COLUMNAR("application/vnd.ledger.statement", ".lcol");
+
+    private final String contentType;
+    private final String fileExtension;
+
+    StatementFormat(String contentType, String fileExtension) {
+        this.contentType = contentType;
+        this.fileExtension = fileExtension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getFileExtension() {
+        return fileExtension;
+    }
+
+    public static StatementFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        for (StatementFormat format : values()) {
+            if (lower.endsWith(format.fileExtension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Cannot infer statement format from file name: " + fileName);
+    }
+}
@@ -0,0 +1,53 @@
+package com.ledger.engine.domain;
+
+import java.util.UUID;
+
+// Reused for every row of a streamed statement; consumers must copy what they keep
+public class StatementRow {
+
+    private UUID accountId;
+    private UUID transactionId;
+    private UUID ledgerEntryId;
+    private long amount;
+    private long createdAtMicros;
+
+    public UUID getAccountId() {
+        return accountId;
+    }
+
+    public void setAccountId(UUID accountId) {
+        this.accountId = accountId;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public UUID getLedgerEntryId() {
+        return ledgerEntryId;
+    }
+
+    public void setLedgerEntryId(UUID ledgerEntryId) {
+        this.ledgerEntryId = ledgerEntryId;
+    }
+
+    public long getAmount() {
+        return amount;
+    }
+
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+
+    public long getCreatedAtMicros() {
+        return createdAtMicros;
+    }
+
+    public void setCreatedAtMicros(long createdAtMicros) {
+        this.createdAtMicros = createdAtMicros;
+    }
+}
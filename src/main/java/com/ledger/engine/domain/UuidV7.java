@@ -0,0 +1,48 @@
+package com.ledger.engine.domain;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * RFC 9562 version 7 identifiers: a 48-bit Unix millisecond timestamp followed by random bits, so new keys
+ * land on the right-hand edge of the primary-key B-tree instead of on random pages.
+ * <p>
+ * The 12-bit {@code rand_a} field is used as a counter within a millisecond (RFC 9562 method 1), which makes
+ * ids from this JVM strictly increasing even under a burst or a backwards clock step. Ids are not secrets and
+ * must not be used as capability tokens; the 62 trailing bits come from {@link ThreadLocalRandom}.
+ */
+public final class UuidV7 {
+
+    private static final long MAX_COUNTER = 0xFFFL;
+
+    // Last issued (unixMillis << 12 | counter)
+    private static final AtomicLong LAST = new AtomicLong();
+
+    private UuidV7() {
+    }
+
+    public static UUID generate() {
+        long now = System.currentTimeMillis() << 12;
+        long next;
+        long last;
+        do {
+            last = LAST.get();
+            // Overflowing the counter borrows from the next millisecond rather than going backwards
+            next = Math.max(now, last + 1);
+        } while (!LAST.compareAndSet(last, next));
+
+        long millis = next >>> 12;
+        long counter = next & MAX_COUNTER;
+        long msb = (millis << 16) | 0x7000L | counter;
+        long lsb = (ThreadLocalRandom.current().nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    public static long timestampMillis(UUID uuid) {
+        if (uuid.version() != 7) {
+            throw new IllegalArgumentException("Not a version 7 UUID: " + uuid);
+        }
+        return uuid.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,126 @@
+package com.ledger.engine.domain;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class VerificationRun {
+
+    private long runId;
+    private LocalDateTime windowStart;
+    private LocalDateTime windowEnd;
+    private long transactionCount;
+    private long entryCount;
+    private long netAmount;
+    private long externalAmount;
+    private int violationCount;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+    private List<InvariantViolation> violations = new ArrayList<>();
+
+    public VerificationRun() {
+    }
+
+    public VerificationRun(long runId, LocalDateTime windowStart, LocalDateTime windowEnd,
+            long transactionCount, long entryCount, long netAmount, long externalAmount,
+            int violationCount, LocalDateTime startedAt, LocalDateTime completedAt) {
+        this.runId = runId;
+        this.windowStart = windowStart;
+        this.windowEnd = windowEnd;
+        this.transactionCount = transactionCount;
+        this.entryCount = entryCount;
+        this.netAmount = netAmount;
+        this.externalAmount = externalAmount;
+        this.violationCount = violationCount;
+        this.startedAt = startedAt;
+        this.completedAt = completedAt;
+    }
+
+    public long getRunId() {
+        return runId;
+    }
+
+    public void setRunId(long runId) {
+        this.runId = runId;
+    }
+
+    public LocalDateTime getWindowStart() {
+        return windowStart;
+    }
+
+    public void setWindowStart(LocalDateTime windowStart) {
+        this.windowStart = windowStart;
+    }
+
+    public LocalDateTime getWindowEnd() {
+        return windowEnd;
+    }
+
+    public void setWindowEnd(LocalDateTime windowEnd) {
+        this.windowEnd = windowEnd;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public void setTransactionCount(long transactionCount) {
+        this.transactionCount = transactionCount;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public void setEntryCount(long entryCount) {
+        this.entryCount = entryCount;
+    }
+
+    public long getNetAmount() {
+        return netAmount;
+    }
+
+    public void setNetAmount(long netAmount) {
+        this.netAmount = netAmount;
+    }
+
+    public long getExternalAmount() {
+        return externalAmount;
+    }
+
+    public void setExternalAmount(long externalAmount) {
+        this.externalAmount = externalAmount;
+    }
+
+    public int getViolationCount() {
+        return violationCount;
+    }
+
+    public void setViolationCount(int violationCount) {
+        this.violationCount = violationCount;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public List<InvariantViolation> getViolations() {
+        return violations;
+    }
+
+    public void setViolations(List<InvariantViolation> violations) {
+        this.violations = violations;
+    }
+}
@@ -0,0 +1,25 @@
+package com.ledger.engine.domain;
+
+// A balance tagged with the account version it was read at; a higher version is always the newer balance
+public class VersionedBalance {
+
+    private final long version;
+    private final long balance;
+
+    public VersionedBalance(long version, long balance) {
+        this.version = version;
+        this.balance = balance;
+    }
+
+    public static VersionedBalance newer(VersionedBalance a, VersionedBalance b) {
+        return b.version > a.version ? b : a;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public long getBalance() {
+        return balance;
+    }
+}
@@ -0,0 +1,51 @@
+package com.ledger.engine.domain;
+
+import java.util.Locale;
+
+public enum WireFormat {
+    JSON("application/json"),
+    NDJSON("application/x-ndjson"),
+    CBOR("application/cbor"),
+    SMILE("application/x-jackson-smile");
+
+    private final String contentType;
+
+    WireFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public static WireFormat fromContentType(String contentType) {
+        if (contentType != null) {
+            String mediaType = contentType.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            for (WireFormat format : values()) {
+                if (format.contentType.equals(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported content type: " + contentType);
+    }
+
+    // First supported type in an Accept header; wildcards and absent headers answer in the request's format
+    public static WireFormat fromAccept(String accept, WireFormat fallback) {
+        if (accept == null || accept.isBlank()) {
+            return fallback;
+        }
+        for (String candidate : accept.split(",")) {
+            String mediaType = candidate.split(";", 2)[0].trim().toLowerCase(Locale.ROOT);
+            if (mediaType.equals("*/*") || mediaType.equals("application/*")) {
+                return fallback;
+            }
+            for (WireFormat format : values()) {
+                if (format.contentType.equals(mediaType)) {
+                    return format;
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unsupported Accept header: " + accept);
+    }
+}
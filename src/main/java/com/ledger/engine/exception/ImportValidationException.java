@@ -0,0 +1,15 @@
+package com.ledger.engine.exception;
+
+public class ImportValidationException extends RuntimeException {
+
+    private final long lineNumber;
+
+    public ImportValidationException(long lineNumber, String message) {
+        super("Line " + lineNumber + ": " + message);
+        this.lineNumber = lineNumber;
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+}
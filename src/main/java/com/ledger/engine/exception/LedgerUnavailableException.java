@@ -0,0 +1,12 @@
+package com.ledger.engine.exception;
+
+public class LedgerUnavailableException extends RuntimeException {
+
+    public LedgerUnavailableException(String message) {
+        super(message);
+    }
+
+    public LedgerUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
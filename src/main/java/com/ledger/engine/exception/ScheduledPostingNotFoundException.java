@@ -0,0 +1,8 @@
+package com.ledger.engine.exception;
+
+public class ScheduledPostingNotFoundException extends RuntimeException {
+
+    public ScheduledPostingNotFoundException(String message) {
+        super(message);
+    }
+}
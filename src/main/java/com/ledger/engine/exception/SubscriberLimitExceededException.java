@@ -0,0 +1,8 @@
+package com.ledger.engine.exception;
+
+public class SubscriberLimitExceededException extends RuntimeException {
+
+    public SubscriberLimitExceededException(String message) {
+        super(message);
+    }
+}
@@ -6,13 +6,29 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Array;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
 public class AccountRepository {
 
+    public static final String STATUS_CHANNEL = "account_status";
+
+    /*
+     * The one order in which multi-account paths lock account rows. It is PostgreSQL's uuid order (unsigned,
+     * byte by byte), so paths sorting in Java and statements using ORDER BY account_id agree; UUID.compareTo
+     * compares signed halves and disagrees whenever the top bit of either half is set.
+     */
+    public static final Comparator<UUID> LOCK_ORDER = Comparator
+            .comparing(UUID::getMostSignificantBits, Long::compareUnsigned)
+            .thenComparing(UUID::getLeastSignificantBits, Long::compareUnsigned);
+
     private final JdbcTemplate jdbcTemplate;
 
     private static final RowMapper<Account> ROW_MAPPER = (rs, rowNum) -> new Account(
@@ -31,6 +47,12 @@ public class AccountRepository {
         return account;
     }
 
+    public boolean insertIfAbsent(UUID accountId) {
+        return jdbcTemplate.update(
+                "INSERT INTO account (account_id, status) VALUES (?, 'ACTIVE') ON CONFLICT (account_id) DO NOTHING",
+                accountId) > 0;
+    }
+
     public Optional<Account> findById(UUID accountId) {
         List<Account> results = jdbcTemplate.query(
                 "SELECT account_id, status, created_at FROM account WHERE account_id = ?",
@@ -44,10 +66,61 @@ public class AccountRepository {
                 ROW_MAPPER);
     }
 
+    public Set<UUID> findExistingIds(Collection<UUID> accountIds) {
+        Set<UUID> existing = new HashSet<>();
+        jdbcTemplate.query(
+                "SELECT account_id FROM account WHERE account_id = ANY (?)",
+                ps -> {
+                    Array ids = ps.getConnection().createArrayOf("uuid", accountIds.toArray());
+                    ps.setArray(1, ids);
+                },
+                rs -> {
+                    existing.add(UUID.fromString(rs.getString("account_id")));
+                });
+        return existing;
+    }
+
     public Optional<Account> lockForUpdate(UUID accountId) {
         List<Account> results = jdbcTemplate.query(
                 "SELECT account_id, status, created_at FROM account WHERE account_id = ? FOR UPDATE",
                 ROW_MAPPER, accountId);
         return results.stream().findFirst();
     }
+
+    // Bulk form of lockForUpdate in LOCK_ORDER, like every other multi-account path; missing ids are absent
+    public List<Account> lockAllForUpdate(Collection<UUID> accountIds) {
+        return jdbcTemplate.query(
+                "SELECT account_id, status, created_at FROM account WHERE account_id = ANY (?) " +
+                        "ORDER BY account_id FOR UPDATE",
+                ps -> {
+                    Array ids = ps.getConnection().createArrayOf("uuid", accountIds.toArray());
+                    ps.setArray(1, ids);
+                },
+                ROW_MAPPER);
+    }
+
+    public Optional<Long> findVersion(UUID accountId) {
+        List<Long> results = jdbcTemplate.queryForList(
+                "SELECT version FROM account WHERE account_id = ?", Long.class, accountId);
+        return results.stream().findFirst();
+    }
+
+    // Callers hold the row lock; the notification (accountId:STATUS) is delivered only if the transaction commits
+    public void updateStatus(UUID accountId, AccountStatus status) {
+        jdbcTemplate.update("UPDATE account SET status = ?, version = version + 1 WHERE account_id = ?",
+                status.name(), accountId);
+        jdbcTemplate.queryForList("SELECT pg_notify(?, ?)", STATUS_CHANNEL, accountId + ":" + status.name());
+    }
+
+    // Rows are locked in account_id order, which is LOCK_ORDER, so bulk callers cannot deadlock against postings
+    public void incrementVersions(Collection<UUID> accountIds) {
+        jdbcTemplate.update(
+                "UPDATE account SET version = version + 1 WHERE account_id IN ( " +
+                        "    SELECT account_id FROM account WHERE account_id = ANY (?) " +
+                        "    ORDER BY account_id FOR UPDATE)",
+                ps -> {
+                    Array ids = ps.getConnection().createArrayOf("uuid", accountIds.toArray());
+                    ps.setArray(1, ids);
+                });
+    }
 }
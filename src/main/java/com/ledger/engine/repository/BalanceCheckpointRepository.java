@@ -0,0 +1,111 @@
+package com.ledger.engine.repository;
+
+import com.ledger.engine.domain.VersionedBalance;
+import org.postgresql.PGStatement;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class BalanceCheckpointRepository {
+
+    private static final long CHECKPOINT_LOCK_ID = 0x4c45444745520001L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BalanceCheckpointRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Latest checkpoint at or before asOf + entries in (checkpoint, asOf]; unknown accounts are omitted
+    public Map<UUID, Long> balancesAsOf(Collection<UUID> accountIds, LocalDateTime asOf) {
+        return balancesAt(accountIds, Timestamp.valueOf(asOf));
+    }
+
+    // With the account version read in the same statement, so concurrent readers can tell which balance is newer
+    public Map<UUID, VersionedBalance> currentBalances(Collection<UUID> accountIds) {
+        Map<UUID, VersionedBalance> balances = new LinkedHashMap<>();
+        queryBalances(accountIds, new Timestamp(PGStatement.DATE_POSITIVE_INFINITY), rs -> {
+            balances.put(UUID.fromString(rs.getString("account_id")),
+                    new VersionedBalance(rs.getLong("version"), rs.getLong("balance")));
+        });
+        return balances;
+    }
+
+    private Map<UUID, Long> balancesAt(Collection<UUID> accountIds, Timestamp asOfTs) {
+        Map<UUID, Long> balances = new LinkedHashMap<>();
+        queryBalances(accountIds, asOfTs, rs -> {
+            balances.put(UUID.fromString(rs.getString("account_id")), rs.getLong("balance"));
+        });
+        return balances;
+    }
+
+    private void queryBalances(Collection<UUID> accountIds, Timestamp asOfTs, RowCallbackHandler handler) {
+        jdbcTemplate.query(
+                "SELECT a.account_id, a.version, COALESCE(cp.balance, 0) + COALESCE(( " +
+                        "    SELECT SUM(e.amount) FROM ledger_entry_history e " +
+                        "    WHERE e.account_id = a.account_id AND e.created_at <= ? " +
+                        "      AND (cp.as_of IS NULL OR e.created_at > cp.as_of)), 0) AS balance " +
+                        "FROM account a " +
+                        "LEFT JOIN LATERAL ( " +
+                        "    SELECT c.as_of, c.balance FROM balance_checkpoint c " +
+                        "    WHERE c.account_id = a.account_id AND c.as_of <= ? " +
+                        "    ORDER BY c.as_of DESC LIMIT 1) cp ON TRUE " +
+                        "WHERE a.account_id = ANY (?)",
+                ps -> {
+                    Array ids = ps.getConnection().createArrayOf("uuid", accountIds.toArray());
+                    ps.setTimestamp(1, asOfTs);
+                    ps.setTimestamp(2, asOfTs);
+                    ps.setArray(3, ids);
+                },
+                handler);
+    }
+
+    public Optional<LocalDateTime> latestCutoff() {
+        Timestamp cutoff = jdbcTemplate.queryForObject(
+                "SELECT MAX(as_of) FROM balance_checkpoint", Timestamp.class);
+        return Optional.ofNullable(cutoff).map(Timestamp::toLocalDateTime);
+    }
+
+    // One checkpoint at cutoff per account with entries in (previousCutoff, cutoff]
+    public int createCheckpoints(LocalDateTime previousCutoff, LocalDateTime cutoff) {
+        String window = previousCutoff == null
+                ? "WHERE created_at <= ? "
+                : "WHERE created_at > ? AND created_at <= ? ";
+        String sql = "INSERT INTO balance_checkpoint (account_id, as_of, balance) " +
+                "SELECT d.account_id, ?, d.delta + COALESCE(( " +
+                "    SELECT c.balance FROM balance_checkpoint c " +
+                "    WHERE c.account_id = d.account_id ORDER BY c.as_of DESC LIMIT 1), 0) " +
+                "FROM (SELECT account_id, SUM(amount) AS delta FROM ledger_entry_history " +
+                window +
+                "      GROUP BY account_id) d";
+        return previousCutoff == null
+                ? jdbcTemplate.update(sql, Timestamp.valueOf(cutoff), Timestamp.valueOf(cutoff))
+                : jdbcTemplate.update(sql, Timestamp.valueOf(cutoff),
+                        Timestamp.valueOf(previousCutoff), Timestamp.valueOf(cutoff));
+    }
+
+    // Checkpoints at or after from no longer match history once entries are back-dated into their range
+    public int deleteFrom(LocalDateTime from) {
+        return jdbcTemplate.update("DELETE FROM balance_checkpoint WHERE as_of >= ?", Timestamp.valueOf(from));
+    }
+
+    public void acquireJobLock() {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", CHECKPOINT_LOCK_ID);
+    }
+
+    public boolean tryAcquireJobLock() {
+        Boolean acquired = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, CHECKPOINT_LOCK_ID);
+        return Boolean.TRUE.equals(acquired);
+    }
+}
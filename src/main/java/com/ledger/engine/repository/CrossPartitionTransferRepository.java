@@ -0,0 +1,119 @@
+package com.ledger.engine.repository;
+
+import com.ledger.engine.domain.CrossPartitionTransfer;
+import com.ledger.engine.domain.CrossPartitionTransferStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class CrossPartitionTransferRepository {
+
+    private static final String COLUMNS =
+            "transfer_id, transaction_id, from_account_id, to_account_id, target_partition, amount, status, " +
+                    "attempts, remote_transaction_id, reversal_transaction_id, last_error, created_at, completed_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final RowMapper<CrossPartitionTransfer> ROW_MAPPER = (rs, rowNum) -> new CrossPartitionTransfer(
+            rs.getObject("transfer_id", UUID.class),
+            rs.getObject("transaction_id", UUID.class),
+            rs.getObject("from_account_id", UUID.class),
+            rs.getObject("to_account_id", UUID.class),
+            rs.getInt("target_partition"),
+            rs.getLong("amount"),
+            CrossPartitionTransferStatus.valueOf(rs.getString("status")),
+            rs.getInt("attempts"),
+            rs.getObject("remote_transaction_id", UUID.class),
+            rs.getObject("reversal_transaction_id", UUID.class),
+            rs.getString("last_error"),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            toLocalDateTime(rs.getTimestamp("completed_at")));
+
+    public CrossPartitionTransferRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Inserted already claimed: the request thread delivers phase 2 itself, recovery only after the lease
+    public void save(CrossPartitionTransfer transfer, Duration lease) {
+        jdbcTemplate.update(
+                "INSERT INTO cross_partition_transfer (transfer_id, transaction_id, from_account_id, to_account_id, " +
+                        "target_partition, amount, status, attempts, claimed_until) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, 1, LOCALTIMESTAMP + make_interval(secs => ?))",
+                transfer.getTransferId(), transfer.getTransactionId(), transfer.getFromAccountId(),
+                transfer.getToAccountId(), transfer.getTargetPartition(), transfer.getAmount(),
+                transfer.getStatus().name(), lease.toMillis() / 1000.0);
+    }
+
+    public Optional<CrossPartitionTransfer> findById(UUID transferId) {
+        List<CrossPartitionTransfer> results = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM cross_partition_transfer WHERE transfer_id = ?",
+                ROW_MAPPER, transferId);
+        return results.stream().findFirst();
+    }
+
+    public Optional<CrossPartitionTransfer> findByTransactionId(UUID transactionId) {
+        List<CrossPartitionTransfer> results = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM cross_partition_transfer WHERE transaction_id = ?",
+                ROW_MAPPER, transactionId);
+        return results.stream().findFirst();
+    }
+
+    public Optional<CrossPartitionTransfer> lockForUpdate(UUID transferId) {
+        List<CrossPartitionTransfer> results = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM cross_partition_transfer WHERE transfer_id = ? FOR UPDATE",
+                ROW_MAPPER, transferId);
+        return results.stream().findFirst();
+    }
+
+    /*
+     * Claims up to limit transfers whose phase 2 is still owed and whose lease has run out, oldest first.
+     * Only the holder of a live lease delivers, so a late success can never race a reversal.
+     */
+    public List<CrossPartitionTransfer> claimPrepared(int limit, Duration lease) {
+        return jdbcTemplate.query(
+                "UPDATE cross_partition_transfer SET attempts = attempts + 1, " +
+                        "    claimed_until = LOCALTIMESTAMP + make_interval(secs => ?) " +
+                        "WHERE transfer_id IN ( " +
+                        "    SELECT transfer_id FROM cross_partition_transfer " +
+                        "    WHERE status = 'PREPARED' " +
+                        "      AND (claimed_until IS NULL OR claimed_until < LOCALTIMESTAMP) " +
+                        "    ORDER BY created_at LIMIT ? " +
+                        "    FOR UPDATE SKIP LOCKED) " +
+                        "RETURNING " + COLUMNS,
+                ROW_MAPPER, lease.toMillis() / 1000.0, limit);
+    }
+
+    public void markCompleted(UUID transferId, UUID remoteTransactionId) {
+        jdbcTemplate.update(
+                "UPDATE cross_partition_transfer SET status = 'COMPLETED', remote_transaction_id = ?, " +
+                        "last_error = NULL, claimed_until = NULL, completed_at = LOCALTIMESTAMP WHERE transfer_id = ?",
+                remoteTransactionId, transferId);
+    }
+
+    public void markFailed(UUID transferId, UUID reversalTransactionId, String error) {
+        jdbcTemplate.update(
+                "UPDATE cross_partition_transfer SET status = 'FAILED', reversal_transaction_id = ?, " +
+                        "last_error = ?, claimed_until = NULL, completed_at = LOCALTIMESTAMP WHERE transfer_id = ?",
+                reversalTransactionId, error, transferId);
+    }
+
+    // Stays PREPARED; the lease is shortened so recovery picks it up after the delay
+    public void retryLater(UUID transferId, String error, Duration delay) {
+        jdbcTemplate.update(
+                "UPDATE cross_partition_transfer SET last_error = ?, " +
+                        "claimed_until = LOCALTIMESTAMP + make_interval(secs => ?) WHERE transfer_id = ?",
+                error, delay.toMillis() / 1000.0, transferId);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,136 @@
+package com.ledger.engine.repository;
+
+import com.ledger.engine.domain.DailyRollup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class DailyRollupRepository {
+
+    private static final long ROLLUP_LOCK_ID = 0x4c45444745520003L;
+    private static final String DAILY_ROLLUP = "daily";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final RowMapper<DailyRollup> ROW_MAPPER = (rs, rowNum) -> new DailyRollup(
+            rs.getObject("account_id", UUID.class),
+            rs.getObject("day", LocalDate.class),
+            rs.getLong("net_amount"),
+            rs.getLong("credit_count"),
+            rs.getLong("credit_amount"),
+            rs.getLong("debit_count"),
+            rs.getLong("debit_amount"));
+
+    public DailyRollupRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<LocalDateTime> watermark() {
+        List<Timestamp> results = jdbcTemplate.queryForList(
+                "SELECT watermark FROM rollup_watermark WHERE rollup_name = ?", Timestamp.class, DAILY_ROLLUP);
+        return results.stream().findFirst().map(Timestamp::toLocalDateTime);
+    }
+
+    // Folds entries in (previousWatermark, watermark] into the day rows and advances the watermark
+    public int rollUp(LocalDateTime previousWatermark, LocalDateTime watermark) {
+        String window = previousWatermark == null
+                ? "WHERE created_at <= ? "
+                : "WHERE created_at > ? AND created_at <= ? ";
+        String sql = "INSERT INTO account_daily_rollup " +
+                "    (account_id, day, net_amount, credit_count, credit_amount, debit_count, debit_amount) " +
+                "SELECT account_id, created_at::date, SUM(amount), " +
+                "       COUNT(*) FILTER (WHERE amount > 0), COALESCE(SUM(amount) FILTER (WHERE amount > 0), 0), " +
+                "       COUNT(*) FILTER (WHERE amount < 0), COALESCE(-SUM(amount) FILTER (WHERE amount < 0), 0) " +
+                "FROM ledger_entry_history " +
+                window +
+                "GROUP BY account_id, created_at::date " +
+                "ON CONFLICT (account_id, day) DO UPDATE SET " +
+                "    net_amount = account_daily_rollup.net_amount + EXCLUDED.net_amount, " +
+                "    credit_count = account_daily_rollup.credit_count + EXCLUDED.credit_count, " +
+                "    credit_amount = account_daily_rollup.credit_amount + EXCLUDED.credit_amount, " +
+                "    debit_count = account_daily_rollup.debit_count + EXCLUDED.debit_count, " +
+                "    debit_amount = account_daily_rollup.debit_amount + EXCLUDED.debit_amount";
+        int rows = previousWatermark == null
+                ? jdbcTemplate.update(sql, Timestamp.valueOf(watermark))
+                : jdbcTemplate.update(sql, Timestamp.valueOf(previousWatermark), Timestamp.valueOf(watermark));
+        setWatermark(watermark);
+        return rows;
+    }
+
+    // Back-dated entries: drop the affected days and move the watermark to just before the first of them
+    public int rewind(LocalDateTime from) {
+        LocalDate firstDay = from.toLocalDate();
+        int deleted = jdbcTemplate.update(
+                "DELETE FROM account_daily_rollup WHERE day >= ?", Date.valueOf(firstDay));
+        jdbcTemplate.update(
+                "UPDATE rollup_watermark SET watermark = LEAST(watermark, ?), updated_at = NOW() " +
+                        "WHERE rollup_name = ?",
+                Timestamp.valueOf(firstDay.atStartOfDay().minusNanos(1000)), DAILY_ROLLUP);
+        return deleted;
+    }
+
+    public List<DailyRollup> findDaily(Collection<UUID> accountIds, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                "SELECT account_id, day, net_amount, credit_count, credit_amount, debit_count, debit_amount " +
+                        "FROM account_daily_rollup " +
+                        "WHERE account_id = ANY (?) AND day >= ? AND day <= ? " +
+                        "ORDER BY account_id, day",
+                ps -> {
+                    Array ids = ps.getConnection().createArrayOf("uuid", accountIds.toArray());
+                    ps.setArray(1, ids);
+                    ps.setDate(2, Date.valueOf(from));
+                    ps.setDate(3, Date.valueOf(to));
+                },
+                ROW_MAPPER);
+    }
+
+    // One row per account over the whole range, shaped as a rollup without a day
+    public List<DailyRollup> summarize(Collection<UUID> accountIds, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(
+                "SELECT a.account_id, NULL::date AS day, " +
+                        "       COALESCE(SUM(r.net_amount), 0) AS net_amount, " +
+                        "       COALESCE(SUM(r.credit_count), 0) AS credit_count, " +
+                        "       COALESCE(SUM(r.credit_amount), 0) AS credit_amount, " +
+                        "       COALESCE(SUM(r.debit_count), 0) AS debit_count, " +
+                        "       COALESCE(SUM(r.debit_amount), 0) AS debit_amount " +
+                        "FROM unnest(?::uuid[]) AS a(account_id) " +
+                        "LEFT JOIN account_daily_rollup r " +
+                        "    ON r.account_id = a.account_id AND r.day >= ? AND r.day <= ? " +
+                        "GROUP BY a.account_id ORDER BY a.account_id",
+                ps -> {
+                    Array ids = ps.getConnection().createArrayOf("uuid", accountIds.toArray());
+                    ps.setArray(1, ids);
+                    ps.setDate(2, Date.valueOf(from));
+                    ps.setDate(3, Date.valueOf(to));
+                },
+                ROW_MAPPER);
+    }
+
+    public void acquireJobLock() {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", ROLLUP_LOCK_ID);
+    }
+
+    public boolean tryAcquireJobLock() {
+        Boolean acquired = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, ROLLUP_LOCK_ID);
+        return Boolean.TRUE.equals(acquired);
+    }
+
+    private void setWatermark(LocalDateTime watermark) {
+        jdbcTemplate.update(
+                "INSERT INTO rollup_watermark (rollup_name, watermark) VALUES (?, ?) " +
+                        "ON CONFLICT (rollup_name) DO UPDATE SET watermark = EXCLUDED.watermark, updated_at = NOW()",
+                DAILY_ROLLUP, Timestamp.valueOf(watermark));
+    }
+}
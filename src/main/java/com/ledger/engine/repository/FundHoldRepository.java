@@ -0,0 +1,167 @@
+package com.ledger.engine.repository;
+
+import com.ledger.engine.domain.FundHold;
+import com.ledger.engine.domain.HoldStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Array;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class FundHoldRepository {
+
+    private static final String COLUMNS =
+            "hold_id, account_id, amount, captured_amount, status, idempotency_key, transaction_id, " +
+                    "expires_at, created_at, closed_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final RowMapper<FundHold> ROW_MAPPER = (rs, rowNum) -> new FundHold(
+            rs.getObject("hold_id", UUID.class),
+            rs.getObject("account_id", UUID.class),
+            rs.getLong("amount"),
+            rs.getObject("captured_amount", Long.class),
+            HoldStatus.valueOf(rs.getString("status")),
+            rs.getString("idempotency_key"),
+            rs.getObject("transaction_id", UUID.class),
+            rs.getTimestamp("expires_at").toLocalDateTime(),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            toLocalDateTime(rs.getTimestamp("closed_at")));
+
+    public FundHoldRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void save(FundHold hold) {
+        jdbcTemplate.update(
+                "INSERT INTO fund_hold (hold_id, account_id, amount, idempotency_key, expires_at) " +
+                        "VALUES (?, ?, ?, ?, ?)",
+                hold.getHoldId(), hold.getAccountId(), hold.getAmount(), hold.getIdempotencyKey(),
+                Timestamp.valueOf(hold.getExpiresAt()));
+    }
+
+    public Optional<FundHold> findById(UUID holdId) {
+        List<FundHold> results = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM fund_hold WHERE hold_id = ?", ROW_MAPPER, holdId);
+        return results.stream().findFirst();
+    }
+
+    public Optional<FundHold> findByIdempotencyKey(String idempotencyKey) {
+        List<FundHold> results = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM fund_hold WHERE idempotency_key = ?", ROW_MAPPER, idempotencyKey);
+        return results.stream().findFirst();
+    }
+
+    // Callers lock the hold's account first; account before hold is the lock order everywhere
+    public Optional<FundHold> lockForUpdate(UUID holdId) {
+        List<FundHold> results = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM fund_hold WHERE hold_id = ? FOR UPDATE", ROW_MAPPER, holdId);
+        return results.stream().findFirst();
+    }
+
+    /*
+     * The account's version with the count of its ACTIVE holds already past expires_at, in one statement so the
+     * two come from the same snapshot; empty if the account does not exist. A hold stops counting as reserved
+     * the moment it lapses, but the version only moves once the sweeper expires it. The lapsed count covers
+     * that gap: it only grows at a given version, and the sweep that resets it bumps the version.
+     */
+    public Optional<String> findAvailableVersion(UUID accountId) {
+        List<String> results = jdbcTemplate.query(
+                "SELECT a.version, (SELECT COUNT(*) FROM fund_hold h WHERE h.account_id = a.account_id " +
+                        "AND h.status = 'ACTIVE' AND h.expires_at <= LOCALTIMESTAMP) AS lapsed " +
+                        "FROM account a WHERE a.account_id = ?",
+                (rs, rowNum) -> {
+                    long lapsed = rs.getLong("lapsed");
+                    return lapsed == 0 ? Long.toString(rs.getLong("version"))
+                            : rs.getLong("version") + "." + lapsed;
+                },
+                accountId);
+        return results.stream().findFirst();
+    }
+
+    /*
+     * Funds reserved by the account's unexpired ACTIVE holds. An index-only scan of the partial index, so the
+     * cost follows the account's open holds, not its history. Holds past expires_at stop counting at once;
+     * the sweeper only catches their status up.
+     */
+    public long reservedAmount(UUID accountId) {
+        Long reserved = jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(amount), 0) FROM fund_hold " +
+                        "WHERE account_id = ? AND status = 'ACTIVE' AND expires_at > LOCALTIMESTAMP",
+                Long.class, accountId);
+        return reserved != null ? reserved : 0L;
+    }
+
+    // reservedAmount for many accounts; accounts without active holds are absent
+    public Map<UUID, Long> reservedAmounts(Collection<UUID> accountIds) {
+        Map<UUID, Long> reserved = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT account_id, SUM(amount) AS reserved FROM fund_hold " +
+                        "WHERE account_id = ANY (?) AND status = 'ACTIVE' AND expires_at > LOCALTIMESTAMP " +
+                        "GROUP BY account_id",
+                ps -> {
+                    Array ids = ps.getConnection().createArrayOf("uuid", accountIds.toArray());
+                    ps.setArray(1, ids);
+                },
+                rs -> {
+                    reserved.put(UUID.fromString(rs.getString("account_id")), rs.getLong("reserved"));
+                });
+        return reserved;
+    }
+
+    public void markCaptured(UUID holdId, long capturedAmount, UUID transactionId) {
+        jdbcTemplate.update(
+                "UPDATE fund_hold SET status = 'CAPTURED', captured_amount = ?, transaction_id = ?, " +
+                        "closed_at = LOCALTIMESTAMP WHERE hold_id = ?",
+                capturedAmount, transactionId, holdId);
+    }
+
+    public void markReleased(UUID holdId) {
+        jdbcTemplate.update(
+                "UPDATE fund_hold SET status = 'RELEASED', closed_at = LOCALTIMESTAMP WHERE hold_id = ?",
+                holdId);
+    }
+
+    // Oldest expired holds still marked ACTIVE, read without locks; expireAll re-checks the status
+    public Map<UUID, UUID> findExpired(int limit) {
+        Map<UUID, UUID> accountByHold = new LinkedHashMap<>();
+        jdbcTemplate.query(
+                "SELECT hold_id, account_id FROM fund_hold " +
+                        "WHERE status = 'ACTIVE' AND expires_at <= LOCALTIMESTAMP ORDER BY expires_at LIMIT ?",
+                rs -> {
+                    accountByHold.put(rs.getObject("hold_id", UUID.class), rs.getObject("account_id", UUID.class));
+                },
+                limit);
+        return accountByHold;
+    }
+
+    public List<UUID> expireAll(Collection<UUID> holdIds) {
+        List<UUID> expired = new ArrayList<>();
+        jdbcTemplate.query(
+                "UPDATE fund_hold SET status = 'EXPIRED', closed_at = LOCALTIMESTAMP " +
+                        "WHERE hold_id = ANY (?) AND status = 'ACTIVE' AND expires_at <= LOCALTIMESTAMP " +
+                        "RETURNING hold_id",
+                ps -> {
+                    Array ids = ps.getConnection().createArrayOf("uuid", holdIds.toArray());
+                    ps.setArray(1, ids);
+                },
+                rs -> {
+                    expired.add(rs.getObject("hold_id", UUID.class));
+                });
+        return expired;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
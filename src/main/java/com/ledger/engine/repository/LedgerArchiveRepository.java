@@ -0,0 +1,130 @@
+package com.ledger.engine.repository;
+
+import com.ledger.engine.domain.AccountArchive;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class LedgerArchiveRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final RowMapper<AccountArchive> ROW_MAPPER = (rs, rowNum) -> new AccountArchive(
+            rs.getObject("account_id", UUID.class),
+            rs.getTimestamp("archived_through").toLocalDateTime(),
+            rs.getObject("carry_transaction_id", UUID.class),
+            rs.getObject("carry_entry_id", UUID.class),
+            rs.getLong("entry_count"),
+            rs.getLong("amount_sum"),
+            rs.getTimestamp("archived_at").toLocalDateTime());
+
+    public LedgerArchiveRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<AccountArchive> findByAccountId(UUID accountId) {
+        List<AccountArchive> results = jdbcTemplate.query(
+                "SELECT account_id, archived_through, carry_transaction_id, carry_entry_id, entry_count, " +
+                        "       amount_sum, archived_at " +
+                        "FROM account_archive WHERE account_id = ?",
+                ROW_MAPPER, accountId);
+        return results.stream().findFirst();
+    }
+
+    // CLOSED accounts with hot entries at or before cutoff other than carries, in account_id order after afterId
+    public List<UUID> findCandidates(LocalDateTime cutoff, UUID afterId, int limit) {
+        return jdbcTemplate.queryForList(
+                "SELECT a.account_id FROM account a " +
+                        "WHERE a.status = 'CLOSED' AND (?::uuid IS NULL OR a.account_id > ?::uuid) " +
+                        "  AND EXISTS (SELECT 1 FROM ledger_entry e " +
+                        "              WHERE e.account_id = a.account_id AND e.created_at <= ? " +
+                        "                AND NOT EXISTS (SELECT 1 FROM ledger_archive_carry c " +
+                        "                                WHERE c.carry_entry_id = e.ledger_entry_id)) " +
+                        "ORDER BY a.account_id LIMIT ?",
+                UUID.class, afterId, afterId, Timestamp.valueOf(cutoff), limit);
+    }
+
+    // A transaction still INITIATED (phase 2 of a cross-partition transfer pending) is not settled history
+    public boolean hasUnsettledEntries(UUID accountId, LocalDateTime cutoff) {
+        Boolean unsettled = jdbcTemplate.queryForObject(
+                "SELECT EXISTS (SELECT 1 FROM ledger_entry e JOIN transaction t ON t.transaction_id = e.transaction_id " +
+                        "               WHERE e.account_id = ? AND e.created_at <= ? AND t.status = 'INITIATED')",
+                Boolean.class, accountId, Timestamp.valueOf(cutoff));
+        return Boolean.TRUE.equals(unsettled);
+    }
+
+    /*
+     * Moves the account's entries at or before cutoff, except its carries, into the archive in one statement:
+     * the only DELETE on ledger_entry, and every row it removes is inserted unchanged before it returns.
+     * Returns how many were moved and their sum in entryCount and amountSum.
+     */
+    public AccountArchive moveEntries(UUID accountId, LocalDateTime cutoff) {
+        return jdbcTemplate.queryForObject(
+                "WITH moved AS ( " +
+                        "    DELETE FROM ledger_entry e " +
+                        "    WHERE e.account_id = ? AND e.created_at <= ? " +
+                        "      AND NOT EXISTS (SELECT 1 FROM ledger_archive_carry c WHERE c.carry_entry_id = e.ledger_entry_id) " +
+                        "    RETURNING e.ledger_entry_id, e.transaction_id, e.account_id, e.amount, e.created_at), " +
+                        "archived AS ( " +
+                        "    INSERT INTO ledger_entry_archive (ledger_entry_id, transaction_id, account_id, amount, created_at) " +
+                        "    SELECT ledger_entry_id, transaction_id, account_id, amount, created_at " +
+                        "    FROM moved ORDER BY created_at " +
+                        "    RETURNING amount) " +
+                        "SELECT COUNT(*) AS entry_count, COALESCE(SUM(amount), 0) AS amount_sum FROM archived",
+                (rs, rowNum) -> {
+                    AccountArchive moved = new AccountArchive();
+                    moved.setAccountId(accountId);
+                    moved.setArchivedThrough(cutoff);
+                    moved.setEntryCount(rs.getLong("entry_count"));
+                    moved.setAmountSum(rs.getLong("amount_sum"));
+                    return moved;
+                },
+                accountId, Timestamp.valueOf(cutoff));
+    }
+
+    /*
+     * A carry is a completed single-entry transaction dated at the cutoff it stands in for, worth the entries
+     * one run moved (entryCount and amountSum of the argument). Carries are appended, never replaced.
+     */
+    public void insertCarry(AccountArchive carry, String idempotencyKey) {
+        Timestamp through = Timestamp.valueOf(carry.getArchivedThrough());
+        jdbcTemplate.update(
+                "INSERT INTO transaction (transaction_id, idempotency_key, status, created_at) " +
+                        "VALUES (?, ?, 'COMPLETED', ?)",
+                carry.getCarryTransactionId(), idempotencyKey, through);
+        jdbcTemplate.update(
+                "INSERT INTO ledger_entry (ledger_entry_id, transaction_id, account_id, amount, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?)",
+                carry.getCarryEntryId(), carry.getCarryTransactionId(), carry.getAccountId(),
+                carry.getAmountSum(), through);
+        jdbcTemplate.update(
+                "INSERT INTO ledger_archive_carry (carry_entry_id, carry_transaction_id, account_id, " +
+                        "    archived_through, entry_count, amount_sum) VALUES (?, ?, ?, ?, ?, ?)",
+                carry.getCarryEntryId(), carry.getCarryTransactionId(), carry.getAccountId(), through,
+                carry.getEntryCount(), carry.getAmountSum());
+    }
+
+    public void upsert(AccountArchive archive) {
+        jdbcTemplate.update(
+                "INSERT INTO account_archive (account_id, archived_through, carry_transaction_id, carry_entry_id, " +
+                        "    entry_count, amount_sum) VALUES (?, ?, ?, ?, ?, ?) " +
+                        "ON CONFLICT (account_id) DO UPDATE SET " +
+                        "    archived_through = EXCLUDED.archived_through, " +
+                        "    carry_transaction_id = EXCLUDED.carry_transaction_id, " +
+                        "    carry_entry_id = EXCLUDED.carry_entry_id, " +
+                        "    entry_count = EXCLUDED.entry_count, " +
+                        "    amount_sum = EXCLUDED.amount_sum, " +
+                        "    archived_at = NOW()",
+                archive.getAccountId(), Timestamp.valueOf(archive.getArchivedThrough()),
+                archive.getCarryTransactionId(), archive.getCarryEntryId(),
+                archive.getEntryCount(), archive.getAmountSum());
+    }
+
+}
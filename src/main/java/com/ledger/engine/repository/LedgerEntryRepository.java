@@ -1,24 +1,39 @@
 package com.ledger.engine.repository;
 
 import com.ledger.engine.domain.LedgerEntry;
+import com.ledger.engine.domain.StatementRow;
+import org.postgresql.PGStatement;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Array;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Repository
 public class LedgerEntryRepository {
 
     private final JdbcTemplate jdbcTemplate;
 
+    // Native uuid/timestamp decoding: no intermediate String or Timestamp per column
     private static final RowMapper<LedgerEntry> ROW_MAPPER = (rs, rowNum) -> new LedgerEntry(
-            UUID.fromString(rs.getString("ledger_entry_id")),
-            UUID.fromString(rs.getString("transaction_id")),
-            UUID.fromString(rs.getString("account_id")),
-            rs.getLong("amount"),
-            rs.getTimestamp("created_at").toLocalDateTime());
+            rs.getObject(1, UUID.class),
+            rs.getObject(2, UUID.class),
+            rs.getObject(3, UUID.class),
+            rs.getLong(4),
+            rs.getObject(5, LocalDateTime.class));
 
     public LedgerEntryRepository(JdbcTemplate jdbcTemplate) {
         this.jdbcTemplate = jdbcTemplate;
@@ -34,16 +49,33 @@ public class LedgerEntryRepository {
     }
 
     public void saveAll(List<LedgerEntry> entries) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO ledger_entry (ledger_entry_id, transaction_id, account_id, amount) VALUES (?, ?, ?, ?)",
+                entries, entries.size(),
+                (ps, entry) -> {
+                    ps.setObject(1, entry.getLedgerEntryId());
+                    ps.setObject(2, entry.getTransactionId());
+                    ps.setObject(3, entry.getAccountId());
+                    ps.setLong(4, entry.getAmount());
+                });
+    }
+
+    public long copyAll(List<LedgerEntry> entries) {
+        StringBuilder csv = new StringBuilder(entries.size() * 128);
         for (LedgerEntry entry : entries) {
-            jdbcTemplate.update(
-                    "INSERT INTO ledger_entry (ledger_entry_id, transaction_id, account_id, amount) VALUES (?, ?, ?, ?)",
-                    entry.getLedgerEntryId(),
-                    entry.getTransactionId(),
-                    entry.getAccountId(),
-                    entry.getAmount());
+            csv.append(entry.getLedgerEntryId()).append(',')
+                    .append(entry.getTransactionId()).append(',')
+                    .append(entry.getAccountId()).append(',')
+                    .append(entry.getAmount()).append(',')
+                    .append(entry.getCreatedAt()).append('\n');
         }
+        return PgCopy.copyIn(jdbcTemplate,
+                "COPY ledger_entry (ledger_entry_id, transaction_id, account_id, amount, created_at) " +
+                        "FROM STDIN (FORMAT csv)",
+                csv);
     }
 
+    // The hot table alone: an archived account's carry entries stand in for its archived history
     public long deriveBalance(UUID accountId) {
         Long balance = jdbcTemplate.queryForObject(
                 "SELECT COALESCE(SUM(amount), 0) FROM ledger_entry WHERE account_id = ?",
@@ -51,24 +83,134 @@ public class LedgerEntryRepository {
         return balance != null ? balance : 0L;
     }
 
+    // deriveBalance for many accounts in one scan; accounts without entries are absent
+    public Map<UUID, Long> deriveBalances(Collection<UUID> accountIds) {
+        Map<UUID, Long> balances = new HashMap<>();
+        jdbcTemplate.query(
+                "SELECT account_id, SUM(amount) AS balance FROM ledger_entry " +
+                        "WHERE account_id = ANY (?) GROUP BY account_id",
+                ps -> {
+                    Array ids = ps.getConnection().createArrayOf("uuid", accountIds.toArray());
+                    ps.setArray(1, ids);
+                },
+                rs -> {
+                    balances.put(UUID.fromString(rs.getString("account_id")), rs.getLong("balance"));
+                });
+        return balances;
+    }
+
     public List<LedgerEntry> findByTransactionId(UUID transactionId) {
         return jdbcTemplate.query(
                 "SELECT ledger_entry_id, transaction_id, account_id, amount, created_at " +
-                        "FROM ledger_entry WHERE transaction_id = ? ORDER BY created_at",
+                        "FROM ledger_entry_history WHERE transaction_id = ? ORDER BY created_at",
                 ROW_MAPPER, transactionId);
     }
 
+    public List<LedgerEntry> findByTransactionIds(Collection<UUID> transactionIds) {
+        return jdbcTemplate.query(
+                "SELECT ledger_entry_id, transaction_id, account_id, amount, created_at " +
+                        "FROM ledger_entry_history WHERE transaction_id = ANY (?)",
+                ps -> {
+                    Array ids = ps.getConnection().createArrayOf("uuid", transactionIds.toArray());
+                    ps.setArray(1, ids);
+                },
+                ROW_MAPPER);
+    }
+
     public List<LedgerEntry> findByAccountId(UUID accountId) {
         return jdbcTemplate.query(
                 "SELECT ledger_entry_id, transaction_id, account_id, amount, created_at " +
-                        "FROM ledger_entry WHERE account_id = ? ORDER BY created_at DESC",
+                        "FROM ledger_entry_history WHERE account_id = ? ORDER BY created_at DESC",
                 ROW_MAPPER, accountId);
     }
 
+    // Server-side cursor in (account_id, created_at) index order over [from, to); null bounds are open.
+    // A null accountId streams every account. Requires an open transaction for fetchSize to apply.
+    public void streamEntries(UUID accountId, LocalDateTime from, LocalDateTime to, int fetchSize,
+            Consumer<StatementRow> consumer) {
+        String sql = "SELECT account_id, transaction_id, ledger_entry_id, amount, " +
+                "       (EXTRACT(EPOCH FROM created_at) * 1000000)::bigint AS created_micros " +
+                "FROM ledger_entry_history " +
+                "WHERE created_at >= ? AND created_at < ? " +
+                (accountId != null ? "AND account_id = ? " : "") +
+                "ORDER BY account_id, created_at, ledger_entry_id";
+        StatementRow row = new StatementRow();
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(sql);
+                    ps.setFetchSize(fetchSize);
+                    ps.setTimestamp(1, from != null
+                            ? Timestamp.valueOf(from) : new Timestamp(PGStatement.DATE_NEGATIVE_INFINITY));
+                    ps.setTimestamp(2, to != null
+                            ? Timestamp.valueOf(to) : new Timestamp(PGStatement.DATE_POSITIVE_INFINITY));
+                    if (accountId != null) {
+                        ps.setObject(3, accountId);
+                    }
+                    return ps;
+                },
+                rs -> {
+                    readRow(rs, row);
+                    consumer.accept(row);
+                });
+    }
+
+    // Account history, newest first, through a server-side cursor; requires an open transaction
+    public void streamByAccountId(UUID accountId, int fetchSize, Consumer<StatementRow> consumer) {
+        StatementRow row = new StatementRow();
+        jdbcTemplate.query(
+                connection -> {
+                    PreparedStatement ps = connection.prepareStatement(
+                            "SELECT account_id, transaction_id, ledger_entry_id, amount, " +
+                                    "       (EXTRACT(EPOCH FROM created_at) * 1000000)::bigint AS created_micros " +
+                                    "FROM ledger_entry_history WHERE account_id = ? ORDER BY created_at DESC");
+                    ps.setFetchSize(fetchSize);
+                    ps.setObject(1, accountId);
+                    return ps;
+                },
+                rs -> {
+                    readRow(rs, row);
+                    consumer.accept(row);
+                });
+    }
+
     public long globalLedgerSum() {
         Long sum = jdbcTemplate.queryForObject(
                 "SELECT COALESCE(SUM(amount), 0) FROM ledger_entry",
                 Long.class);
         return sum != null ? sum : 0L;
     }
+
+    public Optional<LocalDateTime> earliestEntryTimestamp() {
+        Timestamp earliest = jdbcTemplate.queryForObject(
+                "SELECT MIN(created_at) FROM ledger_entry_history", Timestamp.class);
+        return Optional.ofNullable(earliest).map(Timestamp::toLocalDateTime);
+    }
+
+    public LocalDateTime currentTimestamp() {
+        return jdbcTemplate.queryForObject("SELECT LOCALTIMESTAMP", Timestamp.class).toLocalDateTime();
+    }
+
+    /*
+     * How far a created_at watermark may advance: settleLag behind the clock, and strictly before the start of the
+     * oldest transaction still open on this database. created_at is its transaction's start time, so a transaction
+     * open for longer than the lag would otherwise commit entries behind a watermark that has already passed them.
+     * Every open transaction counts, since one that has not written yet may still do so; a long report only holds
+     * the watermark back until it ends. The job's own transaction is skipped, as it writes no entries.
+     */
+    public LocalDateTime settledCutoff(Duration settleLag) {
+        return jdbcTemplate.queryForObject(
+                "SELECT LEAST(LOCALTIMESTAMP - make_interval(secs => ?), " +
+                        "(SELECT MIN(xact_start)::timestamp - INTERVAL '1 microsecond' FROM pg_stat_activity " +
+                        "WHERE datname = current_database() AND backend_type = 'client backend' " +
+                        "AND xact_start IS NOT NULL AND pid <> pg_backend_pid()))",
+                Timestamp.class, settleLag.toNanos() / 1e9).toLocalDateTime();
+    }
+
+    private static void readRow(ResultSet rs, StatementRow row) throws SQLException {
+        row.setAccountId(rs.getObject(1, UUID.class));
+        row.setTransactionId(rs.getObject(2, UUID.class));
+        row.setLedgerEntryId(rs.getObject(3, UUID.class));
+        row.setAmount(rs.getLong(4));
+        row.setCreatedAtMicros(rs.getLong(5));
+    }
 }
@@ -0,0 +1,83 @@
+package com.ledger.engine.repository;
+
+import com.ledger.engine.domain.ImportStatus;
+import com.ledger.engine.domain.LedgerImport;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public class LedgerImportRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final RowMapper<LedgerImport> ROW_MAPPER = (rs, rowNum) -> new LedgerImport(
+            rs.getString("import_name"),
+            rs.getString("source"),
+            ImportStatus.valueOf(rs.getString("status")),
+            rs.getLong("lines_committed"),
+            rs.getLong("transactions_imported"),
+            rs.getLong("transactions_skipped"),
+            rs.getLong("entries_imported"),
+            rs.getString("error_message"),
+            rs.getTimestamp("started_at").toLocalDateTime(),
+            toLocalDateTime(rs.getTimestamp("completed_at")));
+
+    public LedgerImportRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<LedgerImport> findByName(String importName) {
+        List<LedgerImport> results = jdbcTemplate.query(
+                "SELECT import_name, source, status, lines_committed, transactions_imported, transactions_skipped, " +
+                        "entries_imported, error_message, started_at, completed_at " +
+                        "FROM ledger_import WHERE import_name = ?",
+                ROW_MAPPER, importName);
+        return results.stream().findFirst();
+    }
+
+    // Creates the import or reopens a failed one, keeping its committed progress
+    public LedgerImport start(String importName, String source) {
+        jdbcTemplate.update(
+                "INSERT INTO ledger_import (import_name, source) VALUES (?, ?) " +
+                        "ON CONFLICT (import_name) DO UPDATE SET " +
+                        "    status = CASE WHEN ledger_import.status = 'COMPLETED' THEN 'COMPLETED' ELSE 'RUNNING' END, " +
+                        "    source = EXCLUDED.source, error_message = NULL, updated_at = NOW()",
+                importName, source);
+        return findByName(importName).orElseThrow();
+    }
+
+    public void recordChunk(String importName, long linesCommitted, long transactionsImported,
+            long transactionsSkipped, long entriesImported) {
+        jdbcTemplate.update(
+                "UPDATE ledger_import SET lines_committed = ?, " +
+                        "transactions_imported = transactions_imported + ?, " +
+                        "transactions_skipped = transactions_skipped + ?, " +
+                        "entries_imported = entries_imported + ?, updated_at = NOW() " +
+                        "WHERE import_name = ?",
+                linesCommitted, transactionsImported, transactionsSkipped, entriesImported, importName);
+    }
+
+    public void markCompleted(String importName) {
+        jdbcTemplate.update(
+                "UPDATE ledger_import SET status = 'COMPLETED', completed_at = NOW(), updated_at = NOW() " +
+                        "WHERE import_name = ?",
+                importName);
+    }
+
+    public void markFailed(String importName, String errorMessage) {
+        jdbcTemplate.update(
+                "UPDATE ledger_import SET status = 'FAILED', error_message = ?, updated_at = NOW() " +
+                        "WHERE import_name = ?",
+                errorMessage, importName);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
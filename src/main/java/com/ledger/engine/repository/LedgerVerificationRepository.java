@@ -0,0 +1,158 @@
+package com.ledger.engine.repository;
+
+import com.ledger.engine.domain.InvariantViolation;
+import com.ledger.engine.domain.VerificationRun;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class LedgerVerificationRepository {
+
+    private static final long VERIFIER_LOCK_ID = 0x4c45444745520002L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final RowMapper<VerificationRun> RUN_ROW_MAPPER = (rs, rowNum) -> new VerificationRun(
+            rs.getLong("run_id"),
+            toLocalDateTime(rs.getTimestamp("window_start")),
+            toLocalDateTime(rs.getTimestamp("window_end")),
+            rs.getLong("transaction_count"),
+            rs.getLong("entry_count"),
+            rs.getLong("net_amount"),
+            rs.getLong("external_amount"),
+            rs.getInt("violation_count"),
+            toLocalDateTime(rs.getTimestamp("started_at")),
+            toLocalDateTime(rs.getTimestamp("completed_at")));
+
+    private static final RowMapper<InvariantViolation> VIOLATION_ROW_MAPPER = (rs, rowNum) -> new InvariantViolation(
+            rs.getLong("run_id"),
+            UUID.fromString(rs.getString("transaction_id")),
+            rs.getInt("entry_count"),
+            rs.getLong("amount_sum"),
+            rs.getTimestamp("detected_at").toLocalDateTime());
+
+    public LedgerVerificationRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Per-transaction totals for (from, to]; multi-entry transactions that do not sum to zero are violations
+    public VerificationRun verifySlice(LocalDateTime from, LocalDateTime to) {
+        VerificationRun slice = new VerificationRun();
+        slice.setWindowStart(from);
+        slice.setWindowEnd(to);
+        jdbcTemplate.query(
+                "WITH tx AS MATERIALIZED ( " +
+                        "    SELECT transaction_id, COUNT(*) AS entries, SUM(amount) AS amount_sum " +
+                        "    FROM ledger_entry_history WHERE created_at > ? AND created_at <= ? " +
+                        "    GROUP BY transaction_id) " +
+                        "SELECT 'TOTAL' AS row_kind, NULL::uuid AS transaction_id, COUNT(*) AS transactions, " +
+                        "       COALESCE(SUM(entries), 0) AS entries, COALESCE(SUM(amount_sum), 0) AS net, " +
+                        "       COALESCE(SUM(amount_sum) FILTER (WHERE entries = 1), 0) AS external " +
+                        "FROM tx " +
+                        "UNION ALL " +
+                        "SELECT 'VIOLATION', transaction_id, 1, entries, amount_sum, 0 " +
+                        "FROM tx WHERE entries > 1 AND amount_sum <> 0",
+                rs -> {
+                    if ("TOTAL".equals(rs.getString("row_kind"))) {
+                        slice.setTransactionCount(rs.getLong("transactions"));
+                        slice.setEntryCount(rs.getLong("entries"));
+                        slice.setNetAmount(rs.getLong("net"));
+                        slice.setExternalAmount(rs.getLong("external"));
+                    } else {
+                        slice.getViolations().add(new InvariantViolation(0L,
+                                UUID.fromString(rs.getString("transaction_id")),
+                                rs.getInt("entries"),
+                                rs.getLong("net"),
+                                null));
+                    }
+                },
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+        slice.setViolationCount(slice.getViolations().size());
+        return slice;
+    }
+
+    public long saveRun(VerificationRun run) {
+        Long runId = jdbcTemplate.queryForObject(
+                "INSERT INTO ledger_verification_run (window_start, window_end, transaction_count, entry_count, " +
+                        "net_amount, external_amount, violation_count, started_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?) RETURNING run_id",
+                Long.class,
+                run.getWindowStart() != null ? Timestamp.valueOf(run.getWindowStart()) : null,
+                Timestamp.valueOf(run.getWindowEnd()),
+                run.getTransactionCount(),
+                run.getEntryCount(),
+                run.getNetAmount(),
+                run.getExternalAmount(),
+                run.getViolationCount(),
+                Timestamp.valueOf(run.getStartedAt()));
+
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO ledger_invariant_violation (run_id, transaction_id, entry_count, amount_sum) " +
+                        "VALUES (?, ?, ?, ?)",
+                run.getViolations(), 500,
+                (ps, violation) -> {
+                    ps.setLong(1, runId);
+                    ps.setObject(2, violation.getTransactionId());
+                    ps.setInt(3, violation.getEntryCount());
+                    ps.setLong(4, violation.getAmountSum());
+                });
+        run.setRunId(runId);
+        return runId;
+    }
+
+    public Optional<VerificationRun> findLatestRun() {
+        List<VerificationRun> results = jdbcTemplate.query(
+                "SELECT run_id, window_start, window_end, transaction_count, entry_count, net_amount, " +
+                        "external_amount, violation_count, started_at, completed_at " +
+                        "FROM ledger_verification_run ORDER BY window_end DESC LIMIT 1",
+                RUN_ROW_MAPPER);
+        return results.stream().findFirst();
+    }
+
+    // Aggregate of every run so far, shaped as one run covering the whole verified range
+    public VerificationRun cumulativeTotals() {
+        return jdbcTemplate.queryForObject(
+                "SELECT 0 AS run_id, MIN(window_start) AS window_start, MAX(window_end) AS window_end, " +
+                        "COALESCE(SUM(transaction_count), 0) AS transaction_count, " +
+                        "COALESCE(SUM(entry_count), 0) AS entry_count, " +
+                        "COALESCE(SUM(net_amount), 0) AS net_amount, " +
+                        "COALESCE(SUM(external_amount), 0) AS external_amount, " +
+                        "COALESCE(SUM(violation_count), 0) AS violation_count, " +
+                        "MIN(started_at) AS started_at, MAX(completed_at) AS completed_at " +
+                        "FROM ledger_verification_run",
+                RUN_ROW_MAPPER);
+    }
+
+    public List<InvariantViolation> findRecentViolations(int limit) {
+        return jdbcTemplate.query(
+                "SELECT run_id, transaction_id, entry_count, amount_sum, detected_at " +
+                        "FROM ledger_invariant_violation ORDER BY violation_id DESC LIMIT ?",
+                VIOLATION_ROW_MAPPER, limit);
+    }
+
+    // Rewinds the watermark so windows that gained back-dated entries are verified again
+    public int deleteRunsFrom(LocalDateTime from) {
+        return jdbcTemplate.update("DELETE FROM ledger_verification_run WHERE window_end >= ?", Timestamp.valueOf(from));
+    }
+
+    public void acquireJobLock() {
+        jdbcTemplate.queryForList("SELECT pg_advisory_xact_lock(?)", VERIFIER_LOCK_ID);
+    }
+
+    public boolean tryAcquireJobLock() {
+        Boolean acquired = jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, VERIFIER_LOCK_ID);
+        return Boolean.TRUE.equals(acquired);
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
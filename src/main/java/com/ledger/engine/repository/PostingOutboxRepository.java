@@ -0,0 +1,95 @@
+package com.ledger.engine.repository;
+
+import com.ledger.engine.domain.FeedCursor;
+import com.ledger.engine.domain.LedgerEntry;
+import com.ledger.engine.domain.PostingEvent;
+import com.ledger.engine.domain.PostingType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+@Repository
+public class PostingOutboxRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final RowMapper<PostingEvent> ROW_MAPPER = (rs, rowNum) -> new PostingEvent(
+            rs.getLong("event_id"),
+            rs.getLong("tx_xid"),
+            UUID.fromString(rs.getString("transaction_id")),
+            UUID.fromString(rs.getString("ledger_entry_id")),
+            UUID.fromString(rs.getString("account_id")),
+            rs.getLong("amount"),
+            PostingType.valueOf(rs.getString("posting_type")),
+            rs.getTimestamp("created_at").toLocalDateTime());
+
+    public PostingOutboxRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /*
+     * No NOTIFY here: PostgreSQL serializes every notifying commit on one global lock, which would cap the posting
+     * rate. Consumers find new rows on PostingNotifier's poll interval instead.
+     */
+    public void append(PostingType type, List<LedgerEntry> entries) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO posting_outbox (transaction_id, ledger_entry_id, account_id, amount, posting_type) " +
+                        "VALUES (?, ?, ?, ?, ?)",
+                entries, entries.size(),
+                (ps, entry) -> {
+                    ps.setObject(1, entry.getTransactionId());
+                    ps.setObject(2, entry.getLedgerEntryId());
+                    ps.setObject(3, entry.getAccountId());
+                    ps.setLong(4, entry.getAmount());
+                    ps.setString(5, type.name());
+                });
+    }
+
+    public long appendAll(List<LedgerEntry> entries, Map<UUID, PostingType> typeByTransaction) {
+        StringBuilder csv = new StringBuilder(entries.size() * 128);
+        for (LedgerEntry entry : entries) {
+            csv.append(entry.getTransactionId()).append(',')
+                    .append(entry.getLedgerEntryId()).append(',')
+                    .append(entry.getAccountId()).append(',')
+                    .append(entry.getAmount()).append(',')
+                    .append(typeByTransaction.get(entry.getTransactionId()).name()).append('\n');
+        }
+        long rows = PgCopy.copyIn(jdbcTemplate,
+                "COPY posting_outbox (transaction_id, ledger_entry_id, account_id, amount, posting_type) " +
+                        "FROM STDIN (FORMAT csv)",
+                csv);
+        return rows;
+    }
+
+    // Only rows from transactions older than every in-progress writer are safe to emit in cursor order
+    public List<PostingEvent> findAfter(FeedCursor cursor, int limit) {
+        return jdbcTemplate.query(
+                "SELECT event_id, tx_xid, transaction_id, ledger_entry_id, account_id, amount, posting_type, created_at " +
+                        "FROM posting_outbox " +
+                        "WHERE (tx_xid, event_id) > (?, ?) " +
+                        "  AND tx_xid < pg_snapshot_xmin(pg_current_snapshot())::text::bigint " +
+                        "ORDER BY tx_xid, event_id LIMIT ?",
+                ROW_MAPPER, cursor.getTxXid(), cursor.getEventId(), limit);
+    }
+
+    public FeedCursor headCursor() {
+        return jdbcTemplate.query(
+                "SELECT tx_xid, event_id FROM posting_outbox " +
+                        "WHERE tx_xid < pg_snapshot_xmin(pg_current_snapshot())::text::bigint " +
+                        "ORDER BY tx_xid DESC, event_id DESC LIMIT 1",
+                rs -> rs.next() ? new FeedCursor(rs.getLong("tx_xid"), rs.getLong("event_id")) : FeedCursor.START);
+    }
+
+    public int deleteOlderThan(LocalDateTime cutoff, int batchSize) {
+        return jdbcTemplate.update(
+                "DELETE FROM posting_outbox WHERE event_id IN ( " +
+                        "    SELECT event_id FROM posting_outbox WHERE created_at < ? LIMIT ?)",
+                Timestamp.valueOf(cutoff), batchSize);
+    }
+}
@@ -0,0 +1,126 @@
+package com.ledger.engine.repository;
+
+import com.ledger.engine.domain.PostingType;
+import com.ledger.engine.domain.ScheduledPosting;
+import com.ledger.engine.domain.ScheduledPostingStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public class ScheduledPostingRepository {
+
+    private static final String COLUMNS =
+            "scheduled_posting_id, idempotency_key, posting_type, account_id, from_account_id, to_account_id, " +
+                    "amount, execute_at, status, attempts, transaction_id, last_error, created_at, completed_at";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private static final RowMapper<ScheduledPosting> ROW_MAPPER = (rs, rowNum) -> new ScheduledPosting(
+            rs.getObject("scheduled_posting_id", UUID.class),
+            rs.getString("idempotency_key"),
+            PostingType.valueOf(rs.getString("posting_type")),
+            rs.getObject("account_id", UUID.class),
+            rs.getObject("from_account_id", UUID.class),
+            rs.getObject("to_account_id", UUID.class),
+            rs.getLong("amount"),
+            rs.getTimestamp("execute_at").toLocalDateTime(),
+            ScheduledPostingStatus.valueOf(rs.getString("status")),
+            rs.getInt("attempts"),
+            rs.getObject("transaction_id", UUID.class),
+            rs.getString("last_error"),
+            rs.getTimestamp("created_at").toLocalDateTime(),
+            toLocalDateTime(rs.getTimestamp("completed_at")));
+
+    public ScheduledPostingRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Replaying a schedule request with the same idempotency key leaves the original instruction in place
+    public boolean insertIfAbsent(ScheduledPosting posting) {
+        return jdbcTemplate.update(
+                "INSERT INTO scheduled_posting (scheduled_posting_id, idempotency_key, posting_type, account_id, " +
+                        "from_account_id, to_account_id, amount, execute_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+                        "ON CONFLICT (idempotency_key) DO NOTHING",
+                posting.getScheduledPostingId(), posting.getIdempotencyKey(), posting.getPostingType().name(),
+                posting.getAccountId(), posting.getFromAccountId(), posting.getToAccountId(),
+                posting.getAmount(), Timestamp.valueOf(posting.getExecuteAt())) > 0;
+    }
+
+    public Optional<ScheduledPosting> findById(UUID scheduledPostingId) {
+        List<ScheduledPosting> results = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM scheduled_posting WHERE scheduled_posting_id = ?",
+                ROW_MAPPER, scheduledPostingId);
+        return results.stream().findFirst();
+    }
+
+    public Optional<ScheduledPosting> findByIdempotencyKey(String idempotencyKey) {
+        List<ScheduledPosting> results = jdbcTemplate.query(
+                "SELECT " + COLUMNS + " FROM scheduled_posting WHERE idempotency_key = ?",
+                ROW_MAPPER, idempotencyKey);
+        return results.stream().findFirst();
+    }
+
+    /*
+     * Claims up to limit due instructions, oldest first, and leases them for the given duration. Rows another
+     * dispatcher is claiming are skipped rather than waited on, and rows whose lease has run out (a dispatcher
+     * died mid-batch) are claimable again.
+     */
+    public List<ScheduledPosting> claimDue(int limit, Duration lease) {
+        List<ScheduledPosting> claimed = jdbcTemplate.query(
+                "UPDATE scheduled_posting SET status = 'RUNNING', attempts = attempts + 1, " +
+                        "    claimed_until = LOCALTIMESTAMP + make_interval(secs => ?) " +
+                        "WHERE scheduled_posting_id IN ( " +
+                        "    SELECT scheduled_posting_id FROM scheduled_posting " +
+                        "    WHERE status IN ('PENDING', 'RUNNING') AND execute_at <= LOCALTIMESTAMP " +
+                        "      AND (claimed_until IS NULL OR claimed_until < LOCALTIMESTAMP) " +
+                        "    ORDER BY execute_at LIMIT ? " +
+                        "    FOR UPDATE SKIP LOCKED) " +
+                        "RETURNING " + COLUMNS,
+                ROW_MAPPER, lease.toMillis() / 1000.0, limit);
+        claimed.sort(Comparator.comparing(ScheduledPosting::getExecuteAt)
+                .thenComparing(ScheduledPosting::getScheduledPostingId));
+        return claimed;
+    }
+
+    public void markCompleted(UUID scheduledPostingId, UUID transactionId) {
+        jdbcTemplate.update(
+                "UPDATE scheduled_posting SET status = 'COMPLETED', transaction_id = ?, last_error = NULL, " +
+                        "claimed_until = NULL, completed_at = LOCALTIMESTAMP WHERE scheduled_posting_id = ?",
+                transactionId, scheduledPostingId);
+    }
+
+    public void markFailed(UUID scheduledPostingId, String error) {
+        jdbcTemplate.update(
+                "UPDATE scheduled_posting SET status = 'FAILED', last_error = ?, " +
+                        "claimed_until = NULL, completed_at = LOCALTIMESTAMP WHERE scheduled_posting_id = ?",
+                error, scheduledPostingId);
+    }
+
+    // Back to PENDING, held back until the delay has passed
+    public void retryLater(UUID scheduledPostingId, String error, Duration delay) {
+        jdbcTemplate.update(
+                "UPDATE scheduled_posting SET status = 'PENDING', last_error = ?, " +
+                        "claimed_until = LOCALTIMESTAMP + make_interval(secs => ?) WHERE scheduled_posting_id = ?",
+                error, delay.toMillis() / 1000.0, scheduledPostingId);
+    }
+
+    public boolean cancel(UUID scheduledPostingId) {
+        return jdbcTemplate.update(
+                "UPDATE scheduled_posting SET status = 'CANCELLED', claimed_until = NULL, " +
+                        "completed_at = LOCALTIMESTAMP WHERE scheduled_posting_id = ? AND status = 'PENDING'",
+                scheduledPostingId) > 0;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,27 @@
+package com.ledger.engine.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+@Repository
+public class SessionTimeoutRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public SessionTimeoutRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /*
+     * SET LOCAL for both timeouts in one round trip. They end with the surrounding transaction, so the pooled
+     * connection goes back with the server defaults. Lock waits then fail with 55P03 and slow statements
+     * with 57014.
+     */
+    public void setLocal(Duration lockTimeout, Duration statementTimeout) {
+        jdbcTemplate.queryForList(
+                "SELECT set_config('lock_timeout', ?, true), set_config('statement_timeout', ?, true)",
+                lockTimeout.toMillis() + "ms", statementTimeout.toMillis() + "ms");
+    }
+}
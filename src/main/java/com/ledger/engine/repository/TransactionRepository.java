@@ -6,8 +6,12 @@ import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Array;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 @Repository
@@ -34,6 +38,44 @@ public class TransactionRepository {
         return transaction;
     }
 
+    public void saveAll(List<Transaction> transactions) {
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO transaction (transaction_id, idempotency_key, status) VALUES (?, ?, ?)",
+                transactions, transactions.size(),
+                (ps, transaction) -> {
+                    ps.setObject(1, transaction.getTransactionId());
+                    ps.setString(2, transaction.getIdempotencyKey());
+                    ps.setString(3, transaction.getStatus().name());
+                });
+    }
+
+    public long copyAll(List<Transaction> transactions) {
+        StringBuilder csv = new StringBuilder(transactions.size() * 96);
+        for (Transaction transaction : transactions) {
+            csv.append(transaction.getTransactionId()).append(',');
+            PgCopy.appendText(csv, transaction.getIdempotencyKey());
+            csv.append(',').append(transaction.getStatus().name())
+                    .append(',').append(transaction.getCreatedAt()).append('\n');
+        }
+        return PgCopy.copyIn(jdbcTemplate,
+                "COPY transaction (transaction_id, idempotency_key, status, created_at) FROM STDIN (FORMAT csv)",
+                csv);
+    }
+
+    public Set<String> findExistingIdempotencyKeys(Collection<String> idempotencyKeys) {
+        Set<String> existing = new HashSet<>();
+        jdbcTemplate.query(
+                "SELECT idempotency_key FROM transaction WHERE idempotency_key = ANY (?)",
+                ps -> {
+                    Array keys = ps.getConnection().createArrayOf("varchar", idempotencyKeys.toArray());
+                    ps.setArray(1, keys);
+                },
+                rs -> {
+                    existing.add(rs.getString("idempotency_key"));
+                });
+        return existing;
+    }
+
     public Optional<Transaction> findByIdempotencyKey(String idempotencyKey) {
         List<Transaction> results = jdbcTemplate.query(
                 "SELECT transaction_id, idempotency_key, status, created_at FROM transaction WHERE idempotency_key = ?",
@@ -1,36 +1,111 @@
 package com.ledger.engine.service;
 
+import com.ledger.engine.config.PartitionMap;
 import com.ledger.engine.domain.Account;
 import com.ledger.engine.domain.AccountStatus;
 import com.ledger.engine.domain.LedgerEntry;
+import com.ledger.engine.domain.StatementRow;
 import com.ledger.engine.exception.AccountNotFoundException;
 import com.ledger.engine.repository.AccountRepository;
+import com.ledger.engine.repository.BalanceCheckpointRepository;
+import com.ledger.engine.repository.FundHoldRepository;
 import com.ledger.engine.repository.LedgerEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class AccountService {
 
+    private static final Logger log = LoggerFactory.getLogger(AccountService.class);
+
     private final AccountRepository accountRepository;
     private final LedgerEntryRepository ledgerEntryRepository;
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final FundHoldRepository holdRepository;
+    private final PartitionMap partitionMap;
+    private final int maxAsOfAccounts;
+    private final int fetchSize;
 
     public AccountService(AccountRepository accountRepository,
-            LedgerEntryRepository ledgerEntryRepository) {
+            LedgerEntryRepository ledgerEntryRepository,
+            BalanceCheckpointRepository checkpointRepository,
+            FundHoldRepository holdRepository,
+            PartitionMap partitionMap,
+            @Value("${ledger.balance.as-of.max-accounts:10000}") int maxAsOfAccounts,
+            @Value("${ledger.statement.fetch-size:5000}") int fetchSize) {
         this.accountRepository = accountRepository;
         this.ledgerEntryRepository = ledgerEntryRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.holdRepository = holdRepository;
+        this.partitionMap = partitionMap;
+        this.maxAsOfAccounts = maxAsOfAccounts;
+        this.fetchSize = fetchSize;
     }
 
+    // The id is drawn until it hashes into this node's partition, so the account is born where it lives
     @Transactional
     public Account createAccount() {
-        Account account = new Account(UUID.randomUUID(), AccountStatus.ACTIVE, LocalDateTime.now());
+        Account account = new Account(partitionMap.newLocalAccountId(), AccountStatus.ACTIVE, LocalDateTime.now());
         return accountRepository.save(account);
     }
 
+    // Only at zero balance with no active holds; FROZEN accounts may be closed directly
+    @Transactional
+    public Account closeAccount(UUID accountId) {
+        return changeStatus(accountId, AccountStatus.CLOSED);
+    }
+
+    @Transactional
+    public Account freezeAccount(UUID accountId) {
+        return changeStatus(accountId, AccountStatus.FROZEN);
+    }
+
+    // From FROZEN or CLOSED; an archived account's history stays archived and new postings follow its carry
+    @Transactional
+    public Account reopenAccount(UUID accountId) {
+        return changeStatus(accountId, AccountStatus.ACTIVE);
+    }
+
+    /*
+     * One row lock, the same one every posting takes before it checks the status, so a posting either commits
+     * before the change or sees it on the row it locks. Asking for the current status changes nothing.
+     */
+    private Account changeStatus(UUID accountId, AccountStatus target) {
+        Account account = accountRepository.lockForUpdate(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
+        AccountStatus current = account.getStatus();
+        if (current == target) {
+            return account;
+        }
+        if (target == AccountStatus.FROZEN && current == AccountStatus.CLOSED) {
+            throw new IllegalArgumentException("Account " + accountId + " is CLOSED and cannot be frozen");
+        }
+        if (target == AccountStatus.CLOSED) {
+            long balance = ledgerEntryRepository.deriveBalance(accountId);
+            long reserved = holdRepository.reservedAmount(accountId);
+            if (balance != 0 || reserved != 0) {
+                throw new IllegalArgumentException(String.format(
+                        "Account %s cannot be closed: balance=%d, reserved=%d", accountId, balance, reserved));
+            }
+        }
+
+        accountRepository.updateStatus(accountId, target);
+        log.info("Account status changed: accountId={}, from={}, to={}", accountId, current, target);
+        account.setStatus(target);
+        return account;
+    }
+
     @Transactional(readOnly = true)
     public Account getAccount(UUID accountId) {
         return accountRepository.findById(accountId)
@@ -38,6 +113,22 @@ public class AccountService {
                         "Account not found: " + accountId));
     }
 
+    // One primary-key read; callers take it before building a response so a version never outruns its body
+    @Transactional(readOnly = true)
+    public long getAccountVersion(UUID accountId) {
+        return accountRepository.findVersion(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(
+                        "Account not found: " + accountId));
+    }
+
+    // The available balance's validator: the version, plus any lapsed holds the sweeper has not expired yet
+    @Transactional(readOnly = true)
+    public String getAvailableBalanceVersion(UUID accountId) {
+        return holdRepository.findAvailableVersion(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(
+                        "Account not found: " + accountId));
+    }
+
     @Transactional(readOnly = true)
     public List<Account> listAccounts() {
         return accountRepository.findAll();
@@ -51,6 +142,43 @@ public class AccountService {
         return ledgerEntryRepository.deriveBalance(accountId);
     }
 
+    // Funds reserved by active holds; what withdraw() and transfer() may still spend is balance minus this
+    @Transactional(readOnly = true)
+    public long getReservedAmount(UUID accountId) {
+        accountRepository.findById(accountId)
+                .orElseThrow(() -> new AccountNotFoundException(
+                        "Account not found: " + accountId));
+        return holdRepository.reservedAmount(accountId);
+    }
+
+    @Transactional(readOnly = true)
+    public long getBalanceAsOf(UUID accountId, LocalDateTime asOf) {
+        return getBalancesAsOf(List.of(accountId), asOf).get(accountId);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<UUID, Long> getBalancesAsOf(List<UUID> accountIds, LocalDateTime asOf) {
+        if (asOf == null) {
+            throw new IllegalArgumentException("asOf is required");
+        }
+        if (accountIds == null || accountIds.isEmpty()) {
+            throw new IllegalArgumentException("accountIds must not be empty");
+        }
+        Set<UUID> requested = new LinkedHashSet<>(accountIds);
+        if (requested.size() > maxAsOfAccounts) {
+            throw new IllegalArgumentException(
+                    "Too many accounts in one as-of query: " + requested.size() + " (max " + maxAsOfAccounts + ")");
+        }
+
+        Map<UUID, Long> balances = checkpointRepository.balancesAsOf(requested, asOf);
+        for (UUID accountId : requested) {
+            if (!balances.containsKey(accountId)) {
+                throw new AccountNotFoundException("Account not found: " + accountId);
+            }
+        }
+        return balances;
+    }
+
     @Transactional(readOnly = true)
     public List<LedgerEntry> getAccountTransactions(UUID accountId) {
         accountRepository.findById(accountId)
@@ -58,4 +186,10 @@ public class AccountService {
                         "Account not found: " + accountId));
         return ledgerEntryRepository.findByAccountId(accountId);
     }
+
+    // Same rows as getAccountTransactions, handed over one at a time in a reused StatementRow
+    @Transactional(readOnly = true)
+    public void streamAccountTransactions(UUID accountId, Consumer<StatementRow> consumer) {
+        ledgerEntryRepository.streamByAccountId(accountId, fetchSize, consumer);
+    }
 }
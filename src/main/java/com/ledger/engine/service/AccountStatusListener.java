@@ -0,0 +1,11 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.AccountStatus;
+
+import java.util.UUID;
+
+// Told on every node sharing the database, once a status change has committed, so in-memory account state can be dropped
+public interface AccountStatusListener {
+
+    void onStatusChange(UUID accountId, AccountStatus status);
+}
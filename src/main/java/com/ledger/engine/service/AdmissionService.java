@@ -0,0 +1,247 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.exception.LedgerUnavailableException;
+import com.ledger.engine.exception.RateLimitExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/*
+ * Admission control for API requests, in two stages. A token bucket per client caps its request rate
+ * (429 with Retry-After when empty). Then the request takes an in-flight permit for its lane: every request
+ * needs one of max-in-flight, and batch requests additionally need one of batch-max-in-flight, so batch work
+ * can never occupy the last max-in-flight - batch-max-in-flight slots. Interactive requests queue for up to
+ * interactive-wait; batch requests wait only batch-wait and are then shed with 503, so overload is pushed
+ * onto batch clients first. Both semaphores are fair, which keeps waiting times FIFO within a lane. At most
+ * max-clients buckets are kept; once that many clients are mid-burst, new ones share a single overflow bucket,
+ * so inventing client ids neither grows memory nor buys more than one client's rate.
+ */
+@Service
+public class AdmissionService {
+
+    private final boolean enabled;
+    private final double defaultRate;
+    private final double defaultBurst;
+    private final Map<String, double[]> clientLimits = new HashMap<>();
+    private final Set<String> batchClients = new HashSet<>();
+    private final int maxClients;
+    private final long interactiveWaitNanos;
+    private final long batchWaitNanos;
+    private final MeterRegistry meterRegistry;
+    private final Semaphore inFlight;
+    private final Semaphore batchInFlight;
+    private final ConcurrentHashMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final TokenBucket overflow;
+
+    public AdmissionService(MeterRegistry meterRegistry,
+            @Value("${ledger.admission.enabled:true}") boolean enabled,
+            @Value("${ledger.admission.rate:500}") double rate,
+            @Value("${ledger.admission.burst:1000}") double burst,
+            @Value("${ledger.admission.client-limits:}") String clientLimits,
+            @Value("${ledger.admission.batch-clients:}") String batchClients,
+            @Value("${ledger.admission.max-clients:10000}") int maxClients,
+            @Value("${ledger.admission.max-in-flight:64}") int maxInFlight,
+            @Value("${ledger.admission.batch-max-in-flight:4}") int batchMaxInFlight,
+            @Value("${ledger.admission.interactive-wait:PT2S}") Duration interactiveWait,
+            @Value("${ledger.admission.batch-wait:PT0.05S}") Duration batchWait) {
+        if (batchMaxInFlight >= maxInFlight) {
+            throw new IllegalStateException("ledger.admission.batch-max-in-flight (" + batchMaxInFlight
+                    + ") must be below max-in-flight (" + maxInFlight + ") to leave room for interactive requests");
+        }
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.defaultRate = rate;
+        this.defaultBurst = burst;
+        this.maxClients = maxClients;
+        this.interactiveWaitNanos = interactiveWait.toNanos();
+        this.batchWaitNanos = batchWait.toNanos();
+        this.inFlight = new Semaphore(maxInFlight, true);
+        this.batchInFlight = new Semaphore(batchMaxInFlight, true);
+        this.overflow = new TokenBucket(rate, burst, System.nanoTime());
+
+        // client=rate/burst, e.g. reconciliation=50/100,mobile-app=2000/4000
+        for (String entry : clientLimits.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            String[] pair = entry.trim().split("=", 2);
+            String[] limit = pair[1].split("/", 2);
+            double clientRate = Double.parseDouble(limit[0].trim());
+            double clientBurst = limit.length > 1 ? Double.parseDouble(limit[1].trim()) : clientRate;
+            this.clientLimits.put(pair[0].trim(), new double[] {clientRate, clientBurst});
+        }
+        for (String client : batchClients.split(",")) {
+            if (!client.isBlank()) {
+                this.batchClients.add(client.trim());
+            }
+        }
+
+        meterRegistry.gauge("ledger.admission.in-flight", Tags.of("lane", "all"),
+                inFlight, permits -> maxInFlight - permits.availablePermits());
+        meterRegistry.gauge("ledger.admission.in-flight", Tags.of("lane", "batch"),
+                batchInFlight, permits -> batchMaxInFlight - permits.availablePermits());
+        meterRegistry.gauge("ledger.admission.clients", buckets, Map::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Clients configured as batch always use the batch lane; anyone may ask for it
+    public PriorityLane laneFor(String clientId, boolean batchRequested) {
+        return batchRequested || batchClients.contains(clientId) ? PriorityLane.BATCH : PriorityLane.INTERACTIVE;
+    }
+
+    /*
+     * Throws RateLimitExceededException or, when the lane stays full for its wait, LedgerUnavailableException.
+     * The permit must be closed when the request completes.
+     */
+    public Permit admit(String clientId, PriorityLane lane) {
+        checkRate(clientId, lane);
+        return acquire(lane);
+    }
+
+    // The token bucket alone, for a request that another node will serve and admit
+    public void checkRate(String clientId, PriorityLane lane) {
+        long now = System.nanoTime();
+        long refusedForNanos = bucket(clientId, now).tryTake(now);
+        if (refusedForNanos > 0) {
+            reject(lane, "rate-limit");
+            throw new RateLimitExceededException("Client " + clientId + " is over its request rate",
+                    Math.max(1, TimeUnit.NANOSECONDS.toSeconds(refusedForNanos + 999_999_999L)));
+        }
+    }
+
+    // The in-flight permit alone, for a request whose client was rate-checked by the node that forwarded it
+    public Permit acquire(PriorityLane lane) {
+        long startedAt = System.nanoTime();
+        long waitNanos = lane == PriorityLane.BATCH ? batchWaitNanos : interactiveWaitNanos;
+        long deadline = startedAt + waitNanos;
+        try {
+            if (lane == PriorityLane.BATCH && !batchInFlight.tryAcquire(waitNanos, TimeUnit.NANOSECONDS)) {
+                throw shed(lane);
+            }
+            if (!inFlight.tryAcquire(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                if (lane == PriorityLane.BATCH) {
+                    batchInFlight.release();
+                }
+                throw shed(lane);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LedgerUnavailableException("Interrupted while waiting for admission");
+        }
+        meterRegistry.timer("ledger.admission.wait", "lane", lane.getTag())
+                .record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        return new Permit(lane);
+    }
+
+    private LedgerUnavailableException shed(PriorityLane lane) {
+        reject(lane, "shed");
+        return new LedgerUnavailableException("Too many " + lane.getTag() + " requests in flight; retry the request");
+    }
+
+    private void reject(PriorityLane lane, String reason) {
+        meterRegistry.counter("ledger.admission.rejected", "lane", lane.getTag(), "reason", reason).increment();
+    }
+
+    private TokenBucket bucket(String clientId, long now) {
+        TokenBucket bucket = buckets.get(clientId);
+        if (bucket != null) {
+            return bucket;
+        }
+        // New clients are rare next to requests, so they are added one at a time to keep the cap exact
+        synchronized (buckets) {
+            bucket = buckets.get(clientId);
+            if (bucket != null) {
+                return bucket;
+            }
+            if (buckets.size() >= maxClients) {
+                // A full bucket holds no state worth keeping: recreating it later gives the same answer
+                buckets.values().removeIf(idle -> idle.isFull(now));
+            }
+            if (buckets.size() >= maxClients) {
+                meterRegistry.counter("ledger.admission.overflow").increment();
+                return overflow;
+            }
+            double[] limit = clientLimits.getOrDefault(clientId, new double[] {defaultRate, defaultBurst});
+            bucket = new TokenBucket(limit[0], limit[1], now);
+            buckets.put(clientId, bucket);
+            return bucket;
+        }
+    }
+
+    public class Permit implements AutoCloseable {
+
+        private final PriorityLane lane;
+        private boolean released;
+
+        private Permit(PriorityLane lane) {
+            this.lane = lane;
+        }
+
+        public PriorityLane getLane() {
+            return lane;
+        }
+
+        @Override
+        public void close() {
+            if (released) {
+                return;
+            }
+            released = true;
+            inFlight.release();
+            if (lane == PriorityLane.BATCH) {
+                batchInFlight.release();
+            }
+        }
+    }
+
+    private static class TokenBucket {
+
+        private final double tokensPerNano;
+        private final double capacity;
+        private double tokens;
+        private long refilledAt;
+
+        TokenBucket(double ratePerSecond, double capacity, long now) {
+            this.tokensPerNano = ratePerSecond / 1e9;
+            this.capacity = Math.max(1, capacity);
+            this.tokens = this.capacity;
+            this.refilledAt = now;
+        }
+
+        // 0 when a token was taken, otherwise how long until one will be available
+        synchronized long tryTake(long now) {
+            refill(now);
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return tokensPerNano > 0 ? (long) Math.ceil((1 - tokens) / tokensPerNano) : Long.MAX_VALUE / 2;
+        }
+
+        synchronized boolean isFull(long now) {
+            refill(now);
+            return tokens >= capacity;
+        }
+
+        // Callers read the clock before taking the lock, so now can trail refilledAt slightly
+        private void refill(long now) {
+            if (now > refilledAt) {
+                tokens = Math.min(capacity, tokens + (now - refilledAt) * tokensPerNano);
+                refilledAt = now;
+            }
+        }
+    }
+}
@@ -0,0 +1,360 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.AccountStatus;
+import com.ledger.engine.domain.FeedCursor;
+import com.ledger.engine.domain.PostingEvent;
+import com.ledger.engine.domain.VersionedBalance;
+import com.ledger.engine.exception.AccountNotFoundException;
+import com.ledger.engine.exception.SubscriberLimitExceededException;
+import com.ledger.engine.repository.BalanceCheckpointRepository;
+import com.ledger.engine.repository.PostingOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/*
+ * One shared follower of the posting outbox; balances are re-derived once per dirty account and fanned out.
+ * Initial loads on subscribe race with the follower's reloads, so every balance carries the account version it
+ * was read at, and caches, pending updates and deliveries only ever move to a higher version.
+ */
+@Service
+public class BalanceBroadcaster implements AccountStatusListener {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceBroadcaster.class);
+    private static final int FEED_BATCH_SIZE = 1000;
+
+    public interface BalanceSink {
+
+        void send(Map<UUID, Long> balances) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        boolean isOpen();
+    }
+
+    private final PostingOutboxRepository outboxRepository;
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final PostingNotifier notifier;
+    private final Duration coalesceWindow;
+    private final Duration heartbeatInterval;
+    private final int maxSubscribers;
+    private final int maxAccountsPerSubscription;
+
+    private final Map<UUID, AccountChannel> channels = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Slots reserved against maxSubscribers; taken before a subscriber is registered, freed when it is removed
+    private final AtomicInteger subscriberSlots = new AtomicInteger();
+    private final ExecutorService senderExecutor;
+    private final Counter balanceQueries;
+    private final Counter updatesPushed;
+
+    private volatile boolean running;
+    private Thread followerThread;
+
+    public BalanceBroadcaster(PostingOutboxRepository outboxRepository,
+            BalanceCheckpointRepository checkpointRepository,
+            PostingNotifier notifier,
+            MeterRegistry meterRegistry,
+            @Value("${ledger.balance-push.coalesce-window:PT0.1S}") Duration coalesceWindow,
+            @Value("${ledger.balance-push.heartbeat-interval:PT15S}") Duration heartbeatInterval,
+            @Value("${ledger.balance-push.max-subscribers:10000}") int maxSubscribers,
+            @Value("${ledger.balance-push.max-accounts-per-subscription:100}") int maxAccountsPerSubscription,
+            @Value("${ledger.balance-push.sender-threads:8}") int senderThreads) {
+        this.outboxRepository = outboxRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.notifier = notifier;
+        this.coalesceWindow = coalesceWindow;
+        this.heartbeatInterval = heartbeatInterval;
+        this.maxSubscribers = maxSubscribers;
+        this.maxAccountsPerSubscription = maxAccountsPerSubscription;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.senderExecutor = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "balance-push-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.balanceQueries = meterRegistry.counter("ledger.balance-push.queries");
+        this.updatesPushed = meterRegistry.counter("ledger.balance-push.updates");
+        Gauge.builder("ledger.balance-push.subscribers", subscribers, Set::size).register(meterRegistry);
+        Gauge.builder("ledger.balance-push.accounts", channels, Map::size).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        followerThread = new Thread(this::followFeed, "balance-broadcaster");
+        followerThread.setDaemon(true);
+        followerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (followerThread != null) {
+            followerThread.interrupt();
+        }
+        senderExecutor.shutdownNow();
+    }
+
+    public void subscribe(List<UUID> accountIds, BalanceSink sink) {
+        Set<UUID> requested = new LinkedHashSet<>(accountIds);
+        if (requested.isEmpty()) {
+            throw new IllegalArgumentException("accountIds must not be empty");
+        }
+        if (requested.size() > maxAccountsPerSubscription) {
+            throw new IllegalArgumentException("Too many accounts in one subscription: " + requested.size()
+                    + " (max " + maxAccountsPerSubscription + ")");
+        }
+        if (subscriberSlots.incrementAndGet() > maxSubscribers) {
+            subscriberSlots.decrementAndGet();
+            throw new SubscriberLimitExceededException(
+                    "Balance push is at its subscriber limit (" + maxSubscribers + ")");
+        }
+
+        Subscriber subscriber = new Subscriber(requested, sink);
+        subscribers.add(subscriber);
+        Map<UUID, VersionedBalance> initial = new LinkedHashMap<>();
+        Set<UUID> uncached = new HashSet<>();
+        for (UUID accountId : requested) {
+            // Registered inside compute, so a concurrent unsubscribe cannot drop the channel in between
+            AccountChannel channel = channels.compute(accountId, (id, existing) -> {
+                AccountChannel joined = existing != null ? existing : new AccountChannel();
+                joined.subscribers.add(subscriber);
+                return joined;
+            });
+            VersionedBalance cached = channel.lastBalance.get();
+            if (cached != null) {
+                initial.put(accountId, cached);
+            } else {
+                uncached.add(accountId);
+            }
+        }
+
+        if (!uncached.isEmpty()) {
+            Map<UUID, VersionedBalance> loaded = loadBalances(uncached);
+            for (UUID accountId : uncached) {
+                if (!loaded.containsKey(accountId)) {
+                    unsubscribe(subscriber);
+                    throw new AccountNotFoundException("Account not found: " + accountId);
+                }
+                initial.put(accountId, loaded.get(accountId));
+            }
+        }
+        subscriber.offer(initial);
+    }
+
+    // The next subscriber to the account re-derives its balance instead of trusting one cached before the change
+    @Override
+    public void onStatusChange(UUID accountId, AccountStatus status) {
+        AccountChannel channel = channels.get(accountId);
+        if (channel != null) {
+            channel.lastBalance.set(null);
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscribers.remove(subscriber)) {
+            return;
+        }
+        subscriberSlots.decrementAndGet();
+        for (UUID accountId : subscriber.accountIds) {
+            channels.computeIfPresent(accountId, (id, channel) -> {
+                channel.subscribers.remove(subscriber);
+                return channel.subscribers.isEmpty() ? null : channel;
+            });
+        }
+    }
+
+    // A load that finishes after a newer one leaves the cache at the newer balance
+    private Map<UUID, VersionedBalance> loadBalances(Set<UUID> accountIds) {
+        balanceQueries.increment();
+        Map<UUID, VersionedBalance> balances = checkpointRepository.currentBalances(accountIds);
+        balances.forEach((accountId, balance) -> {
+            AccountChannel channel = channels.get(accountId);
+            if (channel != null) {
+                channel.lastBalance.accumulateAndGet(balance,
+                        (cached, loaded) -> cached == null ? loaded : VersionedBalance.newer(cached, loaded));
+            }
+        });
+        return balances;
+    }
+
+    private void followFeed() {
+        FeedCursor cursor = null;
+        Set<UUID> dirty = new HashSet<>();
+        long firstDirtyAt = 0L;
+        long lastHeartbeat = System.nanoTime();
+
+        while (running) {
+            try {
+                if (cursor == null) {
+                    cursor = outboxRepository.headCursor();
+                }
+                long seen = notifier.generation();
+                List<PostingEvent> events = outboxRepository.findAfter(cursor, FEED_BATCH_SIZE);
+                for (PostingEvent event : events) {
+                    if (channels.containsKey(event.getAccountId())) {
+                        if (dirty.isEmpty()) {
+                            firstDirtyAt = System.nanoTime();
+                        }
+                        dirty.add(event.getAccountId());
+                    }
+                }
+                if (!events.isEmpty()) {
+                    cursor = FeedCursor.of(events.get(events.size() - 1));
+                    if (events.size() == FEED_BATCH_SIZE) {
+                        continue;
+                    }
+                }
+
+                long now = System.nanoTime();
+                if (now - lastHeartbeat >= heartbeatInterval.toNanos()) {
+                    subscribers.forEach(Subscriber::requestHeartbeat);
+                    lastHeartbeat = now;
+                }
+
+                if (dirty.isEmpty()) {
+                    notifier.awaitChange(seen, heartbeatInterval);
+                    continue;
+                }
+                long remaining = firstDirtyAt + coalesceWindow.toNanos() - now;
+                if (remaining > 0) {
+                    notifier.awaitChange(seen, Duration.ofNanos(remaining));
+                    continue;
+                }
+
+                flush(dirty);
+                dirty = new HashSet<>();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Balance broadcaster failed, retrying: {}", e.getMessage());
+                try {
+                    Thread.sleep(heartbeatInterval.toMillis() / 10);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void flush(Set<UUID> dirty) {
+        dirty.removeIf(accountId -> !channels.containsKey(accountId));
+        if (dirty.isEmpty()) {
+            return;
+        }
+        Map<UUID, VersionedBalance> balances = loadBalances(dirty);
+
+        Map<Subscriber, Map<UUID, VersionedBalance>> perSubscriber = new HashMap<>();
+        balances.forEach((accountId, balance) -> {
+            AccountChannel channel = channels.get(accountId);
+            if (channel == null) {
+                return;
+            }
+            for (Subscriber subscriber : channel.subscribers) {
+                perSubscriber.computeIfAbsent(subscriber, s -> new LinkedHashMap<>()).put(accountId, balance);
+            }
+        });
+        perSubscriber.forEach(Subscriber::offer);
+    }
+
+    private static class AccountChannel {
+
+        private final Set<Subscriber> subscribers = new CopyOnWriteArraySet<>();
+        private final AtomicReference<VersionedBalance> lastBalance = new AtomicReference<>();
+    }
+
+    private class Subscriber {
+
+        private final Set<UUID> accountIds;
+        private final BalanceSink sink;
+        private final Map<UUID, VersionedBalance> pending = new ConcurrentHashMap<>();
+        // Written only by drain, which runs on one sender thread at a time
+        private final Map<UUID, Long> deliveredVersions = new HashMap<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+
+        Subscriber(Set<UUID> accountIds, BalanceSink sink) {
+            this.accountIds = accountIds;
+            this.sink = sink;
+        }
+
+        // Newest version wins: a slow client only ever receives the newest balance per account
+        void offer(Map<UUID, VersionedBalance> balances) {
+            balances.forEach((accountId, balance) -> pending.merge(accountId, balance, VersionedBalance::newer));
+            schedule();
+        }
+
+        void requestHeartbeat() {
+            heartbeatDue = true;
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                senderExecutor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (!sink.isOpen()) {
+                    unsubscribe(this);
+                    return;
+                }
+                Map<UUID, Long> batch = new LinkedHashMap<>();
+                for (UUID accountId : pending.keySet()) {
+                    VersionedBalance balance = pending.remove(accountId);
+                    // An older balance offered after a newer one was sent is dropped, never sent over it
+                    if (balance != null && balance.getVersion() > deliveredVersions.getOrDefault(accountId, -1L)) {
+                        deliveredVersions.put(accountId, balance.getVersion());
+                        batch.put(accountId, balance.getBalance());
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    sink.send(batch);
+                    updatesPushed.increment(batch.size());
+                } else if (heartbeatDue) {
+                    sink.heartbeat();
+                }
+                heartbeatDue = false;
+            } catch (IOException | RuntimeException e) {
+                log.debug("Balance subscriber dropped: {}", e.getMessage());
+                unsubscribe(this);
+                return;
+            } finally {
+                scheduled.set(false);
+            }
+            if (!pending.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
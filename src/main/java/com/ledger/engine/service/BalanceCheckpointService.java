@@ -0,0 +1,61 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.repository.BalanceCheckpointRepository;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Service
+public class BalanceCheckpointService {
+
+    private static final Logger log = LoggerFactory.getLogger(BalanceCheckpointService.class);
+
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final Duration settleLag;
+
+    public BalanceCheckpointService(BalanceCheckpointRepository checkpointRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            @Value("${ledger.checkpoint.settle-lag:PT1M}") Duration settleLag) {
+        this.checkpointRepository = checkpointRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.settleLag = settleLag;
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.checkpoint.interval:PT15M}",
+            initialDelayString = "${ledger.checkpoint.interval:PT15M}")
+    @Transactional
+    public void scheduledCheckpoint() {
+        // Entries stamped inside the settle lag, or by a transaction still open, may not be committed yet
+        writeCheckpoints(ledgerEntryRepository.settledCutoff(settleLag));
+    }
+
+    @Transactional
+    public int createCheckpoints(LocalDateTime cutoff) {
+        return writeCheckpoints(cutoff);
+    }
+
+    private int writeCheckpoints(LocalDateTime cutoff) {
+        if (!checkpointRepository.tryAcquireJobLock()) {
+            log.info("Balance checkpoint run skipped: another run holds the lock");
+            return 0;
+        }
+
+        LocalDateTime previousCutoff = checkpointRepository.latestCutoff().orElse(null);
+        if (previousCutoff != null && !cutoff.isAfter(previousCutoff)) {
+            return 0;
+        }
+
+        int written = checkpointRepository.createCheckpoints(previousCutoff, cutoff);
+        log.info("Balance checkpoints written: cutoff={}, previousCutoff={}, accounts={}",
+                cutoff, previousCutoff, written);
+        return written;
+    }
+}
@@ -0,0 +1,123 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.StatementRow;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/*
+ * Column-oriented statement encoding, big-endian:
+ *   magic "LEDGCOL1"
+ *   row groups of up to ROW_GROUP_SIZE rows:
+ *     int rowCount, varint dictionarySize, dictionarySize x 16-byte account ids,
+ *     rowCount x varint account index, rowCount x 16-byte transaction id,
+ *     rowCount x 16-byte ledger entry id, rowCount x zigzag-varint amount,
+ *     long first created_at (epoch micros) then (rowCount - 1) x zigzag-varint delta
+ *   int 0, long totalRows
+ */
+class ColumnarStatementWriter implements StatementWriter {
+
+    static final byte[] MAGIC = "LEDGCOL1".getBytes(StandardCharsets.US_ASCII);
+    static final int ROW_GROUP_SIZE = 4096;
+
+    private final DataOutputStream out;
+    private final List<UUID> dictionary = new ArrayList<>();
+    private final Map<UUID, Integer> dictionaryIndex = new HashMap<>();
+    private final int[] accountIndex = new int[ROW_GROUP_SIZE];
+    private final long[] transactionMsb = new long[ROW_GROUP_SIZE];
+    private final long[] transactionLsb = new long[ROW_GROUP_SIZE];
+    private final long[] entryMsb = new long[ROW_GROUP_SIZE];
+    private final long[] entryLsb = new long[ROW_GROUP_SIZE];
+    private final long[] amount = new long[ROW_GROUP_SIZE];
+    private final long[] createdAtMicros = new long[ROW_GROUP_SIZE];
+    private int rows;
+    private long totalRows;
+
+    ColumnarStatementWriter(OutputStream out) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        this.out.write(MAGIC);
+    }
+
+    @Override
+    public void write(StatementRow row) throws IOException {
+        Integer index = dictionaryIndex.get(row.getAccountId());
+        if (index == null) {
+            index = dictionary.size();
+            dictionary.add(row.getAccountId());
+            dictionaryIndex.put(row.getAccountId(), index);
+        }
+        accountIndex[rows] = index;
+        transactionMsb[rows] = row.getTransactionId().getMostSignificantBits();
+        transactionLsb[rows] = row.getTransactionId().getLeastSignificantBits();
+        entryMsb[rows] = row.getLedgerEntryId().getMostSignificantBits();
+        entryLsb[rows] = row.getLedgerEntryId().getLeastSignificantBits();
+        amount[rows] = row.getAmount();
+        createdAtMicros[rows] = row.getCreatedAtMicros();
+        if (++rows == ROW_GROUP_SIZE) {
+            flushRowGroup();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException {
+        flushRowGroup();
+        out.writeInt(0);
+        out.writeLong(totalRows);
+        out.flush();
+    }
+
+    private void flushRowGroup() throws IOException {
+        if (rows == 0) {
+            return;
+        }
+        out.writeInt(rows);
+        writeVarint(dictionary.size());
+        for (UUID accountId : dictionary) {
+            out.writeLong(accountId.getMostSignificantBits());
+            out.writeLong(accountId.getLeastSignificantBits());
+        }
+        for (int i = 0; i < rows; i++) {
+            writeVarint(accountIndex[i]);
+        }
+        for (int i = 0; i < rows; i++) {
+            out.writeLong(transactionMsb[i]);
+            out.writeLong(transactionLsb[i]);
+        }
+        for (int i = 0; i < rows; i++) {
+            out.writeLong(entryMsb[i]);
+            out.writeLong(entryLsb[i]);
+        }
+        for (int i = 0; i < rows; i++) {
+            writeVarint(zigzag(amount[i]));
+        }
+        out.writeLong(createdAtMicros[0]);
+        for (int i = 1; i < rows; i++) {
+            writeVarint(zigzag(createdAtMicros[i] - createdAtMicros[i - 1]));
+        }
+
+        totalRows += rows;
+        rows = 0;
+        dictionary.clear();
+        dictionaryIndex.clear();
+    }
+
+    private void writeVarint(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+}
@@ -0,0 +1,379 @@
+package com.ledger.engine.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.ledger.engine.config.PartitionMap;
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.AccountStatus;
+import com.ledger.engine.domain.CrossPartitionTransfer;
+import com.ledger.engine.domain.CrossPartitionTransferStatus;
+import com.ledger.engine.domain.LedgerEntry;
+import com.ledger.engine.domain.PostingType;
+import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.domain.TransactionStatus;
+import com.ledger.engine.domain.UuidV7;
+import com.ledger.engine.exception.AccountClosedException;
+import com.ledger.engine.exception.AccountNotFoundException;
+import com.ledger.engine.exception.DuplicateRequestException;
+import com.ledger.engine.exception.LedgerUnavailableException;
+import com.ledger.engine.repository.AccountRepository;
+import com.ledger.engine.repository.CrossPartitionTransferRepository;
+import com.ledger.engine.repository.FundHoldRepository;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import com.ledger.engine.repository.PostingOutboxRepository;
+import com.ledger.engine.repository.SessionTimeoutRepository;
+import com.ledger.engine.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * Transfers whose payee lives on another partition. No transaction spans two databases; instead:
+ *
+ *   phase 1 (payer's node P, one local transaction): debit the payer, credit P's clearing account for the
+ *       payee's partition Q, record the transfer as PREPARED. The client's transaction stays INITIATED.
+ *   phase 2 (Q, one local transaction, keyed by transfer id): debit Q's clearing account for P, credit the
+ *       payee. P then marks the transfer COMPLETED and the client's transaction COMPLETED.
+ *
+ * If Q refuses phase 2 (unknown or closed payee), P reverses phase 1 with a compensating posting and marks
+ * both FAILED. If the outcome is unknown (Q unreachable, timeout, 5xx), the transfer stays PREPARED and the
+ * recovery job delivers it again; Q applies a given transfer id once, so a redelivery after a lost response
+ * just returns the posting Q already made. Each ledger balances on its own, and across the pair the two
+ * clearing balances cancel once nothing is in flight.
+ */
+@Service
+public class CrossPartitionTransferService {
+
+    private static final Logger log = LoggerFactory.getLogger(CrossPartitionTransferService.class);
+
+    static final String CREDIT_PATH = "/internal/partitions/credits";
+
+    private final PartitionMap partitionMap;
+    private final PartitionForwarder forwarder;
+    private final CrossPartitionTransferRepository transferRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final PostingOutboxRepository outboxRepository;
+    private final FundHoldRepository holdRepository;
+    private final SessionTimeoutRepository timeoutRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration lease;
+    private final Duration retryDelay;
+    private final int recoveryBatchSize;
+    private final Duration lockTimeout;
+    private final Duration statementTimeout;
+
+    private final Counter completed;
+    private final Counter reversed;
+    private final Counter deferred;
+
+    public CrossPartitionTransferService(PartitionMap partitionMap,
+            PartitionForwarder forwarder,
+            CrossPartitionTransferRepository transferRepository,
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            PostingOutboxRepository outboxRepository,
+            FundHoldRepository holdRepository,
+            SessionTimeoutRepository timeoutRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${ledger.partitions.recovery.lease:PT30S}") Duration lease,
+            @Value("${ledger.partitions.recovery.retry-delay:PT10S}") Duration retryDelay,
+            @Value("${ledger.partitions.recovery.batch-size:100}") int recoveryBatchSize,
+            @Value("${ledger.timeouts.posting.lock-timeout:PT2S}") Duration lockTimeout,
+            @Value("${ledger.timeouts.posting.statement-timeout:PT5S}") Duration statementTimeout) {
+        this.partitionMap = partitionMap;
+        this.forwarder = forwarder;
+        this.transferRepository = transferRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.outboxRepository = outboxRepository;
+        this.holdRepository = holdRepository;
+        this.timeoutRepository = timeoutRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lease = lease;
+        this.retryDelay = retryDelay;
+        this.recoveryBatchSize = recoveryBatchSize;
+        this.lockTimeout = lockTimeout;
+        this.statementTimeout = statementTimeout;
+        this.completed = meterRegistry.counter("ledger.partitions.transfers", "outcome", "completed");
+        this.reversed = meterRegistry.counter("ledger.partitions.transfers", "outcome", "reversed");
+        this.deferred = meterRegistry.counter("ledger.partitions.transfers", "outcome", "deferred");
+    }
+
+    /*
+     * Runs phase 1 and attempts phase 2. Returns the client's transaction: COMPLETED, or INITIATED when the
+     * payee's node did not answer and recovery will finish the transfer. A refusal is thrown after the
+     * reversal has been posted.
+     */
+    public Transaction transfer(UUID fromAccountId, UUID toAccountId, long amount, String idempotencyKey) {
+        CrossPartitionTransfer transfer = transactionTemplate.execute(
+                status -> prepare(fromAccountId, toAccountId, amount, idempotencyKey));
+        RuntimeException refusal = deliver(transfer);
+        if (refusal != null) {
+            throw refusal;
+        }
+        return transactionRepository.findById(transfer.getTransactionId()).orElseThrow();
+    }
+
+    /*
+     * Phase 2, on the payee's node. Keyed by transfer id: a redelivery returns the posting already made.
+     */
+    @Transactional
+    public Transaction applyCredit(UUID transferId, int sourcePartition, UUID toAccountId, long amount) {
+        if (transferId == null || toAccountId == null) {
+            throw new IllegalArgumentException("transferId and toAccountId are required");
+        }
+        validateAmount(amount);
+        String idempotencyKey = "partition-credit:" + transferId;
+        Optional<Transaction> existing = transactionRepository.findByIdempotencyKey(idempotencyKey);
+        if (existing.isPresent()) {
+            log.info("Cross-partition credit already applied: transferId={}", transferId);
+            return existing.get();
+        }
+        if (!partitionMap.isLocal(toAccountId)) {
+            throw new AccountNotFoundException("Account " + toAccountId + " is owned by partition "
+                    + partitionMap.partitionOf(toAccountId) + ", not " + partitionMap.self());
+        }
+        UUID clearingAccountId = partitionMap.clearingAccount(sourcePartition);
+        accountRepository.insertIfAbsent(clearingAccountId);
+
+        timeoutRepository.setLocal(lockTimeout, statementTimeout);
+        Map<UUID, Account> locked = lockSorted(toAccountId, clearingAccountId);
+        requireActive(locked.get(toAccountId));
+
+        Transaction transaction = new Transaction(UuidV7.generate(), idempotencyKey,
+                TransactionStatus.COMPLETED, LocalDateTime.now());
+        List<LedgerEntry> entries = post(transaction, clearingAccountId, toAccountId, amount);
+        accountRepository.incrementVersions(locked.keySet());
+        outboxRepository.append(PostingType.TRANSFER, entries);
+
+        log.info("Cross-partition credit applied: transferId={}, txId={}, from partition={}, to={}, amount={}",
+                transferId, transaction.getTransactionId(), sourcePartition, toAccountId, amount);
+        return transaction;
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<CrossPartitionTransfer> findByTransactionId(UUID transactionId) {
+        return transferRepository.findByTransactionId(transactionId);
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.partitions.recovery.interval:PT5S}",
+            initialDelayString = "${ledger.partitions.recovery.interval:PT5S}")
+    public void scheduledRecovery() {
+        if (partitionMap.isPartitioned()) {
+            recoverPrepared();
+        }
+    }
+
+    // Redelivers phase 2 for every transfer still PREPARED whose lease has run out; returns how many were tried
+    public int recoverPrepared() {
+        int attempted = 0;
+        while (true) {
+            List<CrossPartitionTransfer> claimed = transactionTemplate.execute(
+                    status -> transferRepository.claimPrepared(recoveryBatchSize, lease));
+            if (claimed == null || claimed.isEmpty()) {
+                return attempted;
+            }
+            for (CrossPartitionTransfer transfer : claimed) {
+                RuntimeException refusal = deliver(transfer);
+                if (refusal != null) {
+                    log.warn("Recovered cross-partition transfer was refused and reversed: transferId={}, {}",
+                            transfer.getTransferId(), refusal.getMessage());
+                }
+                attempted++;
+            }
+        }
+    }
+
+    private CrossPartitionTransfer prepare(UUID fromAccountId, UUID toAccountId, long amount, String idempotencyKey) {
+        validateAmount(amount);
+        Optional<Transaction> existing = transactionRepository.findByIdempotencyKey(idempotencyKey);
+        if (existing.isPresent()) {
+            log.info("Duplicate transfer request detected: idempotencyKey={}", idempotencyKey);
+            throw new DuplicateRequestException(
+                    "Request already processed: " + idempotencyKey,
+                    existing.get().getTransactionId());
+        }
+        int targetPartition = partitionMap.partitionOf(toAccountId);
+        UUID clearingAccountId = partitionMap.clearingAccount(targetPartition);
+        accountRepository.insertIfAbsent(clearingAccountId);
+
+        timeoutRepository.setLocal(lockTimeout, statementTimeout);
+        Map<UUID, Account> locked = lockSorted(fromAccountId, clearingAccountId);
+        requireActive(locked.get(fromAccountId));
+        long balance = ledgerEntryRepository.deriveBalance(fromAccountId);
+        long reserved = holdRepository.reservedAmount(fromAccountId);
+        if (balance - reserved < amount) {
+            log.warn("Insufficient funds: accountId={}, balance={}, reserved={}, requested={}",
+                    fromAccountId, balance, reserved, amount);
+            throw LedgerService.insufficientFunds(balance, reserved, amount);
+        }
+
+        Transaction transaction = new Transaction(UuidV7.generate(), idempotencyKey,
+                TransactionStatus.INITIATED, LocalDateTime.now());
+        List<LedgerEntry> entries = post(transaction, fromAccountId, clearingAccountId, amount);
+        accountRepository.incrementVersions(locked.keySet());
+        outboxRepository.append(PostingType.TRANSFER, entries);
+
+        CrossPartitionTransfer transfer = new CrossPartitionTransfer(UuidV7.generate(),
+                transaction.getTransactionId(), fromAccountId, toAccountId, targetPartition, amount,
+                CrossPartitionTransferStatus.PREPARED, 1, null, null, null, LocalDateTime.now(), null);
+        transferRepository.save(transfer, lease);
+
+        log.info("Cross-partition transfer prepared: transferId={}, txId={}, from={}, to={}, partition={}, amount={}",
+                transfer.getTransferId(), transaction.getTransactionId(), fromAccountId, toAccountId,
+                targetPartition, amount);
+        return transfer;
+    }
+
+    /*
+     * Phase 2 for a transfer this thread holds the lease on. Returns the exception describing a refusal
+     * once it has been reversed, or null when the transfer completed or was left for recovery.
+     */
+    private RuntimeException deliver(CrossPartitionTransfer transfer) {
+        HttpResponse<byte[]> response;
+        try {
+            Map<String, Object> credit = new LinkedHashMap<>();
+            credit.put("transferId", transfer.getTransferId());
+            credit.put("sourcePartition", partitionMap.self());
+            credit.put("toAccountId", transfer.getToAccountId());
+            credit.put("amount", transfer.getAmount());
+            response = forwarder.postJson(transfer.getTargetPartition(), CREDIT_PATH, credit);
+        } catch (LedgerUnavailableException e) {
+            defer(transfer, e.getMessage());
+            return null;
+        }
+
+        int status = response.statusCode();
+        try {
+            if (status == 200 || status == 201) {
+                JsonNode credit = forwarder.readTree(response);
+                complete(transfer, UUID.fromString(credit.path("transactionId").asText()));
+                return null;
+            }
+            if (status == 400 || status == 404 || status == 422) {
+                JsonNode error = forwarder.readTree(response);
+                String message = error.path("message").asText();
+                reverse(transfer, error.path("error").asText() + ": " + message);
+                return refusal(status, message);
+            }
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            // An answer we cannot read is an unknown outcome, never a refusal
+            defer(transfer, e.getMessage());
+            return null;
+        }
+        defer(transfer, "Partition " + transfer.getTargetPartition() + " answered HTTP " + status);
+        return null;
+    }
+
+    private void complete(CrossPartitionTransfer transfer, UUID remoteTransactionId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            CrossPartitionTransfer locked = transferRepository.lockForUpdate(transfer.getTransferId()).orElseThrow();
+            if (locked.getStatus() != CrossPartitionTransferStatus.PREPARED) {
+                return;
+            }
+            transferRepository.markCompleted(transfer.getTransferId(), remoteTransactionId);
+            transactionRepository.updateStatus(transfer.getTransactionId(), TransactionStatus.COMPLETED);
+        });
+        completed.increment();
+        log.info("Cross-partition transfer completed: transferId={}, remoteTxId={}",
+                transfer.getTransferId(), remoteTransactionId);
+    }
+
+    // The compensating posting moves the parked amount from the clearing account back to the payer
+    private void reverse(CrossPartitionTransfer transfer, String reason) {
+        transactionTemplate.executeWithoutResult(status -> {
+            timeoutRepository.setLocal(lockTimeout, statementTimeout);
+            CrossPartitionTransfer locked = transferRepository.lockForUpdate(transfer.getTransferId()).orElseThrow();
+            if (locked.getStatus() != CrossPartitionTransferStatus.PREPARED) {
+                return;
+            }
+            UUID clearingAccountId = partitionMap.clearingAccount(transfer.getTargetPartition());
+            Map<UUID, Account> accounts = lockSorted(transfer.getFromAccountId(), clearingAccountId);
+
+            Transaction reversal = new Transaction(UuidV7.generate(), "partition-reversal:" + transfer.getTransferId(),
+                    TransactionStatus.COMPLETED, LocalDateTime.now());
+            List<LedgerEntry> entries = post(reversal, clearingAccountId, transfer.getFromAccountId(),
+                    transfer.getAmount());
+            accountRepository.incrementVersions(accounts.keySet());
+            outboxRepository.append(PostingType.TRANSFER, entries);
+            transactionRepository.updateStatus(transfer.getTransactionId(), TransactionStatus.FAILED);
+            transferRepository.markFailed(transfer.getTransferId(), reversal.getTransactionId(), reason);
+        });
+        reversed.increment();
+        log.warn("Cross-partition transfer refused and reversed: transferId={}, reason={}",
+                transfer.getTransferId(), reason);
+    }
+
+    private void defer(CrossPartitionTransfer transfer, String reason) {
+        transactionTemplate.executeWithoutResult(
+                status -> transferRepository.retryLater(transfer.getTransferId(), reason, retryDelay));
+        deferred.increment();
+        log.warn("Cross-partition transfer left for recovery: transferId={}, reason={}",
+                transfer.getTransferId(), reason);
+    }
+
+    private List<LedgerEntry> post(Transaction transaction, UUID debitAccountId, UUID creditAccountId, long amount) {
+        transactionRepository.save(transaction);
+        LedgerEntry debit = new LedgerEntry(UuidV7.generate(), transaction.getTransactionId(), debitAccountId,
+                -amount, LocalDateTime.now());
+        LedgerEntry credit = new LedgerEntry(UuidV7.generate(), transaction.getTransactionId(), creditAccountId,
+                amount, LocalDateTime.now());
+        List<LedgerEntry> entries = Arrays.asList(debit, credit);
+        ledgerEntryRepository.saveAll(entries);
+        return entries;
+    }
+
+    // The locked rows carry the status the caller checks, so no second read can see an older one
+    private Map<UUID, Account> lockSorted(UUID first, UUID second) {
+        List<UUID> sortedIds = Arrays.asList(first, second);
+        sortedIds.sort(AccountRepository.LOCK_ORDER);
+        Map<UUID, Account> locked = new LinkedHashMap<>();
+        for (UUID id : sortedIds) {
+            locked.put(id, accountRepository.lockForUpdate(id)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found: " + id)));
+        }
+        return locked;
+    }
+
+    private static RuntimeException refusal(int status, String message) {
+        return switch (status) {
+            case 404 -> new AccountNotFoundException(message);
+            case 422 -> new AccountClosedException(message);
+            default -> new IllegalArgumentException(message);
+        };
+    }
+
+    private void validateAmount(long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive, got: " + amount);
+        }
+    }
+
+    private void requireActive(Account account) {
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new AccountClosedException(
+                    "Account " + account.getAccountId() + " is " + account.getStatus() + ", not ACTIVE");
+        }
+    }
+}
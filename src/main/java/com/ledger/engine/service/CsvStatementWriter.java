@@ -0,0 +1,50 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.StatementRow;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.GZIPOutputStream;
+
+class CsvStatementWriter implements StatementWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final GZIPOutputStream gzip;
+    private final Writer writer;
+
+    CsvStatementWriter(OutputStream out) throws IOException {
+        this.gzip = new GZIPOutputStream(out, BUFFER_SIZE);
+        this.writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write("account_id,transaction_id,ledger_entry_id,amount,created_at\n");
+    }
+
+    @Override
+    public void write(StatementRow row) throws IOException {
+        writer.write(row.getAccountId().toString());
+        writer.write(',');
+        writer.write(row.getTransactionId().toString());
+        writer.write(',');
+        writer.write(row.getLedgerEntryId().toString());
+        writer.write(',');
+        writer.write(Long.toString(row.getAmount()));
+        writer.write(',');
+        long micros = row.getCreatedAtMicros();
+        writer.write(LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC).toString());
+        writer.write('\n');
+    }
+
+    @Override
+    public void finish() throws IOException {
+        writer.flush();
+        gzip.finish();
+        gzip.flush();
+    }
+}
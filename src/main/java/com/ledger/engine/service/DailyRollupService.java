@@ -0,0 +1,135 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.DailyRollup;
+import com.ledger.engine.exception.AccountNotFoundException;
+import com.ledger.engine.repository.AccountRepository;
+import com.ledger.engine.repository.DailyRollupRepository;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Per-account daily aggregates, folded in behind a watermark so reports never scan ledger_entry
+@Service
+public class DailyRollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(DailyRollupService.class);
+
+    private final DailyRollupRepository rollupRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountRepository accountRepository;
+    private final Duration settleLag;
+    private final int maxAccounts;
+    private final int maxDays;
+    private final AtomicLong watermarkEpochSeconds = new AtomicLong();
+
+    public DailyRollupService(DailyRollupRepository rollupRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            AccountRepository accountRepository,
+            MeterRegistry meterRegistry,
+            @Value("${ledger.rollup.settle-lag:PT1M}") Duration settleLag,
+            @Value("${ledger.rollup.max-accounts:10000}") int maxAccounts,
+            @Value("${ledger.rollup.max-days:366}") int maxDays) {
+        this.rollupRepository = rollupRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.accountRepository = accountRepository;
+        this.settleLag = settleLag;
+        this.maxAccounts = maxAccounts;
+        this.maxDays = maxDays;
+        Gauge.builder("ledger.rollup.watermark", watermarkEpochSeconds, AtomicLong::get)
+                .description("Epoch seconds of the latest created_at folded into the daily rollup")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.rollup.interval:PT1M}",
+            initialDelayString = "${ledger.rollup.interval:PT1M}")
+    @Transactional
+    public void scheduledRollup() {
+        // Entries stamped inside the settle lag, or by a transaction still open, may not be committed yet
+        rollUp(ledgerEntryRepository.settledCutoff(settleLag));
+    }
+
+    @Transactional
+    public int refresh(LocalDateTime cutoff) {
+        return rollUp(cutoff);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<LocalDateTime> getWatermark() {
+        return rollupRepository.watermark();
+    }
+
+    @Transactional(readOnly = true)
+    public List<DailyRollup> getDailyRollups(List<UUID> accountIds, LocalDate from, LocalDate to) {
+        return rollupRepository.findDaily(validateRequest(accountIds, from, to), from, to);
+    }
+
+    // One row per requested account, including accounts without activity in the range
+    @Transactional(readOnly = true)
+    public List<DailyRollup> getRangeSummary(List<UUID> accountIds, LocalDate from, LocalDate to) {
+        return rollupRepository.summarize(validateRequest(accountIds, from, to), from, to);
+    }
+
+    private int rollUp(LocalDateTime cutoff) {
+        if (!rollupRepository.tryAcquireJobLock()) {
+            log.info("Daily rollup skipped: another run holds the lock");
+            return 0;
+        }
+
+        LocalDateTime previous = rollupRepository.watermark().orElse(null);
+        LocalDateTime watermark = cutoff.truncatedTo(ChronoUnit.MICROS);
+        if (previous != null && !watermark.isAfter(previous)) {
+            return 0;
+        }
+
+        int rows = rollupRepository.rollUp(previous, watermark);
+        watermarkEpochSeconds.set(watermark.toEpochSecond(ZoneOffset.UTC));
+        log.info("Daily rollup advanced: window=({}, {}], accountDays={}", previous, watermark, rows);
+        return rows;
+    }
+
+    private Set<UUID> validateRequest(List<UUID> accountIds, LocalDate from, LocalDate to) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("from and to are required");
+        }
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("to must not be before from");
+        }
+        long days = ChronoUnit.DAYS.between(from, to) + 1;
+        if (days > maxDays) {
+            throw new IllegalArgumentException("Date range too long: " + days + " days (max " + maxDays + ")");
+        }
+        if (accountIds == null || accountIds.isEmpty()) {
+            throw new IllegalArgumentException("accountIds must not be empty");
+        }
+        Set<UUID> requested = new LinkedHashSet<>(accountIds);
+        if (requested.size() > maxAccounts) {
+            throw new IllegalArgumentException(
+                    "Too many accounts in one report: " + requested.size() + " (max " + maxAccounts + ")");
+        }
+        Set<UUID> existing = accountRepository.findExistingIds(requested);
+        for (UUID accountId : requested) {
+            if (!existing.contains(accountId)) {
+                throw new AccountNotFoundException("Account not found: " + accountId);
+            }
+        }
+        return requested;
+    }
+}
@@ -0,0 +1,254 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.PostingType;
+import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.exception.DuplicateRequestException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Serializes withdrawals and transfers per debit account in memory. Callers wait on a future instead of on
+ * the account's row lock, so a payout burst from one account holds one pooled connection rather than one per
+ * request. A drainer takes up to max-batch queued postings and hands them to LedgerService.postDebits, which
+ * locks their accounts once, checks the balance once and commits them together; other accounts drain in
+ * parallel on the remaining drainers.
+ *
+ * Results match LedgerService: each posting gets its own transaction and idempotency key, and a rejected
+ * posting fails alone. If the batch itself fails, each posting is retried on its own through LedgerService.
+ */
+@Service
+public class DebitQueueService {
+
+    private static final Logger log = LoggerFactory.getLogger(DebitQueueService.class);
+
+    private final LedgerService ledgerService;
+    private final boolean enabled;
+    private final int maxBatch;
+    private final ExecutorService drainers;
+    private final DistributionSummary batchSizes;
+    private final PostingAuditLog auditLog;
+    private final LedgerTracer tracer;
+
+    // An account has an entry exactly while a drain for it is scheduled or running
+    private final Map<UUID, ArrayDeque<QueuedPosting>> queues = new ConcurrentHashMap<>();
+
+    public DebitQueueService(LedgerService ledgerService,
+            MeterRegistry meterRegistry,
+            PostingAuditLog auditLog,
+            LedgerTracer tracer,
+            @Value("${ledger.debit-queue.enabled:true}") boolean enabled,
+            @Value("${ledger.debit-queue.max-batch:100}") int maxBatch,
+            @Value("${ledger.debit-queue.drainers:4}") int drainerCount) {
+        this.ledgerService = ledgerService;
+        this.enabled = enabled;
+        this.maxBatch = maxBatch;
+        this.auditLog = auditLog;
+        this.tracer = tracer;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.drainers = Executors.newFixedThreadPool(drainerCount, runnable -> {
+            Thread thread = new Thread(runnable, "debit-queue-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.batchSizes = DistributionSummary.builder("ledger.debit-queue.batch-size")
+                .description("Postings committed per debit-account lock acquisition")
+                .register(meterRegistry);
+        meterRegistry.gauge("ledger.debit-queue.accounts", queues, Map::size);
+    }
+
+    public Transaction withdraw(UUID accountId, long amount, String idempotencyKey) {
+        validateAmount(amount);
+        return submit(new QueuedPosting(PostingType.WITHDRAWAL, accountId, null, amount, idempotencyKey));
+    }
+
+    public Transaction transfer(UUID fromAccountId, UUID toAccountId, long amount, String idempotencyKey) {
+        validateAmount(amount);
+        if (fromAccountId.equals(toAccountId)) {
+            throw new IllegalArgumentException("Cannot transfer to the same account");
+        }
+        return submit(new QueuedPosting(PostingType.TRANSFER, fromAccountId, toAccountId, amount, idempotencyKey));
+    }
+
+    // In a sampled trace the caller's span covers the wait; the batch that posts it is traced as its child
+    private Transaction submit(QueuedPosting posting) {
+        posting.span = tracer.startSpan(posting.getType() == PostingType.TRANSFER
+                ? "DebitQueueService.transfer" : "DebitQueueService.withdraw");
+        try {
+            return enabled ? enqueue(posting) : postAlone(posting);
+        } catch (RuntimeException e) {
+            posting.span.recordError(e);
+            throw e;
+        } finally {
+            posting.span.close();
+        }
+    }
+
+    private Transaction enqueue(QueuedPosting posting) {
+        boolean[] schedule = {false};
+        queues.compute(posting.getDebitAccountId(), (id, queue) -> {
+            if (queue == null) {
+                queue = new ArrayDeque<>();
+                schedule[0] = true;
+            }
+            queue.add(posting);
+            return queue;
+        });
+        if (schedule[0]) {
+            drainers.execute(() -> drain(posting.getDebitAccountId()));
+        }
+
+        try {
+            return posting.result.get();
+        } catch (InterruptedException e) {
+            // The posting stays queued and may still commit; a retry with the same key reports it as a duplicate
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for posting " + posting.getIdempotencyKey(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    // One batch per turn, then back of the line, so a single hot account cannot monopolize a drainer
+    private void drain(UUID accountId) {
+        List<QueuedPosting> batch = new ArrayList<>();
+        queues.computeIfPresent(accountId, (id, queue) -> {
+            while (batch.size() < maxBatch && !queue.isEmpty()) {
+                batch.add(queue.poll());
+            }
+            return queue;
+        });
+        try {
+            if (!batch.isEmpty()) {
+                post(accountId, batch);
+            }
+        } finally {
+            ArrayDeque<QueuedPosting> remaining = queues.computeIfPresent(accountId,
+                    (id, queue) -> queue.isEmpty() ? null : queue);
+            if (remaining != null) {
+                drainers.execute(() -> drain(accountId));
+            }
+        }
+    }
+
+    private void post(UUID accountId, List<QueuedPosting> batch) {
+        batchSizes.record(batch.size());
+        // Parented by the first sampled caller and linked to the rest, so every caller's trace reaches it
+        LedgerTracer.Span span = tracer.startLinkedSpan("DebitQueueService.batch",
+                        batch.stream().map(p -> p.span).toList())
+                .setAttribute("ledger.account_id", accountId.toString())
+                .setAttribute("ledger.batch_size", batch.size());
+        try {
+            postOrIsolate(accountId, batch);
+        } catch (RuntimeException e) {
+            span.recordError(e);
+            throw e;
+        } finally {
+            span.close();
+        }
+    }
+
+    private void postOrIsolate(UUID accountId, List<QueuedPosting> batch) {
+        try {
+            ledgerService.postDebits(accountId, batch);
+        } catch (RuntimeException e) {
+            // e.g. another node committed one of the keys first; isolate the offending posting (audited there)
+            log.warn("Debit batch failed, posting individually: accountId={}, size={}, reason={}",
+                    accountId, batch.size(), e.getMessage());
+            for (QueuedPosting posting : batch) {
+                isolate(posting);
+            }
+            return;
+        }
+        // Only after commit: a caller must never see a transaction that could still roll back
+        int posted = 0;
+        for (QueuedPosting posting : batch) {
+            if (posting.getFailure() != null) {
+                auditLog.rejected(posting.getType(), posting.getDebitAccountId(), posting.getCreditAccountId(),
+                        posting.getAmount(), posting.getIdempotencyKey(), posting.getFailure(), posting.submittedAt);
+                posting.result.completeExceptionally(posting.getFailure());
+            } else {
+                auditLog.committed(posting.getType(), posting.getTransaction().getTransactionId(),
+                        posting.getDebitAccountId(), posting.getCreditAccountId(), posting.getAmount(),
+                        posting.getIdempotencyKey(), posting.submittedAt);
+                posting.result.complete(posting.getTransaction());
+                posted++;
+            }
+        }
+        log.info("Debit batch committed: accountId={}, posted={}, rejected={}",
+                accountId, posted, batch.size() - posted);
+    }
+
+    /*
+     * An exception from the batch does not prove it rolled back: if the commit went through and only its
+     * acknowledgement was lost, the retry finds the posting's own transaction under its key. That duplicate is
+     * the posting's result, not a rejection; a key that belonged to another transaction stays a duplicate.
+     */
+    private void isolate(QueuedPosting posting) {
+        Transaction attempted = posting.getTransaction();
+        try {
+            posting.result.complete(postAlone(posting));
+        } catch (DuplicateRequestException duplicate) {
+            if (attempted != null && attempted.getTransactionId().equals(duplicate.getExistingTransactionId())) {
+                log.info("Debit batch had committed: accountId={}, idempotencyKey={}",
+                        posting.getDebitAccountId(), posting.getIdempotencyKey());
+                posting.result.complete(attempted);
+            } else {
+                posting.result.completeExceptionally(duplicate);
+            }
+        } catch (RuntimeException single) {
+            posting.result.completeExceptionally(single);
+        }
+    }
+
+    private Transaction postAlone(QueuedPosting posting) {
+        return posting.getType() == PostingType.TRANSFER
+                ? ledgerService.transfer(posting.getDebitAccountId(), posting.getCreditAccountId(),
+                        posting.getAmount(), posting.getIdempotencyKey())
+                : ledgerService.withdraw(posting.getDebitAccountId(), posting.getAmount(), posting.getIdempotencyKey());
+    }
+
+    private void validateAmount(long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive, got: " + amount);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Let queued drains finish so no caller is left waiting on a future nobody will complete
+        drainers.shutdown();
+    }
+
+    private static class QueuedPosting extends LedgerService.DebitPosting {
+
+        private final CompletableFuture<Transaction> result = new CompletableFuture<>();
+        private final long submittedAt = System.nanoTime();
+        private LedgerTracer.Span span;
+
+        QueuedPosting(PostingType type, UUID debitAccountId, UUID creditAccountId, long amount,
+                String idempotencyKey) {
+            super(type, debitAccountId, creditAccountId, amount, idempotencyKey);
+        }
+    }
+}
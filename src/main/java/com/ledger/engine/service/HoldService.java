@@ -0,0 +1,272 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.AccountStatus;
+import com.ledger.engine.domain.FundHold;
+import com.ledger.engine.domain.HoldStatus;
+import com.ledger.engine.domain.LedgerEntry;
+import com.ledger.engine.domain.PostingType;
+import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.domain.TransactionStatus;
+import com.ledger.engine.domain.UuidV7;
+import com.ledger.engine.exception.AccountClosedException;
+import com.ledger.engine.exception.AccountNotFoundException;
+import com.ledger.engine.exception.DuplicateRequestException;
+import com.ledger.engine.exception.HoldNotFoundException;
+import com.ledger.engine.exception.InsufficientFundsException;
+import com.ledger.engine.repository.AccountRepository;
+import com.ledger.engine.repository.FundHoldRepository;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import com.ledger.engine.repository.PostingOutboxRepository;
+import com.ledger.engine.repository.SessionTimeoutRepository;
+import com.ledger.engine.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * Card authorizations. A hold reserves funds without writing to the ledger: withdraw() and transfer() see
+ * balance minus the account's active holds, and nothing is posted until the hold is captured, in one posting
+ * for the captured amount. The uncaptured remainder is released with it. Every state change takes the account
+ * lock before the hold row, the same order captures use.
+ */
+@Service
+public class HoldService {
+
+    private static final Logger log = LoggerFactory.getLogger(HoldService.class);
+
+    private final FundHoldRepository holdRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final PostingOutboxRepository outboxRepository;
+    private final SessionTimeoutRepository timeoutRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int expiryBatchSize;
+    private final Duration lockTimeout;
+    private final Duration statementTimeout;
+
+    public HoldService(FundHoldRepository holdRepository,
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            PostingOutboxRepository outboxRepository,
+            SessionTimeoutRepository timeoutRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${ledger.holds.expiry-batch-size:1000}") int expiryBatchSize,
+            @Value("${ledger.timeouts.posting.lock-timeout:PT2S}") Duration lockTimeout,
+            @Value("${ledger.timeouts.posting.statement-timeout:PT5S}") Duration statementTimeout) {
+        this.holdRepository = holdRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.outboxRepository = outboxRepository;
+        this.timeoutRepository = timeoutRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.expiryBatchSize = expiryBatchSize;
+        this.lockTimeout = lockTimeout;
+        this.statementTimeout = statementTimeout;
+    }
+
+    @Transactional
+    public FundHold placeHold(UUID accountId, long amount, String idempotencyKey, LocalDateTime expiresAt) {
+        validateAmount(amount);
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            throw new IllegalArgumentException("idempotencyKey is required");
+        }
+        // Expiry is always judged by the database clock, the one reservedAmount and expireDue compare against
+        if (expiresAt == null || !expiresAt.isAfter(ledgerEntryRepository.currentTimestamp())) {
+            throw new IllegalArgumentException("expiresAt must be in the future");
+        }
+
+        timeoutRepository.setLocal(lockTimeout, statementTimeout);
+        Account account = accountRepository.lockForUpdate(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
+        // Checked under the account lock, so a replay racing the original sees its hold
+        Optional<FundHold> existing = holdRepository.findByIdempotencyKey(idempotencyKey);
+        if (existing.isPresent()) {
+            log.info("Duplicate hold request detected: idempotencyKey={}", idempotencyKey);
+            return existing.get();
+        }
+        requireActive(account);
+
+        long balance = ledgerEntryRepository.deriveBalance(accountId);
+        long reserved = holdRepository.reservedAmount(accountId);
+        if (balance - reserved < amount) {
+            log.warn("Insufficient funds for hold: accountId={}, balance={}, reserved={}, requested={}",
+                    accountId, balance, reserved, amount);
+            throw new InsufficientFundsException(String.format(
+                    "Insufficient funds: balance=%d, reserved=%d, requested=%d", balance, reserved, amount));
+        }
+
+        FundHold hold = new FundHold(UuidV7.generate(), accountId, amount, null, HoldStatus.ACTIVE,
+                idempotencyKey, null, expiresAt, LocalDateTime.now(), null);
+        holdRepository.save(hold);
+        accountRepository.incrementVersions(List.of(accountId));
+
+        log.info("Hold placed: holdId={}, accountId={}, amount={}, expiresAt={}",
+                hold.getHoldId(), accountId, amount, expiresAt);
+        return holdRepository.findById(hold.getHoldId()).orElseThrow();
+    }
+
+    @Transactional(readOnly = true)
+    public FundHold getHold(UUID holdId) {
+        return holdRepository.findById(holdId)
+                .orElseThrow(() -> new HoldNotFoundException("Hold not found: " + holdId));
+    }
+
+    /*
+     * Posts amount (at most the held amount) from the hold's account, to toAccountId when given or out of the
+     * ledger otherwise, and closes the hold. idempotencyKey identifies the posting, like any other.
+     */
+    @Transactional
+    public Transaction captureHold(UUID holdId, long amount, UUID toAccountId, String idempotencyKey) {
+        validateAmount(amount);
+
+        Optional<Transaction> existing = transactionRepository.findByIdempotencyKey(idempotencyKey);
+        if (existing.isPresent()) {
+            log.info("Duplicate capture request detected: idempotencyKey={}", idempotencyKey);
+            throw new DuplicateRequestException(
+                    "Request already processed: " + idempotencyKey,
+                    existing.get().getTransactionId());
+        }
+
+        UUID accountId = getHold(holdId).getAccountId();
+        if (accountId.equals(toAccountId)) {
+            throw new IllegalArgumentException("Cannot capture a hold into its own account");
+        }
+        List<UUID> sortedIds = new ArrayList<>(List.of(accountId));
+        if (toAccountId != null) {
+            sortedIds.add(toAccountId);
+            sortedIds.sort(AccountRepository.LOCK_ORDER);
+        }
+        timeoutRepository.setLocal(lockTimeout, statementTimeout);
+        for (UUID id : sortedIds) {
+            Account lockedAccount = accountRepository.lockForUpdate(id)
+                    .orElseThrow(() -> new AccountNotFoundException("Account not found: " + id));
+            requireActive(lockedAccount);
+        }
+
+        FundHold hold = holdRepository.lockForUpdate(holdId).orElseThrow();
+        requireOpen(hold, ledgerEntryRepository.currentTimestamp());
+        if (amount > hold.getAmount()) {
+            throw new IllegalArgumentException(String.format(
+                    "Capture amount %d exceeds held amount %d", amount, hold.getAmount()));
+        }
+        // The hold's own reservation covers the capture; this only trips if the ledger was changed underneath it
+        long balance = ledgerEntryRepository.deriveBalance(accountId);
+        long otherReserved = holdRepository.reservedAmount(accountId) - hold.getAmount();
+        if (balance - otherReserved < amount) {
+            throw new InsufficientFundsException(String.format(
+                    "Insufficient funds: balance=%d, reserved=%d, requested=%d", balance, otherReserved, amount));
+        }
+
+        UUID txId = UuidV7.generate();
+        Transaction transaction = new Transaction(txId, idempotencyKey,
+                TransactionStatus.COMPLETED, LocalDateTime.now());
+        transactionRepository.save(transaction);
+
+        LedgerEntry debit = new LedgerEntry(UuidV7.generate(), txId, accountId, -amount, LocalDateTime.now());
+        List<LedgerEntry> entries;
+        if (toAccountId != null) {
+            LedgerEntry credit = new LedgerEntry(UuidV7.generate(), txId, toAccountId, amount, LocalDateTime.now());
+            entries = Arrays.asList(debit, credit);
+        } else {
+            entries = List.of(debit);
+        }
+        ledgerEntryRepository.saveAll(entries);
+        holdRepository.markCaptured(holdId, amount, txId);
+        accountRepository.incrementVersions(sortedIds);
+        outboxRepository.append(toAccountId != null ? PostingType.TRANSFER : PostingType.WITHDRAWAL, entries);
+
+        log.info("Hold captured: holdId={}, txId={}, amount={}, released={}",
+                holdId, txId, amount, hold.getAmount() - amount);
+        return transaction;
+    }
+
+    // Releasing twice, or releasing a hold that has already expired, is a no-op
+    @Transactional
+    public FundHold releaseHold(UUID holdId) {
+        UUID accountId = getHold(holdId).getAccountId();
+        timeoutRepository.setLocal(lockTimeout, statementTimeout);
+        accountRepository.lockForUpdate(accountId).orElseThrow();
+
+        FundHold hold = holdRepository.lockForUpdate(holdId).orElseThrow();
+        if (hold.getStatus() == HoldStatus.CAPTURED) {
+            throw new IllegalArgumentException("Hold " + holdId + " is CAPTURED and can no longer be released");
+        }
+        if (hold.getStatus() == HoldStatus.ACTIVE) {
+            holdRepository.markReleased(holdId);
+            accountRepository.incrementVersions(List.of(accountId));
+            log.info("Hold released: holdId={}, accountId={}, amount={}", holdId, accountId, hold.getAmount());
+        }
+        return getHold(holdId);
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.holds.expiry-interval:PT1M}",
+            initialDelayString = "${ledger.holds.expiry-interval:PT1M}")
+    public void scheduledExpiry() {
+        expireDue();
+    }
+
+    /*
+     * Expired holds stopped counting against the available balance the moment they expired; this records it
+     * and bumps the account versions so cached reads revalidate. One short transaction per batch.
+     */
+    public int expireDue() {
+        int expired = 0;
+        Map<UUID, UUID> batch;
+        do {
+            batch = holdRepository.findExpired(expiryBatchSize);
+            if (batch.isEmpty()) {
+                break;
+            }
+            Map<UUID, UUID> holds = batch;
+            Integer count = transactionTemplate.execute(status -> {
+                accountRepository.incrementVersions(holds.values());
+                return holdRepository.expireAll(holds.keySet()).size();
+            });
+            expired += count != null ? count : 0;
+        } while (batch.size() == expiryBatchSize);
+        if (expired > 0) {
+            log.info("Holds expired: count={}", expired);
+        }
+        return expired;
+    }
+
+    private void requireOpen(FundHold hold, LocalDateTime now) {
+        if (hold.getStatus() != HoldStatus.ACTIVE) {
+            throw new IllegalArgumentException("Hold " + hold.getHoldId() + " is " + hold.getStatus() + ", not ACTIVE");
+        }
+        if (!hold.getExpiresAt().isAfter(now)) {
+            throw new IllegalArgumentException("Hold " + hold.getHoldId() + " expired at " + hold.getExpiresAt());
+        }
+    }
+
+    private void validateAmount(long amount) {
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive, got: " + amount);
+        }
+    }
+
+    private void requireActive(Account account) {
+        if (account.getStatus() != AccountStatus.ACTIVE) {
+            throw new AccountClosedException(
+                    "Account " + account.getAccountId() + " is " + account.getStatus() + ", not ACTIVE");
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.ledger.engine.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ledger.engine.exception.ImportValidationException;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+// Streams one ledger entry per line from CSV (with header) or NDJSON; holds only the current line in memory
+class ImportRecordReader implements Closeable {
+
+    enum Format {
+        CSV,
+        NDJSON;
+
+        static Format fromFileName(String fileName) {
+            String lower = fileName.toLowerCase(Locale.ROOT);
+            if (lower.endsWith(".csv")) {
+                return CSV;
+            }
+            if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+                return NDJSON;
+            }
+            throw new IllegalArgumentException("Cannot infer import format from file name: " + fileName);
+        }
+    }
+
+    static final class Row {
+
+        final long lineNumber;
+        final String idempotencyKey;
+        final UUID accountId;
+        final long amount;
+        final LocalDateTime createdAt;
+
+        Row(long lineNumber, String idempotencyKey, UUID accountId, long amount, LocalDateTime createdAt) {
+            this.lineNumber = lineNumber;
+            this.idempotencyKey = idempotencyKey;
+            this.accountId = accountId;
+            this.amount = amount;
+            this.createdAt = createdAt;
+        }
+    }
+
+    private final BufferedReader reader;
+    private final Format format;
+    private final ObjectMapper objectMapper;
+    private long lineNumber;
+
+    private int keyColumn = -1;
+    private int accountColumn = -1;
+    private int amountColumn = -1;
+    private int createdAtColumn = -1;
+
+    ImportRecordReader(BufferedReader reader, Format format, ObjectMapper objectMapper) {
+        this.reader = reader;
+        this.format = format;
+        this.objectMapper = objectMapper;
+        if (format == Format.CSV) {
+            readHeader();
+        }
+    }
+
+    long lineNumber() {
+        return lineNumber;
+    }
+
+    // Skips already committed lines without parsing them; the CSV header counts as line 1
+    void skipTo(long line) {
+        while (lineNumber < line) {
+            if (readLine() == null) {
+                return;
+            }
+        }
+    }
+
+    Row next() {
+        String line;
+        do {
+            line = readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+        return format == Format.CSV ? parseCsv(line) : parseJson(line);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String readLine() {
+        try {
+            String line = reader.readLine();
+            if (line != null) {
+                lineNumber++;
+            }
+            return line;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void readHeader() {
+        String header = readLine();
+        if (header == null) {
+            throw new ImportValidationException(1, "CSV file is empty; expected a header line");
+        }
+        List<String> columns = splitCsv(header);
+        for (int i = 0; i < columns.size(); i++) {
+            switch (columns.get(i).trim().toLowerCase(Locale.ROOT)) {
+                case "idempotency_key" -> keyColumn = i;
+                case "account_id" -> accountColumn = i;
+                case "amount" -> amountColumn = i;
+                case "created_at" -> createdAtColumn = i;
+                default -> {
+                }
+            }
+        }
+        if (keyColumn < 0 || accountColumn < 0 || amountColumn < 0) {
+            throw new ImportValidationException(1,
+                    "CSV header must contain idempotency_key, account_id and amount, got: " + header);
+        }
+    }
+
+    private Row parseCsv(String line) {
+        List<String> fields = splitCsv(line);
+        return toRow(field(fields, keyColumn), field(fields, accountColumn),
+                field(fields, amountColumn), createdAtColumn >= 0 ? field(fields, createdAtColumn) : null);
+    }
+
+    private Row parseJson(String line) {
+        JsonNode node;
+        try {
+            node = objectMapper.readTree(line);
+        } catch (JsonProcessingException e) {
+            throw new ImportValidationException(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+        }
+        return toRow(text(node, "idempotencyKey"), text(node, "accountId"),
+                text(node, "amount"), text(node, "createdAt"));
+    }
+
+    private Row toRow(String key, String accountId, String amount, String createdAt) {
+        if (key == null || key.isBlank()) {
+            throw new ImportValidationException(lineNumber, "idempotency key is required");
+        }
+        if (key.length() > 255) {
+            throw new ImportValidationException(lineNumber, "idempotency key longer than 255 characters");
+        }
+        try {
+            return new Row(lineNumber, key, UUID.fromString(accountId), Long.parseLong(amount),
+                    createdAt == null || createdAt.isEmpty() ? null : LocalDateTime.parse(createdAt));
+        } catch (NullPointerException | IllegalArgumentException | DateTimeParseException e) {
+            throw new ImportValidationException(lineNumber,
+                    "invalid entry (accountId=" + accountId + ", amount=" + amount + ", createdAt=" + createdAt + ")");
+        }
+    }
+
+    private String field(List<String> fields, int index) {
+        return index < fields.size() ? fields.get(index) : null;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    // RFC 4180 fields on a single line: quoted fields may contain commas and doubled quotes
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        fields.add(current.toString());
+        return fields;
+    }
+}
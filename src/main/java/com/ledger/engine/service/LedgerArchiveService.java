@@ -0,0 +1,158 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.AccountArchive;
+import com.ledger.engine.domain.AccountStatus;
+import com.ledger.engine.domain.UuidV7;
+import com.ledger.engine.domain.VerificationRun;
+import com.ledger.engine.repository.AccountRepository;
+import com.ledger.engine.repository.LedgerArchiveRepository;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import com.ledger.engine.repository.LedgerVerificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/*
+ * Moves the settled history of CLOSED accounts out of ledger_entry into ledger_entry_archive. Only entries the
+ * invariant verifier has already passed are eligible, and an account is skipped while any of its entries up to
+ * the cutoff belongs to an INITIATED transaction. Each account is archived in its own short transaction under
+ * its row lock: the entries are moved in one statement and a carry entry worth exactly what moved is appended,
+ * so deriveBalance() and the global sum never see a difference. Earlier carries stay. Readers of history go
+ * through ledger_entry_history and see the ledger as it was before.
+ */
+@Service
+public class LedgerArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerArchiveService.class);
+
+    private final LedgerArchiveRepository archiveRepository;
+    private final AccountRepository accountRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerVerificationRepository verificationRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration minAge;
+    private final int batchSize;
+
+    private final Counter accountsArchived;
+    private final Counter entriesArchived;
+    private final Counter accountsSkipped;
+    private final Timer runTimer;
+
+    public LedgerArchiveService(LedgerArchiveRepository archiveRepository,
+            AccountRepository accountRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            LedgerVerificationRepository verificationRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${ledger.archive.min-age:P90D}") Duration minAge,
+            @Value("${ledger.archive.batch-size:100}") int batchSize) {
+        this.archiveRepository = archiveRepository;
+        this.accountRepository = accountRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.verificationRepository = verificationRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minAge = minAge;
+        this.batchSize = batchSize;
+
+        this.accountsArchived = meterRegistry.counter("ledger.archive.accounts");
+        this.entriesArchived = meterRegistry.counter("ledger.archive.entries");
+        this.accountsSkipped = meterRegistry.counter("ledger.archive.skipped");
+        this.runTimer = meterRegistry.timer("ledger.archive.run");
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.archive.interval:PT1H}",
+            initialDelayString = "${ledger.archive.interval:PT1H}")
+    public void scheduledArchive() {
+        archiveClosedAccounts(ledgerEntryRepository.currentTimestamp().minus(minAge));
+    }
+
+    // Archives entries created at or before olderThan, capped at the verifier's watermark; returns the accounts archived
+    public int archiveClosedAccounts(LocalDateTime olderThan) {
+        Optional<LocalDateTime> verifiedThrough = verificationRepository.findLatestRun()
+                .map(VerificationRun::getWindowEnd);
+        if (verifiedThrough.isEmpty()) {
+            log.info("Ledger archival skipped: nothing has been verified yet");
+            return 0;
+        }
+        LocalDateTime cutoff = olderThan.isBefore(verifiedThrough.get()) ? olderThan : verifiedThrough.get();
+
+        int[] archived = new int[1];
+        runTimer.record(() -> {
+            UUID after = null;
+            List<UUID> candidates;
+            do {
+                candidates = archiveRepository.findCandidates(cutoff, after, batchSize);
+                for (UUID accountId : candidates) {
+                    Optional<AccountArchive> result = transactionTemplate.execute(status -> archive(accountId, cutoff));
+                    if (result != null && result.isPresent()) {
+                        archived[0]++;
+                    } else {
+                        accountsSkipped.increment();
+                    }
+                }
+                after = candidates.isEmpty() ? after : candidates.get(candidates.size() - 1);
+            } while (candidates.size() == batchSize);
+        });
+        if (archived[0] > 0) {
+            log.info("Ledger archival: cutoff={}, accounts={}", cutoff, archived[0]);
+        }
+        return archived[0];
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<AccountArchive> getArchive(UUID accountId) {
+        return archiveRepository.findByAccountId(accountId);
+    }
+
+    private Optional<AccountArchive> archive(UUID accountId, LocalDateTime cutoff) {
+        Optional<Account> account = accountRepository.lockForUpdate(accountId);
+        if (account.isEmpty() || account.get().getStatus() != AccountStatus.CLOSED) {
+            return Optional.empty();
+        }
+        if (archiveRepository.hasUnsettledEntries(accountId, cutoff)) {
+            log.info("Ledger archival deferred: accountId={} has unsettled transactions before {}", accountId, cutoff);
+            return Optional.empty();
+        }
+
+        Optional<AccountArchive> previous = archiveRepository.findByAccountId(accountId);
+        AccountArchive moved = archiveRepository.moveEntries(accountId, cutoff);
+        if (moved.getEntryCount() == 0) {
+            return Optional.empty();
+        }
+
+        // Entries back-dated behind an earlier run can land before its cutoff; the carry stays at the later one
+        LocalDateTime through = previous.map(AccountArchive::getArchivedThrough)
+                .filter(earlier -> earlier.isAfter(cutoff))
+                .orElse(cutoff);
+        AccountArchive carry = new AccountArchive(accountId, through, UuidV7.generate(), UuidV7.generate(),
+                moved.getEntryCount(), moved.getAmountSum(), null);
+        archiveRepository.insertCarry(carry, "ledger-archive:" + accountId + ":" + carry.getCarryTransactionId());
+        AccountArchive archive = new AccountArchive(accountId, through,
+                carry.getCarryTransactionId(), carry.getCarryEntryId(),
+                moved.getEntryCount() + previous.map(AccountArchive::getEntryCount).orElse(0L),
+                moved.getAmountSum() + previous.map(AccountArchive::getAmountSum).orElse(0L),
+                null);
+        archiveRepository.upsert(archive);
+
+        accountsArchived.increment();
+        entriesArchived.increment(moved.getEntryCount());
+        log.info("Ledger history archived: accountId={}, through={}, entries={}, archivedTotal={}",
+                accountId, through, moved.getEntryCount(), archive.getEntryCount());
+        return Optional.of(archive);
+    }
+}
@@ -0,0 +1,284 @@
+package com.ledger.engine.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.AccountStatus;
+import com.ledger.engine.domain.ImportStatus;
+import com.ledger.engine.domain.LedgerEntry;
+import com.ledger.engine.domain.LedgerImport;
+import com.ledger.engine.domain.PostingType;
+import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.domain.TransactionStatus;
+import com.ledger.engine.domain.UuidV7;
+import com.ledger.engine.exception.ImportValidationException;
+import com.ledger.engine.repository.AccountRepository;
+import com.ledger.engine.repository.BalanceCheckpointRepository;
+import com.ledger.engine.repository.DailyRollupRepository;
+import com.ledger.engine.repository.FundHoldRepository;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import com.ledger.engine.repository.LedgerImportRepository;
+import com.ledger.engine.repository.LedgerVerificationRepository;
+import com.ledger.engine.repository.PostingOutboxRepository;
+import com.ledger.engine.repository.TransactionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+
+/*
+ * Offline bulk loader: streams a file, validates each transaction in memory and COPYs it in resumable chunks.
+ * Each chunk locks its accounts the way the online path does and applies the same rules: only ACTIVE accounts
+ * take entries, and no debit may leave an account's balance below its active holds.
+ */
+@Service
+public class LedgerImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerImportService.class);
+
+    private final LedgerImportRepository importRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final AccountRepository accountRepository;
+    private final FundHoldRepository holdRepository;
+    private final PostingOutboxRepository outboxRepository;
+    private final BalanceCheckpointRepository checkpointRepository;
+    private final LedgerVerificationRepository verificationRepository;
+    private final DailyRollupRepository rollupRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkEntries;
+
+    public LedgerImportService(LedgerImportRepository importRepository,
+            TransactionRepository transactionRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            AccountRepository accountRepository,
+            FundHoldRepository holdRepository,
+            PostingOutboxRepository outboxRepository,
+            BalanceCheckpointRepository checkpointRepository,
+            LedgerVerificationRepository verificationRepository,
+            DailyRollupRepository rollupRepository,
+            ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager,
+            @Value("${ledger.import.chunk-entries:50000}") int chunkEntries) {
+        this.importRepository = importRepository;
+        this.transactionRepository = transactionRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.accountRepository = accountRepository;
+        this.holdRepository = holdRepository;
+        this.outboxRepository = outboxRepository;
+        this.checkpointRepository = checkpointRepository;
+        this.verificationRepository = verificationRepository;
+        this.rollupRepository = rollupRepository;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkEntries = chunkEntries;
+    }
+
+    public LedgerImport importFile(Path file, String importName) {
+        ImportRecordReader.Format format = ImportRecordReader.Format.fromFileName(file.getFileName().toString());
+        LedgerImport progress = importRepository.start(importName, file.toAbsolutePath().toString());
+        if (progress.getStatus() == ImportStatus.COMPLETED) {
+            log.info("Import already completed: name={}, transactions={}", importName,
+                    progress.getTransactionsImported());
+            return progress;
+        }
+        if (progress.getLinesCommitted() > 0) {
+            log.info("Resuming import: name={}, linesCommitted={}", importName, progress.getLinesCommitted());
+        }
+
+        long startedAt = System.nanoTime();
+        long entriesLoaded = 0;
+        try (ImportRecordReader reader = new ImportRecordReader(
+                Files.newBufferedReader(file, StandardCharsets.UTF_8), format, objectMapper)) {
+            reader.skipTo(progress.getLinesCommitted());
+
+            Chunk chunk = new Chunk();
+            List<ImportRecordReader.Row> current = new ArrayList<>();
+            ImportRecordReader.Row row;
+            while ((row = reader.next()) != null) {
+                if (!current.isEmpty() && !current.get(0).idempotencyKey.equals(row.idempotencyKey)) {
+                    chunk.add(current);
+                    current = new ArrayList<>();
+                    if (chunk.entryCount >= chunkEntries) {
+                        entriesLoaded += commitChunk(importName, chunk);
+                        chunk = new Chunk();
+                    }
+                }
+                if (current.size() >= chunkEntries) {
+                    throw new ImportValidationException(row.lineNumber,
+                            "transaction " + row.idempotencyKey + " has more than " + chunkEntries + " entries");
+                }
+                current.add(row);
+            }
+            if (!current.isEmpty()) {
+                chunk.add(current);
+            }
+            if (!chunk.transactions.isEmpty()) {
+                entriesLoaded += commitChunk(importName, chunk);
+            }
+            importRepository.markCompleted(importName);
+        } catch (IOException e) {
+            importRepository.markFailed(importName, e.getMessage());
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            importRepository.markFailed(importName, e.getMessage());
+            throw e;
+        }
+
+        double seconds = Math.max((System.nanoTime() - startedAt) / 1e9, 1e-3);
+        log.info("Import completed: name={}, entries={}, entriesPerSecond={}",
+                importName, entriesLoaded, Math.round(entriesLoaded / seconds));
+        return importRepository.findByName(importName).orElseThrow();
+    }
+
+    private long commitChunk(String importName, Chunk chunk) {
+        Long loaded = transactionTemplate.execute(status -> {
+            Set<String> existingKeys = transactionRepository.findExistingIdempotencyKeys(chunk.keys);
+            Map<UUID, AccountStatus> statuses = new HashMap<>();
+            for (Account account : accountRepository.lockAllForUpdate(chunk.accountIds)) {
+                statuses.put(account.getAccountId(), account.getStatus());
+            }
+            // Running balances under the locks, so each debit is checked where it falls in the file
+            Map<UUID, Long> balances = ledgerEntryRepository.deriveBalances(chunk.accountIds);
+            Map<UUID, Long> reserved = holdRepository.reservedAmounts(chunk.accountIds);
+            LocalDateTime now = ledgerEntryRepository.currentTimestamp();
+
+            List<Transaction> transactions = new ArrayList<>(chunk.transactions.size());
+            List<LedgerEntry> entries = new ArrayList<>(chunk.entryCount);
+            Map<UUID, PostingType> typeByTransaction = new HashMap<>();
+            LocalDateTime earliestBackdated = null;
+            long skipped = 0;
+
+            for (List<ImportRecordReader.Row> rows : chunk.transactions) {
+                ImportRecordReader.Row first = rows.get(0);
+                if (existingKeys.contains(first.idempotencyKey)) {
+                    // Already loaded by an earlier run or the online API; replays are idempotent
+                    skipped++;
+                    continue;
+                }
+                LocalDateTime createdAt = first.createdAt != null ? first.createdAt : now;
+                if (first.createdAt != null && (earliestBackdated == null || createdAt.isBefore(earliestBackdated))) {
+                    earliestBackdated = createdAt;
+                }
+
+                UUID txId = UuidV7.generate();
+                transactions.add(new Transaction(txId, first.idempotencyKey, TransactionStatus.COMPLETED, createdAt));
+                typeByTransaction.put(txId, postingType(rows));
+                for (ImportRecordReader.Row row : rows) {
+                    AccountStatus accountStatus = statuses.get(row.accountId);
+                    if (accountStatus == null) {
+                        throw new ImportValidationException(row.lineNumber, "account not found: " + row.accountId);
+                    }
+                    if (accountStatus != AccountStatus.ACTIVE) {
+                        throw new ImportValidationException(row.lineNumber,
+                                "account " + row.accountId + " is " + accountStatus + ", not ACTIVE");
+                    }
+                    long balance = balances.merge(row.accountId, row.amount, Long::sum);
+                    long held = reserved.getOrDefault(row.accountId, 0L);
+                    if (row.amount < 0 && balance - held < 0) {
+                        throw new ImportValidationException(row.lineNumber, "insufficient funds in account "
+                                + row.accountId + ": balance=" + (balance - row.amount) + ", reserved=" + held
+                                + ", requested=" + (-row.amount));
+                    }
+                    entries.add(new LedgerEntry(UuidV7.generate(), txId, row.accountId, row.amount, createdAt));
+                }
+            }
+
+            if (!transactions.isEmpty()) {
+                if (earliestBackdated != null) {
+                    refreshDerivedState(earliestBackdated);
+                }
+                transactionRepository.copyAll(transactions);
+                ledgerEntryRepository.copyAll(entries);
+                accountRepository.incrementVersions(chunk.accountIds);
+                outboxRepository.appendAll(entries, typeByTransaction);
+            }
+            importRepository.recordChunk(importName, chunk.lastLine,
+                    transactions.size(), skipped, entries.size());
+            return (long) entries.size();
+        });
+
+        log.info("Import chunk committed: name={}, throughLine={}, transactions={}, entries={}",
+                importName, chunk.lastLine, chunk.transactions.size(), loaded);
+        return loaded != null ? loaded : 0L;
+    }
+
+    // Back-dated entries invalidate checkpoints, verified windows and rolled-up days at or after their timestamp
+    private void refreshDerivedState(LocalDateTime from) {
+        checkpointRepository.acquireJobLock();
+        verificationRepository.acquireJobLock();
+        rollupRepository.acquireJobLock();
+        int checkpoints = checkpointRepository.deleteFrom(from);
+        int runs = verificationRepository.deleteRunsFrom(from);
+        int rollupDays = rollupRepository.rewind(from);
+        if (checkpoints > 0 || runs > 0 || rollupDays > 0) {
+            log.info("Import rewound derived state: from={}, checkpointsDeleted={}, verificationRunsDeleted={}, "
+                    + "rollupDaysDeleted={}", from, checkpoints, runs, rollupDays);
+        }
+    }
+
+    private static PostingType postingType(List<ImportRecordReader.Row> rows) {
+        if (rows.size() > 1) {
+            return PostingType.TRANSFER;
+        }
+        return rows.get(0).amount > 0 ? PostingType.DEPOSIT : PostingType.WITHDRAWAL;
+    }
+
+    private static class Chunk {
+
+        private final List<List<ImportRecordReader.Row>> transactions = new ArrayList<>();
+        private final Set<String> keys = new HashSet<>();
+        private final Set<UUID> accountIds = new HashSet<>();
+        private int entryCount;
+        private long lastLine;
+
+        // Same invariants as the online path: non-zero legs, one timestamp, multi-entry transactions sum to zero
+        void add(List<ImportRecordReader.Row> rows) {
+            ImportRecordReader.Row first = rows.get(0);
+            if (!keys.add(first.idempotencyKey)) {
+                throw new ImportValidationException(first.lineNumber,
+                        "duplicate idempotency key " + first.idempotencyKey + "; entries of a transaction must be adjacent");
+            }
+            long sum = 0;
+            for (ImportRecordReader.Row row : rows) {
+                if (row.amount == 0) {
+                    throw new ImportValidationException(row.lineNumber, "amount must be non-zero");
+                }
+                if (!Objects.equals(row.createdAt, first.createdAt)) {
+                    throw new ImportValidationException(row.lineNumber,
+                            "all entries of transaction " + first.idempotencyKey + " must share created_at");
+                }
+                try {
+                    sum = Math.addExact(sum, row.amount);
+                } catch (ArithmeticException e) {
+                    throw new ImportValidationException(row.lineNumber, "transaction amount overflows");
+                }
+                accountIds.add(row.accountId);
+            }
+            if (rows.size() > 1 && sum != 0) {
+                throw new ImportValidationException(first.lineNumber,
+                        "entries of transaction " + first.idempotencyKey + " sum to " + sum + ", expected 0");
+            }
+            transactions.add(rows);
+            entryCount += rows.size();
+            lastLine = rows.get(rows.size() - 1).lineNumber;
+        }
+    }
+}
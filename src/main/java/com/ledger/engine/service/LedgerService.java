@@ -3,25 +3,37 @@ package com.ledger.engine.service;
 import com.ledger.engine.domain.Account;
 import com.ledger.engine.domain.AccountStatus;
 import com.ledger.engine.domain.LedgerEntry;
+import com.ledger.engine.domain.PostingType;
 import com.ledger.engine.domain.Transaction;
 import com.ledger.engine.domain.TransactionStatus;
+import com.ledger.engine.domain.UuidV7;
 import com.ledger.engine.exception.AccountClosedException;
 import com.ledger.engine.exception.AccountNotFoundException;
 import com.ledger.engine.exception.DuplicateRequestException;
 import com.ledger.engine.exception.InsufficientFundsException;
 import com.ledger.engine.repository.AccountRepository;
+import com.ledger.engine.repository.FundHoldRepository;
 import com.ledger.engine.repository.LedgerEntryRepository;
+import com.ledger.engine.repository.PostingOutboxRepository;
+import com.ledger.engine.repository.SessionTimeoutRepository;
 import com.ledger.engine.repository.TransactionRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
 
 @Service
@@ -32,127 +44,306 @@ public class LedgerService {
     private final AccountRepository accountRepository;
     private final TransactionRepository transactionRepository;
     private final LedgerEntryRepository ledgerEntryRepository;
+    private final PostingOutboxRepository outboxRepository;
+    private final FundHoldRepository holdRepository;
+    private final SessionTimeoutRepository timeoutRepository;
+    private final Duration lockTimeout;
+    private final Duration statementTimeout;
+    private final Duration batchLockTimeout;
+    private final Duration batchStatementTimeout;
+    private final PostingAuditLog auditLog;
+    private final LedgerTracer tracer;
 
     public LedgerService(AccountRepository accountRepository,
             TransactionRepository transactionRepository,
-            LedgerEntryRepository ledgerEntryRepository) {
+            LedgerEntryRepository ledgerEntryRepository,
+            PostingOutboxRepository outboxRepository,
+            FundHoldRepository holdRepository,
+            SessionTimeoutRepository timeoutRepository,
+            @Value("${ledger.timeouts.posting.lock-timeout:PT2S}") Duration lockTimeout,
+            @Value("${ledger.timeouts.posting.statement-timeout:PT5S}") Duration statementTimeout,
+            @Value("${ledger.timeouts.debit-batch.lock-timeout:PT2S}") Duration batchLockTimeout,
+            @Value("${ledger.timeouts.debit-batch.statement-timeout:PT10S}") Duration batchStatementTimeout,
+            PostingAuditLog auditLog,
+            LedgerTracer tracer) {
         this.accountRepository = accountRepository;
         this.transactionRepository = transactionRepository;
         this.ledgerEntryRepository = ledgerEntryRepository;
+        this.outboxRepository = outboxRepository;
+        this.holdRepository = holdRepository;
+        this.timeoutRepository = timeoutRepository;
+        this.lockTimeout = lockTimeout;
+        this.statementTimeout = statementTimeout;
+        this.batchLockTimeout = batchLockTimeout;
+        this.batchStatementTimeout = batchStatementTimeout;
+        this.auditLog = auditLog;
+        this.tracer = tracer;
     }
 
+    /*
+     * Every outcome goes to the posting audit log, committed ones sampled; the per-posting log lines are debug
+     * only. In a sampled trace each posting gets a span that lasts through its commit, with a child per phase.
+     */
     @Transactional
     public Transaction deposit(UUID accountId, long amount, String idempotencyKey) {
-        validateAmount(amount);
+        long started = System.nanoTime();
+        LedgerTracer.Span span = tracer.startTransactionSpan("LedgerService.deposit")
+                .setAttribute("ledger.account_id", accountId.toString())
+                .setAttribute("ledger.amount", amount);
+        try {
+            Transaction transaction = postDeposit(accountId, amount, idempotencyKey);
+            span.setAttribute("ledger.transaction_id", transaction.getTransactionId().toString());
+            auditLog.committedOnCompletion(PostingType.DEPOSIT, transaction.getTransactionId(), null, accountId,
+                    amount, idempotencyKey, started);
+            return transaction;
+        } catch (RuntimeException e) {
+            span.recordError(e);
+            auditLog.rejected(PostingType.DEPOSIT, null, accountId, amount, idempotencyKey, e, started);
+            throw e;
+        } finally {
+            span.close();
+        }
+    }
 
-        Optional<Transaction> existing = transactionRepository.findByIdempotencyKey(idempotencyKey);
-        if (existing.isPresent()) {
-            log.info("Duplicate deposit request detected: idempotencyKey={}", idempotencyKey);
-            throw new DuplicateRequestException(
-                    "Request already processed: " + idempotencyKey,
-                    existing.get().getTransactionId());
+    @Transactional
+    public Transaction withdraw(UUID accountId, long amount, String idempotencyKey) {
+        long started = System.nanoTime();
+        LedgerTracer.Span span = tracer.startTransactionSpan("LedgerService.withdraw")
+                .setAttribute("ledger.account_id", accountId.toString())
+                .setAttribute("ledger.amount", amount);
+        try {
+            Transaction transaction = postWithdraw(accountId, amount, idempotencyKey);
+            span.setAttribute("ledger.transaction_id", transaction.getTransactionId().toString());
+            auditLog.committedOnCompletion(PostingType.WITHDRAWAL, transaction.getTransactionId(), accountId, null,
+                    amount, idempotencyKey, started);
+            return transaction;
+        } catch (RuntimeException e) {
+            span.recordError(e);
+            auditLog.rejected(PostingType.WITHDRAWAL, accountId, null, amount, idempotencyKey, e, started);
+            throw e;
+        } finally {
+            span.close();
         }
+    }
 
-        Account account = accountRepository.lockForUpdate(accountId)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
-        requireActive(account);
+    @Transactional
+    public Transaction transfer(UUID fromAccountId, UUID toAccountId, long amount, String idempotencyKey) {
+        long started = System.nanoTime();
+        LedgerTracer.Span span = tracer.startTransactionSpan("LedgerService.transfer")
+                .setAttribute("ledger.from_account_id", fromAccountId.toString())
+                .setAttribute("ledger.to_account_id", toAccountId.toString())
+                .setAttribute("ledger.amount", amount);
+        try {
+            Transaction transaction = postTransfer(fromAccountId, toAccountId, amount, idempotencyKey);
+            span.setAttribute("ledger.transaction_id", transaction.getTransactionId().toString());
+            auditLog.committedOnCompletion(PostingType.TRANSFER, transaction.getTransactionId(), fromAccountId,
+                    toAccountId, amount, idempotencyKey, started);
+            return transaction;
+        } catch (RuntimeException e) {
+            span.recordError(e);
+            auditLog.rejected(PostingType.TRANSFER, fromAccountId, toAccountId, amount, idempotencyKey, e, started);
+            throw e;
+        } finally {
+            span.close();
+        }
+    }
+
+    /*
+     * Withdrawals and transfers that all debit one account, posted in one transaction for the debit queue: the
+     * accounts are locked once, the balance is derived once, and transfers are read back together. Each posting
+     * still gets its own transaction row and idempotency key, and a posting that is a duplicate, touches an
+     * unusable account or would overdraw is rejected alone; its failure is set and nothing is written for it.
+     * Results are final only once this method has returned, i.e. committed. Auditing is left to the caller.
+     */
+    @Transactional
+    public void postDebits(UUID debitAccountId, List<? extends DebitPosting> postings) {
+        postings.forEach(DebitPosting::reset);
+        tracer.traceCommit();
+        timeoutRepository.setLocal(batchLockTimeout, batchStatementTimeout);
+        Set<String> existingKeys;
+        try (LedgerTracer.Span phase = tracer.startChild("idempotency-lookup")) {
+            existingKeys = transactionRepository.findExistingIdempotencyKeys(
+                    postings.stream().map(DebitPosting::getIdempotencyKey).toList());
+        }
+
+        Set<UUID> accountIds = new TreeSet<>(AccountRepository.LOCK_ORDER);
+        accountIds.add(debitAccountId);
+        for (DebitPosting posting : postings) {
+            if (posting.creditAccountId != null) {
+                accountIds.add(posting.creditAccountId);
+            }
+        }
+        Map<UUID, RuntimeException> unusable = new HashMap<>();
+        try (LedgerTracer.Span phase = tracer.startChild("lock-wait")) {
+            for (UUID id : accountIds) {
+                try {
+                    lockActive(id);
+                } catch (AccountNotFoundException | AccountClosedException e) {
+                    unusable.put(id, e);
+                }
+            }
+        }
+
+        long balance;
+        long reserved;
+        try (LedgerTracer.Span phase = tracer.startChild("derive-balance")) {
+            balance = ledgerEntryRepository.deriveBalance(debitAccountId);
+            reserved = holdRepository.reservedAmount(debitAccountId);
+        }
+        Map<String, UUID> postedKeys = new HashMap<>();
+        Set<UUID> touched = new HashSet<>();
+        List<Transaction> transactions = new ArrayList<>();
+        List<LedgerEntry> entries = new ArrayList<>();
+        List<UUID> transfers = new ArrayList<>();
+        Map<UUID, PostingType> typeByTransaction = new HashMap<>();
+
+        for (DebitPosting posting : postings) {
+            if (postedKeys.containsKey(posting.idempotencyKey) || existingKeys.contains(posting.idempotencyKey)) {
+                UUID existing = postedKeys.containsKey(posting.idempotencyKey)
+                        ? postedKeys.get(posting.idempotencyKey)
+                        : transactionRepository.findByIdempotencyKey(posting.idempotencyKey)
+                                .orElseThrow().getTransactionId();
+                posting.failure = new DuplicateRequestException(
+                        "Request already processed: " + posting.idempotencyKey, existing);
+                continue;
+            }
+            posting.failure = unusable.getOrDefault(debitAccountId,
+                    posting.creditAccountId != null ? unusable.get(posting.creditAccountId) : null);
+            if (posting.failure != null) {
+                continue;
+            }
+            try {
+                requireAvailable(debitAccountId, balance, reserved, posting.amount);
+            } catch (InsufficientFundsException e) {
+                posting.failure = e;
+                continue;
+            }
+            balance -= posting.amount;
+
+            UUID txId = UuidV7.generate();
+            posting.transaction = new Transaction(txId, posting.idempotencyKey,
+                    TransactionStatus.COMPLETED, LocalDateTime.now());
+            transactions.add(posting.transaction);
+            typeByTransaction.put(txId, posting.type);
+            entries.add(new LedgerEntry(UuidV7.generate(), txId, debitAccountId, -posting.amount,
+                    LocalDateTime.now()));
+            touched.add(debitAccountId);
+            if (posting.creditAccountId != null) {
+                entries.add(new LedgerEntry(UuidV7.generate(), txId, posting.creditAccountId, posting.amount,
+                        LocalDateTime.now()));
+                touched.add(posting.creditAccountId);
+                transfers.add(txId);
+            }
+            postedKeys.put(posting.idempotencyKey, txId);
+        }
+
+        if (transactions.isEmpty()) {
+            return;
+        }
+        try (LedgerTracer.Span phase = tracer.startChild("insert")) {
+            transactionRepository.saveAll(transactions);
+            ledgerEntryRepository.saveAll(entries);
+        }
+        requireBalanced(transfers);
+        try (LedgerTracer.Span phase = tracer.startChild("insert")) {
+            accountRepository.incrementVersions(touched);
+            outboxRepository.appendAll(entries, typeByTransaction);
+        }
+    }
+
+    private Transaction postDeposit(UUID accountId, long amount, String idempotencyKey) {
+        validateAmount(amount);
+
+        requireNew("deposit", idempotencyKey);
+
+        timeoutRepository.setLocal(lockTimeout, statementTimeout);
+        try (LedgerTracer.Span phase = tracer.startChild("lock-wait")) {
+            lockActive(accountId);
+        }
 
-        UUID txId = UUID.randomUUID();
+        UUID txId = UuidV7.generate();
         Transaction transaction = new Transaction(txId, idempotencyKey,
                 TransactionStatus.COMPLETED, LocalDateTime.now());
-        transactionRepository.save(transaction);
+        try (LedgerTracer.Span phase = tracer.startChild("insert")) {
+            transactionRepository.save(transaction);
 
-        LedgerEntry credit = new LedgerEntry(UUID.randomUUID(), txId, accountId, amount, LocalDateTime.now());
-        ledgerEntryRepository.save(credit);
+            LedgerEntry credit = new LedgerEntry(UuidV7.generate(), txId, accountId, amount, LocalDateTime.now());
+            ledgerEntryRepository.save(credit);
+            accountRepository.incrementVersions(List.of(accountId));
+            outboxRepository.append(PostingType.DEPOSIT, List.of(credit));
+        }
 
-        log.info("Deposit completed: txId={}, accountId={}, amount={}", txId, accountId, amount);
+        log.debug("Deposit completed: txId={}, accountId={}, amount={}", txId, accountId, amount);
         return transaction;
     }
 
-    @Transactional
-    public Transaction withdraw(UUID accountId, long amount, String idempotencyKey) {
+    private Transaction postWithdraw(UUID accountId, long amount, String idempotencyKey) {
         validateAmount(amount);
 
-        Optional<Transaction> existing = transactionRepository.findByIdempotencyKey(idempotencyKey);
-        if (existing.isPresent()) {
-            log.info("Duplicate withdraw request detected: idempotencyKey={}", idempotencyKey);
-            throw new DuplicateRequestException(
-                    "Request already processed: " + idempotencyKey,
-                    existing.get().getTransactionId());
-        }
+        requireNew("withdraw", idempotencyKey);
 
-        Account account = accountRepository.lockForUpdate(accountId)
-                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
-        requireActive(account);
-
-        long balance = ledgerEntryRepository.deriveBalance(accountId);
-        if (balance < amount) {
-            log.warn("Insufficient funds: accountId={}, balance={}, requested={}", accountId, balance, amount);
-            throw new InsufficientFundsException(
-                    String.format("Insufficient funds: balance=%d, requested=%d", balance, amount));
+        timeoutRepository.setLocal(lockTimeout, statementTimeout);
+        try (LedgerTracer.Span phase = tracer.startChild("lock-wait")) {
+            lockActive(accountId);
         }
 
-        UUID txId = UUID.randomUUID();
+        requireAvailable(accountId, amount);
+
+        UUID txId = UuidV7.generate();
         Transaction transaction = new Transaction(txId, idempotencyKey,
                 TransactionStatus.COMPLETED, LocalDateTime.now());
-        transactionRepository.save(transaction);
+        try (LedgerTracer.Span phase = tracer.startChild("insert")) {
+            transactionRepository.save(transaction);
 
-        LedgerEntry debit = new LedgerEntry(UUID.randomUUID(), txId, accountId, -amount, LocalDateTime.now());
-        ledgerEntryRepository.save(debit);
+            LedgerEntry debit = new LedgerEntry(UuidV7.generate(), txId, accountId, -amount, LocalDateTime.now());
+            ledgerEntryRepository.save(debit);
+            accountRepository.incrementVersions(List.of(accountId));
+            outboxRepository.append(PostingType.WITHDRAWAL, List.of(debit));
+        }
 
-        log.info("Withdrawal completed: txId={}, accountId={}, amount={}", txId, accountId, amount);
+        log.debug("Withdrawal completed: txId={}, accountId={}, amount={}", txId, accountId, amount);
         return transaction;
     }
 
-    @Transactional
-    public Transaction transfer(UUID fromAccountId, UUID toAccountId, long amount, String idempotencyKey) {
+    private Transaction postTransfer(UUID fromAccountId, UUID toAccountId, long amount, String idempotencyKey) {
         validateAmount(amount);
 
         if (fromAccountId.equals(toAccountId)) {
             throw new IllegalArgumentException("Cannot transfer to the same account");
         }
 
-        Optional<Transaction> existing = transactionRepository.findByIdempotencyKey(idempotencyKey);
-        if (existing.isPresent()) {
-            log.info("Duplicate transfer request detected: idempotencyKey={}", idempotencyKey);
-            throw new DuplicateRequestException(
-                    "Request already processed: " + idempotencyKey,
-                    existing.get().getTransactionId());
-        }
+        requireNew("transfer", idempotencyKey);
 
+        timeoutRepository.setLocal(lockTimeout, statementTimeout);
         List<UUID> sortedIds = Arrays.asList(fromAccountId, toAccountId);
-        Collections.sort(sortedIds);
+        sortedIds.sort(AccountRepository.LOCK_ORDER);
 
-        for (UUID id : sortedIds) {
-            Account lockedAccount = accountRepository.lockForUpdate(id)
-                    .orElseThrow(() -> new AccountNotFoundException("Account not found: " + id));
-            requireActive(lockedAccount);
+        try (LedgerTracer.Span phase = tracer.startChild("lock-wait")) {
+            for (UUID id : sortedIds) {
+                lockActive(id);
+            }
         }
 
-        long sourceBalance = ledgerEntryRepository.deriveBalance(fromAccountId);
-        if (sourceBalance < amount) {
-            log.warn("Insufficient funds for transfer: fromAccountId={}, balance={}, requested={}",
-                    fromAccountId, sourceBalance, amount);
-            throw new InsufficientFundsException(
-                    String.format("Insufficient funds: balance=%d, requested=%d", sourceBalance, amount));
-        }
+        requireAvailable(fromAccountId, amount);
 
-        UUID txId = UUID.randomUUID();
+        UUID txId = UuidV7.generate();
         Transaction transaction = new Transaction(txId, idempotencyKey,
                 TransactionStatus.COMPLETED, LocalDateTime.now());
-        transactionRepository.save(transaction);
+        LedgerEntry debit = new LedgerEntry(UuidV7.generate(), txId, fromAccountId, -amount, LocalDateTime.now());
+        LedgerEntry credit = new LedgerEntry(UuidV7.generate(), txId, toAccountId, amount, LocalDateTime.now());
+        try (LedgerTracer.Span phase = tracer.startChild("insert")) {
+            transactionRepository.save(transaction);
+            ledgerEntryRepository.saveAll(Arrays.asList(debit, credit));
+        }
 
-        LedgerEntry debit = new LedgerEntry(UUID.randomUUID(), txId, fromAccountId, -amount, LocalDateTime.now());
-        LedgerEntry credit = new LedgerEntry(UUID.randomUUID(), txId, toAccountId, amount, LocalDateTime.now());
-        ledgerEntryRepository.saveAll(Arrays.asList(debit, credit));
+        requireBalanced(List.of(txId));
 
-        List<LedgerEntry> entries = ledgerEntryRepository.findByTransactionId(txId);
-        long sum = entries.stream().mapToLong(LedgerEntry::getAmount).sum();
-        if (sum != 0) {
-            throw new IllegalStateException("CRITICAL: Ledger entries do not sum to zero for txId=" + txId);
+        try (LedgerTracer.Span phase = tracer.startChild("insert")) {
+            accountRepository.incrementVersions(sortedIds);
+            outboxRepository.append(PostingType.TRANSFER, Arrays.asList(debit, credit));
         }
 
-        log.info("Transfer completed: txId={}, from={}, to={}, amount={}", txId, fromAccountId, toAccountId, amount);
+        log.debug("Transfer completed: txId={}, from={}, to={}, amount={}", txId, fromAccountId, toAccountId, amount);
         return transaction;
     }
 
@@ -162,10 +353,130 @@ public class LedgerService {
         }
     }
 
+    // Funds held for card authorizations are not available; callers hold the account lock
+    private void requireAvailable(UUID accountId, long amount) {
+        long balance;
+        long reserved;
+        try (LedgerTracer.Span phase = tracer.startChild("derive-balance")) {
+            balance = ledgerEntryRepository.deriveBalance(accountId);
+            reserved = holdRepository.reservedAmount(accountId);
+        }
+        requireAvailable(accountId, balance, reserved, amount);
+    }
+
+    private void requireAvailable(UUID accountId, long balance, long reserved, long amount) {
+        if (balance - reserved < amount) {
+            log.warn("Insufficient funds: accountId={}, balance={}, reserved={}, requested={}",
+                    accountId, balance, reserved, amount);
+            throw insufficientFunds(balance, reserved, amount);
+        }
+    }
+
+    static InsufficientFundsException insufficientFunds(long balance, long reserved, long amount) {
+        return new InsufficientFundsException(reserved == 0
+                ? String.format("Insufficient funds: balance=%d, requested=%d", balance, amount)
+                : String.format("Insufficient funds: balance=%d, reserved=%d, requested=%d",
+                        balance, reserved, amount));
+    }
+
+    // Reads the transfers' entries back after insertion; any that do not sum to zero roll the transaction back
+    private void requireBalanced(List<UUID> transferIds) {
+        if (transferIds.isEmpty()) {
+            return;
+        }
+        try (LedgerTracer.Span phase = tracer.startChild("read-back")) {
+            Map<UUID, Long> sums = new HashMap<>();
+            for (LedgerEntry entry : ledgerEntryRepository.findByTransactionIds(transferIds)) {
+                sums.merge(entry.getTransactionId(), entry.getAmount(), Long::sum);
+            }
+            for (UUID txId : transferIds) {
+                if (sums.getOrDefault(txId, 0L) != 0) {
+                    throw new IllegalStateException("CRITICAL: Ledger entries do not sum to zero for txId=" + txId);
+                }
+            }
+        }
+    }
+
+    private void requireNew(String posting, String idempotencyKey) {
+        Optional<Transaction> existing;
+        try (LedgerTracer.Span phase = tracer.startChild("idempotency-lookup")) {
+            existing = transactionRepository.findByIdempotencyKey(idempotencyKey);
+        }
+        if (existing.isPresent()) {
+            log.info("Duplicate {} request detected: idempotencyKey={}", posting, idempotencyKey);
+            throw new DuplicateRequestException(
+                    "Request already processed: " + idempotencyKey,
+                    existing.get().getTransactionId());
+        }
+    }
+
+    private void lockActive(UUID accountId) {
+        Account account = accountRepository.lockForUpdate(accountId)
+                .orElseThrow(() -> new AccountNotFoundException("Account not found: " + accountId));
+        requireActive(account);
+    }
+
     private void requireActive(Account account) {
         if (account.getStatus() != AccountStatus.ACTIVE) {
             throw new AccountClosedException(
                     "Account " + account.getAccountId() + " is " + account.getStatus() + ", not ACTIVE");
         }
     }
+
+    /*
+     * One withdrawal (no credit account) or transfer for postDebits. After the call, exactly one of
+     * getTransaction() and getFailure() is set.
+     */
+    public static class DebitPosting {
+
+        private final PostingType type;
+        private final UUID debitAccountId;
+        private final UUID creditAccountId;
+        private final long amount;
+        private final String idempotencyKey;
+        private Transaction transaction;
+        private RuntimeException failure;
+
+        public DebitPosting(PostingType type, UUID debitAccountId, UUID creditAccountId, long amount,
+                String idempotencyKey) {
+            this.type = type;
+            this.debitAccountId = debitAccountId;
+            this.creditAccountId = creditAccountId;
+            this.amount = amount;
+            this.idempotencyKey = idempotencyKey;
+        }
+
+        public PostingType getType() {
+            return type;
+        }
+
+        public UUID getDebitAccountId() {
+            return debitAccountId;
+        }
+
+        public UUID getCreditAccountId() {
+            return creditAccountId;
+        }
+
+        public long getAmount() {
+            return amount;
+        }
+
+        public String getIdempotencyKey() {
+            return idempotencyKey;
+        }
+
+        public Transaction getTransaction() {
+            return transaction;
+        }
+
+        public RuntimeException getFailure() {
+            return failure;
+        }
+
+        void reset() {
+            transaction = null;
+            failure = null;
+        }
+    }
 }
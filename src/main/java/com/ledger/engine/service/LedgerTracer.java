@@ -0,0 +1,202 @@
+package com.ledger.engine.service;
+
+import io.micrometer.tracing.Link;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.NoTransactionException;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/*
+ * The spans Boot's tracing does not open by itself, on top of Micrometer Tracing. Sampling, W3C propagation, the
+ * server span of each request, JDBC statement spans and OTLP export all come from Boot and its OpenTelemetry
+ * bridge (management.tracing.*, management.otlp.tracing.*). What is added here: a span per posting that lasts
+ * through its commit, children for its phases, and the batch span shared by the callers of a debit queue. Outside
+ * a sampled trace, and when tracing is off, the spans returned record nothing.
+ */
+@Component
+public class LedgerTracer {
+
+    private static final Span NOOP = new Span(null, null);
+
+    private final Tracer tracer;
+    private final Propagator propagator;
+
+    public LedgerTracer(ObjectProvider<Tracer> tracer, ObjectProvider<Propagator> propagator) {
+        this.tracer = tracer.getIfAvailable(() -> Tracer.NOOP);
+        this.propagator = propagator.getIfAvailable(() -> Propagator.NOOP);
+    }
+
+    // A child of the current span, or the root of a new trace that Boot's sampler decides on
+    public Span startSpan(String name) {
+        return start(tracer.nextSpan().name(name).start());
+    }
+
+    // A child of the current span; nothing outside a sampled trace
+    public Span startChild(String name) {
+        io.micrometer.tracing.Span current = tracer.currentSpan();
+        return current == null || current.isNoop() ? NOOP : start(tracer.nextSpan(current).name(name).start());
+    }
+
+    public Span startChild(String name, io.micrometer.tracing.Span.Kind kind) {
+        io.micrometer.tracing.Span current = tracer.currentSpan();
+        if (current == null || current.isNoop()) {
+            return NOOP;
+        }
+        return start(tracer.spanBuilder().setParent(current.context()).name(name).kind(kind).start());
+    }
+
+    /*
+     * Like startSpan, but the first linked span still recording becomes the parent and the others are attached as
+     * links. Used where one unit of work serves several traced requests, such as a debit-queue batch.
+     */
+    public Span startLinkedSpan(String name, List<Span> linked) {
+        if (tracer.currentSpan() != null) {
+            return startSpan(name);
+        }
+        io.micrometer.tracing.Span.Builder builder = null;
+        for (Span span : linked) {
+            if (!span.isRecording()) {
+                continue;
+            }
+            if (builder == null) {
+                builder = tracer.spanBuilder().setParent(span.span.context()).name(name);
+            } else {
+                builder.addLink(new Link(span.span));
+            }
+        }
+        return builder == null ? startSpan(name) : start(builder.start());
+    }
+
+    /*
+     * A span that, when this call began the surrounding @Transactional transaction, stays open through its
+     * commit: close() then leaves it to the transaction's completion, and a "commit" child covers the commit.
+     * Inside a transaction some outer caller began, it behaves like startSpan.
+     */
+    public Span startTransactionSpan(String name) {
+        Span span = startSpan(name);
+        if (span.isRecording() && TransactionSynchronizationManager.isSynchronizationActive() && beganTransaction()) {
+            span.endsWithTransaction = true;
+            TransactionSynchronizationManager.registerSynchronization(new CommitSpan(span.span, span));
+        }
+        return span;
+    }
+
+    // Adds a "commit" child of the current span covering the surrounding transaction's commit
+    public void traceCommit() {
+        io.micrometer.tracing.Span current = tracer.currentSpan();
+        if (current != null && !current.isNoop() && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new CommitSpan(current, null));
+        }
+    }
+
+    // Writes the current trace context (a W3C traceparent) into an outgoing call's headers
+    public void inject(BiConsumer<String, String> header) {
+        io.micrometer.tracing.Span current = tracer.currentSpan();
+        if (current != null) {
+            propagator.inject(current.context(), header, BiConsumer::accept);
+        }
+    }
+
+    private static boolean beganTransaction() {
+        try {
+            return TransactionAspectSupport.currentTransactionStatus().isNewTransaction();
+        } catch (NoTransactionException e) {
+            return false;
+        }
+    }
+
+    private Span start(io.micrometer.tracing.Span span) {
+        return new Span(span, tracer.withSpan(span));
+    }
+
+    private final class CommitSpan implements TransactionSynchronization {
+
+        private final io.micrometer.tracing.Span parent;
+        private final Span owner;
+        private io.micrometer.tracing.Span commit;
+
+        CommitSpan(io.micrometer.tracing.Span parent, Span owner) {
+            this.parent = parent;
+            this.owner = owner;
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commit = tracer.nextSpan(parent).name("commit").start();
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (commit != null) {
+                if (status != STATUS_COMMITTED) {
+                    commit.error(new IllegalStateException("Transaction rolled back"));
+                }
+                commit.end();
+            }
+            if (owner != null) {
+                if (status != STATUS_COMMITTED && !owner.failed) {
+                    owner.span.error(new IllegalStateException("Transaction rolled back"));
+                }
+                owner.span.end();
+            }
+        }
+    }
+
+    public static final class Span implements AutoCloseable {
+
+        private final io.micrometer.tracing.Span span;
+        private final Tracer.SpanInScope scope;
+        private boolean failed;
+        private boolean endsWithTransaction;
+
+        private Span(io.micrometer.tracing.Span span, Tracer.SpanInScope scope) {
+            this.span = span;
+            this.scope = scope;
+        }
+
+        public boolean isRecording() {
+            return span != null && !span.isNoop();
+        }
+
+        public Span setAttribute(String key, String value) {
+            if (isRecording() && value != null) {
+                span.tag(key, value);
+            }
+            return this;
+        }
+
+        public Span setAttribute(String key, long value) {
+            if (isRecording()) {
+                span.tag(key, value);
+            }
+            return this;
+        }
+
+        public Span recordError(Throwable error) {
+            if (isRecording()) {
+                span.error(error);
+                failed = true;
+            }
+            return this;
+        }
+
+        // Leaves the span's scope; the span itself ends now, or at the transaction's completion
+        @Override
+        public void close() {
+            if (span == null) {
+                return;
+            }
+            scope.close();
+            if (!endsWithTransaction) {
+                span.end();
+            }
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.InvariantViolation;
+import com.ledger.engine.domain.VerificationRun;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import com.ledger.engine.repository.LedgerVerificationRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class LedgerVerifierService {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerVerifierService.class);
+
+    private final LedgerVerificationRepository verificationRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final Duration settleLag;
+    private final Duration maxWindow;
+    private final Duration sliceSize;
+    private final ForkJoinPool pool;
+
+    private final Counter entriesVerified;
+    private final Counter transactionsVerified;
+    private final Counter violationsDetected;
+    private final Timer runTimer;
+    private final AtomicLong watermarkEpochSeconds = new AtomicLong();
+    private final AtomicLong conservationImbalance = new AtomicLong();
+
+    public LedgerVerifierService(LedgerVerificationRepository verificationRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            MeterRegistry meterRegistry,
+            @Value("${ledger.verifier.settle-lag:PT1M}") Duration settleLag,
+            @Value("${ledger.verifier.max-window:PT1H}") Duration maxWindow,
+            @Value("${ledger.verifier.slice:PT1M}") Duration sliceSize,
+            @Value("${ledger.verifier.parallelism:4}") int parallelism) {
+        this.verificationRepository = verificationRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.settleLag = settleLag;
+        this.maxWindow = maxWindow;
+        this.sliceSize = sliceSize;
+        this.pool = new ForkJoinPool(parallelism);
+
+        this.entriesVerified = meterRegistry.counter("ledger.verifier.entries");
+        this.transactionsVerified = meterRegistry.counter("ledger.verifier.transactions");
+        this.violationsDetected = meterRegistry.counter("ledger.verifier.violations");
+        this.runTimer = meterRegistry.timer("ledger.verifier.run");
+        Gauge.builder("ledger.verifier.watermark", watermarkEpochSeconds, AtomicLong::get)
+                .description("Epoch seconds of the latest verified created_at")
+                .register(meterRegistry);
+        Gauge.builder("ledger.verifier.conservation.imbalance", conservationImbalance, AtomicLong::get)
+                .description("Verified ledger sum minus verified external flows; must be zero")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.verifier.interval:PT1M}",
+            initialDelayString = "${ledger.verifier.interval:PT1M}")
+    @Transactional
+    public void scheduledVerification() {
+        verify(ledgerEntryRepository.settledCutoff(settleLag));
+    }
+
+    @Transactional
+    public Optional<VerificationRun> runVerification() {
+        // Entries stamped inside the settle lag, or by a transaction still open, may not be committed yet
+        return verify(ledgerEntryRepository.settledCutoff(settleLag));
+    }
+
+    @Transactional
+    public Optional<VerificationRun> runVerification(LocalDateTime cutoff) {
+        return verify(cutoff);
+    }
+
+    @Transactional(readOnly = true)
+    public VerificationRun getCumulativeTotals() {
+        return verificationRepository.cumulativeTotals();
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<VerificationRun> getLatestRun() {
+        return verificationRepository.findLatestRun();
+    }
+
+    // A full scan of ledger_entry, for load-test checks and operators; never on a request path
+    @Transactional(readOnly = true)
+    public long getGlobalLedgerSum() {
+        return ledgerEntryRepository.globalLedgerSum();
+    }
+
+    @Transactional(readOnly = true)
+    public List<InvariantViolation> getRecentViolations(int limit) {
+        return verificationRepository.findRecentViolations(limit);
+    }
+
+    private Optional<VerificationRun> verify(LocalDateTime cutoff) {
+        if (!verificationRepository.tryAcquireJobLock()) {
+            log.info("Ledger verification skipped: another run holds the lock");
+            return Optional.empty();
+        }
+
+        LocalDateTime windowStart = verificationRepository.findLatestRun()
+                .map(VerificationRun::getWindowEnd)
+                .orElse(null);
+        LocalDateTime sliceStart;
+        if (windowStart != null) {
+            sliceStart = windowStart;
+        } else {
+            Optional<LocalDateTime> earliest = ledgerEntryRepository.earliestEntryTimestamp();
+            if (earliest.isEmpty()) {
+                return Optional.empty();
+            }
+            sliceStart = earliest.get().minus(1, ChronoUnit.MICROS);
+        }
+
+        LocalDateTime windowEnd = cutoff.isAfter(sliceStart.plus(maxWindow)) ? sliceStart.plus(maxWindow) : cutoff;
+        if (!windowEnd.isAfter(sliceStart)) {
+            return Optional.empty();
+        }
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        VerificationRun run = runTimer.record(() -> pool.invoke(new SliceTask(sliceStart, windowEnd)));
+        run.setWindowStart(windowStart);
+        run.setStartedAt(startedAt);
+        verificationRepository.saveRun(run);
+
+        recordMetrics(run);
+        if (run.getViolationCount() > 0) {
+            log.error("Ledger invariant violations detected: runId={}, window=({}, {}], violations={}",
+                    run.getRunId(), windowStart, windowEnd, run.getViolationCount());
+        } else {
+            log.info("Ledger verified: runId={}, window=({}, {}], transactions={}, entries={}",
+                    run.getRunId(), windowStart, windowEnd, run.getTransactionCount(), run.getEntryCount());
+        }
+        return Optional.of(run);
+    }
+
+    private void recordMetrics(VerificationRun run) {
+        entriesVerified.increment(run.getEntryCount());
+        transactionsVerified.increment(run.getTransactionCount());
+        violationsDetected.increment(run.getViolationCount());
+        watermarkEpochSeconds.set(run.getWindowEnd().toEpochSecond(ZoneOffset.UTC));
+
+        VerificationRun totals = verificationRepository.cumulativeTotals();
+        conservationImbalance.set(totals.getNetAmount() - totals.getExternalAmount());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private class SliceTask extends RecursiveTask<VerificationRun> {
+
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+
+        SliceTask(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected VerificationRun compute() {
+            Duration span = Duration.between(from, to);
+            if (span.compareTo(sliceSize) <= 0) {
+                return verificationRepository.verifySlice(from, to);
+            }
+
+            // Splitting on created_at keeps each transaction inside one slice
+            LocalDateTime mid = from.plus(span.dividedBy(2)).truncatedTo(ChronoUnit.MICROS);
+            SliceTask left = new SliceTask(from, mid);
+            SliceTask right = new SliceTask(mid, to);
+            left.fork();
+            VerificationRun merged = right.compute();
+            VerificationRun leftResult = left.join();
+
+            merged.setWindowStart(from);
+            merged.setTransactionCount(merged.getTransactionCount() + leftResult.getTransactionCount());
+            merged.setEntryCount(merged.getEntryCount() + leftResult.getEntryCount());
+            merged.setNetAmount(merged.getNetAmount() + leftResult.getNetAmount());
+            merged.setExternalAmount(merged.getExternalAmount() + leftResult.getExternalAmount());
+            merged.getViolations().addAll(leftResult.getViolations());
+            merged.setViolationCount(merged.getViolations().size());
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,228 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.LoadStepResult;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Drives the real posting path at a fixed concurrency against a resized connection pool and measures the result
+@Service
+public class LoadDriverService {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadDriverService.class);
+    private static final long SAMPLE_INTERVAL_MILLIS = 10;
+
+    private final AccountService accountService;
+    private final LedgerService ledgerService;
+    private final HikariDataSource dataSource;
+    private final MeterRegistry meterRegistry;
+
+    public LoadDriverService(AccountService accountService,
+            LedgerService ledgerService,
+            DataSource dataSource,
+            MeterRegistry meterRegistry) throws SQLException {
+        this.accountService = accountService;
+        this.ledgerService = ledgerService;
+        if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+            throw new IllegalStateException("Load driver needs a Hikari connection pool");
+        }
+        this.dataSource = dataSource.unwrap(HikariDataSource.class);
+        this.meterRegistry = meterRegistry;
+    }
+
+    public List<UUID> prepareAccounts(int count, long openingBalance) {
+        List<UUID> accountIds = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Account account = accountService.createAccount();
+            ledgerService.deposit(account.getAccountId(), openingBalance, "load-driver-" + account.getAccountId());
+            accountIds.add(account.getAccountId());
+        }
+        return accountIds;
+    }
+
+    public int currentPoolSize() {
+        return dataSource.getHikariConfigMXBean().getMaximumPoolSize();
+    }
+
+    // Evicts every pooled connection so the new ceiling applies to the next step, not after idle timeout
+    public void resizePool(int poolSize) {
+        dataSource.getHikariConfigMXBean().setMaximumPoolSize(poolSize);
+        dataSource.getHikariConfigMXBean().setMinimumIdle(poolSize);
+        dataSource.getHikariPoolMXBean().softEvictConnections();
+    }
+
+    /**
+     * Runs single-unit transfers between random accounts from {@code concurrency} threads for warmup plus
+     * duration, recording only calls that start after the warmup. Failed calls, including connection
+     * timeouts when the pool is starved, count as errors and stay out of the latency percentiles.
+     */
+    public LoadStepResult runStep(List<UUID> accountIds, int poolSize, int concurrency,
+            Duration warmup, Duration duration) throws InterruptedException {
+        if (accountIds.size() < 2) {
+            throw new IllegalArgumentException("Load driver needs at least two accounts");
+        }
+        resizePool(poolSize);
+        HikariPoolMXBean pool = dataSource.getHikariPoolMXBean();
+
+        long startedAt = System.nanoTime();
+        long measureFrom = startedAt + warmup.toNanos();
+        long stopAt = measureFrom + duration.toNanos();
+        LatencyRecorder[] recorders = new LatencyRecorder[concurrency];
+        AtomicLong errors = new AtomicLong();
+        CountDownLatch done = new CountDownLatch(concurrency);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency,
+                runnable -> new Thread(runnable, "load-driver-" + threadCount.incrementAndGet()));
+        for (int i = 0; i < concurrency; i++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders[i] = recorder;
+            workers.execute(() -> {
+                try {
+                    drive(accountIds, measureFrom, stopAt, recorder, errors);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        while (System.nanoTime() < measureFrom) {
+            TimeUnit.MILLISECONDS.sleep(SAMPLE_INTERVAL_MILLIS);
+        }
+        TimerSnapshot acquire = TimerSnapshot.of(findTimer("hikaricp.connections.acquire"));
+        TimerSnapshot usage = TimerSnapshot.of(findTimer("hikaricp.connections.usage"));
+        int maxPending = 0;
+        long activeSum = 0;
+        long samples = 0;
+        while (System.nanoTime() < stopAt) {
+            maxPending = Math.max(maxPending, pool.getThreadsAwaitingConnection());
+            activeSum += pool.getActiveConnections();
+            samples++;
+            TimeUnit.MILLISECONDS.sleep(SAMPLE_INTERVAL_MILLIS);
+        }
+        double meanAcquireMillis = acquire.meanMillisSince(findTimer("hikaricp.connections.acquire"));
+        double meanUsageMillis = usage.meanMillisSince(findTimer("hikaricp.connections.usage"));
+        done.await();
+        workers.shutdown();
+
+        long operations = 0;
+        for (LatencyRecorder recorder : recorders) {
+            operations += recorder.count;
+        }
+        long[] latencies = new long[(int) operations];
+        int offset = 0;
+        for (LatencyRecorder recorder : recorders) {
+            System.arraycopy(recorder.nanos, 0, latencies, offset, recorder.count);
+            offset += recorder.count;
+        }
+        Arrays.sort(latencies);
+
+        double seconds = duration.toNanos() / 1e9;
+        LoadStepResult result = new LoadStepResult(poolSize, concurrency, operations, errors.get(),
+                operations / seconds,
+                percentileMillis(latencies, 0.50),
+                percentileMillis(latencies, 0.95),
+                percentileMillis(latencies, 0.99),
+                latencies.length == 0 ? 0.0 : latencies[latencies.length - 1] / 1e6,
+                meanAcquireMillis,
+                meanUsageMillis,
+                maxPending,
+                samples == 0 ? 0.0 : (double) activeSum / samples);
+        log.info("Load step: poolSize={}, concurrency={}, throughput={}/s, p50={}ms, p99={}ms, errors={}, maxPending={}",
+                poolSize, concurrency, Math.round(result.getThroughput()),
+                String.format("%.2f", result.getP50Millis()), String.format("%.2f", result.getP99Millis()),
+                result.getErrors(), maxPending);
+        return result;
+    }
+
+    private void drive(List<UUID> accountIds, long measureFrom, long stopAt,
+            LatencyRecorder recorder, AtomicLong errors) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long now;
+        while ((now = System.nanoTime()) < stopAt) {
+            int from = random.nextInt(accountIds.size());
+            int to = random.nextInt(accountIds.size() - 1);
+            if (to >= from) {
+                to++;
+            }
+            try {
+                ledgerService.transfer(accountIds.get(from), accountIds.get(to), 1L, UUID.randomUUID().toString());
+                if (now >= measureFrom) {
+                    recorder.record(System.nanoTime() - now);
+                }
+            } catch (RuntimeException e) {
+                if (now >= measureFrom) {
+                    errors.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private Timer findTimer(String name) {
+        return meterRegistry.find(name).tag("pool", dataSource.getPoolName()).timer();
+    }
+
+    private static double percentileMillis(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    private static class LatencyRecorder {
+
+        private long[] nanos = new long[4096];
+        private int count;
+
+        void record(long latency) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = latency;
+        }
+    }
+
+    private static class TimerSnapshot {
+
+        private final long count;
+        private final double totalMillis;
+
+        TimerSnapshot(long count, double totalMillis) {
+            this.count = count;
+            this.totalMillis = totalMillis;
+        }
+
+        static TimerSnapshot of(Timer timer) {
+            return timer == null
+                    ? new TimerSnapshot(0, 0.0)
+                    : new TimerSnapshot(timer.count(), timer.totalTime(TimeUnit.MILLISECONDS));
+        }
+
+        double meanMillisSince(Timer timer) {
+            TimerSnapshot now = of(timer);
+            long calls = now.count - count;
+            return calls <= 0 ? 0.0 : (now.totalMillis - totalMillis) / calls;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.ledger.engine.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ledger.engine.config.PartitionMap;
+import com.ledger.engine.exception.LedgerUnavailableException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.tracing.Span;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/*
+ * HTTP calls from this node to the node that owns another partition. Every call carries the hop header, so
+ * a node that receives a forwarded request it does not own answers 421 instead of forwarding it again, and
+ * the partition secret, without which the receiving node treats the hop header as absent.
+ * A node that cannot be reached surfaces as LedgerUnavailableException (503).
+ */
+@Service
+public class PartitionForwarder {
+
+    public static final String HOP_HEADER = "X-Ledger-Forwarded-By";
+    public static final String SECRET_HEADER = "X-Ledger-Partition-Secret";
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionForwarder.class);
+
+    private final PartitionMap partitionMap;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final LedgerTracer tracer;
+    private final HttpClient client;
+    private final Duration requestTimeout;
+
+    public PartitionForwarder(PartitionMap partitionMap,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            LedgerTracer tracer,
+            @Value("${ledger.partitions.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${ledger.partitions.request-timeout:PT10S}") Duration requestTimeout) {
+        this.partitionMap = partitionMap;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.tracer = tracer;
+        this.requestTimeout = requestTimeout;
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(connectTimeout)
+                .build();
+    }
+
+    public <T> HttpResponse<T> send(int partition, String method, String pathAndQuery, Map<String, String> headers,
+            byte[] body, HttpResponse.BodyHandler<T> bodyHandler) {
+        URI uri = URI.create(partitionMap.node(partition) + pathAndQuery);
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                .timeout(requestTimeout)
+                .header(HOP_HEADER, Integer.toString(partitionMap.self()))
+                .header(SECRET_HEADER, partitionMap.secret())
+                .method(method, body == null || body.length == 0
+                        ? HttpRequest.BodyPublishers.noBody()
+                        : HttpRequest.BodyPublishers.ofByteArray(body));
+        headers.forEach(request::header);
+        meterRegistry.counter("ledger.partitions.forwarded", "partition", Integer.toString(partition)).increment();
+        // The owner continues this trace under the client span
+        LedgerTracer.Span span = tracer.startChild(method, Span.Kind.CLIENT)
+                .setAttribute("http.request.method", method)
+                .setAttribute("url.full", uri.toString())
+                .setAttribute("ledger.partition", partition);
+        tracer.inject(request::header);
+        try {
+            HttpResponse<T> response = client.send(request.build(), bodyHandler);
+            span.setAttribute("http.response.status_code", response.statusCode());
+            return response;
+        } catch (IOException e) {
+            span.recordError(e);
+            log.warn("Partition {} unreachable: {} {}: {}", partition, method, pathAndQuery, e.toString());
+            meterRegistry.counter("ledger.partitions.unreachable", "partition", Integer.toString(partition)).increment();
+            throw new LedgerUnavailableException("Partition " + partition + " is unreachable; retry the request", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LedgerUnavailableException("Interrupted while calling partition " + partition, e);
+        } finally {
+            span.close();
+        }
+    }
+
+    public HttpResponse<byte[]> postJson(int partition, String path, Object body) {
+        return postJson(partition, path, body, Map.of());
+    }
+
+    public HttpResponse<byte[]> postJson(int partition, String path, Object body, Map<String, String> extraHeaders) {
+        byte[] json;
+        try {
+            json = objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot encode request for partition " + partition, e);
+        }
+        Map<String, String> headers = new LinkedHashMap<>(extraHeaders);
+        headers.put("Content-Type", "application/json");
+        headers.put("Accept", "application/json");
+        return send(partition, "POST", path, headers, json, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    public JsonNode readTree(HttpResponse<byte[]> response) {
+        try {
+            return objectMapper.readTree(response.body());
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable response from " + response.uri() + ": HTTP "
+                    + response.statusCode(), e);
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.ledger.engine.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.ledger.engine.domain.PostingType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/*
+ * One JSON line per posting outcome, written to a rolling file by a single background thread. Request threads
+ * claim a preallocated slot in a ring buffer with one CAS, copy the event's fields into it and publish it with
+ * one volatile write; no formatting, allocation or I/O happens on their side. Committed postings are sampled
+ * at success-sample-rate. Failures are always offered and wait up to failure-wait for a free slot; anything
+ * still refused is counted in ledger.audit.dropped rather than stalling the posting.
+ */
+@Component
+public class PostingAuditLog {
+
+    private static final Logger log = LoggerFactory.getLogger(PostingAuditLog.class);
+
+    public enum Outcome {
+        COMMITTED,
+        REJECTED
+    }
+
+    private final boolean enabled;
+    private final double successSampleRate;
+    private final long failureWaitNanos;
+    private final Path file;
+    private final long maxFileBytes;
+    private final int maxFiles;
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    // Written only by the writer thread: every sequence below it has been written out and its slot is free
+    private volatile long consumed;
+    // Every sequence below it has reached the file
+    private volatile long flushed;
+
+    private final Counter committedEvents;
+    private final Counter rejectedEvents;
+    private final Counter droppedCommitted;
+    private final Counter droppedRejected;
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public PostingAuditLog(MeterRegistry meterRegistry,
+            @Value("${ledger.audit.enabled:true}") boolean enabled,
+            @Value("${ledger.audit.file:logs/posting-audit.jsonl}") String file,
+            @Value("${ledger.audit.success-sample-rate:0.01}") double successSampleRate,
+            @Value("${ledger.audit.buffer-size:65536}") int bufferSize,
+            @Value("${ledger.audit.failure-wait:PT0.05S}") Duration failureWait,
+            @Value("${ledger.audit.max-file-size:100MB}") DataSize maxFileSize,
+            @Value("${ledger.audit.max-files:10}") int maxFiles) {
+        this.enabled = enabled;
+        this.successSampleRate = successSampleRate;
+        this.failureWaitNanos = failureWait.toNanos();
+        this.file = Path.of(file);
+        this.maxFileBytes = maxFileSize.toBytes();
+        this.maxFiles = maxFiles;
+
+        // Next power of two, so a sequence maps to its slot with a mask
+        int capacity = bufferSize <= 2 ? 2 : Integer.highestOneBit(bufferSize - 1) << 1;
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+
+        this.committedEvents = meterRegistry.counter("ledger.audit.events", "outcome", "committed");
+        this.rejectedEvents = meterRegistry.counter("ledger.audit.events", "outcome", "rejected");
+        this.droppedCommitted = meterRegistry.counter("ledger.audit.dropped", "outcome", "committed");
+        this.droppedRejected = meterRegistry.counter("ledger.audit.dropped", "outcome", "rejected");
+        meterRegistry.gauge("ledger.audit.backlog", claimed, next -> next.get() - consumed);
+
+        if (enabled) {
+            running = true;
+            writerThread = new Thread(this::writeLoop, "posting-audit");
+            writerThread.setDaemon(true);
+            writerThread.start();
+        }
+    }
+
+    /*
+     * Records the posting once the surrounding transaction completes: a commit as COMMITTED (sampled), a
+     * rollback after the posting itself succeeded as REJECTED. Outside a transaction it records COMMITTED now.
+     */
+    public void committedOnCompletion(PostingType type, UUID transactionId, UUID debitAccountId,
+            UUID creditAccountId, long amount, String idempotencyKey, long startedAtNanos) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            committed(type, transactionId, debitAccountId, creditAccountId, amount, idempotencyKey, startedAtNanos);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    committed(type, transactionId, debitAccountId, creditAccountId, amount, idempotencyKey,
+                            startedAtNanos);
+                } else {
+                    record(Outcome.REJECTED, type, transactionId, debitAccountId, creditAccountId, amount,
+                            idempotencyKey, "TransactionRolledBack", null, startedAtNanos);
+                }
+            }
+        });
+    }
+
+    public void committed(PostingType type, UUID transactionId, UUID debitAccountId, UUID creditAccountId,
+            long amount, String idempotencyKey, long startedAtNanos) {
+        if (!enabled || (successSampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= successSampleRate)) {
+            return;
+        }
+        record(Outcome.COMMITTED, type, transactionId, debitAccountId, creditAccountId, amount, idempotencyKey,
+                null, null, startedAtNanos);
+    }
+
+    public void rejected(PostingType type, UUID debitAccountId, UUID creditAccountId, long amount,
+            String idempotencyKey, RuntimeException error, long startedAtNanos) {
+        if (!enabled) {
+            return;
+        }
+        record(Outcome.REJECTED, type, null, debitAccountId, creditAccountId, amount, idempotencyKey,
+                error.getClass().getSimpleName(), error.getMessage(), startedAtNanos);
+    }
+
+    private void record(Outcome outcome, PostingType type, UUID transactionId, UUID debitAccountId,
+            UUID creditAccountId, long amount, String idempotencyKey, String error, String message,
+            long startedAtNanos) {
+        long now = System.nanoTime();
+        long sequence = claim(outcome == Outcome.REJECTED ? now + failureWaitNanos : now);
+        if (sequence < 0) {
+            (outcome == Outcome.REJECTED ? droppedRejected : droppedCommitted).increment();
+            return;
+        }
+        Slot slot = slots[(int) (sequence & mask)];
+        slot.epochMillis = System.currentTimeMillis();
+        slot.outcome = outcome;
+        slot.type = type;
+        slot.transactionId = transactionId;
+        slot.debitAccountId = debitAccountId;
+        slot.creditAccountId = creditAccountId;
+        slot.amount = amount;
+        slot.idempotencyKey = idempotencyKey;
+        slot.error = error;
+        slot.message = message;
+        slot.durationNanos = now - startedAtNanos;
+        slot.published = sequence;
+    }
+
+    // The next free sequence, or -1 if the buffer stays full until deadline
+    private long claim(long deadline) {
+        while (true) {
+            long sequence = claimed.get();
+            if (sequence - consumed >= slots.length) {
+                if (System.nanoTime() >= deadline) {
+                    return -1;
+                }
+                LockSupport.parkNanos(10_000L);
+                continue;
+            }
+            if (claimed.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    // Events published so far are written and flushed before this returns; meant for tests and shutdown
+    public void flush(Duration timeout) {
+        long target = claimed.get();
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (flushed < target && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(1_000_000L);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (!running) {
+            return;
+        }
+        flush(Duration.ofSeconds(5));
+        running = false;
+        try {
+            writerThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        JsonFactory factory = new JsonFactory()
+                .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        RollingFileOutput out = new RollingFileOutput(file, maxFileBytes, maxFiles);
+        JsonGenerator generator = null;
+        boolean dirty = false;
+        while (true) {
+            try {
+                if (generator == null) {
+                    generator = factory.createGenerator(out, JsonEncoding.UTF8);
+                }
+
+                long sequence = consumed;
+                Slot slot = slots[(int) (sequence & mask)];
+                if (slot.published != sequence) {
+                    if (dirty) {
+                        out.flush();
+                        flushed = sequence;
+                        dirty = false;
+                        continue;
+                    }
+                    if (!running) {
+                        out.close();
+                        return;
+                    }
+                    LockSupport.parkNanos(1_000_000L);
+                    continue;
+                }
+
+                write(generator, slot);
+                generator.flush();
+                out.rollIfFull();
+                (slot.outcome == Outcome.COMMITTED ? committedEvents : rejectedEvents).increment();
+                slot.clear();
+                // Slots are handed back in order; a full buffer frees up as soon as the writer moves past it
+                consumed = sequence + 1;
+                dirty = true;
+            } catch (IOException | RuntimeException e) {
+                // The slot is retried; while the disk stays unwritable, producers fill the ring and drop
+                log.warn("Posting audit log write failed, reopening {}: {}", file, e.getMessage());
+                out.discard();
+                generator = null;
+                if (!running) {
+                    return;
+                }
+                LockSupport.parkNanos(100_000_000L);
+            }
+        }
+    }
+
+    private static void write(JsonGenerator generator, Slot slot) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("ts", Instant.ofEpochMilli(slot.epochMillis).toString());
+        generator.writeStringField("outcome", slot.outcome.name());
+        generator.writeStringField("type", slot.type.name());
+        if (slot.transactionId != null) {
+            generator.writeStringField("transactionId", slot.transactionId.toString());
+        }
+        if (slot.debitAccountId != null) {
+            generator.writeStringField("debitAccountId", slot.debitAccountId.toString());
+        }
+        if (slot.creditAccountId != null) {
+            generator.writeStringField("creditAccountId", slot.creditAccountId.toString());
+        }
+        generator.writeNumberField("amount", slot.amount);
+        generator.writeStringField("idempotencyKey", slot.idempotencyKey);
+        if (slot.error != null) {
+            generator.writeStringField("error", slot.error);
+            generator.writeStringField("message", slot.message);
+        }
+        generator.writeNumberField("durationMicros", slot.durationNanos / 1000);
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    private static class Slot {
+
+        // The sequence this slot was last published for; the writer reads the fields only once it matches
+        private volatile long published = -1;
+        private long epochMillis;
+        private Outcome outcome;
+        private PostingType type;
+        private UUID transactionId;
+        private UUID debitAccountId;
+        private UUID creditAccountId;
+        private long amount;
+        private String idempotencyKey;
+        private String error;
+        private String message;
+        private long durationNanos;
+
+        // Drops references so a slot does not keep a request's objects alive until it is reused
+        void clear() {
+            transactionId = null;
+            debitAccountId = null;
+            creditAccountId = null;
+            idempotencyKey = null;
+            error = null;
+            message = null;
+        }
+    }
+}
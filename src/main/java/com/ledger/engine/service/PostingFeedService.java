@@ -0,0 +1,147 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.FeedCursor;
+import com.ledger.engine.domain.PostingEvent;
+import com.ledger.engine.exception.SubscriberLimitExceededException;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import com.ledger.engine.repository.PostingOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class PostingFeedService {
+
+    private static final Logger log = LoggerFactory.getLogger(PostingFeedService.class);
+    private static final int PRUNE_BATCH_SIZE = 10_000;
+
+    public interface FeedSink {
+
+        void deliver(List<PostingEvent> events, FeedCursor next) throws IOException;
+
+        void heartbeat() throws IOException;
+
+        boolean isOpen();
+    }
+
+    private final PostingOutboxRepository outboxRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final PostingNotifier notifier;
+    private final Duration heartbeatInterval;
+    private final Duration retention;
+    private final ThreadPoolExecutor subscriberExecutor;
+
+    public PostingFeedService(PostingOutboxRepository outboxRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            PostingNotifier notifier,
+            @Value("${ledger.feed.heartbeat-interval:PT15S}") Duration heartbeatInterval,
+            @Value("${ledger.feed.retention:P7D}") Duration retention,
+            @Value("${ledger.feed.max-subscribers:64}") int maxSubscribers) {
+        this.outboxRepository = outboxRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.notifier = notifier;
+        this.heartbeatInterval = heartbeatInterval;
+        this.retention = retention;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.subscriberExecutor = new ThreadPoolExecutor(0, maxSubscribers, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "posting-feed-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    public FeedCursor headCursor() {
+        return outboxRepository.headCursor();
+    }
+
+    public List<PostingEvent> poll(FeedCursor cursor, int limit, Duration maxWait) {
+        long deadline = System.nanoTime() + maxWait.toNanos();
+        while (true) {
+            long seen = notifier.generation();
+            List<PostingEvent> events = outboxRepository.findAfter(cursor, limit);
+            long remaining = deadline - System.nanoTime();
+            if (!events.isEmpty() || remaining <= 0) {
+                return events;
+            }
+            try {
+                notifier.awaitChange(seen, Duration.ofNanos(remaining));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return events;
+            }
+        }
+    }
+
+    // Each subscriber reads at its own pace: the next batch is fetched only after the sink accepted the previous one
+    public void subscribe(FeedCursor from, int batchSize, FeedSink sink) {
+        try {
+            subscriberExecutor.execute(() -> stream(from, batchSize, sink));
+        } catch (RejectedExecutionException e) {
+            throw new SubscriberLimitExceededException(
+                    "Posting feed is at its subscriber limit (" + subscriberExecutor.getMaximumPoolSize() + ")");
+        }
+    }
+
+    private void stream(FeedCursor from, int batchSize, FeedSink sink) {
+        FeedCursor cursor = from;
+        long lastWrite = System.nanoTime();
+        try {
+            while (sink.isOpen()) {
+                long seen = notifier.generation();
+                List<PostingEvent> events = outboxRepository.findAfter(cursor, batchSize);
+                if (events.isEmpty()) {
+                    if (System.nanoTime() - lastWrite >= heartbeatInterval.toNanos()) {
+                        sink.heartbeat();
+                        lastWrite = System.nanoTime();
+                    }
+                    notifier.awaitChange(seen, heartbeatInterval);
+                    continue;
+                }
+                cursor = FeedCursor.of(events.get(events.size() - 1));
+                sink.deliver(events, cursor);
+                lastWrite = System.nanoTime();
+            }
+        } catch (IOException e) {
+            log.debug("Posting feed subscriber disconnected at cursor {}: {}", cursor, e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            log.warn("Posting feed subscriber failed at cursor {}", cursor, e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.feed.prune-interval:PT1H}",
+            initialDelayString = "${ledger.feed.prune-interval:PT1H}")
+    public void pruneOutbox() {
+        LocalDateTime cutoff = ledgerEntryRepository.currentTimestamp().minus(retention);
+        int total = 0;
+        int deleted;
+        do {
+            deleted = outboxRepository.deleteOlderThan(cutoff, PRUNE_BATCH_SIZE);
+            total += deleted;
+        } while (deleted == PRUNE_BATCH_SIZE);
+        if (total > 0) {
+            log.info("Posting outbox pruned: cutoff={}, rows={}", cutoff, total);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriberExecutor.shutdownNow();
+    }
+}
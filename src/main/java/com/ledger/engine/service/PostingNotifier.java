@@ -0,0 +1,156 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.AccountStatus;
+import com.ledger.engine.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/*
+ * Wakes feed consumers once per poll-interval to look for newly committed postings. Postings send no NOTIFY, since
+ * a notifying commit takes a database-wide lock. The pacing comes from one dedicated LISTEN connection outside the
+ * pool, which carries account status changes; those are handed to every AccountStatusListener bean.
+ */
+@Component
+public class PostingNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(PostingNotifier.class);
+
+    private final DataSourceProperties dataSourceProperties;
+    private final ObjectProvider<AccountStatusListener> statusListeners;
+    private final Duration pollInterval;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private long generation;
+
+    private volatile boolean running;
+    private Thread listenerThread;
+
+    public PostingNotifier(DataSourceProperties dataSourceProperties,
+            ObjectProvider<AccountStatusListener> statusListeners,
+            @Value("${ledger.feed.poll-interval:PT1S}") Duration pollInterval) {
+        this.dataSourceProperties = dataSourceProperties;
+        this.statusListeners = statusListeners;
+        this.pollInterval = pollInterval;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        listenerThread = new Thread(this::listenLoop, "posting-notifier");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    public long generation() {
+        lock.lock();
+        try {
+            return generation;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Returns once a wake-up newer than seenGeneration was signalled, or after the timeout
+    public void awaitChange(long seenGeneration, Duration timeout) throws InterruptedException {
+        long remaining = timeout.toNanos();
+        lock.lock();
+        try {
+            while (generation == seenGeneration && remaining > 0) {
+                remaining = changed.awaitNanos(remaining);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void signal() {
+        lock.lock();
+        try {
+            generation++;
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Payload accountId:STATUS, as AccountRepository.updateStatus() sends it
+    private void dispatchStatusChange(String payload) {
+        int separator = payload.indexOf(':');
+        UUID accountId = UUID.fromString(payload.substring(0, separator));
+        AccountStatus status = AccountStatus.valueOf(payload.substring(separator + 1));
+        statusListeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onStatusChange(accountId, status);
+            } catch (RuntimeException e) {
+                log.warn("Account status listener failed: accountId={}, status={}, reason={}",
+                        accountId, status, e.getMessage());
+            }
+        });
+    }
+
+    private void listenLoop() {
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword())) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + AccountRepository.STATUS_CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                log.info("Posting notifier listening on channel {}", AccountRepository.STATUS_CHANNEL);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) pollInterval.toMillis());
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            if (AccountRepository.STATUS_CHANNEL.equals(notification.getName())) {
+                                dispatchStatusChange(notification.getParameter());
+                            }
+                        }
+                    }
+                    // Every wake-up signals: new postings, and rows held back by an older in-progress writer
+                    signal();
+                }
+            } catch (Exception e) {
+                if (!running) {
+                    return;
+                }
+                log.warn("Posting notifier connection lost, reconnecting: {}", e.getMessage());
+                signal();
+                try {
+                    TimeUnit.MILLISECONDS.sleep(pollInterval.toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
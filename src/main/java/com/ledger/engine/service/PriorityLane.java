@@ -0,0 +1,17 @@
+package com.ledger.engine.service;
+
+// Admission lanes: batch work is capped below the node's capacity and shed first, so interactive calls always have room
+public enum PriorityLane {
+    INTERACTIVE("interactive"),
+    BATCH("batch");
+
+    private final String tag;
+
+    PriorityLane(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+}
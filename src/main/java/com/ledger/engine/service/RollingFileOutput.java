@@ -0,0 +1,103 @@
+package com.ledger.engine.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/*
+ * An append-only, size-rolled file for the background writers. Once a complete record leaves the file at
+ * maxFileBytes or more, rollIfFull() renames it to name.1 (name.1 becomes name.2 and so on, the oldest beyond
+ * maxFiles is deleted). The file is opened lazily, so after a roll the next write creates it again. Owned by
+ * one writer thread; not thread-safe.
+ */
+class RollingFileOutput extends OutputStream {
+
+    private final Path file;
+    private final long maxFileBytes;
+    private final int maxFiles;
+    private OutputStream out;
+    private long count;
+
+    RollingFileOutput(Path file, long maxFileBytes, int maxFiles) {
+        this.file = file;
+        this.maxFileBytes = maxFileBytes;
+        this.maxFiles = maxFiles;
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        open().write(b);
+        count++;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        open().write(b, off, len);
+        count += len;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    // Call between records only, so a record never straddles two files
+    void rollIfFull() throws IOException {
+        if (out == null || count < maxFileBytes) {
+            return;
+        }
+        close();
+        Files.deleteIfExists(rolled(maxFiles));
+        for (int i = maxFiles - 1; i >= 1; i--) {
+            if (Files.exists(rolled(i))) {
+                Files.move(rolled(i), rolled(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(file, rolled(1), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    // After a failed write: drop the handle and whatever it buffered, and reopen on the next write
+    void discard() {
+        try {
+            close();
+        } catch (IOException ignored) {
+            out = null;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (out != null) {
+            OutputStream closing = out;
+            out = null;
+            closing.close();
+        }
+    }
+
+    private OutputStream open() throws IOException {
+        if (out == null) {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            out = new BufferedOutputStream(Files.newOutputStream(file,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND), 64 * 1024);
+            count = Files.size(file);
+        }
+        return out;
+    }
+
+    private Path rolled(int index) {
+        return file.resolveSibling(file.getFileName() + "." + index);
+    }
+}
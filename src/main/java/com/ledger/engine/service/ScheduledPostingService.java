@@ -0,0 +1,364 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.LedgerEntry;
+import com.ledger.engine.domain.PostingType;
+import com.ledger.engine.domain.ScheduledPosting;
+import com.ledger.engine.domain.ScheduledPostingStatus;
+import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.domain.UuidV7;
+import com.ledger.engine.exception.AccountClosedException;
+import com.ledger.engine.exception.AccountNotFoundException;
+import com.ledger.engine.exception.DuplicateRequestException;
+import com.ledger.engine.exception.InsufficientFundsException;
+import com.ledger.engine.exception.ScheduledPostingNotFoundException;
+import com.ledger.engine.repository.AccountRepository;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import com.ledger.engine.repository.ScheduledPostingRepository;
+import com.ledger.engine.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+ * Executes future-dated postings. Due instructions are claimed in execute_at order in bounded batches with
+ * SKIP LOCKED, so any number of nodes can dispatch without double-claiming. Within a batch, instructions that
+ * share an account run one after another in execute_at order; unrelated groups run on a fixed number of
+ * workers, so a burst of instructions due at the same instant reaches the account locks at a bounded rate.
+ */
+@Service
+public class ScheduledPostingService {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduledPostingService.class);
+
+    private final ScheduledPostingRepository scheduledPostingRepository;
+    private final AccountRepository accountRepository;
+    private final TransactionRepository transactionRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final LedgerService ledgerService;
+    private final int batchSize;
+    private final Duration lease;
+    private final Duration retryDelay;
+    private final int maxAttempts;
+    private final ExecutorService workers;
+
+    private final Counter completed;
+    private final Counter failed;
+    private final Counter retried;
+    private final Timer lag;
+
+    public ScheduledPostingService(ScheduledPostingRepository scheduledPostingRepository,
+            AccountRepository accountRepository,
+            TransactionRepository transactionRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            LedgerService ledgerService,
+            MeterRegistry meterRegistry,
+            @Value("${ledger.scheduled-postings.batch-size:500}") int batchSize,
+            @Value("${ledger.scheduled-postings.concurrency:4}") int concurrency,
+            @Value("${ledger.scheduled-postings.lease:PT5M}") Duration lease,
+            @Value("${ledger.scheduled-postings.retry-delay:PT30S}") Duration retryDelay,
+            @Value("${ledger.scheduled-postings.max-attempts:5}") int maxAttempts) {
+        this.scheduledPostingRepository = scheduledPostingRepository;
+        this.accountRepository = accountRepository;
+        this.transactionRepository = transactionRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.ledgerService = ledgerService;
+        this.batchSize = batchSize;
+        this.lease = lease;
+        this.retryDelay = retryDelay;
+        this.maxAttempts = maxAttempts;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(concurrency, runnable -> {
+            Thread thread = new Thread(runnable, "scheduled-posting-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.completed = meterRegistry.counter("ledger.scheduled-postings.executed", "outcome", "completed");
+        this.failed = meterRegistry.counter("ledger.scheduled-postings.executed", "outcome", "failed");
+        this.retried = meterRegistry.counter("ledger.scheduled-postings.executed", "outcome", "retried");
+        this.lag = Timer.builder("ledger.scheduled-postings.lag")
+                .description("Time between an instruction's execute_at and its posting")
+                .register(meterRegistry);
+    }
+
+    /*
+     * A replay with the same key returns the original instruction; the same key with a different payload, or a key
+     * some posting already committed under, is a DuplicateRequestException. The instruction's ledger transaction
+     * would otherwise collide with that posting when it runs.
+     */
+    @Transactional
+    public ScheduledPosting schedule(PostingType type, UUID accountId, UUID fromAccountId, UUID toAccountId,
+            long amount, String idempotencyKey, LocalDateTime executeAt) {
+        validate(type, accountId, fromAccountId, toAccountId, amount, idempotencyKey, executeAt);
+
+        ScheduledPosting posting = new ScheduledPosting(UuidV7.generate(), idempotencyKey, type,
+                accountId, fromAccountId, toAccountId, amount, executeAt, ScheduledPostingStatus.PENDING,
+                0, null, null, null, null);
+        if (scheduledPostingRepository.insertIfAbsent(posting)) {
+            Optional<Transaction> posted = transactionRepository.findByIdempotencyKey(idempotencyKey);
+            if (posted.isPresent()) {
+                // Rolls the insert back with the rest of the transaction
+                throw new DuplicateRequestException("Idempotency key already used by a posting: " + idempotencyKey,
+                        posted.get().getTransactionId());
+            }
+            log.info("Posting scheduled: id={}, type={}, executeAt={}", posting.getScheduledPostingId(), type, executeAt);
+            return scheduledPostingRepository.findByIdempotencyKey(idempotencyKey).orElseThrow();
+        }
+
+        ScheduledPosting existing = scheduledPostingRepository.findByIdempotencyKey(idempotencyKey).orElseThrow();
+        if (!isSameInstruction(existing, posting)) {
+            log.info("Idempotency key reused for a different scheduled posting: idempotencyKey={}", idempotencyKey);
+            throw new DuplicateRequestException(
+                    "Idempotency key already used for a different scheduled posting: " + idempotencyKey,
+                    existing.getTransactionId());
+        }
+        return existing;
+    }
+
+    @Transactional(readOnly = true)
+    public ScheduledPosting getScheduledPosting(UUID scheduledPostingId) {
+        return scheduledPostingRepository.findById(scheduledPostingId)
+                .orElseThrow(() -> new ScheduledPostingNotFoundException(
+                        "Scheduled posting not found: " + scheduledPostingId));
+    }
+
+    @Transactional
+    public ScheduledPosting cancel(UUID scheduledPostingId) {
+        getScheduledPosting(scheduledPostingId);
+        // Only PENDING rows can be cancelled; one a dispatcher has claimed is already being posted
+        boolean cancelled = scheduledPostingRepository.cancel(scheduledPostingId);
+        ScheduledPosting posting = getScheduledPosting(scheduledPostingId);
+        if (!cancelled) {
+            throw new IllegalArgumentException("Scheduled posting " + scheduledPostingId + " is "
+                    + posting.getStatus() + " and can no longer be cancelled");
+        }
+        return posting;
+    }
+
+    @Scheduled(fixedDelayString = "${ledger.scheduled-postings.interval:PT1S}",
+            initialDelayString = "${ledger.scheduled-postings.interval:PT1S}")
+    public void scheduledDispatch() {
+        dispatchDue();
+    }
+
+    // Drains everything due now; each claim is its own statement and each posting its own ledger transaction
+    public int dispatchDue() {
+        int dispatched = 0;
+        List<ScheduledPosting> batch;
+        do {
+            batch = scheduledPostingRepository.claimDue(batchSize, lease);
+            if (batch.isEmpty()) {
+                break;
+            }
+            execute(batch);
+            dispatched += batch.size();
+        } while (batch.size() == batchSize);
+        if (dispatched > 0) {
+            log.info("Scheduled postings dispatched: count={}", dispatched);
+        }
+        return dispatched;
+    }
+
+    private void execute(List<ScheduledPosting> batch) {
+        List<Callable<Void>> groups = new ArrayList<>();
+        for (List<ScheduledPosting> group : groupBySharedAccounts(batch)) {
+            groups.add(() -> {
+                group.forEach(this::executeOne);
+                return null;
+            });
+        }
+        try {
+            for (Future<Void> future : workers.invokeAll(groups)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            // Unfinished rows keep their lease and are reclaimed once it expires
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("Scheduled posting worker failed", e.getCause());
+        }
+    }
+
+    private void executeOne(ScheduledPosting posting) {
+        UUID id = posting.getScheduledPostingId();
+        try {
+            Transaction transaction = post(posting);
+            scheduledPostingRepository.markCompleted(id, transaction.getTransactionId());
+            completed.increment();
+            lag.record(Duration.between(posting.getExecuteAt(), LocalDateTime.now()));
+        } catch (DuplicateRequestException e) {
+            // Posted by an earlier attempt whose dispatcher died before recording it, if the postings agree;
+            // otherwise another request committed under the key after it was scheduled
+            UUID existingId = e.getExistingTransactionId();
+            if (isPostingOf(posting, ledgerEntryRepository.findByTransactionId(existingId))) {
+                scheduledPostingRepository.markCompleted(id, existingId);
+                completed.increment();
+            } else {
+                log.warn("Scheduled posting rejected: id={}, key taken by transactionId={}", id, existingId);
+                scheduledPostingRepository.markFailed(id,
+                        "Idempotency key already used by a different posting: transactionId=" + existingId);
+                failed.increment();
+            }
+        } catch (AccountNotFoundException | AccountClosedException | InsufficientFundsException
+                | IllegalArgumentException e) {
+            log.warn("Scheduled posting rejected: id={}, reason={}", id, e.getMessage());
+            scheduledPostingRepository.markFailed(id, e.getMessage());
+            failed.increment();
+        } catch (RuntimeException e) {
+            if (posting.getAttempts() >= maxAttempts) {
+                log.error("Scheduled posting failed after {} attempts: id={}", posting.getAttempts(), id, e);
+                scheduledPostingRepository.markFailed(id, e.getMessage());
+                failed.increment();
+            } else {
+                log.warn("Scheduled posting attempt {} failed, retrying: id={}, reason={}",
+                        posting.getAttempts(), id, e.getMessage());
+                scheduledPostingRepository.retryLater(id, e.getMessage(), retryDelay);
+                retried.increment();
+            }
+        }
+    }
+
+    private Transaction post(ScheduledPosting posting) {
+        return switch (posting.getPostingType()) {
+            case DEPOSIT -> ledgerService.deposit(
+                    posting.getAccountId(), posting.getAmount(), posting.getIdempotencyKey());
+            case WITHDRAWAL -> ledgerService.withdraw(
+                    posting.getAccountId(), posting.getAmount(), posting.getIdempotencyKey());
+            case TRANSFER -> ledgerService.transfer(posting.getFromAccountId(), posting.getToAccountId(),
+                    posting.getAmount(), posting.getIdempotencyKey());
+        };
+    }
+
+    // execute_at is compared at the microsecond precision PostgreSQL stores it with
+    private static boolean isSameInstruction(ScheduledPosting stored, ScheduledPosting requested) {
+        return stored.getPostingType() == requested.getPostingType()
+                && Objects.equals(stored.getAccountId(), requested.getAccountId())
+                && Objects.equals(stored.getFromAccountId(), requested.getFromAccountId())
+                && Objects.equals(stored.getToAccountId(), requested.getToAccountId())
+                && stored.getAmount() == requested.getAmount()
+                && stored.getExecuteAt().equals(requested.getExecuteAt().truncatedTo(ChronoUnit.MICROS));
+    }
+
+    // Whether the entries are exactly the ones this instruction posts: same accounts, same signed amounts
+    private static boolean isPostingOf(ScheduledPosting posting, List<LedgerEntry> entries) {
+        Map<UUID, Long> expected = switch (posting.getPostingType()) {
+            case DEPOSIT -> Map.of(posting.getAccountId(), posting.getAmount());
+            case WITHDRAWAL -> Map.of(posting.getAccountId(), -posting.getAmount());
+            case TRANSFER -> Map.of(posting.getFromAccountId(), -posting.getAmount(),
+                    posting.getToAccountId(), posting.getAmount());
+        };
+        Map<UUID, Long> actual = new HashMap<>();
+        for (LedgerEntry entry : entries) {
+            if (actual.put(entry.getAccountId(), entry.getAmount()) != null) {
+                return false;
+            }
+        }
+        return actual.equals(expected);
+    }
+
+    // Connected components over accounts (union-find), each kept in the batch's execute_at order
+    private static List<List<ScheduledPosting>> groupBySharedAccounts(List<ScheduledPosting> batch) {
+        Map<UUID, UUID> parent = new HashMap<>();
+        for (ScheduledPosting posting : batch) {
+            List<UUID> accounts = accountsOf(posting);
+            UUID root = find(parent, accounts.get(0));
+            for (UUID account : accounts.subList(1, accounts.size())) {
+                UUID other = find(parent, account);
+                if (!other.equals(root)) {
+                    parent.put(other, root);
+                }
+            }
+        }
+        Map<UUID, List<ScheduledPosting>> groups = new LinkedHashMap<>();
+        for (ScheduledPosting posting : batch) {
+            groups.computeIfAbsent(find(parent, accountsOf(posting).get(0)), root -> new ArrayList<>()).add(posting);
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    private static UUID find(Map<UUID, UUID> parent, UUID account) {
+        UUID root = account;
+        UUID next;
+        while ((next = parent.get(root)) != null) {
+            root = next;
+        }
+        if (!root.equals(account)) {
+            parent.put(account, root);
+        }
+        return root;
+    }
+
+    private static List<UUID> accountsOf(ScheduledPosting posting) {
+        return posting.getPostingType() == PostingType.TRANSFER
+                ? List.of(posting.getFromAccountId(), posting.getToAccountId())
+                : List.of(posting.getAccountId());
+    }
+
+    private void validate(PostingType type, UUID accountId, UUID fromAccountId, UUID toAccountId,
+            long amount, String idempotencyKey, LocalDateTime executeAt) {
+        if (type == null) {
+            throw new IllegalArgumentException("type is required");
+        }
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            throw new IllegalArgumentException("idempotencyKey is required");
+        }
+        if (executeAt == null) {
+            throw new IllegalArgumentException("executeAt is required");
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("Amount must be positive, got: " + amount);
+        }
+        List<UUID> accounts;
+        if (type == PostingType.TRANSFER) {
+            if (fromAccountId == null || toAccountId == null) {
+                throw new IllegalArgumentException("fromAccountId and toAccountId are required");
+            }
+            if (fromAccountId.equals(toAccountId)) {
+                throw new IllegalArgumentException("Cannot transfer to the same account");
+            }
+            accounts = List.of(fromAccountId, toAccountId);
+        } else {
+            if (accountId == null) {
+                throw new IllegalArgumentException("accountId is required");
+            }
+            accounts = List.of(accountId);
+        }
+        Set<UUID> existing = accountRepository.findExistingIds(accounts);
+        for (UUID account : accounts) {
+            if (!existing.contains(account)) {
+                throw new AccountNotFoundException("Account not found: " + account);
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,103 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.StatementFormat;
+import com.ledger.engine.domain.StatementRow;
+import com.ledger.engine.exception.AccountNotFoundException;
+import com.ledger.engine.repository.AccountRepository;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+@Service
+public class StatementExportService {
+
+    private final AccountRepository accountRepository;
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final int fetchSize;
+    private final int maxAccounts;
+    private final Counter rowsExported;
+
+    public StatementExportService(AccountRepository accountRepository,
+            LedgerEntryRepository ledgerEntryRepository,
+            MeterRegistry meterRegistry,
+            @Value("${ledger.statement.fetch-size:5000}") int fetchSize,
+            @Value("${ledger.statement.max-accounts:1000}") int maxAccounts) {
+        this.accountRepository = accountRepository;
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.fetchSize = fetchSize;
+        this.maxAccounts = maxAccounts;
+        this.rowsExported = meterRegistry.counter("ledger.statement.rows");
+    }
+
+    // Checked before the response is committed, so bad requests still get a proper error status
+    @Transactional(readOnly = true)
+    public Set<UUID> validateRequest(List<UUID> accountIds, LocalDateTime from, LocalDateTime to) {
+        if (from != null && to != null && !to.isAfter(from)) {
+            throw new IllegalArgumentException("to must be after from");
+        }
+        if (accountIds == null || accountIds.isEmpty()) {
+            throw new IllegalArgumentException("accountIds must not be empty");
+        }
+        Set<UUID> requested = new LinkedHashSet<>(accountIds);
+        if (requested.size() > maxAccounts) {
+            throw new IllegalArgumentException(
+                    "Too many accounts in one statement: " + requested.size() + " (max " + maxAccounts + ")");
+        }
+        Set<UUID> existing = accountRepository.findExistingIds(requested);
+        for (UUID accountId : requested) {
+            if (!existing.contains(accountId)) {
+                throw new AccountNotFoundException("Account not found: " + accountId);
+            }
+        }
+        return requested;
+    }
+
+    /**
+     * Streams entries in [from, to) for the given accounts, or for every account when accountIds is empty,
+     * ordered by account and time. Rows go from the database cursor to the encoder one at a time.
+     */
+    @Transactional(readOnly = true)
+    public long export(Set<UUID> accountIds, LocalDateTime from, LocalDateTime to,
+            StatementFormat format, OutputStream out) throws IOException {
+        StatementWriter writer = StatementWriter.create(format, out);
+        long[] rows = {0};
+        Consumer<StatementRow> sink = row -> {
+            write(writer, row);
+            rows[0]++;
+        };
+        try {
+            if (accountIds.isEmpty()) {
+                ledgerEntryRepository.streamEntries(null, from, to, fetchSize, sink);
+            }
+            for (UUID accountId : accountIds) {
+                ledgerEntryRepository.streamEntries(accountId, from, to, fetchSize, sink);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        rowsExported.increment(rows[0]);
+        return rows[0];
+    }
+
+    private static void write(StatementWriter writer, StatementRow row) {
+        try {
+            writer.write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.StatementFormat;
+import com.ledger.engine.domain.StatementRow;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Encodes streamed statement rows straight onto the output; implementations buffer at most one row group
+interface StatementWriter {
+
+    void write(StatementRow row) throws IOException;
+
+    // Flushes buffered rows and the format trailer; does not close the underlying stream
+    void finish() throws IOException;
+
+    static StatementWriter create(StatementFormat format, OutputStream out) throws IOException {
+        return switch (format) {
+            case CSV -> new CsvStatementWriter(out);
+            case COLUMNAR -> new ColumnarStatementWriter(out);
+        };
+    }
+}
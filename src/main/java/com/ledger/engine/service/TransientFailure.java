@@ -0,0 +1,57 @@
+package com.ledger.engine.service;
+
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+// PostgreSQL failures that say nothing about the request itself: the same request may succeed if sent again
+public enum TransientFailure {
+    SERIALIZATION("serialization"),
+    DEADLOCK("deadlock"),
+    LOCK_TIMEOUT("lock-timeout"),
+    STATEMENT_TIMEOUT("statement-timeout"),
+    CONNECTION("connection");
+
+    private final String tag;
+
+    TransientFailure(String tag) {
+        this.tag = tag;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    // Walks the cause chain for a SQLState; returns null for anything not worth retrying
+    public static TransientFailure classify(Throwable failure) {
+        for (Throwable t = failure; t != null; t = t.getCause()) {
+            if (t instanceof SQLException sql && sql.getSQLState() != null) {
+                TransientFailure byState = fromSqlState(sql.getSQLState());
+                if (byState != null) {
+                    return byState;
+                }
+            }
+            // Pool exhaustion: Hikari's connection-timeout, before any statement reached the server
+            if (t instanceof SQLTransientConnectionException || t instanceof CannotGetJdbcConnectionException) {
+                return CONNECTION;
+            }
+            if (t.getCause() == t) {
+                break;
+            }
+        }
+        return null;
+    }
+
+    static TransientFailure fromSqlState(String sqlState) {
+        return switch (sqlState) {
+            case "40001" -> SERIALIZATION;
+            case "40P01" -> DEADLOCK;
+            case "55P03" -> LOCK_TIMEOUT;
+            case "57014" -> STATEMENT_TIMEOUT;
+            case "53300", "57P01", "57P03" -> CONNECTION;
+            // Class 08: connection exceptions
+            default -> sqlState.startsWith("08") ? CONNECTION : null;
+        };
+    }
+}
@@ -0,0 +1,181 @@
+package com.ledger.engine.service;
+
+import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.exception.DuplicateRequestException;
+import com.ledger.engine.exception.LedgerUnavailableException;
+import com.ledger.engine.repository.TransactionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/*
+ * Runs a ledger operation, retrying it when PostgreSQL reports a transient failure (deadlock, serialization
+ * failure, lock or statement timeout, lost or unavailable connection). Each attempt is a whole new
+ * transaction, so callers pass the @Transactional service call itself, never something that runs inside one.
+ * Backoff is exponential with full jitter, and no retry starts once it could not finish within the budget.
+ *
+ * After failure-threshold operations in a row exhaust their retries, the circuit opens: calls fail fast with
+ * LedgerUnavailableException (503) for open-duration, then a single trial call decides whether it closes.
+ */
+@Service
+public class TransientRetryService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransientRetryService.class);
+
+    private final TransactionRepository transactionRepository;
+    private final MeterRegistry meterRegistry;
+    private final int maxAttempts;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final long budgetNanos;
+    private final int failureThreshold;
+    private final long openNanos;
+    private final Counter rejected;
+
+    private int consecutiveFailures;
+    private boolean open;
+    private boolean trialInFlight;
+    private long openUntil;
+
+    public TransientRetryService(TransactionRepository transactionRepository,
+            MeterRegistry meterRegistry,
+            @Value("${ledger.retry.max-attempts:4}") int maxAttempts,
+            @Value("${ledger.retry.initial-backoff:PT0.02S}") Duration initialBackoff,
+            @Value("${ledger.retry.max-backoff:PT0.5S}") Duration maxBackoff,
+            @Value("${ledger.retry.budget:PT3S}") Duration budget,
+            @Value("${ledger.retry.circuit.failure-threshold:20}") int failureThreshold,
+            @Value("${ledger.retry.circuit.open-duration:PT5S}") Duration openDuration) {
+        this.transactionRepository = transactionRepository;
+        this.meterRegistry = meterRegistry;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.budgetNanos = budget.toNanos();
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.rejected = meterRegistry.counter("ledger.circuit.rejected");
+        meterRegistry.gauge("ledger.circuit.open", this, service -> service.isOpen() ? 1 : 0);
+    }
+
+    /*
+     * For postings. If an attempt committed but its outcome was lost (the connection died during COMMIT),
+     * the retry trips the idempotency check; that is the caller's own transaction, so it is returned as the
+     * result rather than reported as a duplicate. Only a CONNECTION failure leaves that possibility open: after
+     * a deadlock or timeout the attempt certainly rolled back, so the key was taken by some other request and
+     * the duplicate is reported as usual.
+     */
+    public Transaction post(String operation, Supplier<Transaction> action) {
+        TransientFailure[] previous = {null};
+        return execute(operation, () -> {
+            try {
+                return action.get();
+            } catch (DuplicateRequestException e) {
+                if (previous[0] != TransientFailure.CONNECTION) {
+                    throw e;
+                }
+                log.info("Retried {} had already committed: transactionId={}", operation, e.getExistingTransactionId());
+                return transactionRepository.findById(e.getExistingTransactionId()).orElseThrow(() -> e);
+            } catch (RuntimeException e) {
+                previous[0] = TransientFailure.classify(e);
+                throw e;
+            }
+        });
+    }
+
+    public <T> T execute(String operation, Supplier<T> action) {
+        boolean trial = acquirePermit(operation);
+        long startedAt = System.nanoTime();
+        for (int attempt = 1; ; attempt++) {
+            TransientFailure failure;
+            RuntimeException error;
+            try {
+                T result = action.get();
+                recordSuccess(trial);
+                return result;
+            } catch (RuntimeException e) {
+                failure = TransientFailure.classify(e);
+                if (failure == null) {
+                    // A business outcome: the database answered, so it counts as healthy
+                    recordSuccess(trial);
+                    throw e;
+                }
+                error = e;
+            }
+
+            if (failure == TransientFailure.LOCK_TIMEOUT) {
+                meterRegistry.counter("ledger.lock.timeouts", "operation", operation).increment();
+            }
+            long backoff = backoff(attempt);
+            long elapsed = System.nanoTime() - startedAt;
+            if (attempt >= maxAttempts || elapsed + backoff > budgetNanos) {
+                meterRegistry.counter("ledger.retry.exhausted", "operation", operation,
+                        "reason", failure.getTag()).increment();
+                log.warn("{} failed after {} attempts in {} ms: reason={}", operation, attempt,
+                        elapsed / 1_000_000, failure.getTag());
+                recordFailure(trial, operation);
+                throw new LedgerUnavailableException(
+                        "Ledger temporarily unavailable (" + failure.getTag() + "); retry the request", error);
+            }
+            meterRegistry.counter("ledger.retry.attempts", "operation", operation,
+                    "reason", failure.getTag()).increment();
+            log.info("Retrying {} after {}: attempt={}, backoffMs={}", operation, failure.getTag(), attempt,
+                    backoff / 1_000_000);
+            try {
+                Thread.sleep(backoff / 1_000_000, (int) (backoff % 1_000_000));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                recordFailure(trial, operation);
+                throw new LedgerUnavailableException("Interrupted while retrying " + operation, error);
+            }
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return open;
+    }
+
+    // Full jitter: uniform in [0, min(max, initial * 2^(attempt-1))]
+    private long backoff(int attempt) {
+        long ceiling = Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private synchronized boolean acquirePermit(String operation) {
+        if (!open) {
+            return false;
+        }
+        if (System.nanoTime() - openUntil < 0 || trialInFlight) {
+            rejected.increment();
+            throw new LedgerUnavailableException("Ledger temporarily unavailable (circuit open); retry the request");
+        }
+        log.info("Circuit half-open, trial call: operation={}", operation);
+        trialInFlight = true;
+        return true;
+    }
+
+    private synchronized void recordSuccess(boolean trial) {
+        consecutiveFailures = 0;
+        if (trial) {
+            open = false;
+            trialInFlight = false;
+            log.info("Circuit closed");
+        }
+    }
+
+    private synchronized void recordFailure(boolean trial, String operation) {
+        consecutiveFailures++;
+        if (trial || (!open && consecutiveFailures >= failureThreshold)) {
+            open = true;
+            trialInFlight = false;
+            openUntil = System.nanoTime() + openNanos;
+            log.error("Circuit opened: operation={}, consecutiveFailures={}", operation, consecutiveFailures);
+        }
+    }
+}
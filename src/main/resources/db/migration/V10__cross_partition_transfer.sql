@@ -0,0 +1,41 @@
+-- ===================================================================
+-- Cross-partition transfers
+-- ===================================================================
+-- Rules:
+--   • Each partition's ledger balances on its own: phase 1 on the payer's
+--     partition debits the payer and credits the local clearing account
+--     for the payee's partition; phase 2 on the payee's partition debits
+--     its clearing account for the payer's partition and credits the payee
+--   • A row is written in the same transaction as phase 1 and records
+--     whether phase 2 is still owed (PREPARED), was applied (COMPLETED),
+--     or was refused and reversed locally (FAILED)
+--   • Phase 2 is keyed by transfer_id on the remote side, so delivering
+--     it again after a lost response posts it once
+-- ===================================================================
+
+CREATE TABLE cross_partition_transfer (
+    transfer_id             UUID         PRIMARY KEY,
+    transaction_id          UUID         NOT NULL,
+    from_account_id         UUID         NOT NULL,
+    to_account_id           UUID         NOT NULL,
+    target_partition        INT          NOT NULL,
+    amount                  BIGINT       NOT NULL,
+    status                  VARCHAR(20)  NOT NULL DEFAULT 'PREPARED',
+    attempts                INT          NOT NULL DEFAULT 0,
+    claimed_until           TIMESTAMP,
+    remote_transaction_id   UUID,
+    reversal_transaction_id UUID,
+    last_error              TEXT,
+    created_at              TIMESTAMP    NOT NULL DEFAULT NOW(),
+    completed_at            TIMESTAMP,
+
+    CONSTRAINT fk_cross_partition_transfer_transaction FOREIGN KEY (transaction_id)
+        REFERENCES transaction (transaction_id) ON DELETE RESTRICT,
+    CONSTRAINT uq_cross_partition_transfer_transaction UNIQUE (transaction_id),
+    CONSTRAINT chk_cross_partition_transfer_status CHECK (status IN ('PREPARED', 'COMPLETED', 'FAILED')),
+    CONSTRAINT chk_cross_partition_transfer_amount CHECK (amount > 0)
+);
+
+-- Recovery scans: phase 2 still owed, oldest first
+CREATE INDEX idx_cross_partition_transfer_prepared ON cross_partition_transfer (created_at)
+    WHERE status = 'PREPARED';
@@ -0,0 +1,61 @@
+-- ===================================================================
+-- Cold history for closed accounts
+-- ===================================================================
+-- Rules:
+--   • Only CLOSED accounts are archived, and only entries at or before
+--     a cutoff the invariant verifier has already passed
+--   • Entries are MOVED, unchanged, from ledger_entry to
+--     ledger_entry_archive in one transaction per account; nothing is
+--     rewritten or summarised away
+--   • Each archived account keeps one carry entry in ledger_entry, dated
+--     at archived_through, equal to the sum of its archived entries, so
+--     SUM(amount) over ledger_entry still gives every balance and the
+--     global sum. Archiving again replaces the carry with a new one
+--   • ledger_entry_history is the ledger as it was before archival: hot
+--     entries without the carries, plus the archive. History, as-of,
+--     checkpoint, rollup and verifier reads go through it
+--   • The archive is append-only and densely packed; operators can move
+--     it to cheaper storage with ALTER TABLE ... SET TABLESPACE
+-- ===================================================================
+
+CREATE TABLE ledger_entry_archive (
+    ledger_entry_id UUID      NOT NULL,
+    transaction_id  UUID      NOT NULL,
+    account_id      UUID      NOT NULL,
+    amount          BIGINT    NOT NULL,
+    created_at      TIMESTAMP NOT NULL,
+
+    CONSTRAINT fk_ledger_archive_transaction FOREIGN KEY (transaction_id)
+        REFERENCES transaction (transaction_id) ON DELETE RESTRICT,
+    CONSTRAINT fk_ledger_archive_account FOREIGN KEY (account_id)
+        REFERENCES account (account_id) ON DELETE RESTRICT
+) WITH (fillfactor = 100);
+
+-- The same access paths as the hot table: account history, time windows, transaction lookups
+CREATE INDEX idx_ledger_entry_archive_account_created ON ledger_entry_archive (account_id, created_at) INCLUDE (amount);
+CREATE INDEX idx_ledger_entry_archive_created_at ON ledger_entry_archive (created_at);
+CREATE INDEX idx_ledger_entry_archive_transaction_id ON ledger_entry_archive (transaction_id);
+
+CREATE TABLE account_archive (
+    account_id           UUID      PRIMARY KEY,
+    archived_through     TIMESTAMP NOT NULL,
+    carry_transaction_id UUID      NOT NULL,
+    carry_entry_id       UUID      NOT NULL,
+    entry_count          BIGINT    NOT NULL,
+    amount_sum           BIGINT    NOT NULL,
+    archived_at          TIMESTAMP NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT fk_account_archive_account FOREIGN KEY (account_id)
+        REFERENCES account (account_id) ON DELETE RESTRICT,
+    CONSTRAINT fk_account_archive_transaction FOREIGN KEY (carry_transaction_id)
+        REFERENCES transaction (transaction_id) ON DELETE RESTRICT,
+    CONSTRAINT uq_account_archive_carry_entry UNIQUE (carry_entry_id)
+);
+
+CREATE VIEW ledger_entry_history AS
+SELECT e.ledger_entry_id, e.transaction_id, e.account_id, e.amount, e.created_at
+FROM ledger_entry e
+WHERE NOT EXISTS (SELECT 1 FROM account_archive a WHERE a.carry_entry_id = e.ledger_entry_id)
+UNION ALL
+SELECT ledger_entry_id, transaction_id, account_id, amount, created_at
+FROM ledger_entry_archive;
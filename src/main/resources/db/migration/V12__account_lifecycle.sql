@@ -0,0 +1,13 @@
+-- ===================================================================
+-- Account lifecycle: ACTIVE, FROZEN, CLOSED
+-- ===================================================================
+-- Rules:
+--   • Only ACTIVE accounts take postings; FROZEN and CLOSED accounts are
+--     refused by the same check, made on the row every posting locks
+--   • An account is closed only at zero balance with no active holds
+--   • A status change bumps the account version and is announced on the
+--     account_status channel when it commits
+-- ===================================================================
+
+ALTER TABLE account DROP CONSTRAINT chk_account_status;
+ALTER TABLE account ADD CONSTRAINT chk_account_status CHECK (status IN ('ACTIVE', 'FROZEN', 'CLOSED'));
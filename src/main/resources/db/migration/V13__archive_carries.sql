@@ -0,0 +1,41 @@
+-- ===================================================================
+-- Append-only archive carries
+-- ===================================================================
+-- Rules:
+--   • Every archival run appends one carry entry for what it moved;
+--     earlier carries are never deleted, so the only DELETE on
+--     ledger_entry left is the archival move itself
+--   • ledger_archive_carry lists every carry entry ever written, so
+--     ledger_entry_history can leave all of them out
+--   • account_archive keeps the account's archived totals and points at
+--     its latest carry
+--   • The archive is not compressed: its rows are the hot rows, unchanged
+-- ===================================================================
+
+CREATE TABLE ledger_archive_carry (
+    carry_entry_id       UUID      PRIMARY KEY,
+    carry_transaction_id UUID      NOT NULL,
+    account_id           UUID      NOT NULL,
+    archived_through     TIMESTAMP NOT NULL,
+    entry_count          BIGINT    NOT NULL,
+    amount_sum           BIGINT    NOT NULL,
+    created_at           TIMESTAMP NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT fk_archive_carry_transaction FOREIGN KEY (carry_transaction_id)
+        REFERENCES transaction (transaction_id) ON DELETE RESTRICT,
+    CONSTRAINT fk_archive_carry_account FOREIGN KEY (account_id)
+        REFERENCES account (account_id) ON DELETE RESTRICT
+);
+
+INSERT INTO ledger_archive_carry (carry_entry_id, carry_transaction_id, account_id, archived_through,
+                                  entry_count, amount_sum, created_at)
+SELECT carry_entry_id, carry_transaction_id, account_id, archived_through, entry_count, amount_sum, archived_at
+FROM account_archive;
+
+CREATE OR REPLACE VIEW ledger_entry_history AS
+SELECT e.ledger_entry_id, e.transaction_id, e.account_id, e.amount, e.created_at
+FROM ledger_entry e
+WHERE NOT EXISTS (SELECT 1 FROM ledger_archive_carry c WHERE c.carry_entry_id = e.ledger_entry_id)
+UNION ALL
+SELECT ledger_entry_id, transaction_id, account_id, amount, created_at
+FROM ledger_entry_archive;
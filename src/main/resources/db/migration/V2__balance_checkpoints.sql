@@ -0,0 +1,31 @@
+-- ===================================================================
+-- Balance checkpoints for historical (as-of) balance queries
+-- ===================================================================
+-- Rules:
+--   • A checkpoint is a DERIVED snapshot: SUM(amount) of every entry for
+--     the account with created_at <= as_of
+--   • Checkpoints never replace the ledger; they only bound the range
+--     that has to be summed for "balance at time T"
+-- ===================================================================
+
+CREATE TABLE balance_checkpoint (
+    account_id UUID      NOT NULL,
+    as_of      TIMESTAMP NOT NULL,
+    balance    BIGINT    NOT NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT pk_balance_checkpoint PRIMARY KEY (account_id, as_of),
+    CONSTRAINT fk_checkpoint_account FOREIGN KEY (account_id)
+        REFERENCES account (account_id) ON DELETE RESTRICT
+);
+
+-- Latest checkpoint cutoff lookup for the checkpoint job
+CREATE INDEX idx_balance_checkpoint_as_of ON balance_checkpoint (as_of);
+
+-- Bounded range sums: (account, time window) served from the index alone
+-- (supersedes the single-column account index)
+CREATE INDEX idx_ledger_entry_account_created ON ledger_entry (account_id, created_at) INCLUDE (amount);
+DROP INDEX idx_ledger_entry_account_id;
+
+-- Window scans for the checkpoint job
+CREATE INDEX idx_ledger_entry_created_at ON ledger_entry (created_at);
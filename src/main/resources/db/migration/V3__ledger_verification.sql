@@ -0,0 +1,38 @@
+-- ===================================================================
+-- Incremental ledger invariant verification
+-- ===================================================================
+-- Rules:
+--   • Each run verifies the entries with created_at in (window_start, window_end]
+--   • Runs are contiguous: the next window starts at the previous window_end
+--   • All entries of one transaction share created_at, so a window never
+--     splits a transaction
+-- ===================================================================
+
+CREATE TABLE ledger_verification_run (
+    run_id            BIGSERIAL PRIMARY KEY,
+    window_start      TIMESTAMP,
+    window_end        TIMESTAMP NOT NULL,
+    transaction_count BIGINT    NOT NULL,
+    entry_count       BIGINT    NOT NULL,
+    net_amount        BIGINT    NOT NULL,
+    external_amount   BIGINT    NOT NULL,
+    violation_count   INT       NOT NULL,
+    started_at        TIMESTAMP NOT NULL,
+    completed_at      TIMESTAMP NOT NULL DEFAULT NOW()
+);
+
+CREATE UNIQUE INDEX idx_verification_run_window_end ON ledger_verification_run (window_end);
+
+CREATE TABLE ledger_invariant_violation (
+    violation_id   BIGSERIAL PRIMARY KEY,
+    run_id         BIGINT    NOT NULL,
+    transaction_id UUID      NOT NULL,
+    entry_count    INT       NOT NULL,
+    amount_sum     BIGINT    NOT NULL,
+    detected_at    TIMESTAMP NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT fk_violation_run FOREIGN KEY (run_id)
+        REFERENCES ledger_verification_run (run_id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_invariant_violation_run_id ON ledger_invariant_violation (run_id);
@@ -0,0 +1,26 @@
+-- ===================================================================
+-- Transactional outbox for the committed-postings feed
+-- ===================================================================
+-- Rules:
+--   • One row per ledger entry, written in the SAME transaction as the entry
+--   • tx_xid records the writing transaction; readers only deliver rows whose
+--     tx_xid is below the oldest in-progress xid, so delivery order
+--     (tx_xid, event_id) never has a row appear behind an emitted cursor
+--   • Rows are pruned after the retention period; the ledger stays the truth
+-- ===================================================================
+
+CREATE TABLE posting_outbox (
+    event_id        BIGSERIAL    PRIMARY KEY,
+    tx_xid          BIGINT       NOT NULL DEFAULT (pg_current_xact_id()::text::bigint),
+    transaction_id  UUID         NOT NULL,
+    ledger_entry_id UUID         NOT NULL,
+    account_id      UUID         NOT NULL,
+    amount          BIGINT       NOT NULL,
+    posting_type    VARCHAR(20)  NOT NULL,
+    created_at      TIMESTAMP    NOT NULL DEFAULT NOW(),
+
+    CONSTRAINT chk_posting_outbox_type CHECK (posting_type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER'))
+);
+
+CREATE INDEX idx_posting_outbox_cursor ON posting_outbox (tx_xid, event_id);
+CREATE INDEX idx_posting_outbox_created_at ON posting_outbox (created_at);
@@ -0,0 +1,24 @@
+-- ===================================================================
+-- Resumable bulk ledger imports
+-- ===================================================================
+-- Rules:
+--   • One row per named import; lines_committed advances in the SAME
+--     transaction as each COPY chunk, so a crashed import resumes after
+--     the last committed chunk and never loads a line twice
+-- ===================================================================
+
+CREATE TABLE ledger_import (
+    import_name           VARCHAR(255) PRIMARY KEY,
+    source                TEXT         NOT NULL,
+    status                VARCHAR(20)  NOT NULL DEFAULT 'RUNNING',
+    lines_committed       BIGINT       NOT NULL DEFAULT 0,
+    transactions_imported BIGINT       NOT NULL DEFAULT 0,
+    transactions_skipped  BIGINT       NOT NULL DEFAULT 0,
+    entries_imported      BIGINT       NOT NULL DEFAULT 0,
+    error_message         TEXT,
+    started_at            TIMESTAMP    NOT NULL DEFAULT NOW(),
+    updated_at            TIMESTAMP    NOT NULL DEFAULT NOW(),
+    completed_at          TIMESTAMP,
+
+    CONSTRAINT chk_ledger_import_status CHECK (status IN ('RUNNING', 'COMPLETED', 'FAILED'))
+);
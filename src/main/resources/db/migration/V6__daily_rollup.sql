@@ -0,0 +1,34 @@
+-- ===================================================================
+-- Daily per-account rollups for reporting
+-- ===================================================================
+-- Rules:
+--   • A rollup row is DERIVED: the aggregate of the account's entries
+--     with created_at on that day, maintained incrementally by
+--     DailyRollupService one settle lag behind the clock
+--   • rollup_watermark.watermark is the created_at up to which every
+--     entry has been folded in; it advances in the SAME transaction as
+--     the upsert, so each entry is counted exactly once
+--   • debit_amount is stored as a positive magnitude
+-- ===================================================================
+
+CREATE TABLE account_daily_rollup (
+    account_id    UUID   NOT NULL,
+    day           DATE   NOT NULL,
+    net_amount    BIGINT NOT NULL,
+    credit_count  BIGINT NOT NULL,
+    credit_amount BIGINT NOT NULL,
+    debit_count   BIGINT NOT NULL,
+    debit_amount  BIGINT NOT NULL,
+
+    CONSTRAINT pk_account_daily_rollup PRIMARY KEY (account_id, day),
+    CONSTRAINT fk_rollup_account FOREIGN KEY (account_id)
+        REFERENCES account (account_id) ON DELETE RESTRICT
+);
+
+CREATE INDEX idx_account_daily_rollup_day ON account_daily_rollup (day);
+
+CREATE TABLE rollup_watermark (
+    rollup_name VARCHAR(50) PRIMARY KEY,
+    watermark   TIMESTAMP   NOT NULL,
+    updated_at  TIMESTAMP   NOT NULL DEFAULT NOW()
+);
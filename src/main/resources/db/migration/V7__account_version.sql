@@ -0,0 +1,11 @@
+-- ===================================================================
+-- Per-account version for HTTP validators (ETag / If-None-Match)
+-- ===================================================================
+-- Rules:
+--   • version is incremented in the SAME transaction as every posting
+--     that touches the account, while the row is locked
+--   • It is a change marker only: it never feeds a balance, and gaps or
+--     extra increments are harmless
+-- ===================================================================
+
+ALTER TABLE account ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,40 @@
+-- ===================================================================
+-- Future-dated postings (standing orders, payroll)
+-- ===================================================================
+-- Rules:
+--   • A row is an INSTRUCTION, not money: nothing reaches ledger_entry
+--     until the dispatcher executes it through LedgerService
+--   • Dispatchers claim due rows with FOR UPDATE SKIP LOCKED and mark
+--     them RUNNING with a lease; a crashed dispatcher's rows are
+--     reclaimed after the lease expires
+--   • idempotency_key is the key of the eventual ledger transaction, so
+--     executing a reclaimed row twice posts it once
+-- ===================================================================
+
+CREATE TABLE scheduled_posting (
+    scheduled_posting_id UUID         PRIMARY KEY,
+    idempotency_key      VARCHAR(255) NOT NULL,
+    posting_type         VARCHAR(20)  NOT NULL,
+    account_id           UUID,
+    from_account_id      UUID,
+    to_account_id        UUID,
+    amount               BIGINT       NOT NULL,
+    execute_at           TIMESTAMP    NOT NULL,
+    status               VARCHAR(20)  NOT NULL DEFAULT 'PENDING',
+    attempts             INT          NOT NULL DEFAULT 0,
+    claimed_until        TIMESTAMP,
+    transaction_id       UUID,
+    last_error           TEXT,
+    created_at           TIMESTAMP    NOT NULL DEFAULT NOW(),
+    completed_at         TIMESTAMP,
+
+    CONSTRAINT uq_scheduled_posting_idempotency_key UNIQUE (idempotency_key),
+    CONSTRAINT chk_scheduled_posting_type CHECK (posting_type IN ('DEPOSIT', 'WITHDRAWAL', 'TRANSFER')),
+    CONSTRAINT chk_scheduled_posting_status
+        CHECK (status IN ('PENDING', 'RUNNING', 'COMPLETED', 'FAILED', 'CANCELLED')),
+    CONSTRAINT chk_scheduled_posting_amount CHECK (amount > 0)
+);
+
+-- Dispatcher scans: due instructions and expired leases, oldest first
+CREATE INDEX idx_scheduled_posting_due ON scheduled_posting (execute_at)
+    WHERE status IN ('PENDING', 'RUNNING');
@@ -0,0 +1,39 @@
+-- ===================================================================
+-- Fund holds (card authorizations)
+-- ===================================================================
+-- Rules:
+--   • A hold reserves funds WITHOUT posting: nothing reaches ledger_entry
+--     until it is captured, and a capture is a single posting
+--   • available balance = SUM(ledger_entry.amount) - SUM(amount) of the
+--     account's ACTIVE holds; both are read under the account lock
+--   • Holds change state only while the account row is locked, except
+--     expiry, which can only free funds
+-- ===================================================================
+
+CREATE TABLE fund_hold (
+    hold_id         UUID         PRIMARY KEY,
+    account_id      UUID         NOT NULL,
+    amount          BIGINT       NOT NULL,
+    captured_amount BIGINT,
+    status          VARCHAR(20)  NOT NULL DEFAULT 'ACTIVE',
+    idempotency_key VARCHAR(255) NOT NULL,
+    transaction_id  UUID,
+    expires_at      TIMESTAMP    NOT NULL,
+    created_at      TIMESTAMP    NOT NULL DEFAULT NOW(),
+    closed_at       TIMESTAMP,
+
+    CONSTRAINT uq_fund_hold_idempotency_key UNIQUE (idempotency_key),
+    CONSTRAINT fk_fund_hold_account FOREIGN KEY (account_id)
+        REFERENCES account (account_id) ON DELETE RESTRICT,
+    CONSTRAINT chk_fund_hold_amount CHECK (amount > 0),
+    CONSTRAINT chk_fund_hold_captured CHECK (captured_amount IS NULL OR captured_amount BETWEEN 1 AND amount),
+    CONSTRAINT chk_fund_hold_status CHECK (status IN ('ACTIVE', 'CAPTURED', 'RELEASED', 'EXPIRED'))
+);
+
+-- Reserved total per account, answered from the index alone
+CREATE INDEX idx_fund_hold_active_account ON fund_hold (account_id) INCLUDE (amount, expires_at)
+    WHERE status = 'ACTIVE';
+
+-- Expiry sweeps
+CREATE INDEX idx_fund_hold_active_expiry ON fund_hold (expires_at)
+    WHERE status = 'ACTIVE';
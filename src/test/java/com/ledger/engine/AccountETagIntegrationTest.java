@@ -0,0 +1,152 @@
+package com.ledger.engine;
+
+import com.ledger.engine.api.AccountController;
+import com.ledger.engine.api.dto.AvailableBalanceResponse;
+import com.ledger.engine.api.dto.BalanceResponse;
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.FundHold;
+import com.ledger.engine.exception.AccountNotFoundException;
+import com.ledger.engine.exception.InsufficientFundsException;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.HoldService;
+import com.ledger.engine.service.LedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountETagIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private AccountController accountController;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void postings_shouldBumpVersionOfEveryTouchedAccount() {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        assertEquals(0L, accountService.getAccountVersion(a.getAccountId()));
+
+        ledgerService.deposit(a.getAccountId(), 1000L, UUID.randomUUID().toString());
+        ledgerService.transfer(a.getAccountId(), b.getAccountId(), 300L, UUID.randomUUID().toString());
+        ledgerService.withdraw(b.getAccountId(), 100L, UUID.randomUUID().toString());
+
+        assertEquals(2L, accountService.getAccountVersion(a.getAccountId()));
+        assertEquals(2L, accountService.getAccountVersion(b.getAccountId()));
+    }
+
+    @Test
+    void rejectedPosting_shouldNotBumpVersion() {
+        Account a = accountService.createAccount();
+
+        assertThrows(InsufficientFundsException.class,
+                () -> ledgerService.withdraw(a.getAccountId(), 1L, UUID.randomUUID().toString()));
+
+        assertEquals(0L, accountService.getAccountVersion(a.getAccountId()));
+    }
+
+    @Test
+    void balance_shouldAnswerNotModifiedUntilAPostingTouchesTheAccount() {
+        Account a = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 500L, UUID.randomUUID().toString());
+
+        ResponseEntity<BalanceResponse> first = accountController.getBalance(a.getAccountId(), request(null));
+        String etag = first.getHeaders().getETag();
+        assertEquals("W/\"1\"", etag);
+        assertEquals(500L, first.getBody().getBalance());
+
+        MockHttpServletResponse notModified = new MockHttpServletResponse();
+        assertNull(accountController.getBalance(a.getAccountId(), request(etag, notModified)));
+        assertEquals(304, notModified.getStatus());
+        assertEquals(etag, notModified.getHeader(HttpHeaders.ETAG));
+
+        ledgerService.deposit(a.getAccountId(), 250L, UUID.randomUUID().toString());
+
+        ResponseEntity<BalanceResponse> changed = accountController.getBalance(a.getAccountId(), request(etag));
+        assertNotNull(changed);
+        assertEquals("W/\"2\"", changed.getHeaders().getETag());
+        assertEquals(750L, changed.getBody().getBalance());
+    }
+
+    @Test
+    void accountAndHistory_shouldShareTheAccountVersion() {
+        Account a = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 500L, UUID.randomUUID().toString());
+        String etag = accountController.getAccount(a.getAccountId(), request(null)).getHeaders().getETag();
+
+        assertNull(accountController.getAccount(a.getAccountId(), request(etag)));
+        assertNull(accountController.getTransactions(a.getAccountId(), request(etag)));
+        assertNotNull(accountController.getTransactions(a.getAccountId(), request("W/\"0\"")));
+    }
+
+    @Test
+    void availableBalance_shouldChangeETagWhenAHoldLapsesBeforeTheSweep() {
+        Account a = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 1000L, UUID.randomUUID().toString());
+        FundHold hold = holdService.placeHold(a.getAccountId(), 400L, UUID.randomUUID().toString(),
+                LocalDateTime.now().plusHours(1));
+
+        ResponseEntity<AvailableBalanceResponse> first =
+                accountController.getAvailableBalance(a.getAccountId(), request(null));
+        String etag = first.getHeaders().getETag();
+        assertEquals("W/\"2\"", etag);
+        assertEquals(600L, first.getBody().getAvailable());
+        assertNull(accountController.getAvailableBalance(a.getAccountId(), request(etag)));
+
+        // Lapsed but not yet swept: the version has not moved, the available balance has
+        jdbcTemplate.update("UPDATE fund_hold SET expires_at = LOCALTIMESTAMP - INTERVAL '1 second' WHERE hold_id = ?",
+                hold.getHoldId());
+        ResponseEntity<AvailableBalanceResponse> lapsed =
+                accountController.getAvailableBalance(a.getAccountId(), request(etag));
+        assertNotNull(lapsed);
+        assertEquals("W/\"2.1\"", lapsed.getHeaders().getETag());
+        assertEquals(1000L, lapsed.getBody().getAvailable());
+        // The plain balance did not change, so its validator still holds
+        assertNull(accountController.getBalance(a.getAccountId(), request(etag)));
+
+        assertTrue(holdService.expireDue() >= 1);
+        ResponseEntity<AvailableBalanceResponse> swept =
+                accountController.getAvailableBalance(a.getAccountId(), request(lapsed.getHeaders().getETag()));
+        assertNotNull(swept);
+        assertEquals("W/\"3\"", swept.getHeaders().getETag());
+        assertEquals(1000L, swept.getBody().getAvailable());
+    }
+
+    @Test
+    void unknownAccount_shouldStillBeNotFound() {
+        assertThrows(AccountNotFoundException.class,
+                () -> accountController.getBalance(UUID.randomUUID(), request("W/\"0\"")));
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch) {
+        return request(ifNoneMatch, new MockHttpServletResponse());
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/accounts");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+}
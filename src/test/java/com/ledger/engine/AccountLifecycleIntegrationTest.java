@@ -0,0 +1,112 @@
+package com.ledger.engine;
+
+import com.ledger.engine.api.AccountController;
+import com.ledger.engine.api.dto.AccountResponse;
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.AccountStatus;
+import com.ledger.engine.exception.AccountClosedException;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.AccountStatusListener;
+import com.ledger.engine.service.HoldService;
+import com.ledger.engine.service.LedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccountLifecycleIntegrationTest extends BaseIntegrationTest {
+
+    @TestConfiguration
+    static class RecordingListenerConfig {
+
+        @Bean
+        RecordingListener recordingListener() {
+            return new RecordingListener();
+        }
+    }
+
+    static class RecordingListener implements AccountStatusListener {
+
+        private final Map<UUID, AccountStatus> seen = new ConcurrentHashMap<>();
+
+        @Override
+        public void onStatusChange(UUID accountId, AccountStatus status) {
+            seen.put(accountId, status);
+        }
+    }
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountController accountController;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private RecordingListener listener;
+
+    @Test
+    void freeze_shouldRefusePostingsUntilReopened() {
+        Account account = accountService.createAccount();
+        ledgerService.deposit(account.getAccountId(), 5000L, UUID.randomUUID().toString());
+        long version = accountService.getAccountVersion(account.getAccountId());
+
+        AccountResponse frozen = accountController.freezeAccount(account.getAccountId()).getBody();
+
+        assertEquals("FROZEN", frozen.getStatus());
+        assertEquals(version + 1, accountService.getAccountVersion(account.getAccountId()));
+        AccountClosedException refused = assertThrows(AccountClosedException.class,
+                () -> ledgerService.withdraw(account.getAccountId(), 100L, UUID.randomUUID().toString()));
+        assertTrue(refused.getMessage().contains("FROZEN"));
+        assertThrows(AccountClosedException.class,
+                () -> ledgerService.deposit(account.getAccountId(), 100L, UUID.randomUUID().toString()));
+
+        accountService.reopenAccount(account.getAccountId());
+        ledgerService.withdraw(account.getAccountId(), 100L, UUID.randomUUID().toString());
+        assertEquals(4900L, accountService.getBalance(account.getAccountId()));
+    }
+
+    @Test
+    void close_shouldRequireZeroBalanceAndNoActiveHolds() {
+        Account account = accountService.createAccount();
+        ledgerService.deposit(account.getAccountId(), 3000L, UUID.randomUUID().toString());
+
+        assertThrows(IllegalArgumentException.class, () -> accountService.closeAccount(account.getAccountId()));
+
+        ledgerService.withdraw(account.getAccountId(), 1000L, UUID.randomUUID().toString());
+        holdService.placeHold(account.getAccountId(), 2000L, UUID.randomUUID().toString(),
+                LocalDateTime.now().plusHours(1));
+        assertThrows(IllegalArgumentException.class, () -> accountService.closeAccount(account.getAccountId()));
+        assertEquals(AccountStatus.ACTIVE, accountService.getAccount(account.getAccountId()).getStatus());
+    }
+
+    @Test
+    void close_atZeroBalance_shouldBeIdempotentAndBroadcast() throws InterruptedException {
+        Account account = accountService.createAccount();
+        accountService.freezeAccount(account.getAccountId());
+
+        assertEquals(AccountStatus.CLOSED, accountService.closeAccount(account.getAccountId()).getStatus());
+        long version = accountService.getAccountVersion(account.getAccountId());
+        assertEquals(AccountStatus.CLOSED, accountService.closeAccount(account.getAccountId()).getStatus());
+        assertEquals(version, accountService.getAccountVersion(account.getAccountId()));
+        assertThrows(IllegalArgumentException.class, () -> accountService.freezeAccount(account.getAccountId()));
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while (listener.seen.get(account.getAccountId()) != AccountStatus.CLOSED && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(AccountStatus.CLOSED, listener.seen.get(account.getAccountId()));
+    }
+}
@@ -1,13 +1,22 @@
 package com.ledger.engine;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ledger.engine.api.AccountController;
+import com.ledger.engine.api.dto.LedgerEntryResponse;
 import com.ledger.engine.domain.Account;
 import com.ledger.engine.domain.LedgerEntry;
 import com.ledger.engine.exception.AccountNotFoundException;
 import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.LedgerService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -16,6 +25,15 @@ class AccountServiceIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private AccountController accountController;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @Test
     void createAccount_shouldReturnNewActiveAccount() {
         Account account = accountService.createAccount();
@@ -63,4 +81,24 @@ class AccountServiceIntegrationTest extends BaseIntegrationTest {
 
         assertTrue(entries.isEmpty());
     }
+
+    @Test
+    void streamedTransactions_shouldMatchResponseDtoJson() throws Exception {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 5000L, UUID.randomUUID().toString());
+        ledgerService.transfer(a.getAccountId(), b.getAccountId(), 1200L, UUID.randomUUID().toString());
+        ledgerService.withdraw(a.getAccountId(), 300L, UUID.randomUUID().toString());
+
+        List<LedgerEntryResponse> expected = accountService.getAccountTransactions(a.getAccountId()).stream()
+                .map(e -> new LedgerEntryResponse(e.getLedgerEntryId(), e.getTransactionId(),
+                        e.getAmount(), e.getCreatedAt()))
+                .toList();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        accountController.getTransactions(a.getAccountId(),
+                new ServletWebRequest(new MockHttpServletRequest())).getBody().writeTo(out);
+
+        assertEquals(3, expected.size());
+        assertEquals(objectMapper.writeValueAsString(expected), out.toString(StandardCharsets.UTF_8));
+    }
 }
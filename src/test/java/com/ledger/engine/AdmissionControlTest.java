@@ -0,0 +1,165 @@
+package com.ledger.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ledger.engine.api.AdmissionFilter;
+import com.ledger.engine.api.GlobalExceptionHandler;
+import com.ledger.engine.config.PartitionMap;
+import com.ledger.engine.exception.LedgerUnavailableException;
+import com.ledger.engine.exception.RateLimitExceededException;
+import com.ledger.engine.service.AdmissionService;
+import com.ledger.engine.service.PartitionForwarder;
+import com.ledger.engine.service.PriorityLane;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionControlTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void tokenBucket_shouldLimitEachClientSeparately() {
+        AdmissionService admission = admission("reconciliation=1/2", "", 8, 2);
+
+        for (int i = 0; i < 5; i++) {
+            admission.admit("mobile", PriorityLane.INTERACTIVE).close();
+        }
+        admission.admit("reconciliation", PriorityLane.INTERACTIVE).close();
+        admission.admit("reconciliation", PriorityLane.INTERACTIVE).close();
+        RateLimitExceededException limited = assertThrows(RateLimitExceededException.class,
+                () -> admission.admit("reconciliation", PriorityLane.INTERACTIVE));
+
+        assertEquals(1, limited.getRetryAfterSeconds());
+        admission.admit("mobile", PriorityLane.INTERACTIVE).close();
+        assertEquals(1.0, meterRegistry.counter("ledger.admission.rejected",
+                "lane", "interactive", "reason", "rate-limit").count());
+    }
+
+    @Test
+    void batchLane_shouldBeShedWhileInteractiveCapacityStaysReserved() {
+        AdmissionService admission = admission("", "", 4, 2);
+        List<AdmissionService.Permit> held = new ArrayList<>();
+        held.add(admission.admit("recon", PriorityLane.BATCH));
+        held.add(admission.admit("recon", PriorityLane.BATCH));
+
+        assertThrows(LedgerUnavailableException.class, () -> admission.admit("recon", PriorityLane.BATCH));
+        held.add(admission.admit("web", PriorityLane.INTERACTIVE));
+        held.add(admission.admit("web", PriorityLane.INTERACTIVE));
+        assertThrows(LedgerUnavailableException.class, () -> admission.admit("web", PriorityLane.INTERACTIVE));
+
+        held.get(0).close();
+        held.get(0).close();
+        admission.admit("recon", PriorityLane.BATCH).close();
+        held.forEach(AdmissionService.Permit::close);
+        assertEquals(1.0, meterRegistry.counter("ledger.admission.rejected",
+                "lane", "batch", "reason", "shed").count());
+    }
+
+    @Test
+    void configuredBatchClients_shouldAlwaysUseTheBatchLane() {
+        AdmissionService admission = admission("", "reconciliation", 4, 1);
+
+        assertEquals(PriorityLane.BATCH, admission.laneFor("reconciliation", false));
+        assertEquals(PriorityLane.BATCH, admission.laneFor("web", true));
+        assertEquals(PriorityLane.INTERACTIVE, admission.laneFor("web", false));
+    }
+
+    @Test
+    void filter_shouldAnswerRefusedRequestsWithRetryAfter() throws Exception {
+        AdmissionService admission = admission("", "", 2, 1);
+        AdmissionFilter filter = filter(admission);
+        AdmissionService.Permit batchHeld = admission.admit("other", PriorityLane.BATCH);
+
+        MockHttpServletResponse shed = new MockHttpServletResponse();
+        filter.doFilter(request("/api/transactions/batch", "recon"), shed, new MockFilterChain());
+        assertEquals(503, shed.getStatus());
+        assertEquals("1", shed.getHeader("Retry-After"));
+        assertTrue(shed.getContentAsString().contains("LEDGER_UNAVAILABLE"));
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse served = new MockHttpServletResponse();
+        filter.doFilter(request("/api/transactions/deposit", "web"), served, chain);
+        assertEquals(200, served.getStatus());
+        assertNotNull(chain.getRequest());
+
+        MockHttpServletResponse stream = new MockHttpServletResponse();
+        filter.doFilter(request("/api/accounts/balances/stream", "web"), stream, new MockFilterChain());
+        assertEquals(200, stream.getStatus());
+        batchHeld.close();
+    }
+
+    @Test
+    void filter_shouldAnswerRateLimitedClientsWith429() throws Exception {
+        AdmissionService admission = admission("burst=1/1", "", 4, 1);
+        AdmissionFilter filter = filter(admission);
+
+        filter.doFilter(request("/api/accounts", "burst"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletResponse limited = new MockHttpServletResponse();
+        filter.doFilter(request("/api/accounts", "burst"), limited, new MockFilterChain());
+
+        assertEquals(429, limited.getStatus());
+        assertEquals("1", limited.getHeader("Retry-After"));
+        assertTrue(limited.getContentAsString().contains("RATE_LIMITED"));
+    }
+
+    @Test
+    void clientsBeyondMaxClients_shouldShareOneOverflowBucket() {
+        AdmissionService admission = new AdmissionService(meterRegistry, true, 0.001, 1, "", "", 2,
+                8, 2, Duration.ofMillis(20), Duration.ZERO);
+
+        admission.admit("a", PriorityLane.INTERACTIVE).close();
+        admission.admit("b", PriorityLane.INTERACTIVE).close();
+        admission.admit("c", PriorityLane.INTERACTIVE).close();
+
+        assertThrows(RateLimitExceededException.class, () -> admission.admit("d", PriorityLane.INTERACTIVE));
+        assertEquals(2.0, meterRegistry.get("ledger.admission.clients").gauge().value());
+        assertEquals(2.0, meterRegistry.counter("ledger.admission.overflow").count());
+    }
+
+    @Test
+    void hopHeaderWithoutPartitionSecret_shouldStillBeRateLimited() throws Exception {
+        AdmissionService admission = admission("burst=1/1", "", 4, 1);
+        PartitionMap partitions = new PartitionMap(0, "http://node-0:8080,http://node-1:8080", "s3cret");
+        AdmissionFilter filter = new AdmissionFilter(admission, partitions, new GlobalExceptionHandler(),
+                new ObjectMapper().findAndRegisterModules());
+
+        filter.doFilter(request("/api/accounts", "burst"), new MockHttpServletResponse(), new MockFilterChain());
+        MockHttpServletRequest spoofed = request("/api/accounts", "burst");
+        spoofed.addHeader(PartitionForwarder.HOP_HEADER, "1");
+        spoofed.addHeader(PartitionForwarder.SECRET_HEADER, "guess");
+        MockHttpServletResponse limited = new MockHttpServletResponse();
+        filter.doFilter(spoofed, limited, new MockFilterChain());
+        assertEquals(429, limited.getStatus());
+
+        MockHttpServletRequest forwarded = request("/api/accounts", "burst");
+        forwarded.addHeader(PartitionForwarder.HOP_HEADER, "1");
+        forwarded.addHeader(PartitionForwarder.SECRET_HEADER, "s3cret");
+        MockHttpServletResponse served = new MockHttpServletResponse();
+        filter.doFilter(forwarded, served, new MockFilterChain());
+        assertEquals(200, served.getStatus());
+    }
+
+    private AdmissionService admission(String clientLimits, String batchClients, int maxInFlight, int batchMaxInFlight) {
+        return new AdmissionService(meterRegistry, true, 1000, 1000, clientLimits, batchClients, 100,
+                maxInFlight, batchMaxInFlight, Duration.ofMillis(20), Duration.ZERO);
+    }
+
+    private static AdmissionFilter filter(AdmissionService admission) {
+        return new AdmissionFilter(admission, new PartitionMap(0, "", ""), new GlobalExceptionHandler(),
+                new ObjectMapper().findAndRegisterModules());
+    }
+
+    private static MockHttpServletRequest request(String path, String clientId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", path);
+        request.addHeader(AdmissionFilter.CLIENT_HEADER, clientId);
+        return request;
+    }
+}
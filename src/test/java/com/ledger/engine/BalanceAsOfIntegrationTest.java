@@ -0,0 +1,144 @@
+package com.ledger.engine;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.exception.AccountNotFoundException;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.BalanceCheckpointService;
+import com.ledger.engine.service.LedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceAsOfIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private BalanceCheckpointService checkpointService;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void balanceAsOf_withoutCheckpoints_shouldSumUpToTimestamp() {
+        Account account = accountService.createAccount();
+        ledgerService.deposit(account.getAccountId(), 10000L, UUID.randomUUID().toString());
+        LocalDateTime afterFirst = ledgerEntryRepository.currentTimestamp();
+        ledgerService.withdraw(account.getAccountId(), 3000L, UUID.randomUUID().toString());
+
+        assertEquals(10000L, accountService.getBalanceAsOf(account.getAccountId(), afterFirst));
+        assertEquals(7000L, accountService.getBalanceAsOf(account.getAccountId(),
+                ledgerEntryRepository.currentTimestamp()));
+        assertEquals(0L, accountService.getBalanceAsOf(account.getAccountId(), afterFirst.minusDays(1)));
+    }
+
+    @Test
+    void balanceAsOf_acrossCheckpoints_shouldMatchDerivedBalance() {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 10000L, UUID.randomUUID().toString());
+        ledgerService.transfer(a.getAccountId(), b.getAccountId(), 2500L, UUID.randomUUID().toString());
+        LocalDateTime firstCutoff = ledgerEntryRepository.currentTimestamp();
+        checkpointService.createCheckpoints(firstCutoff);
+
+        ledgerService.transfer(b.getAccountId(), a.getAccountId(), 500L, UUID.randomUUID().toString());
+        LocalDateTime beforeSecondCheckpoint = ledgerEntryRepository.currentTimestamp();
+        ledgerService.deposit(b.getAccountId(), 1000L, UUID.randomUUID().toString());
+        checkpointService.createCheckpoints(ledgerEntryRepository.currentTimestamp());
+        ledgerService.withdraw(a.getAccountId(), 4000L, UUID.randomUUID().toString());
+
+        assertEquals(7500L, accountService.getBalanceAsOf(a.getAccountId(), firstCutoff));
+        assertEquals(2500L, accountService.getBalanceAsOf(b.getAccountId(), firstCutoff));
+        assertEquals(8000L, accountService.getBalanceAsOf(a.getAccountId(), beforeSecondCheckpoint));
+        assertEquals(2000L, accountService.getBalanceAsOf(b.getAccountId(), beforeSecondCheckpoint));
+
+        LocalDateTime now = ledgerEntryRepository.currentTimestamp();
+        assertEquals(accountService.getBalance(a.getAccountId()), accountService.getBalanceAsOf(a.getAccountId(), now));
+        assertEquals(accountService.getBalance(b.getAccountId()), accountService.getBalanceAsOf(b.getAccountId(), now));
+    }
+
+    @Test
+    void checkpoints_shouldNotPassAPostingWhoseTransactionIsStillOpen() throws Exception {
+        Account account = accountService.createAccount();
+        TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+        CountDownLatch posted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService holder = Executors.newSingleThreadExecutor();
+        // Stamped with its transaction's start, then committed only after the checkpoint run below
+        Future<LocalDateTime> slowPosting = holder.submit(() -> transactions.execute(status -> {
+            ledgerService.deposit(account.getAccountId(), 500L, UUID.randomUUID().toString());
+            LocalDateTime stamped = ledgerEntryRepository.currentTimestamp();
+            posted.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return stamped;
+        }));
+        LocalDateTime cutoff;
+        try {
+            assertTrue(posted.await(10, TimeUnit.SECONDS));
+            // Even with no settle lag at all, the cutoff stays behind the open transaction
+            cutoff = ledgerEntryRepository.settledCutoff(Duration.ZERO);
+            checkpointService.createCheckpoints(cutoff);
+        } finally {
+            release.countDown();
+        }
+        LocalDateTime stamped = slowPosting.get(10, TimeUnit.SECONDS);
+        holder.shutdown();
+
+        assertTrue(cutoff.isBefore(stamped));
+        checkpointService.createCheckpoints(ledgerEntryRepository.settledCutoff(Duration.ZERO));
+        assertEquals(500L, accountService.getBalanceAsOf(account.getAccountId(),
+                ledgerEntryRepository.currentTimestamp()));
+    }
+
+    @Test
+    void bulkBalancesAsOf_shouldReturnEveryRequestedAccount() {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        Account empty = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 600L, UUID.randomUUID().toString());
+        ledgerService.deposit(b.getAccountId(), 400L, UUID.randomUUID().toString());
+
+        Map<UUID, Long> balances = accountService.getBalancesAsOf(
+                List.of(a.getAccountId(), b.getAccountId(), empty.getAccountId()),
+                ledgerEntryRepository.currentTimestamp());
+
+        assertEquals(3, balances.size());
+        assertEquals(600L, balances.get(a.getAccountId()));
+        assertEquals(400L, balances.get(b.getAccountId()));
+        assertEquals(0L, balances.get(empty.getAccountId()));
+    }
+
+    @Test
+    void bulkBalancesAsOf_unknownAccount_shouldThrow() {
+        Account a = accountService.createAccount();
+
+        assertThrows(AccountNotFoundException.class, () -> accountService.getBalancesAsOf(
+                List.of(a.getAccountId(), UUID.randomUUID()), LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,142 @@
+package com.ledger.engine;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.exception.AccountNotFoundException;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.BalanceBroadcaster;
+import com.ledger.engine.service.LedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BalanceSubscriptionIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private BalanceBroadcaster broadcaster;
+
+    @Test
+    void subscribe_shouldPushInitialAndUpdatedBalances() throws Exception {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 1000L, UUID.randomUUID().toString());
+
+        RecordingSink sink = new RecordingSink();
+        broadcaster.subscribe(List.of(a.getAccountId(), b.getAccountId()), sink);
+
+        assertTrue(sink.awaitBalance(a.getAccountId(), 1000L));
+        assertTrue(sink.awaitBalance(b.getAccountId(), 0L));
+
+        ledgerService.transfer(a.getAccountId(), b.getAccountId(), 400L, UUID.randomUUID().toString());
+
+        assertTrue(sink.awaitBalance(a.getAccountId(), 600L));
+        assertTrue(sink.awaitBalance(b.getAccountId(), 400L));
+    }
+
+    @Test
+    void rapidPostings_shouldCoalesceAndConvergeOnLatestBalance() throws Exception {
+        Account a = accountService.createAccount();
+        RecordingSink first = new RecordingSink();
+        RecordingSink second = new RecordingSink();
+        broadcaster.subscribe(List.of(a.getAccountId()), first);
+        broadcaster.subscribe(List.of(a.getAccountId()), second);
+        assertTrue(first.awaitBalance(a.getAccountId(), 0L));
+
+        for (int i = 0; i < 20; i++) {
+            ledgerService.deposit(a.getAccountId(), 10L, UUID.randomUUID().toString());
+        }
+
+        assertTrue(first.awaitBalance(a.getAccountId(), 200L));
+        assertTrue(second.awaitBalance(a.getAccountId(), 200L));
+        assertTrue(first.messages.size() < 21, "updates should be coalesced, got " + first.messages.size());
+    }
+
+    @Test
+    void subscribersJoiningDuringPostings_shouldNeverReceiveAnOlderBalance() throws Exception {
+        Account a = accountService.createAccount();
+        List<RecordingSink> sinks = new CopyOnWriteArrayList<>();
+        Thread joiner = new Thread(() -> {
+            for (int i = 0; i < 20; i++) {
+                RecordingSink sink = new RecordingSink();
+                broadcaster.subscribe(List.of(a.getAccountId()), sink);
+                sinks.add(sink);
+            }
+        });
+
+        joiner.start();
+        for (int i = 0; i < 40; i++) {
+            ledgerService.deposit(a.getAccountId(), 10L, UUID.randomUUID().toString());
+        }
+        joiner.join();
+
+        for (RecordingSink sink : sinks) {
+            assertTrue(sink.awaitBalance(a.getAccountId(), 400L));
+            long previous = -1;
+            for (Map<UUID, Long> message : sink.messages) {
+                long balance = message.get(a.getAccountId());
+                assertTrue(balance >= previous, "balance went back from " + previous + " to " + balance);
+                previous = balance;
+            }
+        }
+    }
+
+    @Test
+    void subscribe_unknownAccount_shouldThrow() {
+        Account a = accountService.createAccount();
+
+        assertThrows(AccountNotFoundException.class,
+                () -> broadcaster.subscribe(List.of(a.getAccountId(), UUID.randomUUID()), new RecordingSink()));
+    }
+
+    @Test
+    void subscribe_emptyAccountList_shouldThrow() {
+        assertThrows(IllegalArgumentException.class,
+                () -> broadcaster.subscribe(List.of(), new RecordingSink()));
+    }
+
+    private static class RecordingSink implements BalanceBroadcaster.BalanceSink {
+
+        private final List<Map<UUID, Long>> messages = new CopyOnWriteArrayList<>();
+        private final Map<UUID, Long> latest = new ConcurrentHashMap<>();
+
+        @Override
+        public void send(Map<UUID, Long> balances) {
+            messages.add(balances);
+            latest.putAll(balances);
+        }
+
+        @Override
+        public void heartbeat() {
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        boolean awaitBalance(UUID accountId, long expected) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (System.nanoTime() < deadline) {
+                Long balance = latest.get(accountId);
+                if (balance != null && balance == expected) {
+                    return true;
+                }
+                Thread.sleep(20);
+            }
+            return false;
+        }
+    }
+}
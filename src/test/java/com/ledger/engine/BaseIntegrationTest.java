@@ -1,5 +1,6 @@
 package com.ledger.engine;
 
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.DynamicPropertyRegistry;
@@ -9,6 +10,8 @@ import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
 @SpringBootTest
+// Boot switches tracing off in tests; keep it on so every test runs through the traced paths
+@AutoConfigureObservability(metrics = false)
 @Testcontainers
 @ActiveProfiles("test")
 public abstract class BaseIntegrationTest {
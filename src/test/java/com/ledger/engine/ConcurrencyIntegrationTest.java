@@ -1,10 +1,12 @@
 package com.ledger.engine;
 
 import com.ledger.engine.domain.Account;
+import com.ledger.engine.repository.AccountRepository;
 import com.ledger.engine.service.AccountService;
 import com.ledger.engine.service.LedgerService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -21,6 +23,9 @@ class ConcurrencyIntegrationTest extends BaseIntegrationTest {
     @Autowired
     private LedgerService ledgerService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     void parallelTransfers_sameDirection_shouldMaintainConsistency() throws Exception {
         Account accountA = accountService.createAccount();
@@ -140,4 +145,27 @@ class ConcurrencyIntegrationTest extends BaseIntegrationTest {
         assertEquals(1, successes);
         assertEquals(0L, accountService.getBalance(account.getAccountId()));
     }
+
+    @Test
+    void lockOrder_shouldMatchPostgresUuidOrder() {
+        // Top bits set and clear in both halves, where signed and unsigned order disagree
+        List<UUID> ids = new ArrayList<>(List.of(
+                UUID.fromString("00000000-0000-0000-0000-000000000001"),
+                UUID.fromString("7fffffff-ffff-ffff-7fff-ffffffffffff"),
+                UUID.fromString("80000000-0000-0000-0000-000000000000"),
+                UUID.fromString("80000000-0000-0000-8000-000000000000"),
+                UUID.fromString("ffffffff-ffff-ffff-ffff-ffffffffffff")));
+        for (int i = 0; i < 50; i++) {
+            ids.add(UUID.randomUUID());
+        }
+
+        List<UUID> javaOrder = new ArrayList<>(ids);
+        javaOrder.sort(AccountRepository.LOCK_ORDER);
+        List<UUID> postgresOrder = jdbcTemplate.query(
+                "SELECT id FROM unnest(?::uuid[]) AS id ORDER BY id",
+                ps -> ps.setArray(1, ps.getConnection().createArrayOf("uuid", ids.toArray())),
+                (rs, rowNum) -> rs.getObject(1, UUID.class));
+
+        assertEquals(postgresOrder, javaOrder);
+    }
 }
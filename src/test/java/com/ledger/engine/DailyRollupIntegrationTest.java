@@ -0,0 +1,159 @@
+package com.ledger.engine;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.DailyRollup;
+import com.ledger.engine.exception.AccountNotFoundException;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.DailyRollupService;
+import com.ledger.engine.service.LedgerImportService;
+import com.ledger.engine.service.LedgerService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DailyRollupIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerImportService importService;
+
+    @Autowired
+    private DailyRollupService rollupService;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void refresh_shouldFoldNewEntriesExactlyOnce() {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 1000L, UUID.randomUUID().toString());
+        ledgerService.transfer(a.getAccountId(), b.getAccountId(), 300L, UUID.randomUUID().toString());
+        rollupService.refresh(ledgerEntryRepository.currentTimestamp());
+
+        ledgerService.withdraw(a.getAccountId(), 200L, UUID.randomUUID().toString());
+        LocalDateTime cutoff = ledgerEntryRepository.currentTimestamp();
+        rollupService.refresh(cutoff);
+        rollupService.refresh(cutoff);
+
+        LocalDate today = cutoff.toLocalDate();
+        List<DailyRollup> rows = rollupService.getDailyRollups(List.of(a.getAccountId()), today, today);
+        assertEquals(1, rows.size());
+        DailyRollup day = rows.get(0);
+        assertEquals(500L, day.getNetAmount());
+        assertEquals(1, day.getCreditCount());
+        assertEquals(1000L, day.getCreditAmount());
+        assertEquals(2, day.getDebitCount());
+        assertEquals(500L, day.getDebitAmount());
+        assertEquals(cutoff.truncatedTo(ChronoUnit.MICROS), rollupService.getWatermark().orElseThrow());
+    }
+
+    @Test
+    void rangeQueries_shouldMatchRawEntriesPerDay() throws Exception {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        Account idle = accountService.createAccount();
+        LocalDateTime now = ledgerEntryRepository.currentTimestamp();
+        LocalDate dayOne = now.toLocalDate().minusDays(20);
+        LocalDate dayTwo = dayOne.plusDays(1);
+
+        Path file = tempDir.resolve("history.csv");
+        Files.writeString(file, "idempotency_key,account_id,amount,created_at\n"
+                + UUID.randomUUID() + "," + a.getAccountId() + ",5000," + dayOne.atTime(9, 0) + "\n"
+                + transfer(a, b, 1200, dayOne.atTime(17, 30))
+                + transfer(b, a, 200, dayTwo.atTime(0, 0)));
+        importService.importFile(file, UUID.randomUUID().toString());
+        rollupService.refresh(ledgerEntryRepository.currentTimestamp());
+
+        List<DailyRollup> daily = rollupService.getDailyRollups(
+                List.of(b.getAccountId(), a.getAccountId()), dayOne, dayTwo);
+        assertEquals(4, daily.size());
+        DailyRollup aDayOne = find(daily, a.getAccountId(), dayOne);
+        assertEquals(3800L, aDayOne.getNetAmount());
+        assertEquals(6200L, aDayOne.getCreditAmount() + aDayOne.getDebitAmount());
+        DailyRollup bDayTwo = find(daily, b.getAccountId(), dayTwo);
+        assertEquals(-200L, bDayTwo.getNetAmount());
+        assertEquals(1, bDayTwo.getDebitCount());
+
+        List<DailyRollup> summary = rollupService.getRangeSummary(
+                List.of(a.getAccountId(), b.getAccountId(), idle.getAccountId()), dayOne, dayTwo);
+        assertEquals(3, summary.size());
+        assertEquals(4000L, find(summary, a.getAccountId(), null).getNetAmount());
+        assertEquals(1000L, find(summary, b.getAccountId(), null).getNetAmount());
+        DailyRollup idleSummary = find(summary, idle.getAccountId(), null);
+        assertEquals(0L, idleSummary.getNetAmount());
+        assertEquals(0L, idleSummary.getCreditCount() + idleSummary.getDebitCount());
+    }
+
+    @Test
+    void backdatedImport_shouldRewindAndRebuildAffectedDays() throws Exception {
+        Account a = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 700L, UUID.randomUUID().toString());
+        LocalDateTime cutoff = ledgerEntryRepository.currentTimestamp();
+        rollupService.refresh(cutoff);
+        LocalDate today = cutoff.toLocalDate();
+        LocalDate backdated = today.minusDays(3);
+
+        Path file = tempDir.resolve("late.csv");
+        Files.writeString(file, "idempotency_key,account_id,amount,created_at\n"
+                + UUID.randomUUID() + "," + a.getAccountId() + ",400," + backdated.atTime(12, 0) + "\n");
+        importService.importFile(file, UUID.randomUUID().toString());
+        assertTrue(rollupService.getWatermark().orElseThrow().isBefore(backdated.atStartOfDay()));
+
+        rollupService.refresh(cutoff);
+
+        List<DailyRollup> rows = rollupService.getDailyRollups(List.of(a.getAccountId()), backdated, today);
+        assertEquals(2, rows.size());
+        assertEquals(400L, find(rows, a.getAccountId(), backdated).getNetAmount());
+        assertEquals(700L, find(rows, a.getAccountId(), today).getNetAmount());
+    }
+
+    @Test
+    void invalidQueries_shouldBeRejected() {
+        Account a = accountService.createAccount();
+        LocalDate today = LocalDate.now();
+        List<UUID> ids = List.of(a.getAccountId());
+
+        assertThrows(IllegalArgumentException.class,
+                () -> rollupService.getDailyRollups(ids, today, today.minusDays(1)));
+        assertThrows(IllegalArgumentException.class,
+                () -> rollupService.getDailyRollups(ids, today.minusYears(2), today));
+        assertThrows(IllegalArgumentException.class,
+                () -> rollupService.getRangeSummary(List.of(), today, today));
+        assertThrows(AccountNotFoundException.class,
+                () -> rollupService.getRangeSummary(List.of(UUID.randomUUID()), today, today));
+    }
+
+    private static DailyRollup find(List<DailyRollup> rows, UUID accountId, LocalDate day) {
+        return rows.stream()
+                .filter(r -> r.getAccountId().equals(accountId) && Objects.equals(r.getDay(), day))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static String transfer(Account from, Account to, long amount, LocalDateTime at) {
+        String key = UUID.randomUUID().toString();
+        return key + "," + from.getAccountId() + "," + (-amount) + "," + at + "\n"
+                + key + "," + to.getAccountId() + "," + amount + "," + at + "\n";
+    }
+}
@@ -0,0 +1,203 @@
+package com.ledger.engine;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.LedgerEntry;
+import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.exception.AccountNotFoundException;
+import com.ledger.engine.exception.DuplicateRequestException;
+import com.ledger.engine.exception.InsufficientFundsException;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.DebitQueueService;
+import com.ledger.engine.service.HoldService;
+import com.ledger.engine.service.LedgerService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DebitQueueIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private DebitQueueService debitQueueService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void payoutBurst_shouldPostEveryTransferInFewerLockAcquisitions() throws Exception {
+        Account source = fundedAccount(10_000L);
+        List<Account> payees = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            payees.add(accountService.createAccount());
+        }
+        DistributionSummary batches = meterRegistry.get("ledger.debit-queue.batch-size").summary();
+        long batchesBefore = batches.count();
+
+        List<Callable<Transaction>> transfers = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            UUID payee = payees.get(i % payees.size()).getAccountId();
+            transfers.add(() -> debitQueueService.transfer(source.getAccountId(), payee, 100L, key()));
+        }
+        List<Transaction> posted = new ArrayList<>();
+        for (Future<Transaction> result : runConcurrently(transfers)) {
+            posted.add(result.get());
+        }
+
+        Set<UUID> ids = new HashSet<>();
+        for (Transaction transaction : posted) {
+            ids.add(transaction.getTransactionId());
+            Long sum = jdbcTemplate.queryForObject("SELECT SUM(amount) FROM ledger_entry WHERE transaction_id = ?",
+                    Long.class, transaction.getTransactionId());
+            assertEquals(0L, sum);
+        }
+        assertEquals(50, ids.size());
+        assertEquals(5_000L, accountService.getBalance(source.getAccountId()));
+        for (Account payee : payees) {
+            assertEquals(1_000L, accountService.getBalance(payee.getAccountId()));
+        }
+        assertTrue(batches.count() - batchesBefore < 50, "concurrent transfers should share batches");
+    }
+
+    @Test
+    void burstBeyondBalance_shouldRejectOnlyTheOverdrawingPostings() throws Exception {
+        Account source = fundedAccount(1_000L);
+
+        List<Callable<Transaction>> withdrawals = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            withdrawals.add(() -> debitQueueService.withdraw(source.getAccountId(), 100L, key()));
+        }
+        int succeeded = 0;
+        int rejected = 0;
+        for (Future<Transaction> result : runConcurrently(withdrawals)) {
+            try {
+                result.get();
+                succeeded++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(InsufficientFundsException.class, e.getCause());
+                rejected++;
+            }
+        }
+
+        assertEquals(10, succeeded);
+        assertEquals(10, rejected);
+        assertEquals(0L, accountService.getBalance(source.getAccountId()));
+    }
+
+    @Test
+    void sameKeyInOneBurst_shouldPostOnce() throws Exception {
+        Account source = fundedAccount(1_000L);
+        Account payee = accountService.createAccount();
+        String sharedKey = key();
+
+        List<Callable<Transaction>> replays = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            replays.add(() -> debitQueueService.transfer(source.getAccountId(), payee.getAccountId(), 100L, sharedKey));
+        }
+        Set<UUID> transactionIds = new HashSet<>();
+        int duplicates = 0;
+        for (Future<Transaction> result : runConcurrently(replays)) {
+            try {
+                transactionIds.add(result.get().getTransactionId());
+            } catch (ExecutionException e) {
+                DuplicateRequestException duplicate = assertInstanceOf(DuplicateRequestException.class, e.getCause());
+                transactionIds.add(duplicate.getExistingTransactionId());
+                duplicates++;
+            }
+        }
+
+        assertEquals(1, transactionIds.size());
+        assertEquals(7, duplicates);
+        assertEquals(100L, accountService.getBalance(payee.getAccountId()));
+    }
+
+    @Test
+    void rejectedPosting_shouldNotAffectItsBatch() throws Exception {
+        Account source = fundedAccount(1_000L);
+        Account payee = accountService.createAccount();
+
+        List<Callable<Transaction>> postings = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            UUID target = i == 4 ? UUID.randomUUID() : payee.getAccountId();
+            postings.add(() -> debitQueueService.transfer(source.getAccountId(), target, 10L, key()));
+        }
+        int notFound = 0;
+        for (Future<Transaction> result : runConcurrently(postings)) {
+            try {
+                result.get();
+            } catch (ExecutionException e) {
+                assertInstanceOf(AccountNotFoundException.class, e.getCause());
+                notFound++;
+            }
+        }
+
+        assertEquals(1, notFound);
+        assertEquals(90L, accountService.getBalance(payee.getAccountId()));
+        List<LedgerEntry> sourceEntries = accountService.getAccountTransactions(source.getAccountId());
+        assertEquals(10, sourceEntries.size());
+    }
+
+    @Test
+    void queuedWithdrawal_shouldRespectHolds() {
+        Account source = fundedAccount(1_000L);
+        holdService.placeHold(source.getAccountId(), 950L, key(), LocalDateTime.now().plusHours(1));
+
+        InsufficientFundsException ex = assertThrows(InsufficientFundsException.class,
+                () -> debitQueueService.withdraw(source.getAccountId(), 100L, key()));
+        assertTrue(ex.getMessage().contains("reserved=950"));
+        debitQueueService.withdraw(source.getAccountId(), 50L, key());
+        assertEquals(950L, accountService.getBalance(source.getAccountId()));
+    }
+
+    private List<Future<Transaction>> runConcurrently(List<Callable<Transaction>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(tasks.size());
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Transaction>> results = new ArrayList<>();
+        for (Callable<Transaction> task : tasks) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return task.call();
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        return results;
+    }
+
+    private Account fundedAccount(long amount) {
+        Account account = accountService.createAccount();
+        ledgerService.deposit(account.getAccountId(), amount, key());
+        return account;
+    }
+
+    private static String key() {
+        return "queue-" + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,200 @@
+package com.ledger.engine;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.FundHold;
+import com.ledger.engine.domain.HoldStatus;
+import com.ledger.engine.domain.LedgerEntry;
+import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.exception.DuplicateRequestException;
+import com.ledger.engine.exception.HoldNotFoundException;
+import com.ledger.engine.exception.InsufficientFundsException;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.HoldService;
+import com.ledger.engine.service.LedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FundHoldIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void activeHold_shouldReduceAvailableFundsWithoutPosting() {
+        Account a = fundedAccount(1000L);
+        Account b = accountService.createAccount();
+
+        holdService.placeHold(a.getAccountId(), 700L, key(), inOneHour());
+
+        assertEquals(1000L, accountService.getBalance(a.getAccountId()));
+        assertEquals(700L, accountService.getReservedAmount(a.getAccountId()));
+        assertEquals(1, accountService.getAccountTransactions(a.getAccountId()).size());
+        InsufficientFundsException ex = assertThrows(InsufficientFundsException.class,
+                () -> ledgerService.withdraw(a.getAccountId(), 400L, key()));
+        assertTrue(ex.getMessage().contains("reserved=700"));
+        assertThrows(InsufficientFundsException.class,
+                () -> ledgerService.transfer(a.getAccountId(), b.getAccountId(), 400L, key()));
+        assertThrows(InsufficientFundsException.class,
+                () -> holdService.placeHold(a.getAccountId(), 301L, key(), inOneHour()));
+
+        ledgerService.withdraw(a.getAccountId(), 300L, key());
+        assertEquals(700L, accountService.getBalance(a.getAccountId()));
+    }
+
+    @Test
+    void partialCapture_shouldPostOnceAndReleaseTheRemainder() {
+        Account customer = fundedAccount(1000L);
+        Account merchant = accountService.createAccount();
+        FundHold hold = holdService.placeHold(customer.getAccountId(), 800L, key(), inOneHour());
+
+        Transaction capture = holdService.captureHold(hold.getHoldId(), 650L, merchant.getAccountId(), key());
+
+        FundHold captured = holdService.getHold(hold.getHoldId());
+        assertEquals(HoldStatus.CAPTURED, captured.getStatus());
+        assertEquals(650L, captured.getCapturedAmount());
+        assertEquals(capture.getTransactionId(), captured.getTransactionId());
+        assertNotNull(captured.getClosedAt());
+
+        Integer entries = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ledger_entry WHERE transaction_id = ?", Integer.class, capture.getTransactionId());
+        assertEquals(2, entries);
+        assertEquals(350L, accountService.getBalance(customer.getAccountId()));
+        assertEquals(650L, accountService.getBalance(merchant.getAccountId()));
+        assertEquals(0L, accountService.getReservedAmount(customer.getAccountId()));
+
+        assertThrows(IllegalArgumentException.class,
+                () -> holdService.captureHold(hold.getHoldId(), 100L, merchant.getAccountId(), key()));
+        assertThrows(IllegalArgumentException.class, () -> holdService.releaseHold(hold.getHoldId()));
+    }
+
+    @Test
+    void captureWithoutCounterparty_shouldPostASingleDebit() {
+        Account a = fundedAccount(500L);
+        FundHold hold = holdService.placeHold(a.getAccountId(), 500L, key(), inOneHour());
+        String captureKey = key();
+
+        Transaction capture = holdService.captureHold(hold.getHoldId(), 500L, null, captureKey);
+
+        List<LedgerEntry> entries = accountService.getAccountTransactions(a.getAccountId());
+        assertEquals(2, entries.size());
+        assertEquals(0L, accountService.getBalance(a.getAccountId()));
+        DuplicateRequestException replay = assertThrows(DuplicateRequestException.class,
+                () -> holdService.captureHold(hold.getHoldId(), 500L, null, captureKey));
+        assertEquals(capture.getTransactionId(), replay.getExistingTransactionId());
+    }
+
+    @Test
+    void captureAboveHeldAmount_shouldBeRejected() {
+        Account a = fundedAccount(1000L);
+        FundHold hold = holdService.placeHold(a.getAccountId(), 100L, key(), inOneHour());
+
+        assertThrows(IllegalArgumentException.class, () -> holdService.captureHold(hold.getHoldId(), 101L, null, key()));
+        assertEquals(HoldStatus.ACTIVE, holdService.getHold(hold.getHoldId()).getStatus());
+    }
+
+    @Test
+    void release_shouldFreeFundsAndBeIdempotent() {
+        Account a = fundedAccount(1000L);
+        FundHold hold = holdService.placeHold(a.getAccountId(), 1000L, key(), inOneHour());
+
+        assertEquals(HoldStatus.RELEASED, holdService.releaseHold(hold.getHoldId()).getStatus());
+        assertEquals(HoldStatus.RELEASED, holdService.releaseHold(hold.getHoldId()).getStatus());
+
+        ledgerService.withdraw(a.getAccountId(), 1000L, key());
+        assertEquals(0L, accountService.getBalance(a.getAccountId()));
+    }
+
+    @Test
+    void placeHold_shouldBeIdempotentPerKey() {
+        Account a = fundedAccount(1000L);
+        String holdKey = key();
+
+        FundHold first = holdService.placeHold(a.getAccountId(), 600L, holdKey, inOneHour());
+        FundHold replay = holdService.placeHold(a.getAccountId(), 600L, holdKey, inOneHour());
+
+        assertEquals(first.getHoldId(), replay.getHoldId());
+        assertEquals(600L, accountService.getReservedAmount(a.getAccountId()));
+    }
+
+    @Test
+    void expiredHold_shouldStopReservingAndBeSweptToExpired() {
+        Account a = fundedAccount(1000L);
+        FundHold hold = holdService.placeHold(a.getAccountId(), 1000L, key(), inOneHour());
+        long versionBefore = accountService.getAccountVersion(a.getAccountId());
+        jdbcTemplate.update("UPDATE fund_hold SET expires_at = LOCALTIMESTAMP - INTERVAL '1 second' WHERE hold_id = ?",
+                hold.getHoldId());
+
+        assertEquals(0L, accountService.getReservedAmount(a.getAccountId()));
+        assertThrows(IllegalArgumentException.class, () -> holdService.captureHold(hold.getHoldId(), 10L, null, key()));
+
+        assertTrue(holdService.expireDue() >= 1);
+        assertEquals(HoldStatus.EXPIRED, holdService.getHold(hold.getHoldId()).getStatus());
+        assertTrue(accountService.getAccountVersion(a.getAccountId()) > versionBefore);
+        assertEquals(HoldStatus.EXPIRED, holdService.releaseHold(hold.getHoldId()).getStatus());
+    }
+
+    @Test
+    void concurrentHolds_shouldNeverReserveMoreThanTheBalance() throws Exception {
+        Account a = fundedAccount(1000L);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            results.add(executor.submit(() -> {
+                try {
+                    holdService.placeHold(a.getAccountId(), 100L, key(), inOneHour());
+                    return true;
+                } catch (InsufficientFundsException e) {
+                    return false;
+                }
+            }));
+        }
+        int placed = 0;
+        for (Future<Boolean> result : results) {
+            placed += result.get() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertEquals(10, placed);
+        assertEquals(1000L, accountService.getReservedAmount(a.getAccountId()));
+    }
+
+    @Test
+    void unknownHold_shouldBeNotFound() {
+        assertThrows(HoldNotFoundException.class, () -> holdService.getHold(UUID.randomUUID()));
+    }
+
+    private Account fundedAccount(long amount) {
+        Account account = accountService.createAccount();
+        ledgerService.deposit(account.getAccountId(), amount, key());
+        return account;
+    }
+
+    private static LocalDateTime inOneHour() {
+        return LocalDateTime.now().plusHours(1);
+    }
+
+    private static String key() {
+        return "hold-" + UUID.randomUUID();
+    }
+}
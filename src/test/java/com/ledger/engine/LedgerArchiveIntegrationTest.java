@@ -0,0 +1,165 @@
+package com.ledger.engine;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.AccountArchive;
+import com.ledger.engine.domain.LedgerEntry;
+import com.ledger.engine.domain.VerificationRun;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import com.ledger.engine.repository.LedgerVerificationRepository;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.LedgerArchiveService;
+import com.ledger.engine.service.LedgerService;
+import com.ledger.engine.service.LedgerVerifierService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerArchiveIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerArchiveService archiveService;
+
+    @Autowired
+    private LedgerVerifierService verifierService;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private LedgerVerificationRepository verificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void archival_shouldMoveClosedAccountHistoryWithoutChangingBalancesOrHistory() {
+        LocalDateTime start = ledgerEntryRepository.currentTimestamp();
+        Account closed = accountService.createAccount();
+        Account open = accountService.createAccount();
+        ledgerService.deposit(closed.getAccountId(), 10000L, UUID.randomUUID().toString());
+        LocalDateTime afterDeposit = ledgerEntryRepository.currentTimestamp();
+        ledgerService.transfer(closed.getAccountId(), open.getAccountId(), 3000L, UUID.randomUUID().toString());
+        ledgerService.withdraw(closed.getAccountId(), 7000L, UUID.randomUUID().toString());
+        ledgerService.deposit(open.getAccountId(), 500L, UUID.randomUUID().toString());
+        close(closed.getAccountId());
+        LocalDateTime through = verifyToNow().orElseThrow().getWindowEnd();
+
+        VerificationRun sliceBefore = verificationRepository.verifySlice(start, through);
+        List<LedgerEntry> historyBefore = accountService.getAccountTransactions(closed.getAccountId());
+        long globalSumBefore = ledgerEntryRepository.globalLedgerSum();
+        long openVersion = accountService.getAccountVersion(open.getAccountId());
+
+        assertTrue(archiveService.archiveClosedAccounts(ledgerEntryRepository.currentTimestamp()) >= 1);
+
+        AccountArchive archive = archiveService.getArchive(closed.getAccountId()).orElseThrow();
+        assertEquals(3, archive.getEntryCount());
+        assertEquals(0L, archive.getAmountSum());
+        assertEquals(3, archivedEntries(closed.getAccountId()));
+        assertEquals(1, hotEntries(closed.getAccountId()));
+        assertFalse(archiveService.getArchive(open.getAccountId()).isPresent());
+
+        assertEquals(0L, accountService.getBalance(closed.getAccountId()));
+        assertEquals(3500L, accountService.getBalance(open.getAccountId()));
+        assertEquals(10000L, accountService.getBalanceAsOf(closed.getAccountId(), afterDeposit));
+        assertEquals(globalSumBefore, ledgerEntryRepository.globalLedgerSum());
+        assertEquals(openVersion, accountService.getAccountVersion(open.getAccountId()));
+
+        VerificationRun sliceAfter = verificationRepository.verifySlice(start, through);
+        assertEquals(sliceBefore.getTransactionCount(), sliceAfter.getTransactionCount());
+        assertEquals(sliceBefore.getEntryCount(), sliceAfter.getEntryCount());
+        assertEquals(sliceBefore.getNetAmount(), sliceAfter.getNetAmount());
+        assertEquals(sliceBefore.getViolationCount(), sliceAfter.getViolationCount());
+
+        List<LedgerEntry> historyAfter = accountService.getAccountTransactions(closed.getAccountId());
+        assertEquals(historyBefore.stream().map(LedgerEntry::getLedgerEntryId).toList(),
+                historyAfter.stream().map(LedgerEntry::getLedgerEntryId).toList());
+        assertEquals(historyBefore.stream().map(LedgerEntry::getCreatedAt).toList(),
+                historyAfter.stream().map(LedgerEntry::getCreatedAt).toList());
+    }
+
+    @Test
+    void archival_shouldCarryNonZeroBalancesAcrossRepeatedRuns() {
+        Account closed = accountService.createAccount();
+        Account other = accountService.createAccount();
+        ledgerService.deposit(closed.getAccountId(), 8000L, UUID.randomUUID().toString());
+        ledgerService.transfer(closed.getAccountId(), other.getAccountId(), 2000L, UUID.randomUUID().toString());
+        close(closed.getAccountId());
+        verifyToNow();
+        archiveService.archiveClosedAccounts(ledgerEntryRepository.currentTimestamp());
+
+        // A later posting lands after the carry; archiving it again appends a second carry for it
+        open(closed.getAccountId());
+        ledgerService.deposit(closed.getAccountId(), 1000L, UUID.randomUUID().toString());
+        close(closed.getAccountId());
+        verifyToNow();
+        archiveService.archiveClosedAccounts(ledgerEntryRepository.currentTimestamp());
+
+        AccountArchive archive = archiveService.getArchive(closed.getAccountId()).orElseThrow();
+        assertEquals(3, archive.getEntryCount());
+        assertEquals(7000L, archive.getAmountSum());
+        assertEquals(2, hotEntries(closed.getAccountId()));
+        assertEquals(7000L, accountService.getBalance(closed.getAccountId()));
+        assertEquals(2, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM transaction WHERE idempotency_key LIKE ?", Integer.class,
+                "ledger-archive:" + closed.getAccountId() + ":%"));
+    }
+
+    @Test
+    void archival_shouldLeaveActiveAndUnverifiedHistoryInPlace() {
+        Account active = accountService.createAccount();
+        ledgerService.deposit(active.getAccountId(), 4000L, UUID.randomUUID().toString());
+        verifyToNow();
+        Account late = accountService.createAccount();
+        ledgerService.deposit(late.getAccountId(), 4000L, UUID.randomUUID().toString());
+        close(late.getAccountId());
+
+        archiveService.archiveClosedAccounts(ledgerEntryRepository.currentTimestamp());
+
+        assertFalse(archiveService.getArchive(active.getAccountId()).isPresent());
+        assertFalse(archiveService.getArchive(late.getAccountId()).isPresent());
+        assertEquals(1, hotEntries(late.getAccountId()));
+        assertEquals(4000L, accountService.getBalance(late.getAccountId()));
+    }
+
+    // Each run covers at most ledger.verifier.max-window, so catch up from wherever the watermark is
+    private Optional<VerificationRun> verifyToNow() {
+        LocalDateTime now = ledgerEntryRepository.currentTimestamp();
+        Optional<VerificationRun> last = Optional.empty();
+        for (Optional<VerificationRun> run = verifierService.runVerification(now); run.isPresent();
+                run = verifierService.runVerification(now)) {
+            last = run;
+        }
+        return last;
+    }
+
+    private void close(UUID accountId) {
+        jdbcTemplate.update("UPDATE account SET status = 'CLOSED' WHERE account_id = ?", accountId);
+    }
+
+    private void open(UUID accountId) {
+        jdbcTemplate.update("UPDATE account SET status = 'ACTIVE' WHERE account_id = ?", accountId);
+    }
+
+    private int hotEntries(UUID accountId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ledger_entry WHERE account_id = ?", Integer.class, accountId);
+    }
+
+    private int archivedEntries(UUID accountId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ledger_entry_archive WHERE account_id = ?", Integer.class, accountId);
+    }
+}
@@ -0,0 +1,168 @@
+package com.ledger.engine;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.ImportStatus;
+import com.ledger.engine.domain.LedgerImport;
+import com.ledger.engine.exception.ImportValidationException;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.BalanceCheckpointService;
+import com.ledger.engine.service.HoldService;
+import com.ledger.engine.service.LedgerImportService;
+import com.ledger.engine.service.LedgerService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerImportIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerImportService importService;
+
+    @Autowired
+    private BalanceCheckpointService checkpointService;
+
+    @Autowired
+    private HoldService holdService;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void csvImport_shouldLoadTransactionsAcrossChunks() throws Exception {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        String prefix = UUID.randomUUID().toString();
+        long ledgerSumBefore = ledgerEntryRepository.globalLedgerSum();
+
+        Path file = tempDir.resolve("books.csv");
+        Files.writeString(file, String.join("\n",
+                "idempotency_key,account_id,amount",
+                prefix + "-open," + a.getAccountId() + ",10000",
+                prefix + "-t1," + a.getAccountId() + ",-3000",
+                prefix + "-t1," + b.getAccountId() + ",3000",
+                "\"" + prefix + "-t2,quoted\"," + b.getAccountId() + ",-500",
+                "\"" + prefix + "-t2,quoted\"," + a.getAccountId() + ",500",
+                prefix + "-fee," + b.getAccountId() + ",-100"));
+
+        LedgerImport result = importService.importFile(file, prefix);
+
+        assertEquals(ImportStatus.COMPLETED, result.getStatus());
+        assertEquals(4, result.getTransactionsImported());
+        assertEquals(6, result.getEntriesImported());
+        assertEquals(7500L, accountService.getBalance(a.getAccountId()));
+        assertEquals(2400L, accountService.getBalance(b.getAccountId()));
+        assertEquals(ledgerSumBefore + 9900L, ledgerEntryRepository.globalLedgerSum());
+    }
+
+    @Test
+    void failedImport_shouldResumeAfterLastCommittedChunk() throws Exception {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 1000L, UUID.randomUUID().toString());
+        String prefix = UUID.randomUUID().toString();
+        String header = "idempotency_key,account_id,amount\n";
+        String committed = transfer(prefix + "-1", a, b, 0) + transfer(prefix + "-2", b, a, 0);
+        String third = transfer(prefix + "-3", a, b, 0);
+
+        Path file = tempDir.resolve("settlement.csv");
+        Files.writeString(file, header + committed + third + transfer(prefix + "-4", a, b, 1));
+
+        ImportValidationException error = assertThrows(ImportValidationException.class,
+                () -> importService.importFile(file, prefix));
+        assertEquals(8, error.getLineNumber());
+
+        Files.writeString(file, header + committed + third + transfer(prefix + "-4", a, b, 0));
+        LedgerImport resumed = importService.importFile(file, prefix);
+
+        assertEquals(ImportStatus.COMPLETED, resumed.getStatus());
+        assertEquals(4, resumed.getTransactionsImported());
+        assertEquals(0, resumed.getTransactionsSkipped());
+        assertEquals(800L, accountService.getBalance(a.getAccountId()));
+        assertEquals(200L, accountService.getBalance(b.getAccountId()));
+    }
+
+    @Test
+    void import_shouldRejectOverdraftsAndInactiveAccountsLikeTheOnlinePath() throws Exception {
+        Account a = accountService.createAccount();
+        Account frozen = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 1000L, UUID.randomUUID().toString());
+        holdService.placeHold(a.getAccountId(), 300L, UUID.randomUUID().toString(), LocalDateTime.now().plusHours(1));
+        accountService.freezeAccount(frozen.getAccountId());
+        String header = "idempotency_key,account_id,amount\n";
+
+        Path overdraft = tempDir.resolve("overdraft.csv");
+        Files.writeString(overdraft, header
+                + UUID.randomUUID() + "," + a.getAccountId() + ",-600\n"
+                + UUID.randomUUID() + "," + a.getAccountId() + ",-200\n");
+        ImportValidationException insufficient = assertThrows(ImportValidationException.class,
+                () -> importService.importFile(overdraft, UUID.randomUUID().toString()));
+        assertEquals(3, insufficient.getLineNumber());
+        assertTrue(insufficient.getMessage().contains("insufficient funds"));
+
+        Path inactive = tempDir.resolve("frozen.csv");
+        Files.writeString(inactive, header + UUID.randomUUID() + "," + frozen.getAccountId() + ",500\n");
+        ImportValidationException notActive = assertThrows(ImportValidationException.class,
+                () -> importService.importFile(inactive, UUID.randomUUID().toString()));
+        assertTrue(notActive.getMessage().contains("FROZEN"));
+
+        assertEquals(1000L, accountService.getBalance(a.getAccountId()));
+        assertEquals(0L, accountService.getBalance(frozen.getAccountId()));
+    }
+
+    @Test
+    void ndjsonImport_shouldSkipExistingIdempotencyKeys() throws Exception {
+        Account a = accountService.createAccount();
+        String existingKey = UUID.randomUUID().toString();
+        ledgerService.deposit(a.getAccountId(), 1000L, existingKey);
+
+        Path file = tempDir.resolve("replay.ndjson");
+        Files.writeString(file, String.join("\n",
+                "{\"idempotencyKey\":\"" + existingKey + "\",\"accountId\":\"" + a.getAccountId() + "\",\"amount\":1000}",
+                "{\"idempotencyKey\":\"" + UUID.randomUUID() + "\",\"accountId\":\"" + a.getAccountId() + "\",\"amount\":250}"));
+
+        LedgerImport result = importService.importFile(file, UUID.randomUUID().toString());
+
+        assertEquals(1, result.getTransactionsImported());
+        assertEquals(1, result.getTransactionsSkipped());
+        assertEquals(1250L, accountService.getBalance(a.getAccountId()));
+    }
+
+    @Test
+    void backdatedImport_shouldInvalidateLaterCheckpoints() throws Exception {
+        Account a = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 1000L, UUID.randomUUID().toString());
+        LocalDateTime checkpointAt = ledgerEntryRepository.currentTimestamp();
+        checkpointService.createCheckpoints(checkpointAt);
+        LocalDateTime backdated = checkpointAt.minusDays(1);
+
+        Path file = tempDir.resolve("history.csv");
+        Files.writeString(file, "idempotency_key,account_id,amount,created_at\n"
+                + UUID.randomUUID() + "," + a.getAccountId() + ",400," + backdated + "\n");
+        importService.importFile(file, UUID.randomUUID().toString());
+
+        assertEquals(400L, accountService.getBalanceAsOf(a.getAccountId(), backdated));
+        assertEquals(1400L, accountService.getBalanceAsOf(a.getAccountId(), checkpointAt));
+    }
+
+    private static String transfer(String key, Account from, Account to, long imbalance) {
+        return key + "," + from.getAccountId() + ",-100\n"
+                + key + "," + to.getAccountId() + "," + (100 + imbalance) + "\n";
+    }
+}
@@ -0,0 +1,41 @@
+package com.ledger.engine;
+
+import com.ledger.engine.api.dto.BalanceResponse;
+import com.ledger.engine.api.dto.PostingEventResponse;
+import com.ledger.engine.config.LedgerRuntimeHints;
+import com.ledger.engine.config.SchemaMigrationConfig;
+import com.ledger.engine.domain.TransactionStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerRuntimeHintsTest {
+
+    private final RuntimeHints hints = new RuntimeHints();
+
+    LedgerRuntimeHintsTest() {
+        new LedgerRuntimeHints().registerHints(hints, getClass().getClassLoader());
+    }
+
+    @Test
+    void streamedDtos_shouldBeBindable() {
+        // Written by SSE emitters, so AOT cannot see them in controller signatures
+        assertTrue(RuntimeHintsPredicates.reflection().onType(BalanceResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onType(PostingEventResponse.class).test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(BalanceResponse.class, "getBalance").test(hints));
+    }
+
+    @Test
+    void parsedEnums_shouldExposeTheirConstants() {
+        assertTrue(RuntimeHintsPredicates.reflection().onMethod(TransactionStatus.class, "values").test(hints));
+        assertTrue(RuntimeHintsPredicates.reflection()
+                .onMethod(SchemaMigrationConfig.Mode.class, "values").test(hints));
+    }
+
+    @Test
+    void migrations_shouldBeEmbedded() {
+        assertTrue(RuntimeHintsPredicates.resource().forResource("db/migration/V1__init.sql").test(hints));
+    }
+}
@@ -0,0 +1,109 @@
+package com.ledger.engine;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.InvariantViolation;
+import com.ledger.engine.domain.VerificationRun;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.LedgerService;
+import com.ledger.engine.service.LedgerVerifierService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LedgerVerifierIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private LedgerVerifierService verifierService;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void incrementalRuns_shouldVerifyOnlyNewEntriesAndConserveMoney() {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 10000L, UUID.randomUUID().toString());
+        ledgerService.transfer(a.getAccountId(), b.getAccountId(), 4000L, UUID.randomUUID().toString());
+        verifierService.runVerification(ledgerEntryRepository.currentTimestamp());
+        VerificationRun before = verifierService.getCumulativeTotals();
+
+        ledgerService.transfer(b.getAccountId(), a.getAccountId(), 1000L, UUID.randomUUID().toString());
+        ledgerService.withdraw(a.getAccountId(), 500L, UUID.randomUUID().toString());
+        Optional<VerificationRun> run = verifierService.runVerification(ledgerEntryRepository.currentTimestamp());
+
+        assertTrue(run.isPresent());
+        assertEquals(before.getWindowEnd(), run.get().getWindowStart());
+        assertEquals(2, run.get().getTransactionCount());
+        assertEquals(3, run.get().getEntryCount());
+        assertEquals(-500L, run.get().getNetAmount());
+        assertEquals(-500L, run.get().getExternalAmount());
+        assertEquals(0, run.get().getViolationCount());
+
+        VerificationRun totals = verifierService.getCumulativeTotals();
+        assertEquals(ledgerEntryRepository.globalLedgerSum(), totals.getNetAmount());
+        assertEquals(totals.getNetAmount(), totals.getExternalAmount());
+    }
+
+    @Test
+    void globalLedgerSum_shouldMoveByExternalFlowOnly() {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        long before = verifierService.getGlobalLedgerSum();
+
+        ledgerService.deposit(a.getAccountId(), 3000L, UUID.randomUUID().toString());
+        ledgerService.transfer(a.getAccountId(), b.getAccountId(), 1200L, UUID.randomUUID().toString());
+        ledgerService.withdraw(b.getAccountId(), 200L, UUID.randomUUID().toString());
+
+        assertEquals(before + 2800L, verifierService.getGlobalLedgerSum());
+    }
+
+    @Test
+    void unbalancedTransaction_shouldBeRecordedAsViolation() {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        verifierService.runVerification(ledgerEntryRepository.currentTimestamp());
+
+        UUID txId = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO transaction (transaction_id, idempotency_key, status) VALUES (?, ?, 'COMPLETED')",
+                txId, UUID.randomUUID().toString());
+        jdbcTemplate.update("INSERT INTO ledger_entry (ledger_entry_id, transaction_id, account_id, amount) VALUES (?, ?, ?, ?)",
+                UUID.randomUUID(), txId, a.getAccountId(), -100L);
+        jdbcTemplate.update("INSERT INTO ledger_entry (ledger_entry_id, transaction_id, account_id, amount) VALUES (?, ?, ?, ?)",
+                UUID.randomUUID(), txId, b.getAccountId(), 90L);
+
+        Optional<VerificationRun> run = verifierService.runVerification(ledgerEntryRepository.currentTimestamp());
+
+        assertTrue(run.isPresent());
+        assertEquals(1, run.get().getViolationCount());
+        List<InvariantViolation> violations = verifierService.getRecentViolations(10);
+        assertEquals(txId, violations.get(0).getTransactionId());
+        assertEquals(2, violations.get(0).getEntryCount());
+        assertEquals(-10L, violations.get(0).getAmountSum());
+    }
+
+    @Test
+    void runWithNothingNew_shouldBeSkipped() {
+        Account a = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 100L, UUID.randomUUID().toString());
+        verifierService.runVerification(ledgerEntryRepository.currentTimestamp());
+        VerificationRun latest = verifierService.getLatestRun().orElseThrow();
+
+        assertTrue(verifierService.runVerification(latest.getWindowEnd()).isEmpty());
+    }
+}
@@ -0,0 +1,58 @@
+package com.ledger.engine;
+
+import com.ledger.engine.domain.LoadStepResult;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.LoadDriverService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LoadDriverIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private LoadDriverService loadDriverService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void runStep_shouldMeasureTransfersThroughResizedPool() throws Exception {
+        List<UUID> accountIds = loadDriverService.prepareAccounts(8, 1_000_000L);
+        int originalPoolSize = loadDriverService.currentPoolSize();
+        LoadStepResult result;
+        try {
+            result = loadDriverService.runStep(accountIds, 2, 6, Duration.ofMillis(200), Duration.ofSeconds(1));
+            assertEquals(2, loadDriverService.currentPoolSize());
+        } finally {
+            loadDriverService.resizePool(originalPoolSize);
+        }
+
+        assertEquals(2, result.getPoolSize());
+        assertEquals(6, result.getConcurrency());
+        assertTrue(result.getOperations() > 0);
+        assertEquals(0, result.getErrors());
+        assertTrue(result.getP50Millis() <= result.getP99Millis());
+        assertTrue(result.getP99Millis() <= result.getMaxMillis());
+        assertTrue(result.getMeanActive() <= 2.0);
+        assertTrue(result.getMeanUsageMillis() > 0.0);
+
+        long total = accountIds.stream().mapToLong(accountService::getBalance).sum();
+        assertEquals(8 * 1_000_000L, total);
+    }
+
+    @Test
+    void poolSaturationMetrics_shouldBeRegistered() {
+        assertNotNull(meterRegistry.find("hikaricp.connections.pending").gauge());
+        assertNotNull(meterRegistry.find("hikaricp.connections.acquire").timer());
+        assertNotNull(meterRegistry.find("hikaricp.connections.usage").timer());
+    }
+}
@@ -0,0 +1,254 @@
+package com.ledger.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ledger.engine.config.PartitionMap;
+import com.ledger.engine.domain.CrossPartitionTransfer;
+import com.ledger.engine.domain.CrossPartitionTransferStatus;
+import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.CrossPartitionTransferService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/*
+ * Two engine nodes, each with its own PostgreSQL database, started as two application contexts on real
+ * ports so requests cross the routing filter and the phase-2 call crosses HTTP.
+ */
+@Testcontainers
+class PartitionedDeploymentIntegrationTest {
+
+    @Container
+    static PostgreSQLContainer<?> postgres0 = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("banking_engine_p0")
+            .withUsername("test")
+            .withPassword("test");
+
+    @Container
+    static PostgreSQLContainer<?> postgres1 = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("banking_engine_p1")
+            .withUsername("test")
+            .withPassword("test");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final HttpClient HTTP = HttpClient.newHttpClient();
+
+    private static final int[] ports = new int[2];
+    private static final ConfigurableApplicationContext[] nodes = new ConfigurableApplicationContext[2];
+
+    @BeforeAll
+    static void startNodes() throws IOException {
+        ports[0] = freePort();
+        ports[1] = freePort();
+        nodes[0] = startNode(0, postgres0);
+        nodes[1] = startNode(1, postgres1);
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        for (ConfigurableApplicationContext node : nodes) {
+            if (node != null) {
+                node.close();
+            }
+        }
+    }
+
+    @Test
+    void accountRequests_shouldBeServedThroughEitherNode() throws Exception {
+        UUID account = createAccount(1);
+        assertEquals(1, bean(0, PartitionMap.class).partitionOf(account));
+
+        HttpResponse<String> deposit = post(0, "/api/transactions/deposit",
+                Map.of("accountId", account, "amount", 700, "idempotencyKey", key()));
+        assertEquals(201, deposit.statusCode());
+
+        HttpResponse<String> balance = get(0, "/api/accounts/" + account + "/balance");
+        assertEquals(200, balance.statusCode());
+        assertEquals(700L, json(balance).get("balance").asLong());
+        assertTrue(balance.headers().firstValue("ETag").isPresent());
+        assertEquals(700L, bean(1, AccountService.class).getBalance(account));
+        assertEquals(0, count(0, "SELECT COUNT(*) FROM account WHERE account_id = ?", account));
+    }
+
+    @Test
+    void crossPartitionTransfer_shouldBalanceEachLedgerThroughClearingAccounts() throws Exception {
+        UUID payer = fundedAccount(0, 1_000L);
+        UUID payee = createAccount(1);
+        String key = key();
+        UUID clearing0 = bean(0, PartitionMap.class).clearingAccount(1);
+        UUID clearing1 = bean(1, PartitionMap.class).clearingAccount(0);
+        long inFlightBefore = clearingSum(clearing0, clearing1);
+
+        // Sent to the payee's node; routed to the payer's node, which runs both phases
+        HttpResponse<String> transfer = post(1, "/api/transactions/transfer",
+                Map.of("fromAccountId", payer, "toAccountId", payee, "amount", 300, "idempotencyKey", key));
+
+        assertEquals(201, transfer.statusCode());
+        assertEquals("COMPLETED", json(transfer).get("status").asText());
+        assertEquals(700L, bean(0, AccountService.class).getBalance(payer));
+        assertEquals(300L, bean(1, AccountService.class).getBalance(payee));
+        assertEquals(inFlightBefore, clearingSum(clearing0, clearing1), "the clearing accounts cancel out");
+        assertLedgerBalanced(0);
+        assertLedgerBalanced(1);
+
+        HttpResponse<String> replay = post(0, "/api/transactions/transfer",
+                Map.of("fromAccountId", payer, "toAccountId", payee, "amount", 300, "idempotencyKey", key));
+        assertEquals(409, replay.statusCode());
+        assertEquals(300L, bean(1, AccountService.class).getBalance(payee));
+    }
+
+    @Test
+    void phaseTwoRedelivery_shouldPostOnce() {
+        UUID payee = createAccount(1);
+        UUID transferId = UUID.randomUUID();
+        CrossPartitionTransferService payeeNode = bean(1, CrossPartitionTransferService.class);
+
+        Transaction first = payeeNode.applyCredit(transferId, 0, payee, 250L);
+        Transaction second = payeeNode.applyCredit(transferId, 0, payee, 250L);
+
+        assertEquals(first.getTransactionId(), second.getTransactionId());
+        assertEquals(250L, bean(1, AccountService.class).getBalance(payee));
+    }
+
+    @Test
+    void refusedCredit_shouldReverseOnThePayersNode() throws Exception {
+        UUID payer = fundedAccount(0, 500L);
+        UUID missing = UUID.randomUUID();
+        while (bean(0, PartitionMap.class).partitionOf(missing) != 1) {
+            missing = UUID.randomUUID();
+        }
+
+        HttpResponse<String> transfer = post(0, "/api/transactions/transfer",
+                Map.of("fromAccountId", payer, "toAccountId", missing, "amount", 200, "idempotencyKey", key()));
+
+        assertEquals(404, transfer.statusCode());
+        assertEquals("ACCOUNT_NOT_FOUND", json(transfer).get("error").asText());
+        assertEquals(500L, bean(0, AccountService.class).getBalance(payer));
+        assertEquals(1, count(0, "SELECT COUNT(*) FROM cross_partition_transfer " +
+                "WHERE from_account_id = ? AND status = 'FAILED'", payer));
+        assertLedgerBalanced(0);
+    }
+
+    @Test
+    void unreachablePayeeNode_shouldLeaveTheTransferForRecovery() throws Exception {
+        UUID payer = fundedAccount(0, 1_000L);
+        UUID payee = createAccount(1);
+
+        nodes[1].close();
+        try {
+            HttpResponse<String> transfer = post(0, "/api/transactions/transfer",
+                    Map.of("fromAccountId", payer, "toAccountId", payee, "amount", 400, "idempotencyKey", key()));
+            assertEquals(202, transfer.statusCode());
+            assertEquals("INITIATED", json(transfer).get("status").asText());
+            assertEquals(600L, bean(0, AccountService.class).getBalance(payer));
+        } finally {
+            nodes[1] = startNode(1, postgres1);
+        }
+
+        assertTrue(bean(0, CrossPartitionTransferService.class).recoverPrepared() >= 1);
+        assertEquals(400L, bean(1, AccountService.class).getBalance(payee));
+        UUID transactionId = jdbc(0).queryForObject(
+                "SELECT transaction_id FROM cross_partition_transfer WHERE from_account_id = ?", UUID.class, payer);
+        CrossPartitionTransfer recovered = bean(0, CrossPartitionTransferService.class)
+                .findByTransactionId(transactionId).orElseThrow();
+        assertEquals(CrossPartitionTransferStatus.COMPLETED, recovered.getStatus());
+        assertEquals("COMPLETED", jdbc(0).queryForObject(
+                "SELECT status FROM transaction WHERE transaction_id = ?", String.class, transactionId));
+    }
+
+    private static ConfigurableApplicationContext startNode(int self, PostgreSQLContainer<?> database) {
+        return new SpringApplicationBuilder(BankingEngineApplication.class)
+                .profiles("test")
+                .run("--server.port=" + ports[self],
+                        "--spring.datasource.url=" + database.getJdbcUrl(),
+                        "--spring.datasource.username=" + database.getUsername(),
+                        "--spring.datasource.password=" + database.getPassword(),
+                        "--ledger.partitions.nodes=http://localhost:" + ports[0] + ",http://localhost:" + ports[1],
+                        "--ledger.partitions.self=" + self,
+                        "--ledger.partitions.secret=test-partition-secret",
+                        "--ledger.partitions.recovery.retry-delay=PT0S",
+                        "--ledger.partitions.request-timeout=PT2S");
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static <T> T bean(int node, Class<T> type) {
+        return nodes[node].getBean(type);
+    }
+
+    private static JdbcTemplate jdbc(int node) {
+        return bean(node, JdbcTemplate.class);
+    }
+
+    private static long count(int node, String sql, Object... args) {
+        return jdbc(node).queryForObject(sql, Long.class, args);
+    }
+
+    // Deposits are single-entry; every two-sided posting on a node must net to zero within that node
+    private static void assertLedgerBalanced(int node) {
+        assertEquals(0L, count(node, "SELECT COUNT(*) FROM (SELECT transaction_id FROM ledger_entry " +
+                "GROUP BY transaction_id HAVING COUNT(*) > 1 AND SUM(amount) <> 0) unbalanced"));
+    }
+
+    // Clearing accounts are created on first use; until then they read as zero
+    private static long clearingSum(UUID clearing0, UUID clearing1) {
+        return jdbc(0).queryForObject("SELECT COALESCE(SUM(amount), 0) FROM ledger_entry WHERE account_id = ?",
+                Long.class, clearing0)
+                + jdbc(1).queryForObject("SELECT COALESCE(SUM(amount), 0) FROM ledger_entry WHERE account_id = ?",
+                Long.class, clearing1);
+    }
+
+    private static UUID createAccount(int node) {
+        return bean(node, AccountService.class).createAccount().getAccountId();
+    }
+
+    private static UUID fundedAccount(int node, long amount) throws Exception {
+        UUID account = createAccount(node);
+        assertEquals(201, post(node, "/api/transactions/deposit",
+                Map.of("accountId", account, "amount", amount, "idempotencyKey", key())).statusCode());
+        return account;
+    }
+
+    private static HttpResponse<String> post(int node, String path, Map<String, Object> body) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create("http://localhost:" + ports[node] + path))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(MAPPER.writeValueAsString(body)))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static HttpResponse<String> get(int node, String path) throws Exception {
+        return HTTP.send(HttpRequest.newBuilder(URI.create("http://localhost:" + ports[node] + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static JsonNode json(HttpResponse<String> response) throws IOException {
+        return MAPPER.readTree(response.body());
+    }
+
+    private static String key() {
+        return "partition-" + UUID.randomUUID();
+    }
+}
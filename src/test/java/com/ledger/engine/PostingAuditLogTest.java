@@ -0,0 +1,110 @@
+package com.ledger.engine;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ledger.engine.domain.PostingType;
+import com.ledger.engine.exception.InsufficientFundsException;
+import com.ledger.engine.service.PostingAuditLog;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingAuditLogTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @TempDir
+    private Path dir;
+
+    private PostingAuditLog auditLog;
+
+    @AfterEach
+    void tearDown() {
+        auditLog.shutdown();
+    }
+
+    @Test
+    void rejectedPostings_shouldAlwaysBeWrittenWhileCommittedOnesAreSampled() throws IOException {
+        Path file = dir.resolve("audit.jsonl");
+        auditLog = auditLog(file, 0.0, DataSize.ofMegabytes(1), 3);
+        UUID accountId = UUID.randomUUID();
+
+        for (int i = 0; i < 10; i++) {
+            auditLog.committed(PostingType.DEPOSIT, UUID.randomUUID(), null, accountId, 100L, "ok-" + i,
+                    System.nanoTime());
+        }
+        auditLog.rejected(PostingType.WITHDRAWAL, accountId, null, 5000L, "too-much",
+                new InsufficientFundsException("Insufficient funds: balance=100, requested=5000"), System.nanoTime());
+        auditLog.flush(Duration.ofSeconds(5));
+
+        List<JsonNode> events = read(file);
+        assertEquals(1, events.size());
+        JsonNode event = events.get(0);
+        assertEquals("REJECTED", event.get("outcome").asText());
+        assertEquals("WITHDRAWAL", event.get("type").asText());
+        assertEquals(accountId.toString(), event.get("debitAccountId").asText());
+        assertFalse(event.has("creditAccountId"));
+        assertEquals(5000L, event.get("amount").asLong());
+        assertEquals("too-much", event.get("idempotencyKey").asText());
+        assertEquals("InsufficientFundsException", event.get("error").asText());
+        assertTrue(event.get("message").asText().contains("requested=5000"));
+        assertTrue(event.get("durationMicros").asLong() >= 0);
+        assertEquals(1.0, meterRegistry.counter("ledger.audit.events", "outcome", "rejected").count());
+        assertEquals(0.0, meterRegistry.counter("ledger.audit.events", "outcome", "committed").count());
+    }
+
+    @Test
+    void fullFile_shouldRollAndKeepOnlyMaxFiles() throws IOException {
+        Path file = dir.resolve("audit.jsonl");
+        auditLog = auditLog(file, 1.0, DataSize.ofBytes(1024), 2);
+
+        for (int i = 0; i < 200; i++) {
+            auditLog.committed(PostingType.TRANSFER, UUID.randomUUID(), UUID.randomUUID(), UUID.randomUUID(),
+                    i + 1, "key-" + i, System.nanoTime());
+        }
+        auditLog.flush(Duration.ofSeconds(5));
+
+        assertTrue(Files.exists(dir.resolve("audit.jsonl.1")));
+        assertTrue(Files.exists(dir.resolve("audit.jsonl.2")));
+        assertFalse(Files.exists(dir.resolve("audit.jsonl.3")));
+        // Oldest kept file first; the current file is only recreated by the next event after a roll
+        List<JsonNode> kept = new ArrayList<>(read(dir.resolve("audit.jsonl.2")));
+        kept.addAll(read(dir.resolve("audit.jsonl.1")));
+        if (Files.exists(file)) {
+            kept.addAll(read(file));
+        }
+        long first = kept.get(0).get("amount").asLong();
+        assertTrue(first > 1);
+        for (int i = 0; i < kept.size(); i++) {
+            assertEquals(first + i, kept.get(i).get("amount").asLong());
+        }
+        assertEquals(200L, first + kept.size() - 1);
+        assertEquals(200.0, meterRegistry.counter("ledger.audit.events", "outcome", "committed").count());
+    }
+
+    private PostingAuditLog auditLog(Path file, double sampleRate, DataSize maxFileSize, int maxFiles) {
+        return new PostingAuditLog(meterRegistry, true, file.toString(), sampleRate, 1024,
+                Duration.ofMillis(50), maxFileSize, maxFiles);
+    }
+
+    private List<JsonNode> read(Path file) throws IOException {
+        List<JsonNode> events = new ArrayList<>();
+        for (String line : Files.readAllLines(file)) {
+            events.add(objectMapper.readTree(line));
+        }
+        return events;
+    }
+}
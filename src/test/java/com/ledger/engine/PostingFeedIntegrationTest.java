@@ -0,0 +1,95 @@
+package com.ledger.engine;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.FeedCursor;
+import com.ledger.engine.domain.PostingEvent;
+import com.ledger.engine.domain.PostingType;
+import com.ledger.engine.exception.InsufficientFundsException;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.LedgerService;
+import com.ledger.engine.service.PostingFeedService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PostingFeedIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private PostingFeedService feedService;
+
+    @Test
+    void committedPostings_shouldBeDeliveredInOrderFromCursor() {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        FeedCursor start = feedService.headCursor();
+
+        var deposit = ledgerService.deposit(a.getAccountId(), 5000L, UUID.randomUUID().toString());
+        var transfer = ledgerService.transfer(a.getAccountId(), b.getAccountId(), 2000L, UUID.randomUUID().toString());
+
+        List<PostingEvent> events = feedService.poll(start, 100, Duration.ZERO);
+
+        assertEquals(3, events.size());
+        assertEquals(PostingType.DEPOSIT, events.get(0).getPostingType());
+        assertEquals(deposit.getTransactionId(), events.get(0).getTransactionId());
+        assertEquals(5000L, events.get(0).getAmount());
+        assertEquals(transfer.getTransactionId(), events.get(1).getTransactionId());
+        assertEquals(transfer.getTransactionId(), events.get(2).getTransactionId());
+        assertEquals(0L, events.get(1).getAmount() + events.get(2).getAmount());
+
+        FeedCursor next = FeedCursor.of(events.get(2));
+        assertTrue(feedService.poll(next, 100, Duration.ZERO).isEmpty());
+    }
+
+    @Test
+    void rolledBackPosting_shouldNotAppearInFeed() {
+        Account a = accountService.createAccount();
+        FeedCursor start = feedService.headCursor();
+
+        assertThrows(InsufficientFundsException.class,
+                () -> ledgerService.withdraw(a.getAccountId(), 100L, UUID.randomUUID().toString()));
+
+        assertTrue(feedService.poll(start, 100, Duration.ZERO).isEmpty());
+    }
+
+    @Test
+    void longPoll_shouldWakeUpOnCommit() throws Exception {
+        Account a = accountService.createAccount();
+        FeedCursor start = feedService.headCursor();
+
+        CompletableFuture<List<PostingEvent>> waiting = CompletableFuture.supplyAsync(
+                () -> feedService.poll(start, 100, Duration.ofSeconds(20)));
+        Thread.sleep(200);
+        long committedAt = System.nanoTime();
+        ledgerService.deposit(a.getAccountId(), 700L, UUID.randomUUID().toString());
+
+        List<PostingEvent> events = waiting.get(10, TimeUnit.SECONDS);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - committedAt);
+
+        assertEquals(1, events.size());
+        assertEquals(a.getAccountId(), events.get(0).getAccountId());
+        assertTrue(elapsedMs < 5000, "long poll should return promptly, took " + elapsedMs + "ms");
+    }
+
+    @Test
+    void cursor_shouldRoundTrip() {
+        FeedCursor cursor = FeedCursor.parse("812-45");
+
+        assertEquals(812L, cursor.getTxXid());
+        assertEquals(45L, cursor.getEventId());
+        assertEquals("812-45", cursor.toString());
+        assertThrows(IllegalArgumentException.class, () -> FeedCursor.parse("not-a-cursor"));
+    }
+}
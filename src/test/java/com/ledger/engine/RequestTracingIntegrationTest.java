@@ -0,0 +1,196 @@
+package com.ledger.engine;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.exception.InsufficientFundsException;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.DebitQueueService;
+import com.ledger.engine.service.LedgerService;
+import io.micrometer.tracing.Span;
+import io.micrometer.tracing.Tracer;
+import io.micrometer.tracing.propagation.Propagator;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestTracingIntegrationTest extends BaseIntegrationTest {
+
+    private static final AttributeKey<String> STATEMENT = AttributeKey.stringKey("jdbc.query[0]");
+
+    @TestConfiguration
+    static class SpanCollector {
+
+        @Bean
+        InMemorySpanExporter inMemorySpanExporter() {
+            return InMemorySpanExporter.create();
+        }
+    }
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private DebitQueueService debitQueueService;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private Propagator propagator;
+
+    @Autowired
+    private SdkTracerProvider tracerProvider;
+
+    @Autowired
+    private InMemorySpanExporter exporter;
+
+    @Test
+    void transfer_shouldRecordEachPhaseAndStatementUnderTheCallersTrace() {
+        Account from = accountService.createAccount();
+        Account to = accountService.createAccount();
+        ledgerService.deposit(from.getAccountId(), 5000L, UUID.randomUUID().toString());
+        String traceId = traceId();
+
+        Span request = serverSpan(traceId, true);
+        try (Tracer.SpanInScope scope = tracer.withSpan(request)) {
+            ledgerService.transfer(from.getAccountId(), to.getAccountId(), 2000L, UUID.randomUUID().toString());
+        } finally {
+            request.end();
+        }
+        assertNull(tracer.currentSpan());
+
+        List<SpanData> spans = spans(traceId);
+        SpanData transfer = byName(spans, "LedgerService.transfer");
+        assertEquals(request.context().spanId(), transfer.getParentSpanId());
+        for (String phase : List.of("idempotency-lookup", "lock-wait", "derive-balance", "insert", "read-back",
+                "commit")) {
+            assertEquals(transfer.getSpanId(), byName(spans, phase).getParentSpanId(), phase);
+        }
+        // The span lasts through its commit
+        assertTrue(transfer.getEndEpochNanos() >= byName(spans, "commit").getEndEpochNanos());
+
+        List<SpanData> lockStatements = children(spans, byName(spans, "lock-wait"), "query");
+        assertEquals(2, lockStatements.size());
+        for (SpanData statement : lockStatements) {
+            assertEquals(SpanKind.CLIENT, statement.getKind());
+            assertTrue(statement.getAttributes().get(STATEMENT).contains("FOR UPDATE"));
+        }
+        assertTrue(children(spans, byName(spans, "lock-wait"), "result-set").stream()
+                .allMatch(rows -> "1".equals(rows.getAttributes().get(AttributeKey.stringKey("jdbc.row-count")))));
+        // The first insert phase writes the postings; the second bumps versions and fills the outbox
+        List<SpanData> inserts = children(spans, byName(spans, "insert"), "query");
+        assertTrue(inserts.stream().allMatch(s -> s.getAttributes().get(STATEMENT).startsWith("INSERT")));
+        assertTrue(inserts.stream().anyMatch(s -> s.getAttributes().get(STATEMENT).contains("ledger_entry")));
+    }
+
+    @Test
+    void rejectedPosting_shouldEndWithErrorStatus() {
+        Account account = accountService.createAccount();
+        String traceId = traceId();
+
+        Span request = serverSpan(traceId, true);
+        try (Tracer.SpanInScope scope = tracer.withSpan(request)) {
+            assertThrows(InsufficientFundsException.class,
+                    () -> ledgerService.withdraw(account.getAccountId(), 100L, UUID.randomUUID().toString()));
+        } finally {
+            request.end();
+        }
+
+        SpanData withdraw = byName(spans(traceId), "LedgerService.withdraw");
+        assertEquals(StatusCode.ERROR, withdraw.getStatus().getStatusCode());
+        assertTrue(withdraw.getStatus().getDescription().contains("Insufficient funds"));
+    }
+
+    @Test
+    void unsampledCaller_shouldRecordNothing() {
+        Account account = accountService.createAccount();
+        String traceId = traceId();
+
+        Span request = serverSpan(traceId, false);
+        try (Tracer.SpanInScope scope = tracer.withSpan(request)) {
+            assertTrue(request.isNoop());
+            ledgerService.deposit(account.getAccountId(), 100L, UUID.randomUUID().toString());
+        } finally {
+            request.end();
+        }
+
+        assertTrue(spans(traceId).isEmpty());
+    }
+
+    @Test
+    void debitQueueBatch_shouldBeTracedAsChildOfTheWaitingCaller() {
+        Account from = accountService.createAccount();
+        Account to = accountService.createAccount();
+        ledgerService.deposit(from.getAccountId(), 5000L, UUID.randomUUID().toString());
+        String traceId = traceId();
+
+        Span request = serverSpan(traceId, true);
+        try (Tracer.SpanInScope scope = tracer.withSpan(request)) {
+            debitQueueService.transfer(from.getAccountId(), to.getAccountId(), 1000L, UUID.randomUUID().toString());
+        } finally {
+            request.end();
+        }
+
+        List<SpanData> spans = spans(traceId);
+        SpanData caller = byName(spans, "DebitQueueService.transfer");
+        SpanData batch = byName(spans, "DebitQueueService.batch");
+        assertEquals(caller.getSpanId(), batch.getParentSpanId());
+        for (String phase : List.of("idempotency-lookup", "lock-wait", "derive-balance", "insert", "commit")) {
+            assertEquals(batch.getSpanId(), byName(spans, phase).getParentSpanId(), phase);
+        }
+    }
+
+    private Span serverSpan(String traceId, boolean sampled) {
+        return propagator.extract(Map.of("traceparent", traceparent(traceId, sampled)), Map::get)
+                .name("POST /test").kind(Span.Kind.SERVER).start();
+    }
+
+    // The spans of one trace that have ended so far
+    private List<SpanData> spans(String traceId) {
+        tracerProvider.forceFlush().join(5, TimeUnit.SECONDS);
+        return exporter.getFinishedSpanItems().stream()
+                .filter(span -> span.getTraceId().equals(traceId))
+                .toList();
+    }
+
+    // The earliest span with this name, so phases entered twice resolve to the same one on every run
+    private static SpanData byName(List<SpanData> spans, String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .min(Comparator.comparingLong(SpanData::getStartEpochNanos))
+                .orElseThrow(() -> new AssertionError("No span named " + name));
+    }
+
+    private static List<SpanData> children(List<SpanData> spans, SpanData parent, String name) {
+        return spans.stream()
+                .filter(span -> span.getParentSpanId().equals(parent.getSpanId()) && span.getName().equals(name))
+                .toList();
+    }
+
+    private static String traceId() {
+        return String.format("%016x%016x", ThreadLocalRandom.current().nextLong(),
+                ThreadLocalRandom.current().nextLong() | 1L);
+    }
+
+    private static String traceparent(String traceId, boolean sampled) {
+        return "00-" + traceId + "-00f067aa0ba902b7-" + (sampled ? "01" : "00");
+    }
+}
@@ -0,0 +1,231 @@
+package com.ledger.engine;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.PostingType;
+import com.ledger.engine.domain.ScheduledPosting;
+import com.ledger.engine.domain.ScheduledPostingStatus;
+import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.exception.AccountNotFoundException;
+import com.ledger.engine.exception.DuplicateRequestException;
+import com.ledger.engine.repository.ScheduledPostingRepository;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.LedgerService;
+import com.ledger.engine.service.ScheduledPostingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduledPostingIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private ScheduledPostingService scheduledPostingService;
+
+    @Autowired
+    private ScheduledPostingRepository scheduledPostingRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void drainLeftovers() {
+        jdbcTemplate.update("DELETE FROM scheduled_posting");
+    }
+
+    @Test
+    void dispatch_shouldPostDueInstructionsAndLeaveFutureOnesPending() {
+        Account employer = accountService.createAccount();
+        Account employee = accountService.createAccount();
+        ledgerService.deposit(employer.getAccountId(), 10_000L, UUID.randomUUID().toString());
+        LocalDateTime past = LocalDateTime.now().minusSeconds(5);
+
+        ScheduledPosting due = scheduleTransfer(employer, employee, 2500L, past);
+        ScheduledPosting future = scheduleTransfer(employer, employee, 2500L, LocalDateTime.now().plusDays(1));
+
+        assertEquals(1, scheduledPostingService.dispatchDue());
+
+        ScheduledPosting completed = scheduledPostingService.getScheduledPosting(due.getScheduledPostingId());
+        assertEquals(ScheduledPostingStatus.COMPLETED, completed.getStatus());
+        assertNotNull(completed.getTransactionId());
+        assertEquals(1, completed.getAttempts());
+        assertEquals(ScheduledPostingStatus.PENDING,
+                scheduledPostingService.getScheduledPosting(future.getScheduledPostingId()).getStatus());
+        assertEquals(7500L, accountService.getBalance(employer.getAccountId()));
+        assertEquals(2500L, accountService.getBalance(employee.getAccountId()));
+    }
+
+    @Test
+    void instructionsSharingAnAccount_shouldRunInExecuteAtOrder() {
+        Account employer = accountService.createAccount();
+        Account employee = accountService.createAccount();
+        Account landlord = accountService.createAccount();
+        ledgerService.deposit(employer.getAccountId(), 3000L, UUID.randomUUID().toString());
+        LocalDateTime base = LocalDateTime.now().minusMinutes(1);
+
+        // Rent only clears if the salary that precedes it has already landed
+        ScheduledPosting salary = scheduleTransfer(employer, employee, 3000L, base);
+        ScheduledPosting rent = scheduleTransfer(employee, landlord, 3000L, base.plusNanos(1000));
+
+        scheduledPostingService.dispatchDue();
+
+        assertEquals(ScheduledPostingStatus.COMPLETED,
+                scheduledPostingService.getScheduledPosting(salary.getScheduledPostingId()).getStatus());
+        assertEquals(ScheduledPostingStatus.COMPLETED,
+                scheduledPostingService.getScheduledPosting(rent.getScheduledPostingId()).getStatus());
+        assertEquals(3000L, accountService.getBalance(landlord.getAccountId()));
+    }
+
+    @Test
+    void rejectedInstruction_shouldFailWithoutRetry() {
+        Account a = accountService.createAccount();
+        ScheduledPosting posting = scheduledPostingService.schedule(PostingType.WITHDRAWAL, a.getAccountId(),
+                null, null, 100L, "sched-" + UUID.randomUUID(), LocalDateTime.now().minusSeconds(1));
+
+        scheduledPostingService.dispatchDue();
+
+        ScheduledPosting failed = scheduledPostingService.getScheduledPosting(posting.getScheduledPostingId());
+        assertEquals(ScheduledPostingStatus.FAILED, failed.getStatus());
+        assertTrue(failed.getLastError().contains("Insufficient funds"));
+        assertEquals(0, scheduledPostingService.dispatchDue());
+    }
+
+    @Test
+    void expiredLease_shouldBeReclaimedAndPostedOnlyOnce() {
+        Account a = accountService.createAccount();
+        ScheduledPosting posting = scheduledPostingService.schedule(PostingType.DEPOSIT, a.getAccountId(),
+                null, null, 700L, "sched-" + UUID.randomUUID(), LocalDateTime.now().minusSeconds(1));
+
+        // A dispatcher claims the row, posts it and dies before recording the outcome
+        assertEquals(1, scheduledPostingRepository.claimDue(10, Duration.ZERO).size());
+        Transaction posted = ledgerService.deposit(a.getAccountId(), 700L, posting.getIdempotencyKey());
+
+        assertEquals(1, scheduledPostingService.dispatchDue());
+
+        ScheduledPosting completed = scheduledPostingService.getScheduledPosting(posting.getScheduledPostingId());
+        assertEquals(ScheduledPostingStatus.COMPLETED, completed.getStatus());
+        assertEquals(posted.getTransactionId(), completed.getTransactionId());
+        assertEquals(2, completed.getAttempts());
+        assertEquals(700L, accountService.getBalance(a.getAccountId()));
+    }
+
+    @Test
+    void keyTakenByAnotherPosting_shouldFailInsteadOfCompleting() {
+        Account a = accountService.createAccount();
+        ScheduledPosting posting = scheduledPostingService.schedule(PostingType.DEPOSIT, a.getAccountId(),
+                null, null, 700L, "sched-" + UUID.randomUUID(), LocalDateTime.now().minusSeconds(1));
+
+        // An unrelated deposit commits under the instruction's key before it runs
+        ledgerService.deposit(a.getAccountId(), 300L, posting.getIdempotencyKey());
+
+        assertEquals(1, scheduledPostingService.dispatchDue());
+
+        ScheduledPosting failed = scheduledPostingService.getScheduledPosting(posting.getScheduledPostingId());
+        assertEquals(ScheduledPostingStatus.FAILED, failed.getStatus());
+        assertNull(failed.getTransactionId());
+        assertTrue(failed.getLastError().contains("Idempotency key already used"));
+        assertEquals(300L, accountService.getBalance(a.getAccountId()));
+    }
+
+    @Test
+    void concurrentDispatchers_shouldClaimEachInstructionOnce() throws Exception {
+        Account source = accountService.createAccount();
+        ledgerService.deposit(source.getAccountId(), 100_000L, UUID.randomUUID().toString());
+        LocalDateTime past = LocalDateTime.now().minusSeconds(1);
+        List<Account> targets = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            Account target = accountService.createAccount();
+            targets.add(target);
+            scheduleTransfer(source, target, 100L, past);
+        }
+
+        ExecutorService dispatchers = Executors.newFixedThreadPool(3);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            results.add(dispatchers.submit(() -> scheduledPostingService.dispatchDue()));
+        }
+        int dispatched = 0;
+        for (Future<Integer> result : results) {
+            dispatched += result.get();
+        }
+        dispatchers.shutdown();
+
+        assertEquals(40, dispatched);
+        assertEquals(100_000L - 40 * 100L, accountService.getBalance(source.getAccountId()));
+        for (Account target : targets) {
+            assertEquals(100L, accountService.getBalance(target.getAccountId()));
+        }
+    }
+
+    @Test
+    void schedule_shouldBeIdempotentAndCancellableWhilePending() {
+        Account a = accountService.createAccount();
+        String key = "sched-" + UUID.randomUUID();
+        LocalDateTime later = LocalDateTime.now().plusHours(1);
+
+        ScheduledPosting first = scheduledPostingService.schedule(PostingType.DEPOSIT, a.getAccountId(),
+                null, null, 100L, key, later);
+        ScheduledPosting replay = scheduledPostingService.schedule(PostingType.DEPOSIT, a.getAccountId(),
+                null, null, 100L, key, later);
+        assertEquals(first.getScheduledPostingId(), replay.getScheduledPostingId());
+
+        ScheduledPosting cancelled = scheduledPostingService.cancel(first.getScheduledPostingId());
+        assertEquals(ScheduledPostingStatus.CANCELLED, cancelled.getStatus());
+        assertThrows(IllegalArgumentException.class, () -> scheduledPostingService.cancel(first.getScheduledPostingId()));
+    }
+
+    @Test
+    void schedule_shouldRejectAKeyReusedWithADifferentPayload() {
+        Account a = accountService.createAccount();
+        String key = "sched-" + UUID.randomUUID();
+        LocalDateTime later = LocalDateTime.now().plusHours(1);
+        scheduledPostingService.schedule(PostingType.DEPOSIT, a.getAccountId(), null, null, 100L, key, later);
+
+        assertThrows(DuplicateRequestException.class, () -> scheduledPostingService.schedule(PostingType.DEPOSIT,
+                a.getAccountId(), null, null, 200L, key, later));
+        assertThrows(DuplicateRequestException.class, () -> scheduledPostingService.schedule(PostingType.WITHDRAWAL,
+                a.getAccountId(), null, null, 100L, key, later));
+        assertThrows(DuplicateRequestException.class, () -> scheduledPostingService.schedule(PostingType.DEPOSIT,
+                a.getAccountId(), null, null, 100L, key, later.plusMinutes(1)));
+    }
+
+    @Test
+    void schedule_shouldRejectAKeyAlreadyPosted() {
+        Account a = accountService.createAccount();
+        String key = "sched-" + UUID.randomUUID();
+        Transaction posted = ledgerService.deposit(a.getAccountId(), 100L, key);
+
+        DuplicateRequestException duplicate = assertThrows(DuplicateRequestException.class,
+                () -> scheduledPostingService.schedule(PostingType.DEPOSIT, a.getAccountId(), null, null, 100L,
+                        key, LocalDateTime.now().plusHours(1)));
+        assertEquals(posted.getTransactionId(), duplicate.getExistingTransactionId());
+        assertTrue(scheduledPostingRepository.findByIdempotencyKey(key).isEmpty());
+    }
+
+    @Test
+    void schedule_shouldRejectUnknownAccounts() {
+        assertThrows(AccountNotFoundException.class, () -> scheduledPostingService.schedule(PostingType.DEPOSIT,
+                UUID.randomUUID(), null, null, 100L, "sched-" + UUID.randomUUID(), LocalDateTime.now()));
+    }
+
+    private ScheduledPosting scheduleTransfer(Account from, Account to, long amount, LocalDateTime executeAt) {
+        return scheduledPostingService.schedule(PostingType.TRANSFER, null, from.getAccountId(),
+                to.getAccountId(), amount, "sched-" + UUID.randomUUID(), executeAt);
+    }
+}
@@ -0,0 +1,82 @@
+package com.ledger.engine;
+
+import com.ledger.engine.config.SchemaHealthIndicator;
+import com.ledger.engine.config.SchemaMigrationConfig;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SchemaMigrationIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private SchemaHealthIndicator schemaHealthIndicator;
+
+    @Test
+    void migrateMode_shouldReportCurrentSchemaVersion() {
+        Health health = schemaHealthIndicator.health();
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("MIGRATE", health.getDetails().get("mode"));
+        assertEquals(flyway.info().current().getVersion().getVersion(), health.getDetails().get("version"));
+    }
+
+    @Test
+    void asyncValidate_shouldReportUpOnceValidated() throws Exception {
+        SchemaHealthIndicator indicator = new SchemaHealthIndicator();
+        new SchemaMigrationConfig()
+                .flywayMigrationStrategy(indicator, SchemaMigrationConfig.Mode.ASYNC_VALIDATE)
+                .migrate(flyway);
+
+        Health health = awaitResult(indicator);
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals("ASYNC_VALIDATE", health.getDetails().get("mode"));
+    }
+
+    @Test
+    void asyncValidate_shouldReportDownWhenMigrationsArePending() throws Exception {
+        // A history table nothing was applied to: every migration on the class path is pending
+        Flyway behind = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .table("schema_history_never_applied")
+                .load();
+        SchemaHealthIndicator indicator = new SchemaHealthIndicator();
+        new SchemaMigrationConfig()
+                .flywayMigrationStrategy(indicator, SchemaMigrationConfig.Mode.ASYNC_VALIDATE)
+                .migrate(behind);
+
+        assertEquals(Status.DOWN, awaitResult(indicator).getStatus());
+    }
+
+    @Test
+    void skipMode_shouldNotTouchTheSchema() {
+        SchemaHealthIndicator indicator = new SchemaHealthIndicator();
+        Flyway unreachable = Flyway.configure()
+                .dataSource("jdbc:postgresql://localhost:1/none", "none", "none")
+                .load();
+        new SchemaMigrationConfig()
+                .flywayMigrationStrategy(indicator, SchemaMigrationConfig.Mode.SKIP)
+                .migrate(unreachable);
+
+        assertEquals(Status.UP, indicator.health().getStatus());
+    }
+
+    private static Health awaitResult(SchemaHealthIndicator indicator) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (indicator.health().getStatus().equals(Status.UNKNOWN) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        return indicator.health();
+    }
+}
@@ -0,0 +1,133 @@
+package com.ledger.engine;
+
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.StatementFormat;
+import com.ledger.engine.exception.AccountNotFoundException;
+import com.ledger.engine.repository.LedgerEntryRepository;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.LedgerService;
+import com.ledger.engine.service.StatementExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StatementExportIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private StatementExportService exportService;
+
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+
+    @Test
+    void csvExport_shouldStreamEntriesInRangeOrderedByAccountAndTime() throws Exception {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        ledgerService.deposit(a.getAccountId(), 1000L, UUID.randomUUID().toString());
+        LocalDateTime from = ledgerEntryRepository.currentTimestamp();
+        ledgerService.transfer(a.getAccountId(), b.getAccountId(), 300L, UUID.randomUUID().toString());
+        ledgerService.withdraw(a.getAccountId(), 200L, UUID.randomUUID().toString());
+
+        Set<UUID> accounts = exportService.validateRequest(List.of(a.getAccountId(), b.getAccountId()), from, null);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = exportService.export(accounts, from, null, StatementFormat.CSV, out);
+
+        String[] lines = new String(new GZIPInputStream(new ByteArrayInputStream(out.toByteArray())).readAllBytes(),
+                StandardCharsets.UTF_8).split("\n");
+        assertEquals(3, rows);
+        assertEquals("account_id,transaction_id,ledger_entry_id,amount,created_at", lines[0]);
+        assertEquals(4, lines.length);
+        assertTrue(lines[1].startsWith(a.getAccountId() + ","));
+        assertEquals("-300", lines[1].split(",")[3]);
+        assertEquals("-200", lines[2].split(",")[3]);
+        assertTrue(lines[3].startsWith(b.getAccountId() + ","));
+        assertEquals("300", lines[3].split(",")[3]);
+    }
+
+    @Test
+    void columnarExport_shouldRoundTripAcrossRowGroups() throws Exception {
+        Account a = accountService.createAccount();
+        int deposits = 5000;
+        for (int i = 1; i <= deposits; i++) {
+            ledgerService.deposit(a.getAccountId(), i, UUID.randomUUID().toString());
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(Set.of(a.getAccountId()), null, null, StatementFormat.COLUMNAR, out);
+
+        List<Long> amounts = new ArrayList<>();
+        List<Long> timestamps = new ArrayList<>();
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(out.toByteArray()));
+        assertEquals("LEDGCOL1", new String(in.readNBytes(8), StandardCharsets.US_ASCII));
+        int groups = 0;
+        int groupRows;
+        while ((groupRows = in.readInt()) > 0) {
+            groups++;
+            assertEquals(1, readVarint(in));
+            assertEquals(a.getAccountId(), new UUID(in.readLong(), in.readLong()));
+            for (int i = 0; i < groupRows; i++) {
+                assertEquals(0, readVarint(in));
+            }
+            in.skipNBytes(32L * groupRows);
+            for (int i = 0; i < groupRows; i++) {
+                amounts.add(unzigzag(readVarint(in)));
+            }
+            long micros = in.readLong();
+            timestamps.add(micros);
+            for (int i = 1; i < groupRows; i++) {
+                micros += unzigzag(readVarint(in));
+                timestamps.add(micros);
+            }
+        }
+        assertEquals(deposits, in.readLong());
+        assertEquals(2, groups);
+        assertEquals(deposits, amounts.size());
+        assertEquals((long) deposits * (deposits + 1) / 2, amounts.stream().mapToLong(Long::longValue).sum());
+        for (int i = 1; i < timestamps.size(); i++) {
+            assertTrue(timestamps.get(i) >= timestamps.get(i - 1));
+        }
+    }
+
+    @Test
+    void validateRequest_unknownAccount_shouldThrow() {
+        Account a = accountService.createAccount();
+
+        assertThrows(AccountNotFoundException.class,
+                () -> exportService.validateRequest(List.of(a.getAccountId(), UUID.randomUUID()), null, null));
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        int b;
+        do {
+            b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,165 @@
+package com.ledger.engine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ledger.engine.api.TransactionController;
+import com.ledger.engine.api.dto.BatchPostingRequest;
+import com.ledger.engine.api.dto.BatchPostingResult;
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.PostingType;
+import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.LedgerService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionBatchIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TransactionController transactionController;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private RequestMappingHandlerAdapter handlerAdapter;
+
+    @Test
+    void ndjsonBatch_shouldPostEachItemAndReportPerItemOutcomes() throws Exception {
+        Account a = accountService.createAccount();
+        Account b = accountService.createAccount();
+        Transaction earlier = ledgerService.deposit(a.getAccountId(), 100L, "batch-earlier-" + UUID.randomUUID());
+
+        List<BatchPostingRequest> items = List.of(
+                item(PostingType.DEPOSIT, a.getAccountId(), 1000L),
+                transfer(a.getAccountId(), b.getAccountId(), 400L),
+                item(PostingType.WITHDRAWAL, b.getAccountId(), 5000L),
+                new BatchPostingRequest(PostingType.DEPOSIT, a.getAccountId(), null, null, 1L,
+                        earlier.getIdempotencyKey()),
+                item(PostingType.DEPOSIT, UUID.randomUUID(), 1L));
+        StringBuilder body = new StringBuilder();
+        for (BatchPostingRequest item : items) {
+            body.append(objectMapper.writeValueAsString(item)).append('\n');
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        transactionController.batch("application/x-ndjson", null,
+                new ByteArrayInputStream(body.toString().getBytes(StandardCharsets.UTF_8)), response);
+
+        assertEquals("application/x-ndjson", response.getContentType());
+        String[] lines = response.getContentAsString().split("\n");
+        assertEquals(5, lines.length);
+        List<BatchPostingResult> results = new ArrayList<>();
+        for (String line : lines) {
+            results.add(objectMapper.readValue(line, BatchPostingResult.class));
+        }
+
+        assertEquals(201, results.get(0).getStatus());
+        assertNotNull(results.get(0).getTransactionId());
+        assertEquals(201, results.get(1).getStatus());
+        assertEquals(400, results.get(2).getStatus());
+        assertEquals("INSUFFICIENT_FUNDS", results.get(2).getError());
+        assertEquals(409, results.get(3).getStatus());
+        assertEquals("DUPLICATE_REQUEST", results.get(3).getError());
+        assertEquals(earlier.getTransactionId(), results.get(3).getTransactionId());
+        assertEquals(404, results.get(4).getStatus());
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(i, results.get(i).getIndex());
+        }
+
+        assertEquals(700L, accountService.getBalance(a.getAccountId()));
+        assertEquals(400L, accountService.getBalance(b.getAccountId()));
+    }
+
+    @Test
+    void cborBatch_shouldAnswerInNegotiatedBinaryFormat() throws Exception {
+        Account a = accountService.createAccount();
+        ObjectMapper cbor = objectMapper.copyWith(new CBORFactory());
+        ObjectMapper smile = objectMapper.copyWith(new SmileFactory());
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (var writer = cbor.writerFor(BatchPostingRequest.class).writeValues(body)) {
+            for (int i = 0; i < 3; i++) {
+                writer.write(item(PostingType.DEPOSIT, a.getAccountId(), 10L));
+            }
+        }
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        transactionController.batch("application/cbor", "application/x-jackson-smile",
+                new ByteArrayInputStream(body.toByteArray()), response);
+
+        assertEquals("application/x-jackson-smile", response.getContentType());
+        List<BatchPostingResult> results = smile.readerFor(BatchPostingResult.class)
+                .<BatchPostingResult>readValues(response.getContentAsByteArray()).readAll();
+        assertEquals(3, results.size());
+        assertTrue(results.stream().allMatch(r -> r.getStatus() == 201 && r.getTransactionId() != null));
+        assertEquals(30L, accountService.getBalance(a.getAccountId()));
+    }
+
+    @Test
+    void jsonArrayBatch_shouldStopAtMalformedItem() throws Exception {
+        Account a = accountService.createAccount();
+        String body = "[" + objectMapper.writeValueAsString(item(PostingType.DEPOSIT, a.getAccountId(), 50L))
+                + ", {\"type\": \"DEPOSIT\", \"amount\": }, "
+                + objectMapper.writeValueAsString(item(PostingType.DEPOSIT, a.getAccountId(), 50L)) + "]";
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        transactionController.batch("application/json", "*/*",
+                new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), response);
+
+        assertEquals("application/json", response.getContentType());
+        BatchPostingResult[] results = objectMapper.readValue(response.getContentAsString(), BatchPostingResult[].class);
+        assertEquals(2, results.length);
+        assertEquals(201, results[0].getStatus());
+        assertEquals(400, results[1].getStatus());
+        assertEquals("MALFORMED_ITEM", results[1].getError());
+        assertEquals(50L, accountService.getBalance(a.getAccountId()));
+    }
+
+    @Test
+    void binaryConverters_shouldFollowJsonAndShareBootMapperSettings() {
+        List<HttpMessageConverter<?>> converters = handlerAdapter.getMessageConverters();
+        int json = -1;
+        int cbor = -1;
+        for (int i = 0; i < converters.size(); i++) {
+            if (json < 0 && converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                json = i;
+            }
+            if (converters.get(i) instanceof MappingJackson2CborHttpMessageConverter converter) {
+                cbor = i;
+                assertFalse(converter.getObjectMapper().isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+            }
+        }
+        assertTrue(json >= 0 && cbor > json, "JSON must stay the default for Accept: */*");
+    }
+
+    private static BatchPostingRequest item(PostingType type, UUID accountId, long amount) {
+        return new BatchPostingRequest(type, accountId, null, null, amount, "batch-" + UUID.randomUUID());
+    }
+
+    private static BatchPostingRequest transfer(UUID from, UUID to, long amount) {
+        return new BatchPostingRequest(PostingType.TRANSFER, null, from, to, amount, "batch-" + UUID.randomUUID());
+    }
+}
@@ -0,0 +1,59 @@
+package com.ledger.engine;
+
+import com.ledger.engine.service.TransientFailure;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransientFailureTest {
+
+    @Test
+    void classify_shouldMapPostgresSqlStates() {
+        assertEquals(TransientFailure.SERIALIZATION, classify("40001"));
+        assertEquals(TransientFailure.DEADLOCK, classify("40P01"));
+        assertEquals(TransientFailure.LOCK_TIMEOUT, classify("55P03"));
+        assertEquals(TransientFailure.STATEMENT_TIMEOUT, classify("57014"));
+        assertEquals(TransientFailure.CONNECTION, classify("08006"));
+        assertEquals(TransientFailure.CONNECTION, classify("53300"));
+        assertEquals(TransientFailure.CONNECTION, classify("57P01"));
+    }
+
+    @Test
+    void classify_shouldIgnoreFailuresARetryCannotFix() {
+        assertNull(classify("23505"));
+        assertNull(classify("23514"));
+        assertNull(classify("42P01"));
+        assertNull(TransientFailure.classify(new IllegalArgumentException("Amount must be positive")));
+        assertNull(TransientFailure.classify(new DataIntegrityViolationException("duplicate",
+                new SQLException("duplicate key value violates unique constraint", "23505"))));
+    }
+
+    @Test
+    void classify_shouldFindTheSqlStateAnywhereInTheCauseChain() {
+        SQLException deadlock = new SQLException("deadlock detected", "40P01");
+        RuntimeException wrapped = new IllegalStateException("batch failed",
+                new CannotAcquireLockException("could not lock", deadlock));
+        assertEquals(TransientFailure.DEADLOCK, TransientFailure.classify(wrapped));
+    }
+
+    @Test
+    void classify_shouldTreatPoolExhaustionAsConnectionFailure() {
+        SQLTransientConnectionException poolTimeout = new SQLTransientConnectionException(
+                "HikariPool-1 - Connection is not available, request timed out after 5000ms.");
+        assertEquals(TransientFailure.CONNECTION, TransientFailure.classify(
+                new CannotCreateTransactionException("Could not open JDBC Connection", poolTimeout)));
+        assertEquals(TransientFailure.CONNECTION, TransientFailure.classify(
+                new CannotGetJdbcConnectionException("Failed to obtain JDBC Connection")));
+    }
+
+    private static TransientFailure classify(String sqlState) {
+        return TransientFailure.classify(new RuntimeException(new SQLException("failure", sqlState)));
+    }
+}
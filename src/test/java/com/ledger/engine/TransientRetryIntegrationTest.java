@@ -0,0 +1,203 @@
+package com.ledger.engine;
+
+import com.ledger.engine.api.GlobalExceptionHandler;
+import com.ledger.engine.api.dto.ErrorResponse;
+import com.ledger.engine.domain.Account;
+import com.ledger.engine.domain.Transaction;
+import com.ledger.engine.exception.DuplicateRequestException;
+import com.ledger.engine.exception.InsufficientFundsException;
+import com.ledger.engine.exception.LedgerUnavailableException;
+import com.ledger.engine.repository.AccountRepository;
+import com.ledger.engine.repository.SessionTimeoutRepository;
+import com.ledger.engine.service.AccountService;
+import com.ledger.engine.service.LedgerService;
+import com.ledger.engine.service.TransientRetryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransientRetryIntegrationTest extends BaseIntegrationTest {
+
+    @Autowired
+    private TransientRetryService retryService;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private SessionTimeoutRepository timeoutRepository;
+
+    @Autowired
+    private GlobalExceptionHandler exceptionHandler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void closeCircuit() throws InterruptedException {
+        // Leave the breaker closed for the next test: wait out any open window and pass a trial call
+        Thread.sleep(350);
+        retryService.execute("test-close", () -> null);
+        assertFalse(retryService.isOpen());
+    }
+
+    @Test
+    void lockTimeout_shouldBeRetriedOnceTheLockIsReleased() throws Exception {
+        Account account = accountService.createAccount();
+        TransactionTemplate transactions = new TransactionTemplate(transactionManager);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService holder = Executors.newSingleThreadExecutor();
+        Future<?> lockHolder = holder.submit(() -> transactions.executeWithoutResult(status -> {
+            accountRepository.lockForUpdate(account.getAccountId());
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+        double timeoutsBefore = meterRegistry.counter("ledger.lock.timeouts", "operation", "test-lock").count();
+
+        AtomicInteger attempts = new AtomicInteger();
+        String status = retryService.execute("test-lock", () -> {
+            if (attempts.incrementAndGet() == 2) {
+                release.countDown();
+                awaitQuietly(lockHolder);
+            }
+            return transactions.execute(tx -> {
+                timeoutRepository.setLocal(Duration.ofMillis(50), Duration.ofSeconds(5));
+                return accountRepository.lockForUpdate(account.getAccountId()).orElseThrow().getStatus().name();
+            });
+        });
+        holder.shutdown();
+
+        assertEquals("ACTIVE", status);
+        assertEquals(2, attempts.get());
+        assertEquals(timeoutsBefore + 1,
+                meterRegistry.counter("ledger.lock.timeouts", "operation", "test-lock").count());
+        assertEquals(1, meterRegistry.counter("ledger.retry.attempts", "operation", "test-lock",
+                "reason", "lock-timeout").count());
+    }
+
+    @Test
+    void retryAfterLostCommit_shouldReturnTheCommittedTransaction() {
+        Account account = accountService.createAccount();
+        String key = "retry-" + UUID.randomUUID();
+        AtomicInteger attempts = new AtomicInteger();
+
+        Transaction result = retryService.post("test-deposit", () -> {
+            Transaction posted = ledgerService.deposit(account.getAccountId(), 500L, key);
+            if (attempts.incrementAndGet() == 1) {
+                // Committed, but the client never heard back
+                throw new DataAccessResourceFailureException("I/O error",
+                        new SQLException("An I/O error occurred while sending to the backend", "08006"));
+            }
+            return posted;
+        });
+
+        assertEquals(1, attempts.get());
+        assertEquals(key, result.getIdempotencyKey());
+        assertEquals(500L, accountService.getBalance(account.getAccountId()));
+    }
+
+    @Test
+    void retryAfterRolledBackAttempt_shouldReportAnotherRequestsKeyAsDuplicate() {
+        Account account = accountService.createAccount();
+        String key = "retry-" + UUID.randomUUID();
+        AtomicInteger attempts = new AtomicInteger();
+
+        DuplicateRequestException duplicate = assertThrows(DuplicateRequestException.class,
+                () -> retryService.post("test-deposit", () -> {
+                    if (attempts.incrementAndGet() == 1) {
+                        // This attempt rolled back; meanwhile another request commits under the same key
+                        ledgerService.deposit(account.getAccountId(), 700L, key);
+                        throw new PessimisticLockingFailureException("deadlock",
+                                new SQLException("deadlock detected", "40P01"));
+                    }
+                    return ledgerService.deposit(account.getAccountId(), 500L, key);
+                }));
+
+        assertEquals(2, attempts.get());
+        assertNotNull(duplicate.getExistingTransactionId());
+        assertEquals(700L, accountService.getBalance(account.getAccountId()));
+    }
+
+    @Test
+    void businessFailures_shouldNotBeRetried() {
+        Account account = accountService.createAccount();
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(InsufficientFundsException.class, () -> retryService.post("test-withdraw", () -> {
+            attempts.incrementAndGet();
+            return ledgerService.withdraw(account.getAccountId(), 100L, "retry-" + UUID.randomUUID());
+        }));
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void repeatedExhaustion_shouldOpenTheCircuitUntilATrialSucceeds() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        for (int i = 0; i < 3; i++) {
+            LedgerUnavailableException ex = assertThrows(LedgerUnavailableException.class,
+                    () -> retryService.execute("test-deadlock", () -> {
+                        attempts.incrementAndGet();
+                        throw new PessimisticLockingFailureException("deadlock",
+                                new SQLException("deadlock detected", "40P01"));
+                    }));
+            ResponseEntity<ErrorResponse> response = exceptionHandler.resolve(ex);
+            assertEquals(503, response.getStatusCode().value());
+            assertEquals("LEDGER_UNAVAILABLE", response.getBody().getError());
+        }
+        assertEquals(12, attempts.get());
+        assertEquals(3, meterRegistry.counter("ledger.retry.exhausted", "operation", "test-deadlock",
+                "reason", "deadlock").count());
+        assertTrue(retryService.isOpen());
+
+        assertThrows(LedgerUnavailableException.class, () -> retryService.execute("test-deadlock", () -> {
+            attempts.incrementAndGet();
+            return null;
+        }));
+        assertEquals(12, attempts.get(), "an open circuit fails fast without calling the database");
+
+        Thread.sleep(350);
+        assertEquals("ok", retryService.execute("test-deadlock", () -> "ok"));
+        assertFalse(retryService.isOpen());
+    }
+
+    private static void awaitQuietly(Future<?> future) {
+        try {
+            future.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.ledger.engine;
+
+import com.ledger.engine.domain.UuidV7;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void generate_shouldSetVersionVariantAndTimestamp() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.generate();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long millis = UuidV7.timestampMillis(id);
+        assertTrue(millis >= before && millis <= after + 1, "timestamp " + millis + " outside generation window");
+    }
+
+    @Test
+    void generate_shouldBeStrictlyIncreasingInDatabaseByteOrder() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            ids.add(UuidV7.generate());
+        }
+        // PostgreSQL compares uuid bytes unsigned, which for v7 is the same as the string form
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).toString().compareTo(ids.get(i).toString()) < 0,
+                    ids.get(i - 1) + " is not before " + ids.get(i));
+        }
+    }
+
+    @Test
+    void timestampMillis_shouldRejectRandomUuids() {
+        assertThrows(IllegalArgumentException.class, () -> UuidV7.timestampMillis(UUID.randomUUID()));
+    }
+}